@@ -2,13 +2,17 @@ package com.creatoros.analyticsservice.controller;
 
 import com.creatoros.analyticsservice.model.CreatorAnalyticsSummary;
 import com.creatoros.analyticsservice.model.PostMetrics;
+import com.creatoros.analyticsservice.model.PostMetricsDaily;
 import com.creatoros.analyticsservice.service.AnalyticsService;
+import com.creatoros.analyticsservice.utils.UserContextUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -46,6 +50,29 @@ public class AnalyticsController {
         return ResponseEntity.ok(analyticsService.getAnalyticsSummary(userId, platform, startDate, endDate));
     }
 
+    /**
+     * Bulk upsert of per-day platform metrics, used by publishing-service's analytics harvester,
+     * which calls with a token for the user whose metrics it sends.
+     */
+    @PostMapping("/metrics/daily/bulk")
+    public ResponseEntity<Map<String, Integer>> upsertDailyMetrics(@RequestBody List<PostMetricsDaily> rows) {
+        rows.forEach(row -> row.setId(null));
+        return ResponseEntity.ok(Map.of("upserted",
+                analyticsService.upsertDailyMetrics(UserContextUtil.getCurrentUserId(), rows)));
+    }
+
+    @GetMapping("/metrics/daily/user/{userId}")
+    public ResponseEntity<List<PostMetricsDaily>> getDailyMetrics(
+            @PathVariable UUID userId,
+            @RequestParam(required = false) String platform,
+            @RequestParam(required = false) LocalDate startDate,
+            @RequestParam(required = false) LocalDate endDate) {
+        if (!userId.equals(UserContextUtil.getCurrentUserId())) {
+            throw new AccessDeniedException("Daily metrics can only be read by their owner");
+        }
+        return ResponseEntity.ok(analyticsService.getDailyMetrics(userId, platform, startDate, endDate));
+    }
+
     @GetMapping("/metrics/post/{postId}")
     public ResponseEntity<List<PostMetrics>> getMetricsByPost(@PathVariable UUID postId) {
         return ResponseEntity.ok(analyticsService.getMetricsByPostId(postId));
@@ -17,7 +17,13 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "post_metrics_daily")
+@Table(
+        name = "post_metrics_daily",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_post_metrics_daily_platform_post_day",
+                columnNames = {"platform", "platform_post_id", "metric_date"}
+        )
+)
 public class PostMetricsDaily {
 
     @Id
@@ -32,6 +38,8 @@ public class PostMetricsDaily {
     @Column(nullable = false)
     private String platform;
 
+    private String platformPostId;
+
     @Column(nullable = false)
     private LocalDate metricDate;
 
@@ -0,0 +1,14 @@
+package com.creatoros.analyticsservice.repository;
+
+import com.creatoros.analyticsservice.model.PostMetricsDaily;
+
+import java.util.List;
+
+public interface PostMetricsDailyBulkRepository {
+
+    /**
+     * Inserts each row, or overwrites the platform-reported counters of the existing row for the
+     * same platform, post and day. Returns the number of rows written.
+     */
+    int upsertAll(List<PostMetricsDaily> rows);
+}
@@ -0,0 +1,61 @@
+package com.creatoros.analyticsservice.repository;
+
+import com.creatoros.analyticsservice.model.PostMetricsDaily;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class PostMetricsDailyBulkRepositoryImpl implements PostMetricsDailyBulkRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    // A conflicting row owned by another user is left as it is rather than taken over
+    private static final String UPSERT_SQL = """
+        INSERT INTO post_metrics_daily (id, user_id, published_post_id, platform, platform_post_id, metric_date,
+                                        views, likes, comments, shares, saves, impressions, reach, watch_time_seconds,
+                                        created_at, updated_at)
+        VALUES (gen_random_uuid(), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, now(), now())
+        ON CONFLICT (platform, platform_post_id, metric_date) DO UPDATE SET
+            published_post_id = COALESCE(EXCLUDED.published_post_id, post_metrics_daily.published_post_id),
+            views = EXCLUDED.views,
+            likes = EXCLUDED.likes,
+            comments = EXCLUDED.comments,
+            shares = EXCLUDED.shares,
+            watch_time_seconds = EXCLUDED.watch_time_seconds,
+            updated_at = now()
+        WHERE post_metrics_daily.user_id = EXCLUDED.user_id
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int upsertAll(List<PostMetricsDaily> rows) {
+        int[][] counts = jdbcTemplate.batchUpdate(UPSERT_SQL, rows, BATCH_SIZE, (statement, row) -> {
+            statement.setObject(1, row.getUserId());
+            statement.setObject(2, row.getPublishedPostId());
+            statement.setString(3, row.getPlatform());
+            statement.setString(4, row.getPlatformPostId());
+            statement.setDate(5, Date.valueOf(row.getMetricDate()));
+            statement.setLong(6, valueOrZero(row.getViews()));
+            statement.setLong(7, valueOrZero(row.getLikes()));
+            statement.setLong(8, valueOrZero(row.getComments()));
+            statement.setLong(9, valueOrZero(row.getShares()));
+            statement.setLong(10, valueOrZero(row.getSaves()));
+            statement.setLong(11, valueOrZero(row.getImpressions()));
+            statement.setLong(12, valueOrZero(row.getReach()));
+            statement.setDouble(13, row.getWatchTimeSeconds() == null ? 0.0 : row.getWatchTimeSeconds());
+        });
+        int written = 0;
+        for (int[] batch : counts) {
+            written += batch.length;
+        }
+        return written;
+    }
+
+    private long valueOrZero(Long value) {
+        return value == null ? 0L : value;
+    }
+}
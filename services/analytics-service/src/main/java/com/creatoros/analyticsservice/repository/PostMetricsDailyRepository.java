@@ -9,8 +9,10 @@ import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface PostMetricsDailyRepository extends JpaRepository<PostMetricsDaily, UUID> {
+public interface PostMetricsDailyRepository extends JpaRepository<PostMetricsDaily, UUID>, PostMetricsDailyBulkRepository {
     List<PostMetricsDaily> findByUserIdAndMetricDateBetween(UUID userId, LocalDate startDate, LocalDate endDate);
 
+    List<PostMetricsDaily> findByUserIdAndPlatformAndMetricDateBetween(UUID userId, String platform, LocalDate startDate, LocalDate endDate);
+
     List<PostMetricsDaily> findByPublishedPostId(UUID publishedPostId);
 }
@@ -1,11 +1,15 @@
 package com.creatoros.analyticsservice.service;
 
 import com.creatoros.analyticsservice.model.PostMetrics;
+import com.creatoros.analyticsservice.model.PostMetricsDaily;
+import com.creatoros.analyticsservice.repository.PostMetricsDailyRepository;
 import com.creatoros.analyticsservice.repository.PostMetricsRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,6 +19,7 @@ public class AnalyticsService {
 
     private final PostMetricsRepository postMetricsRepository;
     private final com.creatoros.analyticsservice.repository.CreatorAnalyticsSummaryRepository creatorAnalyticsSummaryRepository;
+    private final PostMetricsDailyRepository postMetricsDailyRepository;
 
     @Transactional
     public PostMetrics savePostMetrics(PostMetrics postMetrics) {
@@ -26,6 +31,35 @@ public class AnalyticsService {
         return creatorAnalyticsSummaryRepository.save(summary);
     }
 
+    /**
+     * Bulk insert-or-update of daily platform metrics, keyed by platform, platform post id and day.
+     * Every row must belong to {@code callerId}; the upsert replaces rows by key, so a row for
+     * another user would overwrite that user's metrics.
+     */
+    @Transactional
+    public int upsertDailyMetrics(UUID callerId, List<PostMetricsDaily> rows) {
+        for (PostMetricsDaily row : rows) {
+            if (row.getUserId() == null || row.getPlatform() == null
+                    || row.getPlatformPostId() == null || row.getMetricDate() == null) {
+                throw new IllegalArgumentException("userId, platform, platformPostId and metricDate are required");
+            }
+            if (!row.getUserId().equals(callerId)) {
+                throw new AccessDeniedException("Daily metrics can only be written for the authenticated user");
+            }
+        }
+        return postMetricsDailyRepository.upsertAll(rows);
+    }
+
+    public List<PostMetricsDaily> getDailyMetrics(UUID userId, String platform, LocalDate startDate, LocalDate endDate) {
+        if (startDate == null) startDate = LocalDate.now().minusDays(30);
+        if (endDate == null) endDate = LocalDate.now();
+
+        if (platform != null && !platform.isEmpty()) {
+            return postMetricsDailyRepository.findByUserIdAndPlatformAndMetricDateBetween(userId, platform, startDate, endDate);
+        }
+        return postMetricsDailyRepository.findByUserIdAndMetricDateBetween(userId, startDate, endDate);
+    }
+
     public List<PostMetrics> getMetricsByUserId(UUID userId, String platform) {
         if (platform != null && !platform.isEmpty()) {
             return postMetricsRepository.findByUserIdAndPlatform(userId, platform);
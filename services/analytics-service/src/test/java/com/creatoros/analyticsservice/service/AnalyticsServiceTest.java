@@ -2,13 +2,16 @@ package com.creatoros.analyticsservice.service;
 
 import com.creatoros.analyticsservice.model.CreatorAnalyticsSummary;
 import com.creatoros.analyticsservice.model.PostMetrics;
+import com.creatoros.analyticsservice.model.PostMetricsDaily;
 import com.creatoros.analyticsservice.repository.CreatorAnalyticsSummaryRepository;
+import com.creatoros.analyticsservice.repository.PostMetricsDailyRepository;
 import com.creatoros.analyticsservice.repository.PostMetricsRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
 
 import java.time.LocalDate;
 import java.util.Collections;
@@ -17,6 +20,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -29,6 +33,9 @@ class AnalyticsServiceTest {
     @Mock
     private CreatorAnalyticsSummaryRepository creatorAnalyticsSummaryRepository;
 
+    @Mock
+    private PostMetricsDailyRepository postMetricsDailyRepository;
+
     @InjectMocks
     private AnalyticsService analyticsService;
 
@@ -113,4 +120,44 @@ class AnalyticsServiceTest {
         verify(creatorAnalyticsSummaryRepository).findByUserIdAndPlatformAndRangeStartGreaterThanEqualAndRangeEndLessThanEqual(
                 userId, platform, start, end);
     }
+
+    @Test
+    void upsertDailyMetrics_ShouldWriteAllRows_WhenTheyBelongToTheCaller() {
+        UUID userId = UUID.randomUUID();
+        List<PostMetricsDaily> rows = List.of(dailyRow(userId, "abc", 1), dailyRow(userId, "abc", 2));
+        when(postMetricsDailyRepository.upsertAll(rows)).thenReturn(2);
+
+        int upserted = analyticsService.upsertDailyMetrics(userId, rows);
+
+        assertEquals(2, upserted);
+        verify(postMetricsDailyRepository).upsertAll(rows);
+    }
+
+    @Test
+    void upsertDailyMetrics_ShouldRejectBatch_WhenARowBelongsToAnotherUser() {
+        UUID userId = UUID.randomUUID();
+        List<PostMetricsDaily> rows = List.of(dailyRow(userId, "abc", 1), dailyRow(UUID.randomUUID(), "xyz", 1));
+
+        assertThrows(AccessDeniedException.class, () -> analyticsService.upsertDailyMetrics(userId, rows));
+        verify(postMetricsDailyRepository, never()).upsertAll(any());
+    }
+
+    @Test
+    void upsertDailyMetrics_ShouldRejectBatch_WhenKeyFieldsAreMissing() {
+        UUID userId = UUID.randomUUID();
+        PostMetricsDaily row = dailyRow(userId, null, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.upsertDailyMetrics(userId, List.of(row)));
+        verify(postMetricsDailyRepository, never()).upsertAll(any());
+    }
+
+    private PostMetricsDaily dailyRow(UUID userId, String platformPostId, int daysAgo) {
+        return PostMetricsDaily.builder()
+                .userId(userId)
+                .platform("YOUTUBE")
+                .platformPostId(platformPostId)
+                .metricDate(LocalDate.now().minusDays(daysAgo))
+                .views(10L)
+                .build();
+    }
 }
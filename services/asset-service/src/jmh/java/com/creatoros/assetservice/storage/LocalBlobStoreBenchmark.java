@@ -0,0 +1,141 @@
+package com.creatoros.assetservice.storage;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Upload and download throughput of {@link LocalBlobStore} against a temporary directory, so it
+ * runs anywhere without network or credentials. Besides ops/s, each benchmark reports a
+ * {@code bytes} counter in bytes per second.
+ *
+ * <ul>
+ *   <li>{@code upload} / {@code uploadHashed}: write path, without and with the SHA-256 and size
+ *       check that {@code AssetService} wraps around every upload</li>
+ *   <li>{@code downloadToStream}: full read into an {@link OutputStream}, as {@code /view} does</li>
+ *   <li>{@code downloadToFileChannel}: full read into a file channel, where {@code transferTo}
+ *       is a kernel-side copy</li>
+ *   <li>{@code downloadStreamCopy}: baseline, a plain {@code InputStream.transferTo}</li>
+ *   <li>{@code downloadRange}: a 1 MiB range from the middle of the object, as a seeking player
+ *       requests</li>
+ * </ul>
+ *
+ * <p>Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalBlobStoreBenchmark {
+
+    private static final String BUCKET = "bench";
+    private static final String OBJECT = "media/object.bin";
+    private static final String UPLOAD = "media/upload.bin";
+    private static final int RANGE_LENGTH = 1024 * 1024;
+
+    @Param({"1048576", "67108864"})
+    private int sizeBytes;
+
+    private Path root;
+    private Path sink;
+    private LocalBlobStore store;
+    private byte[] content;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Transferred {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("blobstore-bench");
+        sink = Files.createTempFile(root, "sink", ".bin");
+        store = new LocalBlobStore(root, BUCKET);
+        content = new byte[sizeBytes];
+        new Random(42).nextBytes(content);
+        store.write(OBJECT, "application/octet-stream", new ByteArrayInputStream(content));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public long upload(Transferred transferred) throws IOException {
+        long written = store.write(UPLOAD, "application/octet-stream", new ByteArrayInputStream(content));
+        transferred.bytes += written;
+        return written;
+    }
+
+    @Benchmark
+    public String uploadHashed(Transferred transferred) throws IOException {
+        HashingInputStream hashing = new HashingInputStream(new ByteArrayInputStream(content), Long.MAX_VALUE);
+        transferred.bytes += store.write(UPLOAD, "application/octet-stream", hashing);
+        return hashing.sha256Hex();
+    }
+
+    @Benchmark
+    public void downloadToStream(Transferred transferred) throws IOException {
+        store.read(BUCKET, OBJECT, 0, sizeBytes, OutputStream.nullOutputStream());
+        transferred.bytes += sizeBytes;
+    }
+
+    @Benchmark
+    public void downloadToFileChannel(Transferred transferred) throws IOException {
+        try (FileChannel target = FileChannel.open(sink, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            store.transferTo(BUCKET, OBJECT, 0, sizeBytes, target);
+        }
+        transferred.bytes += sizeBytes;
+    }
+
+    @Benchmark
+    public long downloadStreamCopy(Transferred transferred) throws IOException {
+        try (InputStream in = Files.newInputStream(root.resolve(BUCKET).resolve(OBJECT))) {
+            long copied = in.transferTo(OutputStream.nullOutputStream());
+            transferred.bytes += copied;
+            return copied;
+        }
+    }
+
+    @Benchmark
+    public void downloadRange(Transferred transferred) throws IOException {
+        long length = Math.min(RANGE_LENGTH, sizeBytes);
+        store.read(BUCKET, OBJECT, (sizeBytes - length) / 2, length, OutputStream.nullOutputStream());
+        transferred.bytes += length;
+    }
+}
@@ -0,0 +1,35 @@
+package com.creatoros.assetservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Shared pool for bulk-upload storage writes. Each request keeps at most
+ * {@code assets.upload.bulk.concurrency} of its entries in flight, so one large archive cannot
+ * fill the pool; when the pool and queue are full anyway, the request thread writes the entry
+ * itself rather than failing it.
+ */
+@Configuration
+public class BulkUploadExecutorConfig {
+
+    @Bean(name = "bulkUploadExecutor")
+    public ThreadPoolTaskExecutor bulkUploadExecutor(
+            @Value("${assets.upload.bulk.workers:16}") int workers,
+            @Value("${assets.upload.bulk.queue-capacity:64}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("bulk-upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+}
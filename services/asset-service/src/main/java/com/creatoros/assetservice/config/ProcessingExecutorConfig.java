@@ -0,0 +1,29 @@
+package com.creatoros.assetservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Worker pool for media processing jobs. Sized to the available cores unless
+ * {@code assets.processing.workers} is set; the poller never claims more jobs than there are
+ * idle workers, so the queue only absorbs races.
+ */
+@Configuration
+public class ProcessingExecutorConfig {
+
+    @Bean(name = "mediaProcessingExecutor")
+    public ThreadPoolTaskExecutor mediaProcessingExecutor(@Value("${assets.processing.workers:0}") int workers) {
+        int poolSize = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(poolSize);
+        executor.setThreadNamePrefix("media-proc-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
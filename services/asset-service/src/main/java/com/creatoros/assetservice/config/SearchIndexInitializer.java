@@ -0,0 +1,150 @@
+package com.creatoros.assetservice.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Creates the indexes behind asset search. This service has no migrations and Hibernate's schema
+ * update cannot express expression, partial or GIN indexes, so they are created here once the
+ * schema exists. Builds run CONCURRENTLY on a background thread, so a large media_files table
+ * stays writable and the service ready meanwhile. Existing indexes are left alone, except ones a
+ * failed or interrupted build left INVALID, which IF NOT EXISTS would otherwise keep: those are
+ * dropped and built again. An in-progress build looks INVALID too, so only the replica holding
+ * an advisory lock touches the indexes; the others leave them to it. Every index covers only
+ * undeleted rows and leads with user_id, so a search touches one user's slice of the table in
+ * sort order and stops at the page limit.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "assets.search.create-indexes", havingValue = "true", matchIfMissing = true)
+public class SearchIndexInitializer implements ApplicationRunner {
+
+    private static final List<String> INDEXES = List.of(
+            // Keyset order for sort=NEWEST, and date ranges
+            """
+            CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_media_files_search_created
+                ON media_files (user_id, created_at DESC, id DESC) WHERE is_deleted IS NOT TRUE""",
+            // Keyset order for sort=LARGEST, and size ranges
+            """
+            CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_media_files_search_size
+                ON media_files (user_id, size_bytes DESC, id DESC) WHERE is_deleted IS NOT TRUE""",
+            """
+            CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_media_files_search_mime
+                ON media_files (user_id, mime_type, created_at DESC, id DESC) WHERE is_deleted IS NOT TRUE""",
+            // LIKE 'prefix%' on the lower-cased name
+            """
+            CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_media_files_search_name_prefix
+                ON media_files (user_id, LOWER(file_name) text_pattern_ops) WHERE is_deleted IS NOT TRUE"""
+    );
+
+    // Substring matches; needs pg_trgm, which the database role may not be allowed to install
+    private static final String TRIGRAM_INDEX = """
+            CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_media_files_search_name_trgm
+                ON media_files USING gin (LOWER(file_name) gin_trgm_ops) WHERE is_deleted IS NOT TRUE""";
+
+    private static final Pattern INDEX_NAME = Pattern.compile("IF NOT EXISTS (\\w+)");
+
+    private static final String LOCK_KEY = "hashtext('asset-service.search-indexes')";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Thread builder = new Thread(this::createIndexes, "search-index-init");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    void createIndexes() {
+        try {
+            // Advisory locks belong to a session, so the lock, checks and builds share one connection
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                if (!tryLock(connection)) {
+                    log.info("Another instance is creating the search indexes; skipping");
+                    return null;
+                }
+                try {
+                    createAll(connection);
+                } finally {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("SELECT pg_advisory_unlock(" + LOCK_KEY + ")");
+                    }
+                }
+                return null;
+            });
+        } catch (DataAccessException ex) {
+            // Search still works, only slower
+            log.warn("Could not create search indexes: {}", ex.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private void createAll(Connection connection) {
+        INDEXES.forEach(ddl -> createQuietly(connection, ddl));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        } catch (SQLException ex) {
+            log.warn("pg_trgm is unavailable, name substring search will scan: {}", ex.getMessage());
+            return;
+        }
+        createQuietly(connection, TRIGRAM_INDEX);
+    }
+
+    private boolean tryLock(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT pg_try_advisory_lock(" + LOCK_KEY + ")")) {
+            return result.next() && result.getBoolean(1);
+        }
+    }
+
+    private void createQuietly(Connection connection, String ddl) {
+        try {
+            dropIfInvalid(connection, ddl);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(ddl);
+            }
+        } catch (SQLException ex) {
+            log.warn("Could not create search index: {}", ex.getMessage());
+        }
+    }
+
+    private void dropIfInvalid(Connection connection, String ddl) throws SQLException {
+        Matcher name = INDEX_NAME.matcher(ddl);
+        if (!name.find()) {
+            return;
+        }
+        boolean invalid;
+        try (PreparedStatement query = connection.prepareStatement("""
+                SELECT NOT i.indisvalid
+                FROM pg_index i
+                JOIN pg_class c ON c.oid = i.indexrelid
+                WHERE c.relname = ? AND c.relnamespace = current_schema()::regnamespace""")) {
+            query.setString(1, name.group(1));
+            try (ResultSet result = query.executeQuery()) {
+                invalid = result.next() && result.getBoolean(1);
+            }
+        }
+        if (invalid) {
+            log.warn("Search index {} is invalid, rebuilding it", name.group(1));
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name.group(1));
+            }
+        }
+    }
+}
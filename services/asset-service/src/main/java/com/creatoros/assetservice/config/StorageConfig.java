@@ -0,0 +1,146 @@
+package com.creatoros.assetservice.config;
+
+import com.creatoros.assetservice.storage.BlobStore;
+import com.creatoros.assetservice.storage.BufferPool;
+import com.creatoros.assetservice.storage.GcsBlobStore;
+import com.creatoros.assetservice.storage.HotObjectCache;
+import com.creatoros.assetservice.storage.LocalBlobStore;
+import com.creatoros.assetservice.storage.S3BlobStore;
+import com.google.cloud.storage.Storage;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+
+/**
+ * Selects the object store from {@code assets.storage.backend} ({@code gcs}, {@code s3} or
+ * {@code local}). One backend is active per instance; files keep the provider and bucket they
+ * were written with.
+ */
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    public BufferPool transferBufferPool(
+            @Value("${assets.download.buffer-size-bytes:1048576}") int bufferSize,
+            @Value("${assets.download.buffer-pool-size:32}") int poolSize
+    ) {
+        return new BufferPool(bufferSize, poolSize);
+    }
+
+    @Bean
+    public HotObjectCache hotObjectCache(
+            MeterRegistry meterRegistry,
+            @Value("${assets.download.cache.enabled:true}") boolean enabled,
+            @Value("${assets.download.cache.max-object-bytes:4194304}") long maxObjectBytes,
+            @Value("${assets.download.cache.memory-bytes:268435456}") long memoryBytes,
+            @Value("${assets.download.cache.disk-dir:}") String diskDir,
+            @Value("${assets.download.cache.disk-bytes:4294967296}") long diskBytes,
+            @Value("${assets.download.cache.min-frequency:2}") int minFrequency,
+            @Value("${assets.download.cache.sketch-width:65536}") int sketchWidth
+    ) throws IOException {
+        return new HotObjectCache(maxObjectBytes, enabled ? memoryBytes : 0,
+                enabled && !diskDir.isBlank() ? Path.of(diskDir) : null, diskBytes, minFrequency, sketchWidth, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "assets.storage.backend", havingValue = "gcs", matchIfMissing = true)
+    public BlobStore gcsBlobStore(
+            Storage storage,
+            BufferPool transferBufferPool,
+            @Value("${gcp.bucket-name}") String bucketName,
+            @Value("${assets.upload.chunk-size-bytes:8388608}") int uploadChunkSize,
+            @Value("${assets.download.chunk-size-bytes:8388608}") int downloadChunkSize
+    ) {
+        return new GcsBlobStore(storage, bucketName, uploadChunkSize, downloadChunkSize, transferBufferPool);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "assets.storage.backend", havingValue = "local")
+    public BlobStore localBlobStore(
+            @Value("${assets.storage.local.root:./data/assets}") String root,
+            @Value("${assets.storage.local.bucket:assets}") String bucket
+    ) {
+        return new LocalBlobStore(Path.of(root), bucket);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "assets.storage.backend", havingValue = "s3")
+    static class S3StorageConfig {
+
+        @Value("${assets.storage.s3.endpoint:}")
+        private String endpoint;
+
+        @Value("${assets.storage.s3.region:us-east-1}")
+        private String region;
+
+        @Value("${assets.storage.s3.path-style:false}")
+        private boolean pathStyle;
+
+        @Value("${assets.storage.s3.access-key:}")
+        private String accessKey;
+
+        @Value("${assets.storage.s3.secret-key:}")
+        private String secretKey;
+
+        @Bean(destroyMethod = "close")
+        public S3Client s3Client() {
+            var builder = S3Client.builder()
+                    .region(Region.of(region))
+                    .credentialsProvider(credentials())
+                    .serviceConfiguration(serviceConfiguration());
+            if (!endpoint.isBlank()) {
+                builder.endpointOverride(URI.create(endpoint));
+            }
+            return builder.build();
+        }
+
+        @Bean(destroyMethod = "close")
+        public S3Presigner s3Presigner() {
+            var builder = S3Presigner.builder()
+                    .region(Region.of(region))
+                    .credentialsProvider(credentials())
+                    .serviceConfiguration(serviceConfiguration());
+            if (!endpoint.isBlank()) {
+                builder.endpointOverride(URI.create(endpoint));
+            }
+            return builder.build();
+        }
+
+        @Bean
+        public BlobStore s3BlobStore(
+                S3Client s3Client,
+                S3Presigner s3Presigner,
+                BufferPool transferBufferPool,
+                @Value("${assets.storage.s3.bucket}") String bucket,
+                @Value("${assets.storage.s3.part-size-bytes:8388608}") int partSize
+        ) {
+            return new S3BlobStore(s3Client, s3Presigner, bucket, partSize, transferBufferPool);
+        }
+
+        private AwsCredentialsProvider credentials() {
+            if (accessKey.isBlank()) {
+                return DefaultCredentialsProvider.create();
+            }
+            return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+        }
+
+        private S3Configuration serviceConfiguration() {
+            // MinIO and most self-hosted stores need bucket-in-path addressing
+            return S3Configuration.builder().pathStyleAccessEnabled(pathStyle).build();
+        }
+    }
+}
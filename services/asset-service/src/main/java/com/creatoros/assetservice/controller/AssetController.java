@@ -1,16 +1,40 @@
 package com.creatoros.assetservice.controller;
 
 import com.creatoros.assetservice.model.AssetFolder;
+import com.creatoros.assetservice.model.AssetSearchCriteria;
+import com.creatoros.assetservice.model.CursorPage;
 import com.creatoros.assetservice.model.MediaFile;
+import com.creatoros.assetservice.model.MediaFileSummary;
+import com.creatoros.assetservice.processing.Rendition;
+import com.creatoros.assetservice.service.AssetDownloadService;
+import com.creatoros.assetservice.service.AssetSearchService;
+import com.creatoros.assetservice.service.BulkUploadService;
 import com.creatoros.assetservice.service.AssetService;
+import com.creatoros.assetservice.service.FolderTreeService;
 import com.creatoros.assetservice.utils.UserContextUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -22,16 +46,77 @@ import java.util.UUID;
 public class AssetController {
 
     private final AssetService assetService;
+    private final AssetDownloadService assetDownloadService;
+    private final FolderTreeService folderTreeService;
+    private final AssetSearchService assetSearchService;
+    private final BulkUploadService bulkUploadService;
 
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<MediaFile> uploadFile(
             @RequestParam("file") @jakarta.validation.constraints.NotNull(message = "File is required") MultipartFile file,
+            @RequestParam("folderId") @jakarta.validation.constraints.NotNull(message = "Folder ID is required") UUID folderId,
+            @RequestParam(value = "sha256", required = false) String sha256) throws IOException {
+        UUID userId = UserContextUtil.getCurrentUserId();
+        MediaFile uploadedFile = assetService.uploadFile(file, userId, folderId, sha256);
+        return ResponseEntity.ok(uploadedFile);
+    }
+
+    /**
+     * Uploads every {@code files} part into the folder at once. Entries that cannot be stored are
+     * listed under {@code failed}; the rest are created.
+     */
+    @PostMapping(value = "/upload/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BulkUploadService.BulkUploadResult> uploadFiles(
+            @RequestParam("files") @jakarta.validation.constraints.NotEmpty(message = "Files are required") List<MultipartFile> files,
+            @RequestParam("folderId") @jakarta.validation.constraints.NotNull(message = "Folder ID is required") UUID folderId) throws IOException {
+        UUID userId = UserContextUtil.getCurrentUserId();
+        return ResponseEntity.ok(bulkUploadService.uploadFiles(files, userId, folderId));
+    }
+
+    /**
+     * Uploads the files inside a zip archive into the folder, flattened to their base names.
+     */
+    @PostMapping(value = "/upload/archive", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BulkUploadService.BulkUploadResult> uploadArchive(
+            @RequestParam("archive") @jakarta.validation.constraints.NotNull(message = "Archive is required") MultipartFile archive,
             @RequestParam("folderId") @jakarta.validation.constraints.NotNull(message = "Folder ID is required") UUID folderId) throws IOException {
         UUID userId = UserContextUtil.getCurrentUserId();
-        MediaFile uploadedFile = assetService.uploadFile(file, userId, folderId);
+        return ResponseEntity.ok(bulkUploadService.uploadArchive(archive, userId, folderId));
+    }
+
+    /**
+     * Raw-body upload: the request body is the file itself and is streamed to storage as it
+     * arrives, without being spooled to disk as a multipart part first. An optional
+     * {@code X-Content-SHA256} header lets content the user already stored skip the write.
+     */
+    @PostMapping(value = "/upload/stream")
+    public ResponseEntity<MediaFile> uploadFileStream(
+            @RequestParam("folderId") @jakarta.validation.constraints.NotNull(message = "Folder ID is required") UUID folderId,
+            @RequestParam("fileName") @jakarta.validation.constraints.NotBlank(message = "File name is required") String fileName,
+            @RequestHeader(value = "X-Content-SHA256", required = false) String sha256,
+            HttpServletRequest request) throws IOException {
+        UUID userId = UserContextUtil.getCurrentUserId();
+        MediaFile uploadedFile = assetService.uploadFile(request.getInputStream(), fileName, request.getContentType(), userId, folderId, sha256);
         return ResponseEntity.ok(uploadedFile);
     }
 
+    @PostMapping("/uploads/sessions")
+    public ResponseEntity<Map<String, Object>> createUploadSession(
+            @RequestParam("folderId") @jakarta.validation.constraints.NotNull(message = "Folder ID is required") UUID folderId,
+            @RequestParam("fileName") @jakarta.validation.constraints.NotBlank(message = "File name is required") String fileName,
+            @RequestParam(value = "contentType", required = false) String contentType,
+            @RequestParam("sizeBytes") @jakarta.validation.constraints.Positive(message = "Size must be positive") long sizeBytes,
+            @RequestHeader(value = "X-Content-SHA256", required = false) String sha256) {
+        UUID userId = UserContextUtil.getCurrentUserId();
+        return ResponseEntity.ok(assetService.createUploadSession(userId, folderId, fileName, contentType, sizeBytes, sha256));
+    }
+
+    @PostMapping("/uploads/sessions/{fileId}/complete")
+    public ResponseEntity<MediaFile> completeUploadSession(@PathVariable UUID fileId) {
+        UUID userId = UserContextUtil.getCurrentUserId();
+        return ResponseEntity.ok(assetService.completeUploadSession(fileId, userId));
+    }
+
     @PostMapping("/folders")
     public ResponseEntity<AssetFolder> createFolder(
             @RequestParam("name") @jakarta.validation.constraints.NotBlank(message = "Folder name cannot be empty") String name,
@@ -55,31 +140,187 @@ public class AssetController {
         return ResponseEntity.ok(assetService.getRootFolders(userId));
     }
 
+    /**
+     * The folder hierarchy with file counts and byte totals per folder and per subtree; the whole
+     * tree from the user's root folders, or the subtree under {@code rootFolderId}, optionally cut
+     * off {@code depth} levels down.
+     */
+    @GetMapping("/folders/tree")
+    public ResponseEntity<List<FolderTreeService.FolderTreeNode>> getFolderTree(
+            @RequestParam(value = "rootFolderId", required = false) UUID rootFolderId,
+            @RequestParam(value = "depth", required = false) @jakarta.validation.constraints.Min(value = 0, message = "Depth cannot be negative") Integer depth) {
+        UUID userId = UserContextUtil.getCurrentUserId();
+        return ResponseEntity.ok(folderTreeService.getTree(userId, rootFolderId, depth));
+    }
+
+    /**
+     * Searches all of the user's files, newest or largest first. {@code mimeType} may repeat and
+     * accepts {@code video/*}; dates are ISO date-times, {@code createdTo} exclusive. Pass
+     * {@code nextCursor} back as {@code cursor} with the same filters for the next page.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<MediaFileSummary>> searchFiles(
+            @RequestParam(value = "mimeType", required = false) List<String> mimeTypes,
+            @RequestParam(value = "minSizeBytes", required = false) @jakarta.validation.constraints.PositiveOrZero Long minSizeBytes,
+            @RequestParam(value = "maxSizeBytes", required = false) @jakarta.validation.constraints.PositiveOrZero Long maxSizeBytes,
+            @RequestParam(value = "createdFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(value = "createdTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(value = "minDurationSeconds", required = false) @jakarta.validation.constraints.PositiveOrZero Float minDurationSeconds,
+            @RequestParam(value = "maxDurationSeconds", required = false) @jakarta.validation.constraints.PositiveOrZero Float maxDurationSeconds,
+            @RequestParam(value = "minWidth", required = false) @jakarta.validation.constraints.PositiveOrZero Integer minWidth,
+            @RequestParam(value = "minHeight", required = false) @jakarta.validation.constraints.PositiveOrZero Integer minHeight,
+            @RequestParam(value = "namePrefix", required = false) String namePrefix,
+            @RequestParam(value = "nameContains", required = false) @jakarta.validation.constraints.Size(min = 3, message = "nameContains needs at least 3 characters") String nameContains,
+            @RequestParam(value = "sort", required = false, defaultValue = "NEWEST") AssetSearchCriteria.Sort sort,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        UUID userId = UserContextUtil.getCurrentUserId();
+        AssetSearchCriteria criteria = AssetSearchCriteria.builder()
+                .mimeTypes(mimeTypes)
+                .minSizeBytes(minSizeBytes)
+                .maxSizeBytes(maxSizeBytes)
+                .createdFrom(createdFrom)
+                .createdTo(createdTo)
+                .minDurationSeconds(minDurationSeconds)
+                .maxDurationSeconds(maxDurationSeconds)
+                .minWidth(minWidth)
+                .minHeight(minHeight)
+                .namePrefix(namePrefix)
+                .nameContains(nameContains)
+                .sort(sort)
+                .build();
+        return ResponseEntity.ok(assetSearchService.search(userId, criteria, cursor, limit));
+    }
+
+    @DeleteMapping("/{fileId}")
+    public ResponseEntity<Void> deleteFile(@PathVariable UUID fileId) {
+        UUID userId = UserContextUtil.getCurrentUserId();
+        assetService.deleteFile(fileId, userId);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/{fileId}/metadata")
     public ResponseEntity<MediaFile> getFileMetadata(@PathVariable UUID fileId) {
         UUID userId = UserContextUtil.getCurrentUserId();
         return ResponseEntity.ok(assetService.getFileMetadata(fileId, userId));
     }
 
+    /**
+     * Streams the file with its stored content type. Supports a single HTTP byte range (206),
+     * conditional GETs via ETag / Last-Modified (304) and If-Range for resumed downloads. With
+     * {@code rendition=thumb|preview} it serves the derived JPEG instead.
+     */
     @GetMapping("/view/{fileId}")
-    public ResponseEntity<org.springframework.core.io.Resource> viewFile(@PathVariable UUID fileId) throws IOException {
+    public void viewFile(
+            @PathVariable UUID fileId,
+            @RequestParam(value = "rendition", required = false) String rendition,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
         UUID userId = UserContextUtil.getCurrentUserId();
-        org.springframework.core.io.Resource fileResource = assetService.downloadFile(fileId, userId);
-        MediaType mediaType = MediaType.APPLICATION_OCTET_STREAM;
-        
-        // Try to determine content type from filename if possible, otherwise default
+        MediaFile file = assetDownloadService.getDownloadableFile(fileId, userId);
+        if (rendition != null) {
+            viewRendition(file, rendition, request, response);
+            return;
+        }
+        String etag = assetDownloadService.etagOf(file);
+        long lastModified = assetDownloadService.lastModifiedOf(file);
+
+        // Sets ETag / Last-Modified, and answers 304 itself when the client's copy is current
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        long size = file.getSizeBytes();
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        response.setContentType(assetDownloadService.contentTypeOf(file).toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                .filename(file.getFileName(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+
+        long start = 0;
+        long length = size;
+        HttpRange range = requestedRange(request, etag, lastModified);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(size);
+                length = range.getRangeEnd(size) - start + 1;
+            } catch (IllegalArgumentException ex) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (start + length - 1) + "/" + size);
+        }
+        response.setContentLengthLong(length);
+
+        if (HttpMethod.HEAD.matches(request.getMethod()) || length == 0) {
+            return;
+        }
+        assetDownloadService.streamTo(file, start, length, response.getOutputStream());
+    }
+
+    /**
+     * Renditions are derived from content that never changes once uploaded, so browsers may keep
+     * them for a year without revalidating. 404 until one has been generated.
+     */
+    private void viewRendition(MediaFile file, String key, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Rendition rendition = Rendition.fromKey(key)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown rendition: " + key));
+        AssetDownloadService.StoredRendition stored = assetDownloadService.getRendition(file, rendition).orElse(null);
+        if (stored == null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable().getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(stored.etag())) {
+            return;
+        }
+        response.setContentType(stored.contentType());
+        response.setContentLengthLong(stored.sizeBytes());
+        if (HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+        assetDownloadService.streamRendition(stored, response.getOutputStream());
+    }
+
+    /**
+     * The single byte range to serve, or null for the whole file. Multi-range requests and ranges
+     * whose If-Range validator no longer matches fall back to a full 200 response.
+     */
+    private HttpRange requestedRange(HttpServletRequest request, String etag, long lastModified) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRangeMatches(ifRange, etag, lastModified)) {
+            return null;
+        }
+        List<HttpRange> ranges;
         try {
-             if (fileResource.getFilename() != null && fileResource.getFilename().endsWith(".png")) {
-                 mediaType = MediaType.IMAGE_PNG;
-             } else if (fileResource.getFilename() != null && fileResource.getFilename().endsWith(".jpg")) {
-                 mediaType = MediaType.IMAGE_JPEG;
-             }
-        } catch (Exception e) {
-            // ignore
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException ex) {
+            return null;
         }
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
 
-        return ResponseEntity.ok()
-                .contentType(mediaType)
-                .body(fileResource);
+    private boolean ifRangeMatches(String ifRange, String etag, long lastModified) {
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // If-Range uses strong comparison, so weak ETags never match
+            return !etag.startsWith("W/") && ifRange.equals(etag);
+        }
+        try {
+            long since = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return lastModified >= 0 && lastModified / 1000 == since / 1000;
+        } catch (DateTimeParseException ex) {
+            return false;
+        }
     }
 }
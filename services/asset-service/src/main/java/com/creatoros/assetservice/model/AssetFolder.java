@@ -17,7 +17,10 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "asset_folders")
+@Table(name = "asset_folders", indexes = {
+        // Child lookups and the recursive tree walk
+        @Index(name = "idx_asset_folders_user_parent", columnList = "user_id, parent_folder_id")
+})
 public class AssetFolder {
 
     @Id
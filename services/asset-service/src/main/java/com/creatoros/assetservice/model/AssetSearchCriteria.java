@@ -0,0 +1,37 @@
+package com.creatoros.assetservice.model;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Filters for searching a user's library. Every field is optional; unset fields do not filter.
+ * Mime types match exactly or, written as {@code video/*}, by top-level type. Duration and
+ * resolution filters only match files whose metadata has been extracted.
+ */
+@Builder
+public record AssetSearchCriteria(
+        List<String> mimeTypes,
+        Long minSizeBytes,
+        Long maxSizeBytes,
+        LocalDateTime createdFrom,
+        LocalDateTime createdTo,
+        Float minDurationSeconds,
+        Float maxDurationSeconds,
+        Integer minWidth,
+        Integer minHeight,
+        String namePrefix,
+        String nameContains,
+        Sort sort
+) {
+
+    public enum Sort {
+        NEWEST,
+        LARGEST
+    }
+
+    public boolean filtersOnMetadata() {
+        return minDurationSeconds != null || maxDurationSeconds != null || minWidth != null || minHeight != null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.creatoros.assetservice.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -17,7 +18,10 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "media_files")
+@Table(name = "media_files", indexes = {
+        // Folder listings and per-folder totals in the tree query
+        @Index(name = "idx_media_files_user_folder", columnList = "user_id, folder_id")
+})
 public class MediaFile {
 
     @Id
@@ -52,6 +56,10 @@ public class MediaFile {
 
     private String checksum;
 
+    // StoredBlob this file's content lives in; null for direct uploads and files stored before dedup
+    @JsonIgnore
+    private UUID blobId;
+
     @Enumerated(EnumType.STRING)
     private UploadStatus uploadStatus;
 
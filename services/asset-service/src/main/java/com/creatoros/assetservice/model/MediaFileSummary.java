@@ -0,0 +1,21 @@
+package com.creatoros.assetservice.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Search result row: what a library grid shows, without the storage details of a full {@link MediaFile}.
+ */
+public record MediaFileSummary(
+        UUID id,
+        UUID folderId,
+        String fileName,
+        String mimeType,
+        Long sizeBytes,
+        LocalDateTime createdAt,
+        Integer width,
+        Integer height,
+        Float durationSeconds,
+        String thumbnailUrl
+) {
+}
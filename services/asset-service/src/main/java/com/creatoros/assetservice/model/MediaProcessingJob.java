@@ -16,7 +16,10 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "media_processing_jobs")
+@Table(name = "media_processing_jobs", indexes = {
+        // Claim query: pending jobs of the worker's types, oldest first
+        @Index(name = "idx_media_processing_jobs_claim", columnList = "status, job_type, updated_at")
+})
 public class MediaProcessingJob {
 
     @Id
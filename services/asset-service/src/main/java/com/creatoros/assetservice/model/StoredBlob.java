@@ -0,0 +1,56 @@
+package com.creatoros.assetservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One stored object shared by every {@link MediaFile} with the same content. Looked up by
+ * {@code contentKey} (store, dedup scope and SHA-256) and removed when the last file referencing
+ * it is deleted.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "stored_blobs")
+public class StoredBlob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false, unique = true)
+    private String contentKey;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private Long sizeBytes;
+
+    @Column(nullable = false)
+    private String storageProvider;
+
+    private String bucketName;
+
+    @Column(nullable = false)
+    private String storagePath;
+
+    @Column(nullable = false)
+    private Integer refCount;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,196 @@
+package com.creatoros.assetservice.processing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads dimensions, duration and codecs from container headers using ranged reads only: the
+ * first {@code headBytes} of the file, plus for MP4/MOV the top-level box headers and the
+ * {@code moov} box wherever it sits. Media data is never fetched.
+ */
+public class MediaHeaderParser {
+
+    /**
+     * Fetches {@code length} bytes at {@code offset}; may return fewer at end of file.
+     */
+    @FunctionalInterface
+    public interface RangeReader {
+        byte[] read(long offset, int length) throws IOException;
+    }
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private final int headBytes;
+    private final int maxMoovBytes;
+
+    public MediaHeaderParser(int headBytes, int maxMoovBytes) {
+        this.headBytes = headBytes;
+        this.maxMoovBytes = maxMoovBytes;
+    }
+
+    /**
+     * @return empty when the format is not one we parse
+     */
+    public Optional<MediaProbe> probe(RangeReader reader, long sizeBytes) throws IOException {
+        byte[] head = reader.read(0, (int) Math.min(headBytes, sizeBytes));
+        if (startsWith(head, PNG_SIGNATURE)) {
+            return Optional.of(parsePng(head));
+        }
+        if (head.length >= 3 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) {
+            return Optional.of(parseJpeg(reader, head, sizeBytes));
+        }
+        if (head.length >= 8 && isTopLevelBox(fourcc(head, 4))) {
+            return Optional.of(parseIsoBmff(reader, head, sizeBytes));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Embedded cover art of an MP4/MOV ({@code moov/udta/meta/ilst/covr}), the only poster frame
+     * we can get without a video decoder.
+     */
+    public Optional<byte[]> coverArt(RangeReader reader, long sizeBytes) throws IOException {
+        byte[] head = reader.read(0, (int) Math.min(headBytes, sizeBytes));
+        if (head.length < 8 || !isTopLevelBox(fourcc(head, 4))) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(Mp4Moov.coverArt(readMoov(reader, head, sizeBytes, new HashMap<>())));
+    }
+
+    private MediaProbe parsePng(byte[] head) {
+        // Signature, then IHDR: length(4) "IHDR"(4) width(4) height(4) bitDepth(1) colorType(1)
+        if (head.length < 26 || !"IHDR".equals(fourcc(head, 12))) {
+            throw new IllegalArgumentException("PNG without IHDR");
+        }
+        ByteBuffer ihdr = ByteBuffer.wrap(head, 16, 10);
+        Map<String, Object> extra = new HashMap<>();
+        int width = ihdr.getInt();
+        int height = ihdr.getInt();
+        extra.put("bitDepth", ihdr.get() & 0xFF);
+        extra.put("colorType", ihdr.get() & 0xFF);
+        return new MediaProbe(width, height, null, null, null, "png", extra);
+    }
+
+    private MediaProbe parseJpeg(RangeReader reader, byte[] head, long sizeBytes) throws IOException {
+        long offset = 2;
+        while (offset + 4 <= sizeBytes) {
+            byte[] segment = bytes(reader, head, offset, 9);
+            if (segment.length < 4 || (segment[0] & 0xFF) != 0xFF) {
+                break;
+            }
+            int marker = segment[1] & 0xFF;
+            if (marker == 0xFF) {
+                // Fill byte before the real marker
+                offset++;
+                continue;
+            }
+            if (marker == 0xD8 || marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+                offset += 2;
+                continue;
+            }
+            if (marker == 0xD9 || marker == 0xDA) {
+                // End of image, or start of scan: no frame header ahead
+                break;
+            }
+            int length = ((segment[2] & 0xFF) << 8) | (segment[3] & 0xFF);
+            boolean startOfFrame = marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC;
+            if (startOfFrame && segment.length >= 9) {
+                int height = ((segment[5] & 0xFF) << 8) | (segment[6] & 0xFF);
+                int width = ((segment[7] & 0xFF) << 8) | (segment[8] & 0xFF);
+                Map<String, Object> extra = new HashMap<>();
+                extra.put("progressive", marker == 0xC2);
+                return new MediaProbe(width, height, null, null, null, "jpeg", extra);
+            }
+            offset += 2 + length;
+        }
+        throw new IllegalArgumentException("JPEG without a frame header");
+    }
+
+    private MediaProbe parseIsoBmff(RangeReader reader, byte[] head, long sizeBytes) throws IOException {
+        Map<String, Object> extra = new HashMap<>();
+        return Mp4Moov.parse(readMoov(reader, head, sizeBytes, extra), sizeBytes, extra);
+    }
+
+    /**
+     * Finds the {@code moov} box by walking top-level box headers and returns its body; the ftyp
+     * brand is put into {@code extra} on the way.
+     */
+    private ByteBuffer readMoov(RangeReader reader, byte[] head, long sizeBytes, Map<String, Object> extra) throws IOException {
+        long offset = 0;
+        while (offset + 8 <= sizeBytes) {
+            ByteBuffer header = ByteBuffer.wrap(bytes(reader, head, offset, 16));
+            if (header.remaining() < 8) {
+                break;
+            }
+            long boxSize = header.getInt() & 0xFFFFFFFFL;
+            String type = fourcc(header);
+            int headerSize = 8;
+            if (boxSize == 1) {
+                boxSize = header.getLong();
+                headerSize = 16;
+            } else if (boxSize == 0) {
+                boxSize = sizeBytes - offset;
+            }
+            if (boxSize < headerSize) {
+                throw new IllegalArgumentException("Corrupt box " + type + " at " + offset);
+            }
+
+            if ("ftyp".equals(type)) {
+                extra.put("brand", fourcc(bytes(reader, head, offset + headerSize, 4), 0));
+            } else if ("moov".equals(type)) {
+                long bodySize = boxSize - headerSize;
+                if (bodySize > maxMoovBytes) {
+                    throw new IllegalArgumentException("moov box of " + bodySize + " bytes exceeds limit " + maxMoovBytes);
+                }
+                return ByteBuffer.wrap(bytes(reader, head, offset + headerSize, (int) bodySize));
+            }
+            offset += boxSize;
+        }
+        throw new IllegalArgumentException("MP4 without a moov box");
+    }
+
+    /**
+     * Serves from the already-fetched head when the range lies inside it, otherwise reads it.
+     */
+    private static byte[] bytes(RangeReader reader, byte[] head, long offset, int length) throws IOException {
+        if (offset + length <= head.length) {
+            byte[] slice = new byte[length];
+            System.arraycopy(head, (int) offset, slice, 0, length);
+            return slice;
+        }
+        return reader.read(offset, length);
+    }
+
+    private static boolean isTopLevelBox(String type) {
+        return switch (type) {
+            case "ftyp", "moov", "mdat", "free", "skip", "wide", "pnot" -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix) {
+        if (data.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String fourcc(byte[] data, int offset) {
+        return data.length < offset + 4 ? "" : new String(data, offset, 4, StandardCharsets.ISO_8859_1);
+    }
+
+    static String fourcc(ByteBuffer buffer) {
+        byte[] code = new byte[4];
+        buffer.get(code);
+        return new String(code, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,18 @@
+package com.creatoros.assetservice.processing;
+
+import java.util.Map;
+
+/**
+ * What {@link MediaHeaderParser} could read from a file's container headers. Fields it could not
+ * determine are null.
+ */
+public record MediaProbe(
+        Integer width,
+        Integer height,
+        Float durationSeconds,
+        Float fps,
+        Integer bitrateKbps,
+        String codec,
+        Map<String, Object> extra
+) {
+}
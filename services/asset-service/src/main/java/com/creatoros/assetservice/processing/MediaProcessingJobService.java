@@ -0,0 +1,150 @@
+package com.creatoros.assetservice.processing;
+
+import com.creatoros.assetservice.model.MediaMetadata;
+import com.creatoros.assetservice.model.MediaProcessingJob;
+import com.creatoros.assetservice.repository.MediaFileRepository;
+import com.creatoros.assetservice.repository.MediaMetadataRepository;
+import com.creatoros.assetservice.repository.MediaProcessingJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Job state transitions for the processing workers. Each method is its own short transaction;
+ * nothing here holds a transaction open across storage reads.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MediaProcessingJobService {
+
+    public static final String METADATA_EXTRACTION = "METADATA_EXTRACTION";
+    public static final String RENDITIONS = "RENDITIONS";
+
+    private final MediaProcessingJobRepository jobRepository;
+    private final MediaMetadataRepository metadataRepository;
+    private final MediaFileRepository mediaFileRepository;
+
+    public record ClaimedJob(UUID jobId, String jobType, UUID mediaFileId, int attempt) {
+    }
+
+    /**
+     * Moves up to {@code limit} pending jobs to PROCESSING and counts the attempt. Jobs that have
+     * already used {@code maxAttempts} (e.g. released after a crash) are failed instead.
+     */
+    @Transactional
+    public List<ClaimedJob> claim(Collection<String> jobTypes, int limit, int maxAttempts) {
+        List<MediaProcessingJob> jobs = jobRepository.lockPending(jobTypes, limit);
+        LocalDateTime now = LocalDateTime.now();
+        List<ClaimedJob> claimed = new ArrayList<>(jobs.size());
+        for (MediaProcessingJob job : jobs) {
+            int attempts = job.getAttempts() == null ? 0 : job.getAttempts();
+            if (attempts >= maxAttempts) {
+                job.setStatus(MediaProcessingJob.JobStatus.FAILED);
+                job.setFinishedAt(now);
+                job.setErrorMessage("Gave up after " + attempts + " attempts: " + job.getErrorMessage());
+                continue;
+            }
+            job.setStatus(MediaProcessingJob.JobStatus.PROCESSING);
+            job.setAttempts(attempts + 1);
+            job.setStartedAt(now);
+            job.setFinishedAt(null);
+            claimed.add(new ClaimedJob(job.getId(), job.getJobType(), job.getMediaFile().getId(), attempts + 1));
+        }
+        jobRepository.saveAll(jobs);
+        return claimed;
+    }
+
+    /**
+     * Returns a claimed job to the queue without counting the attempt, for work that never started.
+     */
+    @Transactional
+    public void release(UUID jobId) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(MediaProcessingJob.JobStatus.PENDING);
+            job.setAttempts(Math.max(0, job.getAttempts() - 1));
+            job.setStartedAt(null);
+            jobRepository.save(job);
+        });
+    }
+
+    /**
+     * Writes what was probed into the file's {@link MediaMetadata} row and marks the job done.
+     * {@code probe} is null for formats we do not parse.
+     */
+    @Transactional
+    public void complete(UUID jobId, UUID mediaFileId, MediaProbe probe) {
+        if (probe != null) {
+            MediaMetadata metadata = lockMetadata(mediaFileId);
+            metadata.setWidth(probe.width());
+            metadata.setHeight(probe.height());
+            metadata.setDurationSeconds(probe.durationSeconds());
+            metadata.setFps(probe.fps());
+            metadata.setBitrateKbps(probe.bitrateKbps());
+            metadata.setCodec(probe.codec());
+            Map<String, Object> extra = metadata.getExtra() == null ? new HashMap<>() : new HashMap<>(metadata.getExtra());
+            extra.putAll(probe.extra());
+            metadata.setExtra(extra);
+            metadataRepository.save(metadata);
+        }
+        markCompleted(jobId);
+    }
+
+    /**
+     * Records the stored renditions on the file's metadata and marks the job done. An empty map
+     * means the file had nothing to render (e.g. a video without cover art).
+     */
+    @Transactional
+    public void completeRenditions(UUID jobId, UUID mediaFileId, Map<String, Object> renditions, String thumbnailUrl) {
+        if (!renditions.isEmpty()) {
+            MediaMetadata metadata = lockMetadata(mediaFileId);
+            Map<String, Object> extra = metadata.getExtra() == null ? new HashMap<>() : new HashMap<>(metadata.getExtra());
+            extra.put("renditions", renditions);
+            metadata.setExtra(extra);
+            metadata.setThumbnailUrl(thumbnailUrl);
+            metadataRepository.save(metadata);
+        }
+        markCompleted(jobId);
+    }
+
+    private MediaMetadata lockMetadata(UUID mediaFileId) {
+        return metadataRepository.lockByMediaFileId(mediaFileId)
+                .orElseGet(() -> MediaMetadata.builder()
+                        .mediaFile(mediaFileRepository.getReferenceById(mediaFileId))
+                        .build());
+    }
+
+    private void markCompleted(UUID jobId) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(MediaProcessingJob.JobStatus.COMPLETED);
+            job.setErrorMessage(null);
+            job.setFinishedAt(LocalDateTime.now());
+            jobRepository.save(job);
+        });
+    }
+
+    /**
+     * Records the error and re-queues the job, or fails it for good once {@code maxAttempts} is used.
+     */
+    @Transactional
+    public void fail(UUID jobId, String error, int maxAttempts) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            boolean exhausted = job.getAttempts() >= maxAttempts;
+            job.setStatus(exhausted ? MediaProcessingJob.JobStatus.FAILED : MediaProcessingJob.JobStatus.PENDING);
+            job.setErrorMessage(error);
+            job.setFinishedAt(LocalDateTime.now());
+            jobRepository.save(job);
+            log.warn("Processing job {} attempt {} failed{}: {}", jobId, job.getAttempts(),
+                    exhausted ? " permanently" : "", error);
+        });
+    }
+}
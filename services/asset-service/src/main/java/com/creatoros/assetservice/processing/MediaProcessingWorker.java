@@ -0,0 +1,196 @@
+package com.creatoros.assetservice.processing;
+
+import com.creatoros.assetservice.model.MediaFile;
+import com.creatoros.assetservice.model.MediaProcessingJob;
+import com.creatoros.assetservice.repository.MediaFileRepository;
+import com.creatoros.assetservice.repository.MediaProcessingJobRepository;
+import com.creatoros.assetservice.storage.BlobStat;
+import com.creatoros.assetservice.storage.BlobStore;
+import com.creatoros.assetservice.storage.HashingInputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs media processing jobs. A poller claims only as many pending jobs as there are idle workers
+ * (with SKIP LOCKED, so any number of instances can poll the same table). METADATA_EXTRACTION
+ * probes container headers through ranged reads and fills {@code MediaMetadata}; RENDITIONS
+ * stores scaled JPEGs of images, or of an MP4's embedded cover art, as derived blobs.
+ */
+@Component
+@Slf4j
+public class MediaProcessingWorker {
+
+    private static final List<String> JOB_TYPES = List.of(
+            MediaProcessingJobService.METADATA_EXTRACTION, MediaProcessingJobService.RENDITIONS);
+
+    private final MediaProcessingJobService jobService;
+    private final MediaProcessingJobRepository jobRepository;
+    private final MediaFileRepository mediaFileRepository;
+    private final BlobStore blobStore;
+    private final ThreadPoolTaskExecutor executor;
+    private final MediaHeaderParser parser;
+    private final RenditionGenerator renditionGenerator;
+    private final long maxRenditionSourceBytes;
+    private final int maxAttempts;
+    private final long staleAfterMinutes;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public MediaProcessingWorker(
+            MediaProcessingJobService jobService,
+            MediaProcessingJobRepository jobRepository,
+            MediaFileRepository mediaFileRepository,
+            BlobStore blobStore,
+            @Qualifier("mediaProcessingExecutor") ThreadPoolTaskExecutor executor,
+            @Value("${assets.processing.head-bytes:262144}") int headBytes,
+            @Value("${assets.processing.max-moov-bytes:33554432}") int maxMoovBytes,
+            @Value("${assets.renditions.jpeg-quality:0.8}") float jpegQuality,
+            @Value("${assets.renditions.max-source-bytes:52428800}") long maxRenditionSourceBytes,
+            @Value("${assets.renditions.max-source-pixels:100000000}") long maxRenditionSourcePixels,
+            @Value("${assets.processing.max-attempts:3}") int maxAttempts,
+            @Value("${assets.processing.stale-after-minutes:15}") long staleAfterMinutes
+    ) {
+        this.jobService = jobService;
+        this.jobRepository = jobRepository;
+        this.mediaFileRepository = mediaFileRepository;
+        this.blobStore = blobStore;
+        this.executor = executor;
+        this.parser = new MediaHeaderParser(headBytes, maxMoovBytes);
+        this.renditionGenerator = new RenditionGenerator(jpegQuality, maxRenditionSourcePixels);
+        this.maxRenditionSourceBytes = maxRenditionSourceBytes;
+        this.maxAttempts = maxAttempts;
+        this.staleAfterMinutes = staleAfterMinutes;
+    }
+
+    @Scheduled(fixedDelayString = "${assets.processing.poll-interval-ms:1000}")
+    public void poll() {
+        int idle = executor.getMaxPoolSize() - inFlight.get();
+        if (idle <= 0) {
+            return;
+        }
+        List<MediaProcessingJobService.ClaimedJob> claimed;
+        try {
+            claimed = jobService.claim(JOB_TYPES, idle, maxAttempts);
+        } catch (RuntimeException ex) {
+            log.warn("Could not claim processing jobs: {}", ex.getMessage());
+            return;
+        }
+        for (MediaProcessingJobService.ClaimedJob job : claimed) {
+            inFlight.incrementAndGet();
+            try {
+                executor.execute(() -> {
+                    try {
+                        process(job);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            } catch (TaskRejectedException ex) {
+                inFlight.decrementAndGet();
+                jobService.release(job.jobId());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${assets.processing.stale-sweep-interval-ms:300000}")
+    public void releaseStaleClaims() {
+        LocalDateTime now = LocalDateTime.now();
+        int released = jobRepository.releaseStaleClaims(MediaProcessingJob.JobStatus.PROCESSING,
+                MediaProcessingJob.JobStatus.PENDING, now.minusMinutes(staleAfterMinutes), now);
+        if (released > 0) {
+            log.warn("Released {} stale processing job claims", released);
+        }
+    }
+
+    void process(MediaProcessingJobService.ClaimedJob job) {
+        try {
+            MediaFile mediaFile = mediaFileRepository.findById(job.mediaFileId())
+                    .orElseThrow(() -> new IllegalStateException("File no longer exists: " + job.mediaFileId()));
+            long sizeBytes = mediaFile.getSizeBytes() != null
+                    ? mediaFile.getSizeBytes()
+                    : blobStore.stat(mediaFile.getBucketName(), mediaFile.getStoragePath())
+                            .map(BlobStat::sizeBytes)
+                            .orElseThrow(() -> new IllegalStateException("File content missing: " + mediaFile.getId()));
+
+            if (MediaProcessingJobService.RENDITIONS.equals(job.jobType())) {
+                renderRenditions(job, mediaFile, sizeBytes);
+            } else {
+                extractMetadata(job, mediaFile, sizeBytes);
+            }
+        } catch (Exception ex) {
+            jobService.fail(job.jobId(), ex.getClass().getSimpleName() + ": " + ex.getMessage(), maxAttempts);
+        }
+    }
+
+    private void extractMetadata(MediaProcessingJobService.ClaimedJob job, MediaFile mediaFile, long sizeBytes)
+            throws IOException {
+        long startedAt = System.nanoTime();
+        Optional<MediaProbe> probe = parser.probe((offset, length) -> readRange(mediaFile, sizeBytes, offset, length), sizeBytes);
+        jobService.complete(job.jobId(), mediaFile.getId(), probe.orElse(null));
+        log.debug("Extracted metadata for file {} ({}) in {} ms", mediaFile.getId(),
+                probe.map(MediaProbe::codec).orElse("unsupported"), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private void renderRenditions(MediaProcessingJobService.ClaimedJob job, MediaFile mediaFile, long sizeBytes)
+            throws IOException {
+        byte[] source = null;
+        if (RenditionGenerator.isImage(mediaFile.getMimeType(), mediaFile.getFileType())) {
+            if (sizeBytes <= maxRenditionSourceBytes) {
+                source = readRange(mediaFile, sizeBytes, 0, (int) sizeBytes);
+            } else {
+                log.info("Skipping renditions for file {}: {} bytes exceeds the source limit", mediaFile.getId(), sizeBytes);
+            }
+        } else if (RenditionGenerator.isVideo(mediaFile.getMimeType(), mediaFile.getFileType())) {
+            // No video decoder here, so the only poster frame available is embedded cover art
+            source = parser.coverArt((offset, length) -> readRange(mediaFile, sizeBytes, offset, length), sizeBytes)
+                    .orElse(null);
+        }
+        if (source == null) {
+            jobService.completeRenditions(job.jobId(), mediaFile.getId(), Map.of(), null);
+            return;
+        }
+
+        Map<String, Object> stored = new HashMap<>();
+        for (RenditionGenerator.Output output : renditionGenerator.generate(source)) {
+            String path = String.format("renditions/%s/%s/%s.jpg", mediaFile.getUserId(), mediaFile.getId(), output.rendition().key());
+            HashingInputStream content = new HashingInputStream(new ByteArrayInputStream(output.jpeg()), output.jpeg().length);
+            long written = blobStore.write(path, "image/jpeg", content);
+
+            Map<String, Object> rendition = new HashMap<>();
+            rendition.put("bucket", blobStore.bucket());
+            rendition.put("path", path);
+            rendition.put("contentType", "image/jpeg");
+            rendition.put("sizeBytes", written);
+            rendition.put("width", output.width());
+            rendition.put("height", output.height());
+            rendition.put("sha256", content.sha256Hex());
+            stored.put(output.rendition().key(), rendition);
+        }
+        String thumbnailUrl = String.format("/assets/view/%s?rendition=%s", mediaFile.getId(), Rendition.THUMB.key());
+        jobService.completeRenditions(job.jobId(), mediaFile.getId(), stored, thumbnailUrl);
+    }
+
+    private byte[] readRange(MediaFile mediaFile, long sizeBytes, long offset, int length) throws IOException {
+        long available = Math.min(length, sizeBytes - offset);
+        if (available <= 0) {
+            return new byte[0];
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) available);
+        blobStore.read(mediaFile.getBucketName(), mediaFile.getStoragePath(), offset, available, out);
+        return out.toByteArray();
+    }
+}
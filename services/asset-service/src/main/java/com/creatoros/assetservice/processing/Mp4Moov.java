@@ -0,0 +1,217 @@
+package com.creatoros.assetservice.processing;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Walks an MP4/MOV {@code moov} box: movie duration from {@code mvhd}, and per track the handler,
+ * display size ({@code tkhd}), media timescale and duration ({@code mdhd}), sample format
+ * ({@code stsd}) and sample count ({@code stts}).
+ */
+final class Mp4Moov {
+
+    private long movieTimescale;
+    private long movieDuration;
+    private final List<Track> tracks = new ArrayList<>();
+    private byte[] coverArt;
+
+    private static final class Track {
+        String handler;
+        int width;
+        int height;
+        long timescale;
+        long duration;
+        String format;
+        long sampleCount;
+    }
+
+    private Mp4Moov() {
+    }
+
+    static MediaProbe parse(ByteBuffer moov, long fileSize, Map<String, Object> extra) {
+        Mp4Moov parsed = new Mp4Moov();
+        parsed.walk(moov, null);
+        return parsed.toProbe(fileSize, extra);
+    }
+
+    static byte[] coverArt(ByteBuffer moov) {
+        Mp4Moov parsed = new Mp4Moov();
+        parsed.walk(moov, null);
+        return parsed.coverArt;
+    }
+
+    private void walk(ByteBuffer container, Track track) {
+        while (container.remaining() >= 8) {
+            int start = container.position();
+            long size = container.getInt() & 0xFFFFFFFFL;
+            String type = MediaHeaderParser.fourcc(container);
+            if (size == 1) {
+                size = container.getLong();
+            } else if (size == 0) {
+                size = container.limit() - start;
+            }
+            int bodyStart = container.position();
+            long end = start + size;
+            if (size < bodyStart - start || end > container.limit()) {
+                return;
+            }
+            ByteBuffer body = container.duplicate();
+            body.position(bodyStart).limit((int) end);
+
+            switch (type) {
+                case "trak" -> {
+                    Track child = new Track();
+                    tracks.add(child);
+                    walk(body, child);
+                }
+                case "mdia", "minf", "stbl", "udta", "ilst", "covr" -> walk(body, track);
+                case "meta" -> {
+                    // ISO meta is a full box (version/flags first); QuickTime's is a plain container
+                    if (body.remaining() >= 12 && !"hdlr".equals(MediaHeaderParser.fourcc(body.duplicate().position(body.position() + 4)))) {
+                        body.position(body.position() + 4);
+                    }
+                    walk(body, track);
+                }
+                case "data" -> readCoverData(body);
+                case "mvhd" -> readMovieHeader(body);
+                case "tkhd" -> readTrackHeader(body, track);
+                case "mdhd" -> readMediaHeader(body, track);
+                case "hdlr" -> readHandler(body, track);
+                case "stsd" -> readSampleDescription(body, track);
+                case "stts" -> readTimeToSample(body, track);
+                default -> {
+                    // Not needed
+                }
+            }
+            container.position((int) end);
+        }
+    }
+
+    private void readCoverData(ByteBuffer box) {
+        // Only reached inside covr: type indicator(4), locale(4), then the JPEG/PNG bytes
+        if (coverArt != null || box.remaining() <= 8) {
+            return;
+        }
+        box.position(box.position() + 8);
+        coverArt = new byte[box.remaining()];
+        box.get(coverArt);
+    }
+
+    private void readMovieHeader(ByteBuffer box) {
+        int version = box.get() & 0xFF;
+        box.position(box.position() + 3);
+        if (version == 1) {
+            box.position(box.position() + 16);
+            movieTimescale = box.getInt() & 0xFFFFFFFFL;
+            movieDuration = box.getLong();
+        } else {
+            box.position(box.position() + 8);
+            movieTimescale = box.getInt() & 0xFFFFFFFFL;
+            movieDuration = box.getInt() & 0xFFFFFFFFL;
+        }
+    }
+
+    private void readTrackHeader(ByteBuffer box, Track track) {
+        if (track == null) {
+            return;
+        }
+        int version = box.get() & 0xFF;
+        // flags, times, track id, reserved, duration, reserved, layer, group, volume, reserved, matrix
+        int skip = 3 + (version == 1 ? 8 + 8 + 4 + 4 + 8 : 4 + 4 + 4 + 4 + 4) + 8 + 2 + 2 + 2 + 2 + 36;
+        if (box.remaining() < skip + 8) {
+            return;
+        }
+        box.position(box.position() + skip);
+        // 16.16 fixed point
+        track.width = box.getInt() >>> 16;
+        track.height = box.getInt() >>> 16;
+    }
+
+    private void readMediaHeader(ByteBuffer box, Track track) {
+        if (track == null) {
+            return;
+        }
+        int version = box.get() & 0xFF;
+        box.position(box.position() + 3);
+        if (version == 1) {
+            box.position(box.position() + 16);
+            track.timescale = box.getInt() & 0xFFFFFFFFL;
+            track.duration = box.getLong();
+        } else {
+            box.position(box.position() + 8);
+            track.timescale = box.getInt() & 0xFFFFFFFFL;
+            track.duration = box.getInt() & 0xFFFFFFFFL;
+        }
+    }
+
+    private void readHandler(ByteBuffer box, Track track) {
+        if (track == null || box.remaining() < 12) {
+            return;
+        }
+        box.position(box.position() + 8);
+        track.handler = MediaHeaderParser.fourcc(box);
+    }
+
+    private void readSampleDescription(ByteBuffer box, Track track) {
+        if (track == null || box.remaining() < 16) {
+            return;
+        }
+        // version/flags, entry count, first entry size
+        box.position(box.position() + 12);
+        track.format = MediaHeaderParser.fourcc(box).trim();
+    }
+
+    private void readTimeToSample(ByteBuffer box, Track track) {
+        if (track == null || box.remaining() < 8) {
+            return;
+        }
+        box.position(box.position() + 4);
+        long entries = box.getInt() & 0xFFFFFFFFL;
+        long samples = 0;
+        for (long i = 0; i < entries && box.remaining() >= 8; i++) {
+            samples += box.getInt() & 0xFFFFFFFFL;
+            box.position(box.position() + 4);
+        }
+        track.sampleCount = samples;
+    }
+
+    private MediaProbe toProbe(long fileSize, Map<String, Object> extra) {
+        Track video = firstTrack("vide");
+        Track audio = firstTrack("soun");
+
+        Float durationSeconds = movieTimescale > 0 ? (float) movieDuration / movieTimescale : null;
+        if ((durationSeconds == null || durationSeconds == 0) && video != null && video.timescale > 0) {
+            durationSeconds = (float) video.duration / video.timescale;
+        }
+        Float fps = null;
+        if (video != null && video.timescale > 0 && video.duration > 0 && video.sampleCount > 0) {
+            fps = Math.round(video.sampleCount * 100f * video.timescale / video.duration) / 100f;
+        }
+        Integer bitrateKbps = durationSeconds != null && durationSeconds > 0
+                ? (int) (fileSize * 8 / durationSeconds / 1000)
+                : null;
+        if (audio != null && audio.format != null) {
+            extra.put("audioCodec", audio.format);
+        }
+        extra.put("tracks", tracks.size());
+        if (coverArt != null) {
+            extra.put("hasCoverArt", true);
+        }
+
+        return new MediaProbe(
+                video != null && video.width > 0 ? video.width : null,
+                video != null && video.height > 0 ? video.height : null,
+                durationSeconds,
+                fps,
+                bitrateKbps,
+                video != null ? video.format : audio != null ? audio.format : null,
+                extra
+        );
+    }
+
+    private Track firstTrack(String handler) {
+        return tracks.stream().filter(track -> handler.equals(track.handler)).findFirst().orElse(null);
+    }
+}
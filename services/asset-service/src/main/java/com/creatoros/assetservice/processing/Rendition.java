@@ -0,0 +1,32 @@
+package com.creatoros.assetservice.processing;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Derived images kept alongside an original, each scaled to fit a square box.
+ */
+public enum Rendition {
+    // Folder grids and pickers
+    THUMB(320),
+    // Detail views and lightboxes
+    PREVIEW(1280);
+
+    private final int maxDimension;
+
+    Rendition(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public int maxDimension() {
+        return maxDimension;
+    }
+
+    public String key() {
+        return name().toLowerCase();
+    }
+
+    public static Optional<Rendition> fromKey(String key) {
+        return Arrays.stream(values()).filter(rendition -> rendition.key().equalsIgnoreCase(key)).findFirst();
+    }
+}
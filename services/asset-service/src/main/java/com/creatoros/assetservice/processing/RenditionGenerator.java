@@ -0,0 +1,147 @@
+package com.creatoros.assetservice.processing;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Scales images to {@link Rendition} sizes with the JDK's ImageIO and Java2D only. Large sources
+ * are subsampled while decoding, so the decoded raster stays near the largest rendition size
+ * rather than the original's; each smaller rendition is then scaled from the previous one.
+ */
+public class RenditionGenerator {
+
+    private static final Set<String> IMAGE_TYPES = Set.of("jpg", "jpeg", "png", "gif", "bmp", "tif", "tiff");
+    private static final Set<String> VIDEO_TYPES = Set.of("mp4", "m4v", "mov");
+
+    private final float jpegQuality;
+    private final long maxSourcePixels;
+
+    public RenditionGenerator(float jpegQuality, long maxSourcePixels) {
+        this.jpegQuality = jpegQuality;
+        this.maxSourcePixels = maxSourcePixels;
+    }
+
+    public record Output(Rendition rendition, byte[] jpeg, int width, int height) {
+    }
+
+    public static boolean isImage(String mimeType, String fileType) {
+        return mimeType != null && mimeType.startsWith("image/") && !mimeType.equals("image/svg+xml")
+                || fileType != null && IMAGE_TYPES.contains(fileType.toLowerCase());
+    }
+
+    public static boolean isVideo(String mimeType, String fileType) {
+        return mimeType != null && mimeType.startsWith("video/")
+                || fileType != null && VIDEO_TYPES.contains(fileType.toLowerCase());
+    }
+
+    /**
+     * @return one JPEG per rendition, largest first
+     * @throws IllegalArgumentException if the bytes are not an image ImageIO can decode
+     */
+    public List<Output> generate(byte[] source) throws IOException {
+        List<Rendition> sizes = new ArrayList<>(List.of(Rendition.values()));
+        sizes.sort(Comparator.comparingInt(Rendition::maxDimension).reversed());
+
+        BufferedImage current = decode(source, sizes.get(0).maxDimension());
+        List<Output> outputs = new ArrayList<>(sizes.size());
+        for (Rendition rendition : sizes) {
+            current = scaleToFit(current, rendition.maxDimension());
+            outputs.add(new Output(rendition, encodeJpeg(current), current.getWidth(), current.getHeight()));
+        }
+        return outputs;
+    }
+
+    private BufferedImage decode(byte[] source, int targetDimension) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(source))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxSourcePixels) {
+                    throw new IllegalArgumentException("Image of " + width + "x" + height + " exceeds the pixel limit");
+                }
+                // Keep at least twice the target so the final downscale still has detail to average
+                int subsampling = Math.max(1, Math.max(width, height) / (targetDimension * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Halves repeatedly with bilinear filtering, then does the last step to the exact size; a
+     * single large bilinear step would skip most source pixels and alias. Transparency is
+     * flattened onto white since the output is JPEG.
+     */
+    private BufferedImage scaleToFit(BufferedImage source, int maxDimension) {
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = width / 2 >= targetWidth ? width / 2 : targetWidth;
+            height = height / 2 >= targetHeight ? height / 2 : targetHeight;
+            current = draw(current, width, height);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
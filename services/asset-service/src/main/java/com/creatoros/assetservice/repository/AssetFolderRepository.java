@@ -2,6 +2,7 @@ package com.creatoros.assetservice.repository;
 
 import com.creatoros.assetservice.model.AssetFolder;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +14,53 @@ public interface AssetFolderRepository extends JpaRepository<AssetFolder, UUID>
     List<AssetFolder> findByUserIdAndParentFolderId(UUID userId, UUID parentFolderId);
     List<AssetFolder> findByUserIdAndParentFolderIdIsNull(UUID userId);
     Optional<AssetFolder> findByIdAndUserId(UUID id, UUID userId);
+
+    /**
+     * A user's whole folder hierarchy in one round trip: a recursive walk down from the root
+     * folders, joined to per-folder counts and byte totals of completed, undeleted files. Rows
+     * come parents-first. {@code maxDepth} bounds the walk, which also stops it on a corrupt cycle.
+     */
+    @Query(value = """
+        WITH RECURSIVE tree AS (
+            SELECT f.id, f.parent_folder_id, f.name, 0 AS depth
+            FROM asset_folders f
+            WHERE f.user_id = :userId AND f.parent_folder_id IS NULL AND COALESCE(f.is_deleted, false) = false
+            UNION ALL
+            SELECT c.id, c.parent_folder_id, c.name, t.depth + 1
+            FROM asset_folders c
+            JOIN tree t ON c.parent_folder_id = t.id
+            WHERE c.user_id = :userId AND COALESCE(c.is_deleted, false) = false AND t.depth < :maxDepth
+        )
+        SELECT t.id AS "id",
+               t.parent_folder_id AS "parentFolderId",
+               t.name AS "name",
+               t.depth AS "depth",
+               COALESCE(s.file_count, 0) AS "fileCount",
+               COALESCE(s.total_bytes, 0) AS "totalBytes"
+        FROM tree t
+        LEFT JOIN (
+            SELECT m.folder_id, COUNT(*) AS file_count, CAST(SUM(COALESCE(m.size_bytes, 0)) AS BIGINT) AS total_bytes
+            FROM media_files m
+            WHERE m.user_id = :userId
+              AND COALESCE(m.is_deleted, false) = false
+              AND (m.upload_status IS NULL OR m.upload_status = 'COMPLETED')
+            GROUP BY m.folder_id
+        ) s ON s.folder_id = t.id
+        ORDER BY t.depth, t.name
+        """, nativeQuery = true)
+    List<FolderTreeRow> findFolderTree(UUID userId, int maxDepth);
+
+    interface FolderTreeRow {
+        UUID getId();
+
+        UUID getParentFolderId();
+
+        String getName();
+
+        Integer getDepth();
+
+        Long getFileCount();
+
+        Long getTotalBytes();
+    }
 }
@@ -0,0 +1,21 @@
+package com.creatoros.assetservice.repository;
+
+import com.creatoros.assetservice.model.MediaFile;
+
+import java.util.List;
+import java.util.function.Function;
+
+public interface MediaFileBulkRepository {
+
+    /**
+     * Inserts files whose ids, public URLs and timestamps are already set, in batched statements
+     * rather than one persist (and follow-up update) per file.
+     */
+    void insertAll(List<MediaFile> files);
+
+    /**
+     * Gives each file an empty metadata row and a PENDING job of each type {@code jobTypes}
+     * returns for it, in batched statements.
+     */
+    void insertProcessing(List<MediaFile> files, Function<MediaFile, List<String>> jobTypes);
+}
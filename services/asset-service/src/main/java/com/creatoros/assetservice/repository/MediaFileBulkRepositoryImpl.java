@@ -0,0 +1,87 @@
+package com.creatoros.assetservice.repository;
+
+import com.creatoros.assetservice.model.MediaFile;
+import com.creatoros.assetservice.model.MediaProcessingJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+@RequiredArgsConstructor
+public class MediaFileBulkRepositoryImpl implements MediaFileBulkRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_FILE_SQL = """
+        INSERT INTO media_files (id, user_id, folder_id, file_name, original_file_name, file_type, mime_type,
+                                 size_bytes, storage_provider, bucket_name, storage_path, public_url, checksum,
+                                 blob_id, upload_status, is_deleted, created_at, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private static final String INSERT_METADATA_SQL = """
+        INSERT INTO media_metadata (id, media_file_id, extra, created_at, updated_at)
+        VALUES (?, ?, CAST('{}' AS jsonb), ?, ?)
+        """;
+
+    private static final String INSERT_JOB_SQL = """
+        INSERT INTO media_processing_jobs (id, media_file_id, job_type, status, attempts, created_at, updated_at)
+        VALUES (?, ?, ?, ?, 0, ?, ?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<MediaFile> files) {
+        jdbcTemplate.batchUpdate(INSERT_FILE_SQL, files, BATCH_SIZE, (statement, file) -> {
+            statement.setObject(1, file.getId());
+            statement.setObject(2, file.getUserId());
+            statement.setObject(3, file.getFolderId());
+            statement.setString(4, file.getFileName());
+            statement.setString(5, file.getOriginalFileName());
+            statement.setString(6, file.getFileType());
+            statement.setString(7, file.getMimeType());
+            statement.setObject(8, file.getSizeBytes());
+            statement.setString(9, file.getStorageProvider());
+            statement.setString(10, file.getBucketName());
+            statement.setString(11, file.getStoragePath());
+            statement.setString(12, file.getPublicUrl());
+            statement.setString(13, file.getChecksum());
+            statement.setObject(14, file.getBlobId());
+            statement.setString(15, file.getUploadStatus() == null ? null : file.getUploadStatus().name());
+            statement.setBoolean(16, Boolean.TRUE.equals(file.getIsDeleted()));
+            statement.setTimestamp(17, Timestamp.valueOf(file.getCreatedAt()));
+            statement.setTimestamp(18, Timestamp.valueOf(file.getUpdatedAt()));
+        });
+    }
+
+    @Override
+    public void insertProcessing(List<MediaFile> files, Function<MediaFile, List<String>> jobTypes) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.batchUpdate(INSERT_METADATA_SQL, files, BATCH_SIZE, (statement, file) -> {
+            statement.setObject(1, UUID.randomUUID());
+            statement.setObject(2, file.getId());
+            statement.setTimestamp(3, now);
+            statement.setTimestamp(4, now);
+        });
+
+        List<Object[]> jobs = new ArrayList<>();
+        for (MediaFile file : files) {
+            for (String jobType : jobTypes.apply(file)) {
+                jobs.add(new Object[]{file.getId(), jobType});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_JOB_SQL, jobs, BATCH_SIZE, (statement, job) -> {
+            statement.setObject(1, UUID.randomUUID());
+            statement.setObject(2, job[0]);
+            statement.setString(3, (String) job[1]);
+            statement.setString(4, MediaProcessingJob.JobStatus.PENDING.name());
+            statement.setTimestamp(5, now);
+            statement.setTimestamp(6, now);
+        });
+    }
+}
@@ -2,14 +2,26 @@ package com.creatoros.assetservice.repository;
 
 import com.creatoros.assetservice.model.MediaFile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import java.util.Optional;
 
 @Repository
-public interface MediaFileRepository extends JpaRepository<MediaFile, UUID> {
+public interface MediaFileRepository extends JpaRepository<MediaFile, UUID>, MediaFileSearchRepository,
+        MediaFileBulkRepository {
     List<MediaFile> findByUserIdAndFolderId(UUID userId, UUID folderId);
     Optional<MediaFile> findByIdAndUserId(UUID id, UUID userId);
+    List<MediaFile> findByUploadStatusAndCreatedAtBefore(MediaFile.UploadStatus uploadStatus, LocalDateTime createdBefore);
+
+    /**
+     * @return 1 if the file was in {@code from} and is now in {@code to}, 0 if another caller moved it first
+     */
+    @Modifying
+    @Query("UPDATE MediaFile m SET m.uploadStatus = :to WHERE m.id = :id AND m.uploadStatus = :from")
+    int transitionUploadStatus(UUID id, MediaFile.UploadStatus from, MediaFile.UploadStatus to);
 }
@@ -0,0 +1,17 @@
+package com.creatoros.assetservice.repository;
+
+import com.creatoros.assetservice.model.AssetSearchCriteria;
+import com.creatoros.assetservice.model.MediaFileSummary;
+import com.creatoros.assetservice.utils.SearchCursor;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface MediaFileSearchRepository {
+
+    /**
+     * Up to {@code limit} of the user's completed, undeleted files matching {@code criteria}, in
+     * the criteria's sort order, starting after {@code after} (from the top when null).
+     */
+    List<MediaFileSummary> search(UUID userId, AssetSearchCriteria criteria, SearchCursor after, int limit);
+}
@@ -0,0 +1,142 @@
+package com.creatoros.assetservice.repository;
+
+import com.creatoros.assetservice.model.AssetSearchCriteria;
+import com.creatoros.assetservice.model.MediaFileSummary;
+import com.creatoros.assetservice.utils.SearchCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Builds the search SQL from only the filters that are set, so each combination gets a plan that
+ * can use the matching index from {@code SearchIndexInitializer} instead of one generic plan full
+ * of {@code :param IS NULL OR ...} branches.
+ */
+@RequiredArgsConstructor
+public class MediaFileSearchRepositoryImpl implements MediaFileSearchRepository {
+
+    private static final RowMapper<MediaFileSummary> SUMMARY_MAPPER = (rs, rowNum) -> new MediaFileSummary(
+            rs.getObject("id", UUID.class),
+            rs.getObject("folder_id", UUID.class),
+            rs.getString("file_name"),
+            rs.getString("mime_type"),
+            rs.getObject("size_bytes", Long.class),
+            rs.getTimestamp("created_at") == null ? null : rs.getTimestamp("created_at").toLocalDateTime(),
+            rs.getObject("width", Integer.class),
+            rs.getObject("height", Integer.class),
+            rs.getObject("duration_seconds", Float.class),
+            rs.getString("thumbnail_url"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<MediaFileSummary> search(UUID userId, AssetSearchCriteria criteria, SearchCursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("limit", limit);
+        List<String> where = new ArrayList<>();
+        where.add("m.user_id = :userId");
+        where.add("m.is_deleted IS NOT TRUE");
+        where.add("(m.upload_status IS NULL OR m.upload_status = 'COMPLETED')");
+
+        if (criteria.mimeTypes() != null && !criteria.mimeTypes().isEmpty()) {
+            List<String> exact = new ArrayList<>();
+            List<String> alternatives = new ArrayList<>();
+            for (String mimeType : criteria.mimeTypes()) {
+                String normalized = mimeType.trim().toLowerCase(Locale.ROOT);
+                if (normalized.endsWith("/*")) {
+                    String param = "mimePrefix" + alternatives.size();
+                    alternatives.add("m.mime_type LIKE :" + param);
+                    params.addValue(param, escapeLike(normalized.substring(0, normalized.length() - 1)) + "%");
+                } else {
+                    exact.add(normalized);
+                }
+            }
+            if (!exact.isEmpty()) {
+                alternatives.add("m.mime_type IN (:mimeTypes)");
+                params.addValue("mimeTypes", exact);
+            }
+            where.add("(" + String.join(" OR ", alternatives) + ")");
+        }
+        if (criteria.minSizeBytes() != null) {
+            where.add("m.size_bytes >= :minSizeBytes");
+            params.addValue("minSizeBytes", criteria.minSizeBytes());
+        }
+        if (criteria.maxSizeBytes() != null) {
+            where.add("m.size_bytes <= :maxSizeBytes");
+            params.addValue("maxSizeBytes", criteria.maxSizeBytes());
+        }
+        if (criteria.createdFrom() != null) {
+            where.add("m.created_at >= :createdFrom");
+            params.addValue("createdFrom", Timestamp.valueOf(criteria.createdFrom()));
+        }
+        if (criteria.createdTo() != null) {
+            where.add("m.created_at < :createdTo");
+            params.addValue("createdTo", Timestamp.valueOf(criteria.createdTo()));
+        }
+        if (criteria.namePrefix() != null && !criteria.namePrefix().isBlank()) {
+            where.add("LOWER(m.file_name) LIKE :namePrefix");
+            params.addValue("namePrefix", escapeLike(criteria.namePrefix().toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (criteria.nameContains() != null && !criteria.nameContains().isBlank()) {
+            where.add("LOWER(m.file_name) LIKE :nameContains");
+            params.addValue("nameContains", "%" + escapeLike(criteria.nameContains().toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (criteria.minDurationSeconds() != null) {
+            where.add("md.duration_seconds >= :minDurationSeconds");
+            params.addValue("minDurationSeconds", criteria.minDurationSeconds());
+        }
+        if (criteria.maxDurationSeconds() != null) {
+            where.add("md.duration_seconds <= :maxDurationSeconds");
+            params.addValue("maxDurationSeconds", criteria.maxDurationSeconds());
+        }
+        if (criteria.minWidth() != null) {
+            where.add("md.width >= :minWidth");
+            params.addValue("minWidth", criteria.minWidth());
+        }
+        if (criteria.minHeight() != null) {
+            where.add("md.height >= :minHeight");
+            params.addValue("minHeight", criteria.minHeight());
+        }
+
+        String orderBy;
+        if (criteria.sort() == AssetSearchCriteria.Sort.LARGEST) {
+            // Rows without a size cannot take part in a keyset over size
+            where.add("m.size_bytes IS NOT NULL");
+            if (after != null) {
+                where.add("(m.size_bytes, m.id) < (:cursorSize, :cursorId)");
+                params.addValue("cursorSize", after.sizeBytes()).addValue("cursorId", after.id());
+            }
+            orderBy = "m.size_bytes DESC, m.id DESC";
+        } else {
+            where.add("m.created_at IS NOT NULL");
+            if (after != null) {
+                where.add("(m.created_at, m.id) < (:cursorCreatedAt, :cursorId)");
+                params.addValue("cursorCreatedAt", Timestamp.valueOf(after.createdAt())).addValue("cursorId", after.id());
+            }
+            orderBy = "m.created_at DESC, m.id DESC";
+        }
+
+        String sql = """
+            SELECT m.id, m.folder_id, m.file_name, m.mime_type, m.size_bytes, m.created_at,
+                   md.width, md.height, md.duration_seconds, md.thumbnail_url
+            FROM media_files m
+            """
+                + (criteria.filtersOnMetadata() ? "JOIN" : "LEFT JOIN") + " media_metadata md ON md.media_file_id = m.id\n"
+                + "WHERE " + String.join("\n  AND ", where) + "\n"
+                + "ORDER BY " + orderBy + "\n"
+                + "LIMIT :limit";
+        return jdbcTemplate.query(sql, params, SUMMARY_MAPPER);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
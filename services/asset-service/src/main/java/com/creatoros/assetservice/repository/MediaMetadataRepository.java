@@ -1,13 +1,38 @@
 package com.creatoros.assetservice.repository;
 
 import com.creatoros.assetservice.model.MediaMetadata;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface MediaMetadataRepository extends JpaRepository<MediaMetadata, UUID> {
     Optional<MediaMetadata> findByMediaFileId(UUID mediaFileId);
+
+    /**
+     * Row lock for read-modify-write of {@code extra}, which several processing jobs update.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM MediaMetadata m WHERE m.mediaFile.id = :mediaFileId")
+    Optional<MediaMetadata> lockByMediaFileId(UUID mediaFileId);
+
+    @Query("""
+        SELECT m.mediaFile.id AS mediaFileId, m.thumbnailUrl AS thumbnailUrl
+        FROM MediaMetadata m
+        WHERE m.mediaFile.id IN :mediaFileIds AND m.thumbnailUrl IS NOT NULL
+        """)
+    List<ThumbnailRef> findThumbnails(Collection<UUID> mediaFileIds);
+
+    interface ThumbnailRef {
+        UUID getMediaFileId();
+
+        String getThumbnailUrl();
+    }
 }
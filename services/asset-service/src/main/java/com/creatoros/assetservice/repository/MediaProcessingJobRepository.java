@@ -2,12 +2,44 @@ package com.creatoros.assetservice.repository;
 
 import com.creatoros.assetservice.model.MediaProcessingJob;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface MediaProcessingJobRepository extends JpaRepository<MediaProcessingJob, UUID> {
     List<MediaProcessingJob> findByStatus(MediaProcessingJob.JobStatus status);
+
+    /**
+     * Locks up to {@code limit} pending jobs of the given types, least recently touched first. Rows another
+     * instance has locked are skipped rather than waited on, so concurrent pollers never block
+     * each other or claim the same job. Must run inside the claiming transaction.
+     */
+    @Query(value = """
+        SELECT * FROM media_processing_jobs
+        WHERE status = 'PENDING' AND job_type IN (:jobTypes)
+        ORDER BY updated_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<MediaProcessingJob> lockPending(Collection<String> jobTypes, int limit);
+
+    /**
+     * Hands jobs claimed by an instance that died mid-job back to the queue.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE MediaProcessingJob j
+        SET j.status = :toStatus, j.updatedAt = :now
+        WHERE j.status = :fromStatus AND j.startedAt < :staleBefore
+        """)
+    int releaseStaleClaims(MediaProcessingJob.JobStatus fromStatus, MediaProcessingJob.JobStatus toStatus,
+                           LocalDateTime staleBefore, LocalDateTime now);
 }
@@ -0,0 +1,47 @@
+package com.creatoros.assetservice.repository;
+
+import com.creatoros.assetservice.model.StoredBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, UUID> {
+    Optional<StoredBlob> findByContentKey(String contentKey);
+
+    /**
+     * Records a reference to content: inserts the blob, or when the key already exists (including
+     * a concurrent upload of the same bytes) adds a reference to the existing row instead. Read the
+     * row back with {@link #findByContentKey} to see which object won.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO stored_blobs (id, content_key, sha256, size_bytes, storage_provider, bucket_name, storage_path,
+                                  ref_count, created_at, updated_at)
+        VALUES (:id, :contentKey, :sha256, :sizeBytes, :storageProvider, :bucketName, :storagePath, 1, :now, :now)
+        ON CONFLICT (content_key) DO UPDATE
+        SET ref_count = stored_blobs.ref_count + 1, updated_at = :now
+        """, nativeQuery = true)
+    int upsertReference(UUID id, String contentKey, String sha256, long sizeBytes, String storageProvider,
+                        String bucketName, String storagePath, LocalDateTime now);
+
+    /**
+     * Returns 0 when the blob has meanwhile lost its last reference and is being removed.
+     */
+    @Modifying
+    @Query("UPDATE StoredBlob b SET b.refCount = b.refCount + 1, b.updatedAt = :now WHERE b.id = :id AND b.refCount > 0")
+    int addReference(UUID id, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE StoredBlob b SET b.refCount = b.refCount - 1, b.updatedAt = :now WHERE b.id = :id AND b.refCount > 0")
+    int removeReference(UUID id, LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM StoredBlob b WHERE b.id = :id AND b.refCount <= 0")
+    int deleteIfUnreferenced(UUID id);
+}
@@ -0,0 +1,129 @@
+package com.creatoros.assetservice.service;
+
+import com.creatoros.assetservice.model.MediaFile;
+import com.creatoros.assetservice.model.MediaMetadata;
+import com.creatoros.assetservice.processing.Rendition;
+import com.creatoros.assetservice.repository.MediaFileRepository;
+import com.creatoros.assetservice.repository.MediaMetadataRepository;
+import com.creatoros.assetservice.storage.BlobStat;
+import com.creatoros.assetservice.storage.BlobStore;
+import com.creatoros.assetservice.storage.HotObjectCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Streams stored media to HTTP clients. Small objects requested often are served from the
+ * {@link HotObjectCache}; everything else is read straight from the {@link BlobStore}, which
+ * copies byte ranges to the response with bounded buffers.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AssetDownloadService {
+
+    private final BlobStore blobStore;
+    private final MediaFileRepository mediaFileRepository;
+    private final MediaMetadataRepository mediaMetadataRepository;
+    private final HotObjectCache hotObjectCache;
+
+    /**
+     * A derived image stored by the RENDITIONS job.
+     */
+    public record StoredRendition(String bucket, String path, String contentType, long sizeBytes, String etag) {
+    }
+
+    public MediaFile getDownloadableFile(UUID fileId, UUID userId) {
+        MediaFile mediaFile = mediaFileRepository.findByIdAndUserId(fileId, userId)
+                .filter(file -> !Boolean.TRUE.equals(file.getIsDeleted()))
+                .orElseThrow(() -> new RuntimeException("File not found: " + fileId));
+        // Direct uploads are visible as PENDING before their bytes exist; older rows have no status
+        if (mediaFile.getUploadStatus() != null && mediaFile.getUploadStatus() != MediaFile.UploadStatus.COMPLETED) {
+            throw new IllegalArgumentException("File is not available: upload " + mediaFile.getUploadStatus());
+        }
+        if (mediaFile.getSizeBytes() == null) {
+            // Older rows may lack a size; the blob knows it
+            BlobStat stat = blobStore.stat(mediaFile.getBucketName(), mediaFile.getStoragePath())
+                    .orElseThrow(() -> new RuntimeException("File content missing: " + fileId));
+            mediaFile.setSizeBytes(stat.sizeBytes());
+        }
+        return mediaFile;
+    }
+
+    /**
+     * Strong ETag from the content checksum when we have one; otherwise a weak one that still
+     * changes whenever the row does.
+     */
+    public String etagOf(MediaFile mediaFile) {
+        if (mediaFile.getChecksum() != null && !mediaFile.getChecksum().isBlank()) {
+            return "\"" + mediaFile.getChecksum() + "\"";
+        }
+        return "W/\"" + mediaFile.getId() + "-" + lastModifiedOf(mediaFile) + "-" + mediaFile.getSizeBytes() + "\"";
+    }
+
+    /**
+     * @return epoch millis, or -1 when the row has no timestamps
+     */
+    public long lastModifiedOf(MediaFile mediaFile) {
+        LocalDateTime modified = mediaFile.getUpdatedAt() != null ? mediaFile.getUpdatedAt() : mediaFile.getCreatedAt();
+        return modified == null ? -1 : modified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    public MediaType contentTypeOf(MediaFile mediaFile) {
+        if (mediaFile.getMimeType() != null && !mediaFile.getMimeType().isBlank()) {
+            try {
+                return MediaType.parseMediaType(mediaFile.getMimeType());
+            } catch (IllegalArgumentException ex) {
+                log.debug("Ignoring unparseable mime type {} on file {}", mediaFile.getMimeType(), mediaFile.getId());
+            }
+        }
+        return MediaTypeFactory.getMediaType(mediaFile.getFileName()).orElse(MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    /**
+     * @return empty until the RENDITIONS job has stored this rendition, or if the file has none
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<StoredRendition> getRendition(MediaFile mediaFile, Rendition rendition) {
+        return mediaMetadataRepository.findByMediaFileId(mediaFile.getId())
+                .map(MediaMetadata::getExtra)
+                .map(extra -> extra.get("renditions"))
+                .map(renditions -> ((Map<String, Object>) renditions).get(rendition.key()))
+                .map(stored -> {
+                    Map<String, Object> values = (Map<String, Object>) stored;
+                    return new StoredRendition(
+                            (String) values.get("bucket"),
+                            (String) values.get("path"),
+                            (String) values.get("contentType"),
+                            ((Number) values.get("sizeBytes")).longValue(),
+                            "\"" + values.get("sha256") + "\"");
+                });
+    }
+
+    public void streamRendition(StoredRendition rendition, OutputStream out) throws IOException {
+        // Regeneration rewrites the same path, so the content hash is part of the key
+        String key = rendition.bucket() + "/" + rendition.path() + "#" + rendition.etag();
+        hotObjectCache.read(key, rendition.sizeBytes(), 0, rendition.sizeBytes(), out,
+                (offset, length, target) -> blobStore.read(rendition.bucket(), rendition.path(), offset, length, target));
+    }
+
+    /**
+     * Copies {@code length} bytes starting at {@code offset} to {@code out}.
+     */
+    public void streamTo(MediaFile mediaFile, long offset, long length, OutputStream out) throws IOException {
+        // Upload paths are unique and never rewritten; deduplicated files share one entry
+        String key = mediaFile.getBucketName() + "/" + mediaFile.getStoragePath();
+        hotObjectCache.read(key, mediaFile.getSizeBytes(), offset, length, out,
+                (from, count, target) -> blobStore.read(mediaFile.getBucketName(), mediaFile.getStoragePath(), from, count, target));
+    }
+}
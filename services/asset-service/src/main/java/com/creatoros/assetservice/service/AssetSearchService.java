@@ -0,0 +1,78 @@
+package com.creatoros.assetservice.service;
+
+import com.creatoros.assetservice.model.AssetSearchCriteria;
+import com.creatoros.assetservice.model.CursorPage;
+import com.creatoros.assetservice.model.MediaFileSummary;
+import com.creatoros.assetservice.repository.MediaFileRepository;
+import com.creatoros.assetservice.utils.SearchCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Searches a user's whole library, one keyset page at a time, so deep pages cost the same as
+ * the first and no count query is run.
+ */
+@Service
+@Slf4j
+public class AssetSearchService {
+
+    private final MediaFileRepository mediaFileRepository;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final long slowQueryMillis;
+
+    public AssetSearchService(
+            MediaFileRepository mediaFileRepository,
+            @Value("${assets.search.default-page-size:50}") int defaultPageSize,
+            @Value("${assets.search.max-page-size:200}") int maxPageSize,
+            @Value("${assets.search.slow-query-ms:50}") long slowQueryMillis
+    ) {
+        this.mediaFileRepository = mediaFileRepository;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.slowQueryMillis = slowQueryMillis;
+    }
+
+    public CursorPage<MediaFileSummary> search(UUID userId, AssetSearchCriteria criteria, String cursor, Integer limit) {
+        validate(criteria);
+        AssetSearchCriteria.Sort sort = criteria.sort() == null ? AssetSearchCriteria.Sort.NEWEST : criteria.sort();
+        SearchCursor after = SearchCursor.decode(cursor, sort);
+        int size = Math.max(1, Math.min(limit == null ? defaultPageSize : limit, maxPageSize));
+
+        long startedAt = System.nanoTime();
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<MediaFileSummary> rows = mediaFileRepository.search(userId, criteria, after, size + 1);
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        if (elapsedMillis > slowQueryMillis) {
+            log.warn("Slow asset search for user {} took {} ms: {}", userId, elapsedMillis, criteria);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<MediaFileSummary> items = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            MediaFileSummary last = items.get(items.size() - 1);
+            nextCursor = SearchCursor.after(sort, last.createdAt(), last.sizeBytes(), last.id()).encode();
+        }
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
+    private void validate(AssetSearchCriteria criteria) {
+        if (criteria.minSizeBytes() != null && criteria.maxSizeBytes() != null
+                && criteria.minSizeBytes() > criteria.maxSizeBytes()) {
+            throw new IllegalArgumentException("minSizeBytes must not exceed maxSizeBytes");
+        }
+        if (criteria.createdFrom() != null && criteria.createdTo() != null
+                && criteria.createdFrom().isAfter(criteria.createdTo())) {
+            throw new IllegalArgumentException("createdFrom must not be after createdTo");
+        }
+        if (criteria.minDurationSeconds() != null && criteria.maxDurationSeconds() != null
+                && criteria.minDurationSeconds() > criteria.maxDurationSeconds()) {
+            throw new IllegalArgumentException("minDurationSeconds must not exceed maxDurationSeconds");
+        }
+    }
+}
@@ -4,6 +4,9 @@ import com.creatoros.assetservice.model.AssetFolder;
 import com.creatoros.assetservice.model.MediaFile;
 import com.creatoros.assetservice.model.MediaMetadata;
 import com.creatoros.assetservice.model.MediaProcessingJob;
+import com.creatoros.assetservice.model.StoredBlob;
+import com.creatoros.assetservice.processing.MediaProcessingJobService;
+import com.creatoros.assetservice.processing.RenditionGenerator;
 import com.creatoros.assetservice.repository.AssetFolderRepository;
 import com.creatoros.assetservice.repository.MediaFileRepository;
 import com.creatoros.assetservice.repository.MediaMetadataRepository;
@@ -11,16 +14,27 @@ import com.creatoros.assetservice.repository.MediaProcessingJobRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
-import com.google.cloud.storage.BlobId;
-import com.google.cloud.storage.BlobInfo;
-import com.google.cloud.storage.Storage;
+import com.creatoros.assetservice.storage.BlobStat;
+import com.creatoros.assetservice.storage.BlobStore;
+import com.creatoros.assetservice.storage.DirectUpload;
+import com.creatoros.assetservice.storage.HashingInputStream;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 
@@ -29,32 +43,65 @@ import java.util.UUID;
 @Slf4j
 public class AssetService {
 
-    private final Storage storage;
+    private final BlobStore blobStore;
     private final MediaFileRepository mediaFileRepository;
     private final MediaMetadataRepository mediaMetadataRepository;
     private final AssetFolderRepository assetFolderRepository;
     private final MediaProcessingJobRepository mediaProcessingJobRepository;
+    private final StoredBlobService storedBlobService;
+    private final FolderTreeService folderTreeService;
+    private final TransactionTemplate transactionTemplate;
 
-    @Value("${gcp.bucket-name}")
-    private String bucketName;
+    @Value("${assets.dedup.enabled:true}")
+    private boolean dedupEnabled;
 
-    @Transactional
-    public MediaFile uploadFile(MultipartFile file, UUID userId, UUID folderId) throws IOException {
+    @Value("${assets.upload.max-size-bytes:524288000}")
+    private long maxUploadBytes;
+
+    @Value("${assets.upload.session-url-ttl-minutes:60}")
+    private long uploadSessionUrlTtlMinutes;
+
+    @Value("${assets.upload.session-expiry-hours:24}")
+    private long uploadSessionExpiryHours;
+
+    public MediaFile uploadFile(MultipartFile file, UUID userId, UUID folderId, String declaredSha256) throws IOException {
+        try (InputStream content = file.getInputStream()) {
+            return uploadFile(content, file.getOriginalFilename(), file.getContentType(), userId, folderId, declaredSha256);
+        }
+    }
+
+    public MediaFile uploadFile(InputStream content, String fileName, String contentType, UUID userId, UUID folderId)
+            throws IOException {
+        return uploadFile(content, fileName, contentType, userId, folderId, null);
+    }
+
+    /**
+     * Streams {@code content} into the blob store, hashing and size-checking it on the way, so
+     * heap use per upload is fixed however large the file is. Content already stored is linked
+     * rather than kept twice; when the client declares the SHA-256 of such content up front,
+     * nothing is written at all and the upload costs only the time to hash it.
+     *
+     * <p>Not transactional: a slow client would otherwise hold a pooled connection for the whole
+     * stream. The folder check and the row writes each run in their own short transaction, and
+     * if the rows cannot be written the stored content is released again.
+     */
+    public MediaFile uploadFile(InputStream content, String fileName, String contentType, UUID userId, UUID folderId,
+                                String declaredSha256) throws IOException {
         assetFolderRepository.findByIdAndUserId(folderId, userId)
             .orElseThrow(() -> new RuntimeException("Folder not found: " + folderId));
 
-        String fileName = file.getOriginalFilename();
-        String storagePath = generateStoragePath(userId, folderId, fileName);
-
-        // Upload to GCS
-        log.info("Uploading file {} to bucket {} at path {}", fileName, bucketName, storagePath);
-        BlobId blobId = BlobId.of(bucketName, storagePath);
-        BlobInfo blobInfo = BlobInfo.newBuilder(blobId)
-                .setContentType(file.getContentType())
-                .build();
+        StoredContent stored = storeContent(content, fileName, contentType, userId, folderId, declaredSha256);
 
-        storage.create(blobInfo, file.getBytes());
+        try {
+            return transactionTemplate.execute(status -> recordUpload(stored, fileName, contentType, userId, folderId));
+        } catch (RuntimeException ex) {
+            releaseStoredContent(stored);
+            throw ex;
+        }
+    }
 
+    private MediaFile recordUpload(StoredContent stored, String fileName, String contentType, UUID userId,
+                                   UUID folderId) {
         // Create MediaFile entity
         // Note: ID is generated by DB to avoid Hibernate thinking this is a detached entity (OptimisticLockingException)
         MediaFile mediaFile = MediaFile.builder()
@@ -63,38 +110,418 @@ public class AssetService {
                 .fileName(fileName)
                 .originalFileName(fileName)
                 .fileType(getFileExtension(fileName))
-                .mimeType(file.getContentType())
-                .sizeBytes(file.getSize())
-                .storageProvider("GCS")
-                .bucketName(bucketName)
-                .storagePath(storagePath)
+                .mimeType(contentType)
+                .sizeBytes(stored.sizeBytes())
+                .checksum(stored.sha256())
+                .storageProvider(stored.storageProvider())
+                .bucketName(stored.bucketName())
+                .storagePath(stored.storagePath())
+                .blobId(stored.blobId())
                 .uploadStatus(MediaFile.UploadStatus.COMPLETED)
                 .build();
 
-        
         mediaFile = mediaFileRepository.save(mediaFile);
 
         // Update public URL with generated ID
         mediaFile.setPublicUrl(constructPublicUrl(mediaFile.getId()));
         mediaFile = mediaFileRepository.save(mediaFile);
 
+        enqueueProcessing(mediaFile, new HashMap<>());
+        folderTreeService.invalidate(userId);
+        return mediaFile;
+    }
+
+    /**
+     * Undoes {@link #storeContent} for an upload whose rows were never written.
+     */
+    private void releaseStoredContent(StoredContent stored) {
+        try {
+            if (stored.blobId() == null) {
+                deleteQuietly(stored.bucketName(), stored.storagePath());
+                return;
+            }
+            storedBlobService.release(stored.blobId())
+                    .ifPresent(blob -> deleteQuietly(blob.getBucketName(), blob.getStoragePath()));
+        } catch (RuntimeException ex) {
+            log.warn("Could not release stored content {} after a failed upload: {}", stored.storagePath(), ex.getMessage());
+        }
+    }
+
+    private StoredContent storeContent(InputStream content, String fileName, String contentType, UUID userId,
+                                       UUID folderId, String declaredSha256) throws IOException {
+        HashingInputStream hashing = new HashingInputStream(content, maxUploadBytes);
+
+        StoredBlob known = dedupEnabled && declaredSha256 != null
+                ? storedBlobService.findExisting(userId, declaredSha256).orElse(null)
+                : null;
+        if (known != null) {
+            // Verify the client really has these bytes before linking them
+            long sizeBytes = hashing.transferTo(OutputStream.nullOutputStream());
+            requireDeclaredSha256(declaredSha256, hashing.sha256Hex());
+            StoredBlob blob = storedBlobService.addReference(known);
+            log.info("Linked upload {} to stored content {} ({} bytes) without writing", fileName, blob.getId(), sizeBytes);
+            return StoredContent.of(blob);
+        }
+
+        String storagePath = generateStoragePath(userId, folderId, fileName);
+        log.info("Uploading file {} to {} bucket {} at path {}", fileName, blobStore.provider(), blobStore.bucket(), storagePath);
+        long sizeBytes = blobStore.write(storagePath, contentType, hashing);
+        String sha256 = hashing.sha256Hex();
+        try {
+            if (declaredSha256 != null) {
+                requireDeclaredSha256(declaredSha256, sha256);
+            }
+        } catch (IllegalArgumentException ex) {
+            deleteQuietly(blobStore.bucket(), storagePath);
+            throw ex;
+        }
+        if (!dedupEnabled) {
+            return new StoredContent(storagePath, blobStore.bucket(), blobStore.provider(), sizeBytes, sha256, null);
+        }
+
+        StoredBlob blob = storedBlobService.register(userId, sha256, sizeBytes, storagePath);
+        if (!storagePath.equals(blob.getStoragePath())) {
+            // Same bytes were already stored (or finished storing concurrently); keep the one copy
+            deleteQuietly(blobStore.bucket(), storagePath);
+            log.info("Upload {} duplicates stored content {}; linked it", fileName, blob.getId());
+        }
+        return StoredContent.of(blob);
+    }
+
+    private static void requireDeclaredSha256(String declaredSha256, String actualSha256) {
+        if (!declaredSha256.equalsIgnoreCase(actualSha256)) {
+            throw new IllegalArgumentException("Uploaded content does not match the declared SHA-256");
+        }
+    }
+
+    private void deleteQuietly(String bucket, String path) {
+        try {
+            blobStore.delete(bucket, path);
+        } catch (RuntimeException ex) {
+            log.warn("Could not remove redundant object {}: {}", path, ex.getMessage());
+        }
+    }
+
+    /**
+     * Content a bulk upload has already written to {@code storagePath} in the current store.
+     */
+    public record StagedUpload(String fileName, String contentType, String storagePath, long sizeBytes, String sha256) {
+    }
+
+    /**
+     * Records files whose content a bulk upload has already written, with their metadata rows
+     * and processing jobs, in batched inserts. Ids are assigned here rather than by Hibernate so
+     * each row is inserted once with its public URL. Objects that turn out to duplicate stored
+     * content are removed after commit.
+     */
+    @Transactional
+    public List<MediaFile> registerBulkUpload(UUID userId, UUID folderId, List<StagedUpload> staged) {
+        LocalDateTime now = LocalDateTime.now();
+        List<MediaFile> files = new ArrayList<>(staged.size());
+        List<StorageObject> redundant = new ArrayList<>();
+        for (StagedUpload upload : staged) {
+            StoredContent stored = new StoredContent(upload.storagePath(), blobStore.bucket(), blobStore.provider(),
+                    upload.sizeBytes(), upload.sha256(), null);
+            if (dedupEnabled) {
+                StoredBlob blob = storedBlobService.register(userId, upload.sha256(), upload.sizeBytes(), upload.storagePath());
+                if (!upload.storagePath().equals(blob.getStoragePath())) {
+                    redundant.add(new StorageObject(blobStore.bucket(), upload.storagePath()));
+                }
+                stored = StoredContent.of(blob);
+            }
+            UUID fileId = UUID.randomUUID();
+            files.add(MediaFile.builder()
+                    .id(fileId)
+                    .userId(userId)
+                    .folderId(folderId)
+                    .fileName(upload.fileName())
+                    .originalFileName(upload.fileName())
+                    .fileType(getFileExtension(upload.fileName()))
+                    .mimeType(upload.contentType())
+                    .sizeBytes(stored.sizeBytes())
+                    .checksum(stored.sha256())
+                    .storageProvider(stored.storageProvider())
+                    .bucketName(stored.bucketName())
+                    .storagePath(stored.storagePath())
+                    .blobId(stored.blobId())
+                    .publicUrl(constructPublicUrl(fileId))
+                    .uploadStatus(MediaFile.UploadStatus.COMPLETED)
+                    .isDeleted(false)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        mediaFileRepository.insertAll(files);
+        mediaFileRepository.insertProcessing(files, this::processingJobTypes);
+
+        if (!redundant.isEmpty()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    redundant.forEach(object -> deleteQuietly(object.bucket(), object.path()));
+                }
+            });
+        }
+        folderTreeService.invalidate(userId);
+        log.info("Registered {} bulk-uploaded files in folder {} ({} linked to stored content)", files.size(), folderId,
+                redundant.size());
+        return files;
+    }
+
+    private record StoredContent(String storagePath, String bucketName, String storageProvider, long sizeBytes,
+                                 String sha256, UUID blobId) {
+        static StoredContent of(StoredBlob blob) {
+            return new StoredContent(blob.getStoragePath(), blob.getBucketName(), blob.getStorageProvider(),
+                    blob.getSizeBytes(), blob.getSha256(), blob.getId());
+        }
+    }
+
+    /**
+     * Soft-deletes the file and releases its content: a shared blob is removed only with its last
+     * reference. Objects are deleted after the transaction commits, so a rollback never leaves a
+     * row pointing at a missing object.
+     */
+    @Transactional
+    public void deleteFile(UUID fileId, UUID userId) {
+        MediaFile mediaFile = mediaFileRepository.findByIdAndUserId(fileId, userId)
+                .orElseThrow(() -> new RuntimeException("File not found: " + fileId));
+        if (Boolean.TRUE.equals(mediaFile.getIsDeleted())) {
+            return;
+        }
+        mediaFile.setIsDeleted(true);
+        mediaFileRepository.save(mediaFile);
+
+        List<StorageObject> objects = new ArrayList<>();
+        if (mediaFile.getBlobId() != null) {
+            storedBlobService.release(mediaFile.getBlobId())
+                    .ifPresent(blob -> objects.add(new StorageObject(blob.getBucketName(), blob.getStoragePath())));
+        } else if (mediaFile.getStoragePath() != null) {
+            // Not deduplicated, so this file is the object's only owner
+            objects.add(new StorageObject(mediaFile.getBucketName(), mediaFile.getStoragePath()));
+        }
+        objects.addAll(renditionObjects(mediaFile.getId()));
+        folderTreeService.invalidate(userId);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                objects.forEach(object -> deleteQuietly(object.bucket(), object.path()));
+            }
+        });
+        log.info("Deleted file {} ({} stored objects released)", fileId, objects.size());
+    }
+
+    private record StorageObject(String bucket, String path) {
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<StorageObject> renditionObjects(UUID mediaFileId) {
+        Object renditions = mediaMetadataRepository.findByMediaFileId(mediaFileId)
+                .map(MediaMetadata::getExtra)
+                .map(extra -> extra.get("renditions"))
+                .orElse(null);
+        if (!(renditions instanceof Map<?, ?> byKey)) {
+            return List.of();
+        }
+        return byKey.values().stream()
+                .map(value -> (Map<String, Object>) value)
+                .map(value -> new StorageObject((String) value.get("bucket"), (String) value.get("path")))
+                .toList();
+    }
+
+    /**
+     * Starts a direct-to-bucket upload: records the file as PENDING and returns a signed request
+     * the client sends straight to storage (on GCS, a POST that opens a resumable-upload session
+     * whose Location the bytes are then PUT to), so no media bytes pass through this service. The
+     * declared size is part of the signature, so the store rejects a body of any other length.
+     * When the client declares a SHA-256 and the store enforces it, that digest becomes the file's
+     * checksum without this service ever reading the content.
+     */
+    @Transactional
+    public Map<String, Object> createUploadSession(UUID userId, UUID folderId, String fileName, String contentType,
+                                                   long sizeBytes, String declaredSha256) {
+        assetFolderRepository.findByIdAndUserId(folderId, userId)
+            .orElseThrow(() -> new RuntimeException("Folder not found: " + folderId));
+        if (sizeBytes <= 0 || sizeBytes > maxUploadBytes) {
+            throw new IllegalArgumentException("sizeBytes must be between 1 and " + maxUploadBytes);
+        }
+        if (declaredSha256 != null && !declaredSha256.matches("[0-9a-fA-F]{64}")) {
+            throw new IllegalArgumentException("sha256 must be 64 hex characters");
+        }
+        String mimeType = contentType == null || contentType.isBlank() ? "application/octet-stream" : contentType;
+
+        String storagePath = generateStoragePath(userId, folderId, fileName);
+        MediaFile mediaFile = MediaFile.builder()
+                .userId(userId)
+                .folderId(folderId)
+                .fileName(fileName)
+                .originalFileName(fileName)
+                .fileType(getFileExtension(fileName))
+                .mimeType(mimeType)
+                .sizeBytes(sizeBytes)
+                .storageProvider(blobStore.provider())
+                .bucketName(blobStore.bucket())
+                .storagePath(storagePath)
+                .uploadStatus(MediaFile.UploadStatus.PENDING)
+                .build();
+        mediaFile = mediaFileRepository.save(mediaFile);
+        mediaFile.setPublicUrl(constructPublicUrl(mediaFile.getId()));
+        mediaFile = mediaFileRepository.save(mediaFile);
+
+        String sha256 = declaredSha256 == null ? null : declaredSha256.toLowerCase(Locale.ROOT);
+        DirectUpload upload = blobStore.createDirectUpload(
+                storagePath, mimeType, sizeBytes, sha256, Duration.ofMinutes(uploadSessionUrlTtlMinutes));
+        if (upload.verifiesSha256()) {
+            // The signed URL only accepts these bytes, and only once, so the digest holds for the object
+            mediaFile.setChecksum(sha256);
+            mediaFile = mediaFileRepository.save(mediaFile);
+        }
+
+        log.info("Created upload session for file {} at path {}", mediaFile.getId(), storagePath);
+        Map<String, Object> session = new HashMap<>();
+        session.put("fileId", mediaFile.getId());
+        session.put("uploadUrl", upload.url());
+        session.put("method", upload.method());
+        session.put("headers", upload.headers());
+        session.put("expiresAt", LocalDateTime.now().plusMinutes(uploadSessionUrlTtlMinutes));
+        session.put("completeUrl", String.format("/uploads/sessions/%s/complete", mediaFile.getId()));
+        return session;
+    }
+
+    /**
+     * Called once the client has finished uploading. Confirms the object exists with the declared
+     * size, marks the file COMPLETED and queues metadata extraction. Safe to repeat.
+     *
+     * <p>A file whose SHA-256 the store enforced is registered as stored content like any other
+     * upload; if the same bytes were already stored, it is linked to them and its own object is
+     * removed after commit. Otherwise the store's own digest serves as the checksum: signed upload
+     * URLs cannot overwrite, so it identifies the content for the file's lifetime and gives a
+     * strong ETag, though it cannot be used for dedup.
+     */
+    @Transactional
+    public MediaFile completeUploadSession(UUID fileId, UUID userId) {
+        MediaFile mediaFile = mediaFileRepository.findByIdAndUserId(fileId, userId)
+                .orElseThrow(() -> new RuntimeException("File not found: " + fileId));
+        if (mediaFile.getUploadStatus() == MediaFile.UploadStatus.COMPLETED) {
+            return mediaFile;
+        }
+        if (mediaFile.getUploadStatus() != MediaFile.UploadStatus.PENDING) {
+            throw new IllegalArgumentException("Upload session is " + mediaFile.getUploadStatus() + ": " + fileId);
+        }
+
+        BlobStat stat = blobStore.stat(mediaFile.getBucketName(), mediaFile.getStoragePath())
+                .orElseThrow(() -> new IllegalArgumentException("Upload has not finished: " + fileId));
+        if (mediaFile.getSizeBytes() != null && mediaFile.getSizeBytes() != stat.sizeBytes()) {
+            throw new IllegalArgumentException("Uploaded size " + stat.sizeBytes() + " does not match declared size "
+                    + mediaFile.getSizeBytes());
+        }
+
+        // Only the caller that moves the file out of PENDING registers its content
+        if (mediaFileRepository.transitionUploadStatus(fileId, MediaFile.UploadStatus.PENDING,
+                MediaFile.UploadStatus.COMPLETED) == 0) {
+            return mediaFileRepository.findByIdAndUserId(fileId, userId).orElse(mediaFile);
+        }
+        mediaFile.setSizeBytes(stat.sizeBytes());
+        mediaFile.setUploadStatus(MediaFile.UploadStatus.COMPLETED);
+        if (mediaFile.getChecksum() == null) {
+            mediaFile.setChecksum(storageDigest(stat));
+        } else if (dedupEnabled) {
+            linkStoredContent(mediaFile);
+        }
+        mediaFile = mediaFileRepository.save(mediaFile);
+
+        enqueueProcessing(mediaFile, new HashMap<>(stat.checksums()));
+        folderTreeService.invalidate(userId);
+
+        log.info("Completed upload session for file {} ({} bytes)", fileId, stat.sizeBytes());
+        return mediaFile;
+    }
+
+    private void linkStoredContent(MediaFile mediaFile) {
+        String storagePath = mediaFile.getStoragePath();
+        String bucketName = mediaFile.getBucketName();
+        StoredBlob blob = storedBlobService.register(mediaFile.getUserId(), mediaFile.getChecksum(),
+                mediaFile.getSizeBytes(), storagePath);
+        if (!storagePath.equals(blob.getStoragePath())) {
+            mediaFile.setStorageProvider(blob.getStorageProvider());
+            mediaFile.setBucketName(blob.getBucketName());
+            mediaFile.setStoragePath(blob.getStoragePath());
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteQuietly(bucketName, storagePath);
+                }
+            });
+            log.info("Direct upload {} duplicates stored content {}; linked it", mediaFile.getId(), blob.getId());
+        }
+        mediaFile.setBlobId(blob.getId());
+    }
+
+    /**
+     * The digest the store computed over the bytes it received, prefixed with its kind so it is
+     * never mistaken for a SHA-256.
+     */
+    private static String storageDigest(BlobStat stat) {
+        for (String kind : List.of("storageMd5", "storageCrc32c", "storageETag")) {
+            Object digest = stat.checksums().get(kind);
+            if (digest != null) {
+                return kind + ":" + digest;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Fails upload sessions that were never completed and removes anything the client left in
+     * the bucket for them.
+     */
+    @Scheduled(fixedDelayString = "${assets.upload.session-sweep-interval-ms:3600000}")
+    @Transactional
+    public void expireUploadSessions() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(uploadSessionExpiryHours);
+        List<MediaFile> stale = mediaFileRepository.findByUploadStatusAndCreatedAtBefore(MediaFile.UploadStatus.PENDING, cutoff);
+        for (MediaFile mediaFile : stale) {
+            try {
+                blobStore.delete(mediaFile.getBucketName(), mediaFile.getStoragePath());
+            } catch (RuntimeException ex) {
+                log.warn("Could not remove abandoned upload {}: {}", mediaFile.getStoragePath(), ex.getMessage());
+            }
+            mediaFile.setUploadStatus(MediaFile.UploadStatus.FAILED);
+        }
+        if (!stale.isEmpty()) {
+            mediaFileRepository.saveAll(stale);
+            log.info("Expired {} abandoned upload sessions", stale.size());
+        }
+    }
+
+    private void enqueueProcessing(MediaFile mediaFile, Map<String, Object> extra) {
         // Create initial Metadata
         MediaMetadata metadata = MediaMetadata.builder()
                 .mediaFile(mediaFile)
-                .extra(new HashMap<>())
+                .extra(extra)
                 .build();
         mediaMetadataRepository.save(metadata);
 
-        // Schedule Processing Job (e.g. for thumbnails)
-        MediaProcessingJob job = MediaProcessingJob.builder()
-                .mediaFile(mediaFile)
-                .jobType("METADATA_EXTRACTION")
-                .status(MediaProcessingJob.JobStatus.PENDING)
-                .attempts(0)
-                .build();
-        mediaProcessingJobRepository.save(job);
+        // Schedule Processing Jobs
+        for (String jobType : processingJobTypes(mediaFile)) {
+            mediaProcessingJobRepository.save(MediaProcessingJob.builder()
+                    .mediaFile(mediaFile)
+                    .jobType(jobType)
+                    .status(MediaProcessingJob.JobStatus.PENDING)
+                    .attempts(0)
+                    .build());
+        }
+    }
 
-        return mediaFile;
+    /**
+     * Metadata for every file, renditions for images and videos.
+     */
+    private List<String> processingJobTypes(MediaFile mediaFile) {
+        if (RenditionGenerator.isImage(mediaFile.getMimeType(), mediaFile.getFileType())
+                || RenditionGenerator.isVideo(mediaFile.getMimeType(), mediaFile.getFileType())) {
+            return List.of(MediaProcessingJobService.METADATA_EXTRACTION, MediaProcessingJobService.RENDITIONS);
+        }
+        return List.of(MediaProcessingJobService.METADATA_EXTRACTION);
     }
 
     @Transactional
@@ -110,7 +537,9 @@ public class AssetService {
                 .userId(userId)
                 .parentFolderId(parentFolderId)
                 .build();
-        return assetFolderRepository.save(folder);
+        folder = assetFolderRepository.save(folder);
+        folderTreeService.invalidate(userId);
+        return folder;
     }
 
     public Map<String, Object> getFolderContents(UUID userId, UUID folderId) {
@@ -123,12 +552,21 @@ public class AssetService {
             throw new IllegalArgumentException("Root listing not fully defined, please provide folderId"); 
         } else {
             folders = assetFolderRepository.findByUserIdAndParentFolderId(userId, folderId);
-            files = mediaFileRepository.findByUserIdAndFolderId(userId, folderId);
+            files = mediaFileRepository.findByUserIdAndFolderId(userId, folderId).stream()
+                    .filter(file -> !Boolean.TRUE.equals(file.getIsDeleted()))
+                    .toList();
         }
 
         Map<String, Object> contents = new HashMap<>();
         contents.put("folders", folders);
         contents.put("files", files);
+        // Lets grids show renditions instead of fetching originals
+        Map<UUID, String> thumbnails = new HashMap<>();
+        if (!files.isEmpty()) {
+            mediaMetadataRepository.findThumbnails(files.stream().map(MediaFile::getId).toList())
+                    .forEach(ref -> thumbnails.put(ref.getMediaFileId(), ref.getThumbnailUrl()));
+        }
+        contents.put("thumbnails", thumbnails);
         return contents;
     }
     
@@ -136,7 +574,7 @@ public class AssetService {
         return assetFolderRepository.findByUserIdAndParentFolderIdIsNull(userId);
     }
 
-    private String generateStoragePath(UUID userId, UUID folderId, String fileName) {
+    String generateStoragePath(UUID userId, UUID folderId, String fileName) {
         String safeFileName = UUID.randomUUID() + "-" + fileName.replaceAll("\\s+", "_");
         return String.format("%s/%s/%s", userId, folderId, safeFileName);
     }
@@ -158,24 +596,4 @@ public class AssetService {
         return mediaFileRepository.findByIdAndUserId(fileId, userId)
                 .orElseThrow(() -> new RuntimeException("File not found: " + fileId));
     }
-
-    public org.springframework.core.io.Resource downloadFile(UUID fileId, UUID userId) throws IOException {
-        MediaFile mediaFile = mediaFileRepository.findByIdAndUserId(fileId, userId)
-                .orElseThrow(() -> new RuntimeException("File not found: " + fileId));
-        
-        BlobId blobId = BlobId.of(mediaFile.getBucketName(), mediaFile.getStoragePath());
-        com.google.cloud.ReadChannel reader = storage.reader(blobId);
-        
-        return new org.springframework.core.io.InputStreamResource(java.nio.channels.Channels.newInputStream(reader)) {
-            @Override
-            public String getFilename() {
-                return mediaFile.getFileName();
-            }
-            
-            @Override
-            public long contentLength() throws IOException {
-                return mediaFile.getSizeBytes();
-            }
-        };
-    }
 }
@@ -0,0 +1,325 @@
+package com.creatoros.assetservice.service;
+
+import com.creatoros.assetservice.model.MediaFile;
+import com.creatoros.assetservice.repository.AssetFolderRepository;
+import com.creatoros.assetservice.storage.BlobStore;
+import com.creatoros.assetservice.storage.HashingInputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * Uploads many files in one request, as multipart parts or the entries of a zip archive. Entries
+ * are streamed to storage in parallel with bounded concurrency and no database connection held;
+ * the files are then recorded in one transaction of batched inserts. An entry that cannot be
+ * stored is reported back instead of failing the others.
+ */
+@Service
+@Slf4j
+public class BulkUploadService {
+
+    // Entries smaller than this are never rejected for their ratio; tiny text files compress well
+    private static final long RATIO_CHECK_FLOOR_BYTES = 1024 * 1024;
+
+    private final AssetService assetService;
+    private final AssetFolderRepository assetFolderRepository;
+    private final BlobStore blobStore;
+    private final ThreadPoolTaskExecutor executor;
+    private final int concurrency;
+    private final int maxFiles;
+    private final long maxUploadBytes;
+    private final long maxExpandedBytes;
+    private final long maxCompressionRatio;
+
+    public BulkUploadService(
+            AssetService assetService,
+            AssetFolderRepository assetFolderRepository,
+            BlobStore blobStore,
+            @Qualifier("bulkUploadExecutor") ThreadPoolTaskExecutor executor,
+            @Value("${assets.upload.bulk.concurrency:4}") int concurrency,
+            @Value("${assets.upload.bulk.max-files:500}") int maxFiles,
+            @Value("${assets.upload.max-size-bytes:524288000}") long maxUploadBytes,
+            @Value("${assets.upload.bulk.max-expanded-bytes:10737418240}") long maxExpandedBytes,
+            @Value("${assets.upload.bulk.max-compression-ratio:100}") long maxCompressionRatio
+    ) {
+        this.assetService = assetService;
+        this.assetFolderRepository = assetFolderRepository;
+        this.blobStore = blobStore;
+        this.executor = executor;
+        this.concurrency = concurrency;
+        this.maxFiles = maxFiles;
+        this.maxUploadBytes = maxUploadBytes;
+        this.maxExpandedBytes = maxExpandedBytes;
+        this.maxCompressionRatio = maxCompressionRatio;
+    }
+
+    public record BulkUploadResult(List<MediaFile> uploaded, List<FailedEntry> failed) {
+    }
+
+    public record FailedEntry(String fileName, String error) {
+    }
+
+    @FunctionalInterface
+    private interface ContentSource {
+        InputStream open() throws IOException;
+    }
+
+    private record Entry(String fileName, String contentType, ContentSource content) {
+    }
+
+    private record Outcome(AssetService.StagedUpload staged, FailedEntry failure) {
+    }
+
+    public BulkUploadResult uploadFiles(List<MultipartFile> files, UUID userId, UUID folderId) throws IOException {
+        requireFolder(userId, folderId);
+        List<Entry> entries = new ArrayList<>();
+        for (MultipartFile file : files) {
+            // Browsers send a nameless empty part for an unused file input
+            if (file.getOriginalFilename() == null || file.getOriginalFilename().isBlank()) {
+                continue;
+            }
+            entries.add(new Entry(file.getOriginalFilename(), file.getContentType(), file::getInputStream));
+        }
+        return upload(entries, userId, folderId);
+    }
+
+    /**
+     * Stores every file in a zip archive under the folder, flattened to its base name. The archive
+     * is spooled to a temporary file first so its entries can be read concurrently; directories
+     * and hidden or OS metadata entries are skipped.
+     *
+     * <p>Archives whose declared sizes exceed {@code max-expanded-bytes} in total, or whose entries
+     * claim more than {@code max-compression-ratio}, are rejected up front. Declared sizes can lie,
+     * so the same limits are enforced again on the bytes actually inflated.
+     */
+    public BulkUploadResult uploadArchive(MultipartFile archive, UUID userId, UUID folderId) throws IOException {
+        requireFolder(userId, folderId);
+        Path spooled = Files.createTempFile("bulk-upload-", ".zip");
+        try {
+            archive.transferTo(spooled);
+            try (ZipFile zip = new ZipFile(spooled.toFile())) {
+                List<Entry> entries = new ArrayList<>();
+                AtomicLong expanded = new AtomicLong();
+                long declaredBytes = 0;
+                Enumeration<? extends ZipEntry> zipEntries = zip.entries();
+                while (zipEntries.hasMoreElements()) {
+                    ZipEntry zipEntry = zipEntries.nextElement();
+                    String fileName = baseName(zipEntry.getName());
+                    if (zipEntry.isDirectory() || zipEntry.getName().startsWith("__MACOSX/")
+                            || fileName.isEmpty() || fileName.startsWith(".")) {
+                        continue;
+                    }
+                    long declaredSize = Math.max(0, zipEntry.getSize());
+                    if (exceedsRatio(declaredSize, zipEntry.getCompressedSize())) {
+                        throw new IllegalArgumentException("Archive entry " + fileName + " is compressed more than "
+                                + maxCompressionRatio + ":1");
+                    }
+                    declaredBytes += declaredSize;
+                    if (declaredBytes > maxExpandedBytes) {
+                        throw new IllegalArgumentException("Archive expands beyond the limit of "
+                                + maxExpandedBytes + " bytes");
+                    }
+                    String contentType = MediaTypeFactory.getMediaType(fileName)
+                            .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                            .toString();
+                    entries.add(new Entry(fileName, contentType, () -> new ExpansionLimitedInputStream(
+                            zip.getInputStream(zipEntry), zipEntry.getCompressedSize(), expanded)));
+                }
+                return upload(entries, userId, folderId);
+            } catch (ZipException ex) {
+                throw new IllegalArgumentException("Not a readable zip archive: " + ex.getMessage());
+            }
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
+    }
+
+    private boolean exceedsRatio(long expandedBytes, long compressedBytes) {
+        return expandedBytes > RATIO_CHECK_FLOOR_BYTES
+                && expandedBytes / Math.max(1, compressedBytes) > maxCompressionRatio;
+    }
+
+    private BulkUploadResult upload(List<Entry> entries, UUID userId, UUID folderId) throws IOException {
+        if (entries.isEmpty()) {
+            throw new IllegalArgumentException("No files to upload");
+        }
+        if (entries.size() > maxFiles) {
+            throw new IllegalArgumentException("Too many files: " + entries.size() + " (limit " + maxFiles + ")");
+        }
+
+        long startedAt = System.nanoTime();
+        List<AssetService.StagedUpload> staged = new ArrayList<>();
+        List<FailedEntry> failed = new ArrayList<>();
+        writeAll(entries, userId, folderId, staged, failed);
+
+        List<MediaFile> uploaded = List.of();
+        if (!staged.isEmpty()) {
+            try {
+                uploaded = assetService.registerBulkUpload(userId, folderId, staged);
+            } catch (RuntimeException ex) {
+                staged.forEach(upload -> deleteQuietly(upload.storagePath()));
+                throw ex;
+            }
+        }
+        log.info("Bulk upload to folder {}: {} stored, {} failed in {} ms", folderId, uploaded.size(), failed.size(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+        return new BulkUploadResult(uploaded, failed);
+    }
+
+    /**
+     * Keeps at most {@code concurrency} entries of this request in flight, submitting the next as
+     * each one finishes.
+     */
+    private void writeAll(List<Entry> entries, UUID userId, UUID folderId, List<AssetService.StagedUpload> staged,
+                          List<FailedEntry> failed) throws IOException {
+        CompletionService<Outcome> completion = new ExecutorCompletionService<>(executor.getThreadPoolExecutor());
+        int next = 0;
+        int inFlight = 0;
+        try {
+            while (next < entries.size() || inFlight > 0) {
+                while (inFlight < concurrency && next < entries.size()) {
+                    Entry entry = entries.get(next++);
+                    completion.submit(() -> write(entry, userId, folderId));
+                    inFlight++;
+                }
+                Future<Outcome> done = completion.take();
+                inFlight--;
+                Outcome outcome = done.get();
+                if (outcome.staged() != null) {
+                    staged.add(outcome.staged());
+                } else {
+                    failed.add(outcome.failure());
+                }
+            }
+        } catch (InterruptedException ex) {
+            drain(completion, inFlight, staged);
+            Thread.currentThread().interrupt();
+            throw new IOException("Bulk upload interrupted", ex);
+        } catch (ExecutionException ex) {
+            // write() reports its own failures, so this is unexpected
+            drain(completion, inFlight, staged);
+            throw new IllegalStateException("Bulk upload failed", ex.getCause());
+        }
+    }
+
+    private Outcome write(Entry entry, UUID userId, UUID folderId) {
+        String storagePath = assetService.generateStoragePath(userId, folderId, entry.fileName());
+        try (InputStream content = entry.content().open()) {
+            HashingInputStream hashing = new HashingInputStream(content, maxUploadBytes);
+            long sizeBytes = blobStore.write(storagePath, entry.contentType(), hashing);
+            return new Outcome(new AssetService.StagedUpload(entry.fileName(), entry.contentType(), storagePath,
+                    sizeBytes, hashing.sha256Hex()), null);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Bulk upload entry {} failed: {}", entry.fileName(), ex.getMessage());
+            return new Outcome(null, new FailedEntry(entry.fileName(), ex.getMessage()));
+        }
+    }
+
+    /**
+     * Waits out entries still being written when the request is abandoned, then removes
+     * everything it stored.
+     */
+    private void drain(CompletionService<Outcome> completion, int inFlight, List<AssetService.StagedUpload> staged) {
+        for (int i = 0; i < inFlight; i++) {
+            try {
+                Outcome outcome = completion.take().get();
+                if (outcome.staged() != null) {
+                    staged.add(outcome.staged());
+                }
+            } catch (InterruptedException ex) {
+                // Objects still being written are left behind rather than blocking shutdown
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException ex) {
+                log.warn("Bulk upload entry failed while aborting: {}", ex.getCause().getMessage());
+            }
+        }
+        staged.forEach(upload -> deleteQuietly(upload.storagePath()));
+    }
+
+    private void requireFolder(UUID userId, UUID folderId) {
+        assetFolderRepository.findByIdAndUserId(folderId, userId)
+                .orElseThrow(() -> new RuntimeException("Folder not found: " + folderId));
+    }
+
+    private void deleteQuietly(String storagePath) {
+        try {
+            blobStore.delete(blobStore.bucket(), storagePath);
+        } catch (RuntimeException ex) {
+            log.warn("Could not remove bulk upload object {}: {}", storagePath, ex.getMessage());
+        }
+    }
+
+    /**
+     * Counts inflated bytes against the archive-wide total and the entry's own compressed size,
+     * failing the read as soon as either limit is crossed.
+     */
+    private class ExpansionLimitedInputStream extends FilterInputStream {
+
+        private final long compressedBytes;
+        private final AtomicLong archiveExpanded;
+        private long count;
+
+        ExpansionLimitedInputStream(InputStream in, long compressedBytes, AtomicLong archiveExpanded) {
+            super(in);
+            this.compressedBytes = compressedBytes;
+            this.archiveExpanded = archiveExpanded;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                advance(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                advance(read);
+            }
+            return read;
+        }
+
+        private void advance(int read) throws IOException {
+            count += read;
+            if (exceedsRatio(count, compressedBytes)) {
+                throw new IOException("Entry is compressed more than " + maxCompressionRatio + ":1");
+            }
+            if (archiveExpanded.addAndGet(read) > maxExpandedBytes) {
+                throw new IOException("Archive expands beyond the limit of " + maxExpandedBytes + " bytes");
+            }
+        }
+    }
+
+    private static String baseName(String entryName) {
+        String name = entryName.replace('\\', '/');
+        return name.substring(name.lastIndexOf('/') + 1).trim();
+    }
+}
@@ -0,0 +1,223 @@
+package com.creatoros.assetservice.service;
+
+import com.creatoros.assetservice.repository.AssetFolderRepository;
+import com.creatoros.assetservice.repository.AssetFolderRepository.FolderTreeRow;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Serves a user's folder hierarchy with per-folder and per-subtree file counts and byte totals.
+ * The whole tree is materialised by one recursive query and cached per user, so expanding
+ * folders in the UI costs no further queries; any folder or file change for the user drops the
+ * entry once its transaction commits. The cache is local to each instance, so a change made on
+ * another instance shows here within the TTL at the latest.
+ */
+@Service
+@Slf4j
+public class FolderTreeService {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final AssetFolderRepository assetFolderRepository;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final int maxDepth;
+    private final Map<UUID, CachedTree> entries = new ConcurrentHashMap<>();
+    // Bumped by every invalidation of the users hashed to a stripe; a load that overlapped one is
+    // returned but not cached. Striped rather than per user so it stays bounded, and rather than
+    // global so one user's uploads do not keep every other user's tree out of the cache.
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public FolderTreeService(
+            AssetFolderRepository assetFolderRepository,
+            MeterRegistry meterRegistry,
+            @Value("${assets.folders.tree-cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${assets.folders.tree-cache.max-entries:10000}") int maxEntries,
+            @Value("${assets.folders.max-depth:64}") int maxDepth
+    ) {
+        this.assetFolderRepository = assetFolderRepository;
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        this.maxEntries = maxEntries;
+        this.maxDepth = maxDepth;
+
+        Gauge.builder("assets.folder.tree.cache.hit.ratio", this, FolderTreeService::hitRatio)
+                .description("Share of folder tree reads served from cache")
+                .register(meterRegistry);
+        Gauge.builder("assets.folder.tree.cache.entries", entries, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * A folder with its own totals, the totals of everything beneath it, and its children down to
+     * the requested depth. {@code childFolderCount} is always the real number of subfolders, so a
+     * client can tell whether a node cut off by the depth limit is worth expanding.
+     */
+    public record FolderTreeNode(
+            UUID id,
+            UUID parentFolderId,
+            String name,
+            int depth,
+            long fileCount,
+            long totalBytes,
+            long subtreeFileCount,
+            long subtreeBytes,
+            int childFolderCount,
+            List<FolderTreeNode> children
+    ) {
+    }
+
+    private record CachedTree(List<FolderTreeNode> roots, Map<UUID, FolderTreeNode> byId, long loadedAt) {
+    }
+
+    /**
+     * @param rootFolderId folder to start from, or null for all of the user's root folders
+     * @param depth        levels of children to include below the starting folders; 0 returns
+     *                     just the starting folders, null means no limit
+     */
+    public List<FolderTreeNode> getTree(UUID userId, UUID rootFolderId, Integer depth) {
+        if (depth != null && depth < 0) {
+            throw new IllegalArgumentException("depth must not be negative");
+        }
+        int limit = depth == null ? Integer.MAX_VALUE : depth;
+        CachedTree tree = load(userId);
+        if (rootFolderId == null) {
+            return tree.roots().stream().map(root -> prune(root, limit)).toList();
+        }
+        FolderTreeNode root = tree.byId().get(rootFolderId);
+        if (root == null) {
+            throw new RuntimeException("Folder not found: " + rootFolderId);
+        }
+        return List.of(prune(root, limit));
+    }
+
+    /**
+     * Drops the user's cached tree once the current transaction commits (immediately when there
+     * is none), so a concurrent read cannot re-cache the state from before the change.
+     */
+    public void invalidate(UUID userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        } else {
+            evict(userId);
+        }
+    }
+
+    private void evict(UUID userId) {
+        generations.incrementAndGet(stripe(userId));
+        entries.remove(userId);
+    }
+
+    private static int stripe(UUID userId) {
+        return Math.floorMod(userId.hashCode(), GENERATION_STRIPES);
+    }
+
+    private CachedTree load(UUID userId) {
+        CachedTree cached = entries.get(userId);
+        if (cached != null && System.nanoTime() - cached.loadedAt() < ttlNanos) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+
+        long startedAt = System.nanoTime();
+        int stripe = stripe(userId);
+        long loadGeneration = generations.get(stripe);
+        CachedTree tree = build(assetFolderRepository.findFolderTree(userId, maxDepth), startedAt);
+        if (generations.get(stripe) == loadGeneration) {
+            if (entries.size() >= maxEntries) {
+                evictOldest();
+            }
+            entries.put(userId, tree);
+            // An invalidation between the check and the put must not leave the stale tree behind
+            if (generations.get(stripe) != loadGeneration) {
+                entries.remove(userId, tree);
+            }
+        }
+        log.debug("Loaded folder tree for user {}: {} folders in {} ms", userId, tree.byId().size(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+        return tree;
+    }
+
+    private void evictOldest() {
+        entries.entrySet().stream()
+                .min(Comparator.comparingLong(entry -> entry.getValue().loadedAt()))
+                .ifPresent(entry -> entries.remove(entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * Groups the rows by parent, in whatever order they arrive, then builds each root's subtree
+     * depth-first so subtree totals add up from the leaves. A folder whose parent is not among the
+     * rows is unreachable from any root and left out.
+     */
+    private CachedTree build(List<FolderTreeRow> rows, long loadedAt) {
+        Map<UUID, List<FolderTreeRow>> childrenByParent = new HashMap<>();
+        List<FolderTreeRow> rootRows = new ArrayList<>();
+        for (FolderTreeRow row : rows) {
+            if (row.getParentFolderId() == null) {
+                rootRows.add(row);
+            } else {
+                childrenByParent.computeIfAbsent(row.getParentFolderId(), parent -> new ArrayList<>()).add(row);
+            }
+        }
+        Map<UUID, FolderTreeNode> byId = new HashMap<>();
+        List<FolderTreeNode> roots = rootRows.stream().map(row -> toNode(row, childrenByParent, byId)).toList();
+        return new CachedTree(roots, byId, loadedAt);
+    }
+
+    private FolderTreeNode toNode(FolderTreeRow row, Map<UUID, List<FolderTreeRow>> childrenByParent,
+                                  Map<UUID, FolderTreeNode> byId) {
+        List<FolderTreeNode> children = childrenByParent.getOrDefault(row.getId(), List.of()).stream()
+                .map(child -> toNode(child, childrenByParent, byId))
+                .toList();
+        long fileCount = row.getFileCount() == null ? 0 : row.getFileCount();
+        long totalBytes = row.getTotalBytes() == null ? 0 : row.getTotalBytes();
+        long subtreeFileCount = fileCount;
+        long subtreeBytes = totalBytes;
+        for (FolderTreeNode child : children) {
+            subtreeFileCount += child.subtreeFileCount();
+            subtreeBytes += child.subtreeBytes();
+        }
+        FolderTreeNode node = new FolderTreeNode(row.getId(), row.getParentFolderId(), row.getName(), row.getDepth(),
+                fileCount, totalBytes, subtreeFileCount, subtreeBytes, children.size(), children);
+        byId.put(node.id(), node);
+        return node;
+    }
+
+    private FolderTreeNode prune(FolderTreeNode node, int levels) {
+        if (levels == Integer.MAX_VALUE || node.children().isEmpty()) {
+            return node;
+        }
+        List<FolderTreeNode> children = levels == 0
+                ? List.of()
+                : node.children().stream().map(child -> prune(child, levels - 1)).toList();
+        return new FolderTreeNode(node.id(), node.parentFolderId(), node.name(), node.depth(), node.fileCount(),
+                node.totalBytes(), node.subtreeFileCount(), node.subtreeBytes(), node.childFolderCount(), children);
+    }
+
+    private double hitRatio() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+}
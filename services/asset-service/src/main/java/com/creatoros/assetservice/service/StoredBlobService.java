@@ -0,0 +1,94 @@
+package com.creatoros.assetservice.service;
+
+import com.creatoros.assetservice.model.StoredBlob;
+import com.creatoros.assetservice.repository.StoredBlobRepository;
+import com.creatoros.assetservice.storage.BlobStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reference-counted, content-addressed blobs. Identical bytes uploaded again are linked to the
+ * object already stored instead of being kept twice; the object is deleted with its last
+ * reference.
+ *
+ * <p>With {@code assets.dedup.scope=user} (the default) content is only shared between one
+ * user's files. {@code global} shares across users and saves more, but how fast an upload
+ * finishes then reveals whether anyone else already has that file.
+ */
+@Service
+@Slf4j
+public class StoredBlobService {
+
+    private final StoredBlobRepository storedBlobRepository;
+    private final BlobStore blobStore;
+    private final boolean globalScope;
+
+    public StoredBlobService(
+            StoredBlobRepository storedBlobRepository,
+            BlobStore blobStore,
+            @Value("${assets.dedup.scope:user}") String scope
+    ) {
+        this.storedBlobRepository = storedBlobRepository;
+        this.blobStore = blobStore;
+        this.globalScope = "global".equalsIgnoreCase(scope);
+    }
+
+    public Optional<StoredBlob> findExisting(UUID userId, String sha256) {
+        return storedBlobRepository.findByContentKey(contentKey(userId, sha256));
+    }
+
+    /**
+     * Adds a reference to a blob found by {@link #findExisting}.
+     *
+     * @throws IllegalStateException if its last reference was removed in the meantime
+     */
+    @Transactional
+    public StoredBlob addReference(StoredBlob blob) {
+        if (storedBlobRepository.addReference(blob.getId(), LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("Stored content was removed during the upload; please retry");
+        }
+        return blob;
+    }
+
+    /**
+     * Registers content just written to {@code storagePath}. Returns the blob the new file should
+     * point at: the new object, or an existing one with the same content, in which case the new
+     * object is redundant and the caller removes it.
+     */
+    @Transactional
+    public StoredBlob register(UUID userId, String sha256, long sizeBytes, String storagePath) {
+        String contentKey = contentKey(userId, sha256);
+        storedBlobRepository.upsertReference(UUID.randomUUID(), contentKey, sha256, sizeBytes,
+                blobStore.provider(), blobStore.bucket(), storagePath, LocalDateTime.now());
+        return storedBlobRepository.findByContentKey(contentKey)
+                .orElseThrow(() -> new IllegalStateException("Stored blob vanished after upsert: " + contentKey));
+    }
+
+    /**
+     * Drops one reference.
+     *
+     * @return the blob when that was its last reference; its object can be deleted once the
+     *         transaction commits
+     */
+    @Transactional
+    public Optional<StoredBlob> release(UUID blobId) {
+        Optional<StoredBlob> blob = storedBlobRepository.findById(blobId);
+        storedBlobRepository.removeReference(blobId, LocalDateTime.now());
+        if (storedBlobRepository.deleteIfUnreferenced(blobId) > 0) {
+            return blob;
+        }
+        return Optional.empty();
+    }
+
+    private String contentKey(UUID userId, String sha256) {
+        String scope = globalScope ? "global" : "user:" + userId;
+        return blobStore.provider() + ":" + blobStore.bucket() + ":" + scope + ":" + sha256.toLowerCase(Locale.ROOT);
+    }
+}
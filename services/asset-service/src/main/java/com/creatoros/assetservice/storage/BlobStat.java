@@ -0,0 +1,9 @@
+package com.creatoros.assetservice.storage;
+
+import java.util.Map;
+
+/**
+ * @param checksums whatever digests the backend keeps for the object (e.g. storageMd5, storageCrc32c)
+ */
+public record BlobStat(long sizeBytes, Map<String, Object> checksums) {
+}
@@ -0,0 +1,47 @@
+package com.creatoros.assetservice.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Object storage used for media bytes. Objects are addressed by bucket and path as recorded on
+ * {@code MediaFile}; new objects always go to {@link #bucket()}. Implementations stream in both
+ * directions with bounded buffers and clean up after themselves when a write fails.
+ */
+public interface BlobStore {
+
+    /**
+     * Recorded as {@code MediaFile.storageProvider}, e.g. {@code GCS}, {@code S3}, {@code LOCAL}.
+     */
+    String provider();
+
+    String bucket();
+
+    /**
+     * Writes {@code content} to {@code path} in {@link #bucket()} until end of stream.
+     *
+     * @return bytes written
+     */
+    long write(String path, String contentType, InputStream content) throws IOException;
+
+    /**
+     * Copies {@code length} bytes starting at {@code offset} to {@code out}.
+     */
+    void read(String bucket, String path, long offset, long length, OutputStream out) throws IOException;
+
+    Optional<BlobStat> stat(String bucket, String path);
+
+    void delete(String bucket, String path);
+
+    /**
+     * Pre-authorised request that lets a client upload {@code sizeBytes} straight to storage.
+     *
+     * @param sha256 hex digest the client declared for the content, or null; backends that can
+     *               make the store check it do so and say so in {@link DirectUpload#verifiesSha256()}
+     * @throws UnsupportedOperationException if the backend cannot accept direct uploads
+     */
+    DirectUpload createDirectUpload(String path, String contentType, long sizeBytes, String sha256, Duration ttl);
+}
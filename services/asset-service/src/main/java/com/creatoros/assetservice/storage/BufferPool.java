@@ -0,0 +1,34 @@
+package com.creatoros.assetservice.storage;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reusable copy buffers for streaming between storage and HTTP, so a busy instance does not
+ * allocate a large buffer per transfer. Past the pool size, extra concurrent transfers get a
+ * buffer that is dropped afterwards.
+ */
+public class BufferPool {
+
+    private final int bufferSize;
+    private final BlockingQueue<ByteBuffer> buffers;
+
+    public BufferPool(int bufferSize, int poolSize) {
+        this.bufferSize = bufferSize;
+        this.buffers = new ArrayBlockingQueue<>(poolSize);
+    }
+
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocate(bufferSize);
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    public void release(ByteBuffer buffer) {
+        buffers.offer(buffer);
+    }
+}
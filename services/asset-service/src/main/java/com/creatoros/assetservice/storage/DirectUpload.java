@@ -0,0 +1,11 @@
+package com.creatoros.assetservice.storage;
+
+import java.util.Map;
+
+/**
+ * A signed request the client sends itself: {@code method} to {@code url} with exactly these headers.
+ *
+ * @param verifiesSha256 whether the store rejects a body that does not match the declared SHA-256
+ */
+public record DirectUpload(String url, String method, Map<String, String> headers, boolean verifiesSha256) {
+}
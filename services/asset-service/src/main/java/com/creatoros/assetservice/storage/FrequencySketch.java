@@ -0,0 +1,70 @@
+package com.creatoros.assetservice.storage;
+
+/**
+ * Approximate access counts for an unbounded set of keys in fixed memory: a count-min sketch of
+ * four rows of saturating 4-bit counters (held one per byte for simplicity). After every
+ * {@code 10 * width} increments all counters are halved, so the counts follow recent popularity
+ * rather than all-time totals. Estimates never undercount a key's recent accesses, though
+ * collisions may overcount it.
+ */
+class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final long[] SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+    private final byte[] counters;
+    private final int rowMask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int width) {
+        int rowWidth = Integer.highestOneBit(Math.max(16, width - 1) << 1);
+        this.counters = new byte[DEPTH * rowWidth];
+        this.rowMask = rowWidth - 1;
+        this.sampleSize = 10 * rowWidth;
+    }
+
+    synchronized void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = indexOf(hash, row);
+            if (counters[index] < MAX_COUNT) {
+                counters[index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            age();
+        }
+    }
+
+    synchronized int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int min = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, counters[indexOf(hash, row)]);
+        }
+        return min;
+    }
+
+    private void age() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = (byte) (counters[i] >>> 1);
+        }
+        additions /= 2;
+    }
+
+    private int indexOf(int hash, int row) {
+        long mixed = (hash + SEEDS[row]) * SEEDS[row];
+        int slot = (int) (mixed >>> 32) & rowMask;
+        return row * (rowMask + 1) + slot;
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x45D9F3B;
+        return hash ^ (hash >>> 16);
+    }
+}
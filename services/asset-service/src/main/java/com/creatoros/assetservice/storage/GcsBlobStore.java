@@ -0,0 +1,167 @@
+package com.creatoros.assetservice.storage;
+
+import com.google.cloud.ReadChannel;
+import com.google.cloud.WriteChannel;
+import com.google.cloud.storage.Blob;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.HttpMethod;
+import com.google.cloud.storage.Storage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Google Cloud Storage. Writes go through a resumable-upload {@link WriteChannel}; reads come off
+ * a {@link ReadChannel} with a large fetch chunk, positioned and limited to the requested range.
+ */
+@Slf4j
+public class GcsBlobStore implements BlobStore {
+
+    // Bytes read from the caller per iteration; what a write holds besides the GCS chunk
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final Storage storage;
+    private final String bucket;
+    private final int uploadChunkSize;
+    private final int downloadChunkSize;
+    private final BufferPool buffers;
+
+    public GcsBlobStore(Storage storage, String bucket, int uploadChunkSize, int downloadChunkSize, BufferPool buffers) {
+        this.storage = storage;
+        this.bucket = bucket;
+        this.uploadChunkSize = uploadChunkSize;
+        this.downloadChunkSize = downloadChunkSize;
+        this.buffers = buffers;
+    }
+
+    @Override
+    public String provider() {
+        return "GCS";
+    }
+
+    @Override
+    public String bucket() {
+        return bucket;
+    }
+
+    @Override
+    public long write(String path, String contentType, InputStream content) throws IOException {
+        BlobInfo blobInfo = BlobInfo.newBuilder(BlobId.of(bucket, path))
+                .setContentType(contentType)
+                .build();
+        byte[] buffer = new byte[WRITE_BUFFER_SIZE];
+        long size = 0;
+
+        try (WriteChannel writer = storage.writer(blobInfo)) {
+            writer.setChunkSize(uploadChunkSize);
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    writer.write(chunk);
+                }
+                size += read;
+            }
+        } catch (IOException | RuntimeException ex) {
+            // Closing the channel finalises whatever was sent, so remove the truncated object
+            try {
+                storage.delete(blobInfo.getBlobId());
+            } catch (RuntimeException deleteEx) {
+                log.warn("Could not remove partial upload {}: {}", path, deleteEx.getMessage());
+            }
+            throw ex;
+        }
+        return size;
+    }
+
+    @Override
+    public void read(String bucket, String path, long offset, long length, OutputStream out) throws IOException {
+        ByteBuffer buffer = buffers.acquire();
+        try (ReadChannel reader = storage.reader(BlobId.of(bucket, path))) {
+            reader.setChunkSize(downloadChunkSize);
+            if (offset > 0) {
+                reader.seek(offset);
+            }
+            reader.limit(offset + length);
+
+            long remaining = length;
+            while (remaining > 0) {
+                buffer.clear();
+                if (buffer.capacity() > remaining) {
+                    buffer.limit((int) remaining);
+                }
+                int read = reader.read(buffer);
+                if (read < 0) {
+                    throw new EOFException("Blob ended " + remaining + " bytes early: " + path);
+                }
+                out.write(buffer.array(), 0, buffer.position());
+                remaining -= read;
+            }
+            out.flush();
+        } finally {
+            buffers.release(buffer);
+        }
+    }
+
+    @Override
+    public Optional<BlobStat> stat(String bucket, String path) {
+        Blob blob = storage.get(BlobId.of(bucket, path));
+        if (blob == null) {
+            return Optional.empty();
+        }
+        Map<String, Object> checksums = new HashMap<>();
+        if (blob.getMd5() != null) {
+            checksums.put("storageMd5", blob.getMd5());
+        }
+        if (blob.getCrc32c() != null) {
+            checksums.put("storageCrc32c", blob.getCrc32c());
+        }
+        return Optional.of(new BlobStat(blob.getSize(), checksums));
+    }
+
+    @Override
+    public void delete(String bucket, String path) {
+        storage.delete(BlobId.of(bucket, path));
+    }
+
+    /**
+     * V4 signed URL that opens a resumable-upload session. The client POSTs to it with the
+     * returned headers, then PUTs the bytes to the session URI from the Location header. The
+     * declared size is part of the signature, so GCS rejects a body of any other length, and so
+     * is a generation-match of 0: the URL can only create the object, never overwrite it once
+     * the upload session has been completed and its content recorded. GCS cannot check a
+     * SHA-256, so a declared one is ignored.
+     */
+    @Override
+    public DirectUpload createDirectUpload(String path, String contentType, long sizeBytes, String sha256, Duration ttl) {
+        Map<String, String> headers = Map.of(
+                "x-goog-resumable", "start",
+                "Content-Type", contentType,
+                "x-upload-content-length", String.valueOf(sizeBytes),
+                "x-goog-if-generation-match", "0"
+        );
+        BlobInfo blobInfo = BlobInfo.newBuilder(BlobId.of(bucket, path))
+                .setContentType(contentType)
+                .build();
+        URL url = storage.signUrl(
+                blobInfo,
+                ttl.toSeconds(),
+                TimeUnit.SECONDS,
+                Storage.SignUrlOption.httpMethod(HttpMethod.POST),
+                Storage.SignUrlOption.withExtHeaders(headers),
+                Storage.SignUrlOption.withV4Signature()
+        );
+        return new DirectUpload(url.toString(), "POST", headers, false);
+    }
+}
@@ -0,0 +1,79 @@
+package com.creatoros.assetservice.storage;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Computes the SHA-256 and length of everything read through it, and fails the read once more
+ * than {@code maxBytes} have passed, so an upload is hashed and capped in the same single pass
+ * that sends it to storage.
+ */
+public class HashingInputStream extends FilterInputStream {
+
+    private final MessageDigest sha256;
+    private final long maxBytes;
+    private long count;
+
+    public HashingInputStream(InputStream in, long maxBytes) {
+        super(in);
+        this.maxBytes = maxBytes;
+        try {
+            this.sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            sha256.update((byte) b);
+            advance(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            sha256.update(buffer, offset, read);
+            advance(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) {
+        // Skipped bytes would be missing from the digest
+        return 0;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Hex SHA-256 of the bytes read so far; call once, after the stream is exhausted.
+     */
+    public String sha256Hex() {
+        return HexFormat.of().formatHex(sha256.digest());
+    }
+
+    private void advance(int read) {
+        count += read;
+        if (count > maxBytes) {
+            throw new IllegalArgumentException("File exceeds the maximum upload size of " + maxBytes + " bytes");
+        }
+    }
+}
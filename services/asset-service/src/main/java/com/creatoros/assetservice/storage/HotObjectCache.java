@@ -0,0 +1,353 @@
+package com.creatoros.assetservice.storage;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two-tier cache of small, frequently downloaded objects (thumbnails, short clips) so repeated
+ * fetches do not each open a storage read. Tier one holds whole objects on the heap; tier two,
+ * when a directory is configured, keeps what tier one evicts on local disk and serves ranges of it
+ * with {@link FileChannel#transferTo}. Both tiers are bounded in bytes and evict least recently
+ * used first.
+ *
+ * <p>The disk tier reads through the page cache rather than memory-mapping its files. Hot files
+ * stay in the page cache either way, so a mapping would save little, and a mapped buffer is only
+ * released when it is garbage-collected: evicted files would keep their disk space and address
+ * space until then, which a tier that churns many small files cannot bound. Servlet output is not
+ * a file or socket channel, so transferTo copies through a small buffer instead of the kernel's
+ * zero-copy path; it still avoids staging whole objects on the heap.
+ *
+ * <p>Admission is TinyLFU-style: every request is counted in a {@link FrequencySketch}, an object
+ * is only loaded into the cache once it has been asked for {@code minFrequency} times, and it
+ * only displaces an entry that has been asked for less often. A video fetched once, or anything
+ * over {@code maxObjectBytes}, is streamed straight from storage and never cached. Concurrent
+ * misses on the same admitted key share one load.
+ *
+ * <p>Keys must change whenever the bytes do. Cached objects are served without revalidation.
+ */
+@Slf4j
+public class HotObjectCache {
+
+    /**
+     * Copies {@code length} bytes of the object starting at {@code offset} from storage.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        void load(long offset, long length, OutputStream out) throws IOException;
+    }
+
+    private record DiskEntry(Path file, long sizeBytes) {
+    }
+
+    private final long maxObjectBytes;
+    private final long memoryCapacityBytes;
+    private final long diskCapacityBytes;
+    private final Path diskRoot;
+    private final int minFrequency;
+    private final FrequencySketch sketch;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(256, 0.75f, true);
+    private final LinkedHashMap<String, DiskEntry> disk = new LinkedHashMap<>(256, 0.75f, true);
+    private long memoryBytes;
+    private long diskBytes;
+    // Whole-object loads in flight, so concurrent misses on one key wait on a single storage read
+    private final ConcurrentHashMap<String, CompletableFuture<byte[]>> loading = new ConcurrentHashMap<>();
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    /**
+     * @param diskRoot directory for the disk tier, or null to keep only the memory tier; it is
+     *                 emptied on startup, since the index of what it holds is not persisted
+     */
+    public HotObjectCache(long maxObjectBytes, long memoryCapacityBytes, Path diskRoot, long diskCapacityBytes,
+                          int minFrequency, int sketchWidth, MeterRegistry meterRegistry) throws IOException {
+        this.maxObjectBytes = Math.min(maxObjectBytes, Integer.MAX_VALUE - 8);
+        this.memoryCapacityBytes = memoryCapacityBytes;
+        this.diskRoot = diskRoot;
+        this.diskCapacityBytes = diskRoot == null ? 0 : diskCapacityBytes;
+        this.minFrequency = minFrequency;
+        this.sketch = new FrequencySketch(sketchWidth);
+        if (diskRoot != null) {
+            Files.createDirectories(diskRoot);
+            try (DirectoryStream<Path> stale = Files.newDirectoryStream(diskRoot, "*.obj")) {
+                for (Path file : stale) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+
+        Gauge.builder("assets.download.cache.hit.ratio", this, HotObjectCache::hitRatio)
+                .description("Share of cacheable downloads served from memory or disk")
+                .register(meterRegistry);
+        FunctionCounter.builder("assets.download.cache.bytes.saved", bytesSaved, AtomicLong::get)
+                .description("Bytes served from cache instead of storage")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        FunctionCounter.builder("assets.download.cache.hits", memoryHits, AtomicLong::get).tag("tier", "memory").register(meterRegistry);
+        FunctionCounter.builder("assets.download.cache.hits", diskHits, AtomicLong::get).tag("tier", "disk").register(meterRegistry);
+        FunctionCounter.builder("assets.download.cache.misses", misses, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("assets.download.cache.coalesced", coalesced, AtomicLong::get)
+                .description("Misses that waited on another request's load instead of reading storage")
+                .register(meterRegistry);
+        Gauge.builder("assets.download.cache.size", this, cache -> cache.memoryBytes()).tag("tier", "memory").baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("assets.download.cache.size", this, cache -> cache.diskBytes()).tag("tier", "disk").baseUnit("bytes").register(meterRegistry);
+    }
+
+    /**
+     * Writes {@code length} bytes of the object starting at {@code offset} to {@code out}, from
+     * cache when possible. On a miss the whole object is loaded and cached if it is admitted;
+     * otherwise just the range is streamed from storage.
+     */
+    public void read(String key, long sizeBytes, long offset, long length, OutputStream out, Loader loader)
+            throws IOException {
+        if (sizeBytes > maxObjectBytes || memoryCapacityBytes <= 0) {
+            loader.load(offset, length, out);
+            return;
+        }
+        sketch.increment(key);
+
+        byte[] cached = getFromMemory(key);
+        if (cached != null) {
+            memoryHits.incrementAndGet();
+            bytesSaved.addAndGet(length);
+            out.write(cached, (int) offset, (int) length);
+            return;
+        }
+        DiskEntry onDisk = getFromDisk(key);
+        if (onDisk != null && readFromDisk(key, onDisk, offset, length, out)) {
+            diskHits.incrementAndGet();
+            bytesSaved.addAndGet(length);
+            return;
+        }
+
+        misses.incrementAndGet();
+        if (sketch.frequency(key) < minFrequency) {
+            loader.load(offset, length, out);
+            return;
+        }
+        byte[] bytes = loadOnce(key, sizeBytes, loader);
+        out.write(bytes, (int) offset, (int) length);
+    }
+
+    /**
+     * Loads and admits the whole object, or waits for the load another request already started.
+     */
+    private byte[] loadOnce(String key, long sizeBytes, Loader loader) throws IOException {
+        CompletableFuture<byte[]> pending = new CompletableFuture<>();
+        CompletableFuture<byte[]> inFlight = loading.putIfAbsent(key, pending);
+        if (inFlight != null) {
+            coalesced.incrementAndGet();
+            return await(inFlight);
+        }
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream((int) sizeBytes);
+            loader.load(0, sizeBytes, buffer);
+            byte[] bytes = buffer.toByteArray();
+            admit(key, bytes);
+            pending.complete(bytes);
+            return bytes;
+        } catch (IOException | RuntimeException ex) {
+            pending.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            loading.remove(key, pending);
+        }
+    }
+
+    private static byte[] await(CompletableFuture<byte[]> load) throws IOException {
+        try {
+            return load.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw ex.getCause() instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private synchronized byte[] getFromMemory(String key) {
+        return memory.get(key);
+    }
+
+    private synchronized DiskEntry getFromDisk(String key) {
+        return disk.get(key);
+    }
+
+    /**
+     * Puts the object in memory if it wins against every entry it would displace; displaced
+     * entries move to the disk tier. The victims are chosen and compared first, and nothing is
+     * evicted unless the object is admitted.
+     */
+    private void admit(String key, byte[] bytes) {
+        List<Map.Entry<String, byte[]>> demoted = new ArrayList<>();
+        synchronized (this) {
+            if (memory.containsKey(key) || bytes.length > memoryCapacityBytes) {
+                return;
+            }
+            int candidateFrequency = sketch.frequency(key);
+            int victims = 0;
+            long freed = 0;
+            for (Map.Entry<String, byte[]> victim : memory.entrySet()) {
+                if (memoryBytes - freed + bytes.length <= memoryCapacityBytes) {
+                    break;
+                }
+                if (sketch.frequency(victim.getKey()) >= candidateFrequency) {
+                    return;
+                }
+                freed += victim.getValue().length;
+                victims++;
+            }
+
+            Iterator<Map.Entry<String, byte[]>> eldest = memory.entrySet().iterator();
+            for (int i = 0; i < victims; i++) {
+                Map.Entry<String, byte[]> victim = eldest.next();
+                eldest.remove();
+                memoryBytes -= victim.getValue().length;
+                demoted.add(Map.entry(victim.getKey(), victim.getValue()));
+            }
+            memory.put(key, bytes);
+            memoryBytes += bytes.length;
+        }
+        for (Map.Entry<String, byte[]> victim : demoted) {
+            demote(victim.getKey(), victim.getValue());
+        }
+    }
+
+    private void demote(String key, byte[] bytes) {
+        if (diskRoot == null || bytes.length > diskCapacityBytes) {
+            return;
+        }
+        synchronized (this) {
+            if (disk.containsKey(key) || !makeRoomOnDisk(key, bytes.length)) {
+                return;
+            }
+        }
+        // Each demotion writes its own file, so evicting one copy of a key never deletes another's
+        Path file = null;
+        try {
+            file = Files.createTempFile(diskRoot, "demoted-", ".obj");
+            Files.write(file, bytes);
+        } catch (IOException ex) {
+            log.warn("Could not write {} to the disk cache: {}", key, ex.getMessage());
+            if (file != null) {
+                deleteQuietly(file);
+            }
+            return;
+        }
+        List<Path> evicted = new ArrayList<>();
+        synchronized (this) {
+            // A concurrent demotion of the same key may have got here first
+            if (disk.putIfAbsent(key, new DiskEntry(file, bytes.length)) != null) {
+                evicted.add(file);
+            } else {
+                diskBytes += bytes.length;
+                // Another demotion may have claimed the room meanwhile
+                Iterator<Map.Entry<String, DiskEntry>> eldest = disk.entrySet().iterator();
+                while (diskBytes > diskCapacityBytes && eldest.hasNext()) {
+                    DiskEntry victim = eldest.next().getValue();
+                    eldest.remove();
+                    diskBytes -= victim.sizeBytes();
+                    evicted.add(victim.file());
+                }
+            }
+        }
+        evicted.forEach(this::deleteQuietly);
+    }
+
+    /**
+     * Same admission rule as the memory tier, checked without evicting anything yet.
+     */
+    private boolean makeRoomOnDisk(String key, long sizeBytes) {
+        int candidateFrequency = sketch.frequency(key);
+        long freed = 0;
+        for (Map.Entry<String, DiskEntry> victim : disk.entrySet()) {
+            if (diskBytes - freed + sizeBytes <= diskCapacityBytes) {
+                break;
+            }
+            if (sketch.frequency(victim.getKey()) >= candidateFrequency) {
+                return false;
+            }
+            freed += victim.getValue().sizeBytes();
+        }
+        return true;
+    }
+
+    private boolean readFromDisk(String key, DiskEntry entry, long offset, long length, OutputStream out)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(entry.file(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = offset;
+            long end = offset + length;
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, target);
+                if (sent <= 0) {
+                    throw new EOFException("Disk cache file for " + key + " is shorter than " + end + " bytes");
+                }
+                position += sent;
+            }
+            return true;
+        } catch (NoSuchFileException ex) {
+            // Evicted between the lookup and the open
+            synchronized (this) {
+                if (disk.get(key) == entry) {
+                    disk.remove(key);
+                    diskBytes -= entry.sizeBytes();
+                }
+            }
+            return false;
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not remove disk cache file {}: {}", file, ex.getMessage());
+        }
+    }
+
+    synchronized long memoryBytes() {
+        return memoryBytes;
+    }
+
+    synchronized long diskBytes() {
+        return diskBytes;
+    }
+
+    private double hitRatio() {
+        long hits = memoryHits.get() + diskHits.get();
+        long total = hits + misses.get();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
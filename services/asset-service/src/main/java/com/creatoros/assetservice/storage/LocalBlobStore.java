@@ -0,0 +1,126 @@
+package com.creatoros.assetservice.storage;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Files under a root directory, one subdirectory per bucket. Meant for development, tests and
+ * single-node installs. Reads use {@link FileChannel#transferTo}, which lets the kernel copy
+ * straight from the page cache into the destination where the platform and target allow it.
+ */
+public class LocalBlobStore implements BlobStore {
+
+    private final Path root;
+    private final String bucket;
+
+    public LocalBlobStore(Path root, String bucket) {
+        this.root = root.toAbsolutePath().normalize();
+        this.bucket = bucket;
+    }
+
+    @Override
+    public String provider() {
+        return "LOCAL";
+    }
+
+    @Override
+    public String bucket() {
+        return bucket;
+    }
+
+    /**
+     * Writes to a temporary file beside the target and moves it into place, so readers never see
+     * a partly written object.
+     */
+    @Override
+    public long write(String path, String contentType, InputStream content) throws IOException {
+        Path target = resolve(bucket, path);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            long size = Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return size;
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temp);
+            throw ex;
+        }
+    }
+
+    @Override
+    public void read(String bucket, String path, long offset, long length, OutputStream out) throws IOException {
+        transferTo(bucket, path, offset, length, Channels.newChannel(out));
+        out.flush();
+    }
+
+    /**
+     * Range copy straight into {@code target}. When the target is a file or socket channel the
+     * JDK hands the copy to the kernel ({@code sendfile}) and no bytes pass through the heap;
+     * other channels, such as a wrapped servlet stream, get a plain buffered copy.
+     */
+    public void transferTo(String bucket, String path, long offset, long length, WritableByteChannel target)
+            throws IOException {
+        try (FileChannel file = FileChannel.open(resolve(bucket, path), StandardOpenOption.READ)) {
+            long position = offset;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = file.transferTo(position, remaining, target);
+                if (sent <= 0 && position >= file.size()) {
+                    throw new EOFException("Blob ended " + remaining + " bytes early: " + path);
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    @Override
+    public Optional<BlobStat> stat(String bucket, String path) {
+        Path file = resolve(bucket, path);
+        try {
+            return Files.isRegularFile(file) ? Optional.of(new BlobStat(Files.size(file), Map.of())) : Optional.empty();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void delete(String bucket, String path) {
+        try {
+            Files.deleteIfExists(resolve(bucket, path));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public DirectUpload createDirectUpload(String path, String contentType, long sizeBytes, String sha256, Duration ttl) {
+        throw new UnsupportedOperationException("Direct uploads are not supported by the LOCAL storage backend");
+    }
+
+    private Path resolve(String bucket, String path) {
+        Path resolved = root.resolve(bucket).resolve(path).normalize();
+        if (!resolved.startsWith(root.resolve(bucket))) {
+            throw new IllegalArgumentException("Invalid storage path: " + path);
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,188 @@
+package com.creatoros.assetservice.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * S3 and S3-compatible stores (R2, MinIO and the like). Writes that fit in one part are a single
+ * PUT; larger ones are a multipart upload sent part by part as the stream is read, so memory per
+ * upload is one part whatever the file size. Reads are ranged GETs.
+ */
+@Slf4j
+public class S3BlobStore implements BlobStore {
+
+    private final S3Client s3;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final int partSize;
+    private final BufferPool buffers;
+
+    public S3BlobStore(S3Client s3, S3Presigner presigner, String bucket, int partSize, BufferPool buffers) {
+        this.s3 = s3;
+        this.presigner = presigner;
+        this.bucket = bucket;
+        this.partSize = partSize;
+        this.buffers = buffers;
+    }
+
+    @Override
+    public String provider() {
+        return "S3";
+    }
+
+    @Override
+    public String bucket() {
+        return bucket;
+    }
+
+    @Override
+    public long write(String path, String contentType, InputStream content) throws IOException {
+        byte[] part = new byte[partSize];
+        int filled = content.readNBytes(part, 0, partSize);
+        if (filled < partSize) {
+            s3.putObject(PutObjectRequest.builder()
+                            .bucket(bucket)
+                            .key(path)
+                            .contentType(contentType)
+                            .contentLength((long) filled)
+                            .build(),
+                    RequestBody.fromInputStream(new ByteArrayInputStream(part, 0, filled), filled));
+            return filled;
+        }
+
+        String uploadId = s3.createMultipartUpload(b -> b.bucket(bucket).key(path).contentType(contentType)).uploadId();
+        List<CompletedPart> parts = new ArrayList<>();
+        long size = 0;
+        try {
+            while (filled > 0) {
+                int partNumber = parts.size() + 1;
+                String eTag = s3.uploadPart(UploadPartRequest.builder()
+                                .bucket(bucket)
+                                .key(path)
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .contentLength((long) filled)
+                                .build(),
+                        RequestBody.fromInputStream(new ByteArrayInputStream(part, 0, filled), filled)).eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+                size += filled;
+                filled = content.readNBytes(part, 0, partSize);
+            }
+            s3.completeMultipartUpload(b -> b.bucket(bucket).key(path).uploadId(uploadId)
+                    .multipartUpload(m -> m.parts(parts)));
+            return size;
+        } catch (IOException | RuntimeException ex) {
+            // Uploaded parts are billed until the upload is aborted
+            try {
+                s3.abortMultipartUpload(b -> b.bucket(bucket).key(path).uploadId(uploadId));
+            } catch (RuntimeException abortEx) {
+                log.warn("Could not abort multipart upload {} for {}: {}", uploadId, path, abortEx.getMessage());
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public void read(String bucket, String path, long offset, long length, OutputStream out) throws IOException {
+        if (length <= 0) {
+            return;
+        }
+        ByteBuffer buffer = buffers.acquire();
+        String range = "bytes=" + offset + "-" + (offset + length - 1);
+        try (ResponseInputStream<GetObjectResponse> in = s3.getObject(b -> b.bucket(bucket).key(path).range(range))) {
+            byte[] bytes = buffer.array();
+            long remaining = length;
+            while (remaining > 0) {
+                int read = in.read(bytes, 0, (int) Math.min(bytes.length, remaining));
+                if (read < 0) {
+                    throw new EOFException("Object ended " + remaining + " bytes early: " + path);
+                }
+                out.write(bytes, 0, read);
+                remaining -= read;
+            }
+            out.flush();
+        } finally {
+            buffers.release(buffer);
+        }
+    }
+
+    @Override
+    public Optional<BlobStat> stat(String bucket, String path) {
+        HeadObjectResponse head;
+        try {
+            head = s3.headObject(b -> b.bucket(bucket).key(path));
+        } catch (S3Exception ex) {
+            if (ex.statusCode() == 404) {
+                return Optional.empty();
+            }
+            throw ex;
+        }
+        Map<String, Object> checksums = new HashMap<>();
+        if (head.eTag() != null) {
+            checksums.put("storageETag", head.eTag());
+        }
+        return Optional.of(new BlobStat(head.contentLength(), checksums));
+    }
+
+    @Override
+    public void delete(String bucket, String path) {
+        s3.deleteObject(b -> b.bucket(bucket).key(path));
+    }
+
+    /**
+     * Presigned single PUT. Content type and length are signed, so the store rejects a body of
+     * any other length, and so is {@code If-None-Match: *}: the URL can only create the object,
+     * never overwrite it once the upload session has been completed and its content recorded.
+     * A declared SHA-256 is signed as {@code x-amz-checksum-sha256}, which S3 checks the body
+     * against.
+     */
+    @Override
+    public DirectUpload createDirectUpload(String path, String contentType, long sizeBytes, String sha256, Duration ttl) {
+        PutObjectRequest.Builder put = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(path)
+                .contentType(contentType)
+                .contentLength(sizeBytes)
+                .ifNoneMatch("*");
+        if (sha256 != null) {
+            put.checksumSHA256(Base64.getEncoder().encodeToString(HexFormat.of().parseHex(sha256)));
+        }
+        PresignedPutObjectRequest presigned = presigner.presignPutObject(p -> p
+                .signatureDuration(ttl)
+                .putObjectRequest(put.build()));
+
+        Map<String, String> headers = new HashMap<>();
+        presigned.signedHeaders().forEach((name, values) -> {
+            // Clients set Host themselves from the URL
+            if (!"host".equalsIgnoreCase(name)) {
+                headers.put(name, String.join(",", values));
+            }
+        });
+        return new DirectUpload(presigned.url().toString(), "PUT", headers, sha256 != null);
+    }
+}
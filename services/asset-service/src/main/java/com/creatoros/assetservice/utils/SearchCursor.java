@@ -0,0 +1,55 @@
+package com.creatoros.assetservice.utils;
+
+import com.creatoros.assetservice.model.AssetSearchCriteria;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque cursor over a descending (sort key, id) order: the creation time for
+ * {@link AssetSearchCriteria.Sort#NEWEST}, the size for {@link AssetSearchCriteria.Sort#LARGEST}.
+ * The sort is part of the cursor, so a cursor cannot be replayed against a different order.
+ */
+public record SearchCursor(AssetSearchCriteria.Sort sort, String key, UUID id) {
+
+    public static SearchCursor after(AssetSearchCriteria.Sort sort, LocalDateTime createdAt, Long sizeBytes, UUID id) {
+        return new SearchCursor(sort, sort == AssetSearchCriteria.Sort.LARGEST ? String.valueOf(sizeBytes) : createdAt.toString(), id);
+    }
+
+    /**
+     * @return null when {@code cursor} is blank, meaning the first page
+     */
+    public static SearchCursor decode(String cursor, AssetSearchCriteria.Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 3);
+            SearchCursor decoded = new SearchCursor(AssetSearchCriteria.Sort.valueOf(parts[0]), parts[1], UUID.fromString(parts[2]));
+            if (decoded.sort() != sort) {
+                throw new IllegalArgumentException("Cursor does not match sort");
+            }
+            // Fail here rather than in the query
+            decoded.createdAt();
+            decoded.sizeBytes();
+            return decoded;
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public LocalDateTime createdAt() {
+        return sort == AssetSearchCriteria.Sort.NEWEST ? LocalDateTime.parse(key) : null;
+    }
+
+    public Long sizeBytes() {
+        return sort == AssetSearchCriteria.Sort.LARGEST ? Long.valueOf(key) : null;
+    }
+
+    public String encode() {
+        String raw = sort + "|" + key + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,124 @@
+package com.creatoros.assetservice.processing;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MediaHeaderParserTest {
+
+    private final MediaHeaderParser parser = new MediaHeaderParser(64, 1024 * 1024);
+
+    @Test
+    void probe_ShouldReadDimensions_WhenFileIsPng() throws Exception {
+        // Arrange
+        ByteBuffer png = ByteBuffer.allocate(64);
+        png.put(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'});
+        png.putInt(13).put(ascii("IHDR")).putInt(1920).putInt(1080).put((byte) 8).put((byte) 6);
+
+        // Act
+        MediaProbe probe = probe(png.array()).orElseThrow();
+
+        // Assert
+        assertEquals(1920, probe.width());
+        assertEquals(1080, probe.height());
+        assertEquals("png", probe.codec());
+    }
+
+    @Test
+    void probe_ShouldFindFrameHeaderPastHead_WhenJpegHasLargeExifSegment() throws Exception {
+        // Arrange
+        ByteBuffer jpeg = ByteBuffer.allocate(4096);
+        jpeg.put(new byte[]{(byte) 0xFF, (byte) 0xD8});
+        jpeg.put(new byte[]{(byte) 0xFF, (byte) 0xE1}).putShort((short) 1002).put(new byte[1000]);
+        jpeg.put(new byte[]{(byte) 0xFF, (byte) 0xC0}).putShort((short) 17).put((byte) 8)
+                .putShort((short) 3000).putShort((short) 4000).put(new byte[10]);
+
+        // Act
+        MediaProbe probe = probe(jpeg.array()).orElseThrow();
+
+        // Assert
+        assertEquals(4000, probe.width());
+        assertEquals(3000, probe.height());
+        assertEquals("jpeg", probe.codec());
+    }
+
+    @Test
+    void probe_ShouldReadMoovAtEndWithRangedReads_WhenFileIsMp4() throws Exception {
+        // Arrange: 10 s of 30 fps 1280x720 avc1 after a 10 KB mdat
+        byte[] mp4 = concat(
+                box("ftyp", concat(ascii("isom"), new byte[8])),
+                box("mdat", new byte[10_000]),
+                box("moov", concat(
+                        box("mvhd", ByteBuffer.allocate(100).putInt(0).putInt(0).putInt(0).putInt(1000).putInt(10_000).array()),
+                        box("trak", concat(
+                                box("tkhd", tkhd(1280, 720)),
+                                box("mdia", concat(
+                                        box("mdhd", ByteBuffer.allocate(24).putInt(0).putInt(0).putInt(0).putInt(90_000).putInt(900_000).array()),
+                                        box("hdlr", concat(new byte[8], ascii("vide"), new byte[12])),
+                                        box("minf", box("stbl", concat(
+                                                box("stsd", ByteBuffer.allocate(16).putInt(0).putInt(1).putInt(86).put(ascii("avc1")).array()),
+                                                box("stts", ByteBuffer.allocate(16).putInt(0).putInt(1).putInt(300).putInt(3000).array())
+                                        )))
+                                ))
+                        ))
+                ))
+        );
+        List<Long> reads = new ArrayList<>();
+
+        // Act
+        MediaProbe probe = parser.probe((offset, length) -> {
+            reads.add(offset);
+            return Arrays.copyOfRange(mp4, (int) offset, (int) Math.min(mp4.length, offset + length));
+        }, mp4.length).orElseThrow();
+
+        // Assert
+        assertEquals(1280, probe.width());
+        assertEquals(720, probe.height());
+        assertEquals(10f, probe.durationSeconds());
+        assertEquals(30f, probe.fps());
+        assertEquals("avc1", probe.codec());
+        assertEquals("isom", probe.extra().get("brand"));
+        assertTrue(reads.size() <= 3, "expected head, box header and moov reads only, got " + reads);
+    }
+
+    @Test
+    void probe_ShouldReturnEmpty_WhenFormatIsUnknown() throws Exception {
+        assertTrue(probe("plain text, not media".getBytes(StandardCharsets.US_ASCII)).isEmpty());
+    }
+
+    private Optional<MediaProbe> probe(byte[] data) throws Exception {
+        return parser.probe((offset, length) ->
+                Arrays.copyOfRange(data, (int) offset, (int) Math.min(data.length, offset + length)), data.length);
+    }
+
+    private static byte[] tkhd(int width, int height) {
+        ByteBuffer tkhd = ByteBuffer.allocate(84);
+        tkhd.position(76);
+        tkhd.putInt(width << 16).putInt(height << 16);
+        return tkhd.array();
+    }
+
+    private static byte[] box(String type, byte[] body) {
+        return ByteBuffer.allocate(8 + body.length).putInt(8 + body.length).put(ascii(type)).put(body).array();
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,73 @@
+package com.creatoros.assetservice.service;
+
+import com.creatoros.assetservice.model.AssetSearchCriteria;
+import com.creatoros.assetservice.model.CursorPage;
+import com.creatoros.assetservice.model.MediaFileSummary;
+import com.creatoros.assetservice.repository.MediaFileRepository;
+import com.creatoros.assetservice.utils.SearchCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AssetSearchServiceTest {
+
+    @Mock
+    private MediaFileRepository mediaFileRepository;
+
+    private AssetSearchService assetSearchService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        assetSearchService = new AssetSearchService(mediaFileRepository, 50, 200, 50);
+    }
+
+    @Test
+    void search_ShouldReturnCursorResumingAfterLastItem_WhenMoreRowsExist() {
+        // Arrange
+        AssetSearchCriteria criteria = AssetSearchCriteria.builder().sort(AssetSearchCriteria.Sort.LARGEST).build();
+        MediaFileSummary first = summary(3_000L);
+        MediaFileSummary second = summary(2_000L);
+        when(mediaFileRepository.search(eq(userId), eq(criteria), isNull(), eq(3)))
+                .thenReturn(List.of(first, second, summary(1_000L)));
+
+        // Act
+        CursorPage<MediaFileSummary> page = assetSearchService.search(userId, criteria, null, 2);
+
+        // Assert
+        assertEquals(List.of(first, second), page.items());
+        assertTrue(page.hasMore());
+        SearchCursor next = SearchCursor.decode(page.nextCursor(), AssetSearchCriteria.Sort.LARGEST);
+        assertEquals(2_000L, next.sizeBytes());
+        assertEquals(second.id(), next.id());
+    }
+
+    @Test
+    void search_ShouldRejectCursor_WhenItWasIssuedForAnotherSort() {
+        // Arrange
+        String newestCursor = SearchCursor.after(AssetSearchCriteria.Sort.NEWEST, LocalDateTime.now(), null, UUID.randomUUID()).encode();
+        AssetSearchCriteria criteria = AssetSearchCriteria.builder().sort(AssetSearchCriteria.Sort.LARGEST).build();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> assetSearchService.search(userId, criteria, newestCursor, 20));
+        verify(mediaFileRepository, never()).search(any(), any(), any(), anyInt());
+    }
+
+    private MediaFileSummary summary(long sizeBytes) {
+        return new MediaFileSummary(UUID.randomUUID(), UUID.randomUUID(), "clip.mp4", "video/mp4", sizeBytes,
+                LocalDateTime.now(), 1920, 1080, 12.5f, null);
+    }
+}
@@ -1,33 +1,51 @@
 package com.creatoros.assetservice.service;
 
 import com.creatoros.assetservice.model.AssetFolder;
+import com.creatoros.assetservice.model.MediaFile;
+import com.creatoros.assetservice.model.MediaMetadata;
+import com.creatoros.assetservice.model.MediaProcessingJob;
+import com.creatoros.assetservice.model.StoredBlob;
 import com.creatoros.assetservice.repository.AssetFolderRepository;
 import com.creatoros.assetservice.repository.MediaFileRepository;
 import com.creatoros.assetservice.repository.MediaMetadataRepository;
 import com.creatoros.assetservice.repository.MediaProcessingJobRepository;
-import com.google.cloud.storage.Storage;
+import com.creatoros.assetservice.storage.BlobStat;
+import com.creatoros.assetservice.storage.BlobStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.security.MessageDigest;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class AssetServiceTest {
 
     @Mock
-    private Storage storage;
+    private BlobStore blobStore;
 
     @Mock
     private MediaFileRepository mediaFileRepository;
@@ -41,6 +59,15 @@ class AssetServiceTest {
     @Mock
     private MediaProcessingJobRepository mediaProcessingJobRepository;
 
+    @Mock
+    private StoredBlobService storedBlobService;
+
+    @Mock
+    private FolderTreeService folderTreeService;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private AssetService assetService;
 
@@ -123,4 +150,196 @@ class AssetServiceTest {
         verify(assetFolderRepository, times(1)).findByUserIdAndParentFolderId(userId, folderId);
         verify(mediaFileRepository, times(1)).findByUserIdAndFolderId(userId, folderId);
     }
+
+    @Test
+    void uploadFile_ShouldStreamContentAndRecordSha256_WhenUploadSucceeds() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(assetService, "maxUploadBytes", 10L * 1024 * 1024);
+
+        byte[] content = new byte[200_000];
+        new Random(7).nextBytes(content);
+        byte[][] written = new byte[1][];
+        when(blobStore.provider()).thenReturn("GCS");
+        when(blobStore.bucket()).thenReturn("test-bucket");
+        when(blobStore.write(anyString(), anyString(), any(InputStream.class))).thenAnswer(invocation -> {
+            InputStream in = invocation.getArgument(2);
+            written[0] = in.readAllBytes();
+            return (long) written[0].length;
+        });
+        when(assetFolderRepository.findByIdAndUserId(folderId, userId))
+                .thenReturn(Optional.of(AssetFolder.builder().id(folderId).userId(userId).build()));
+        when(mediaFileRepository.save(any(MediaFile.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        MediaFile uploaded = assetService.uploadFile(new ByteArrayInputStream(content), "clip.mp4", "video/mp4", userId, folderId);
+
+        // Assert
+        assertArrayEquals(content, written[0]);
+        assertEquals(content.length, uploaded.getSizeBytes());
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)), uploaded.getChecksum());
+        assertEquals("test-bucket", uploaded.getBucketName());
+    }
+
+    @Test
+    void uploadFile_ShouldLinkStoredContentWithoutWriting_WhenDeclaredSha256IsAlreadyStored() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(assetService, "maxUploadBytes", 10L * 1024 * 1024);
+        ReflectionTestUtils.setField(assetService, "dedupEnabled", true);
+
+        byte[] content = new byte[50_000];
+        new Random(11).nextBytes(content);
+        String sha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        StoredBlob existing = StoredBlob.builder()
+                .id(UUID.randomUUID())
+                .sha256(sha256)
+                .sizeBytes((long) content.length)
+                .storageProvider("GCS")
+                .bucketName("test-bucket")
+                .storagePath("existing/intro.mp4")
+                .refCount(1)
+                .build();
+        when(assetFolderRepository.findByIdAndUserId(folderId, userId))
+                .thenReturn(Optional.of(AssetFolder.builder().id(folderId).userId(userId).build()));
+        when(storedBlobService.findExisting(userId, sha256)).thenReturn(Optional.of(existing));
+        when(storedBlobService.addReference(existing)).thenReturn(existing);
+        when(mediaFileRepository.save(any(MediaFile.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        MediaFile uploaded = assetService.uploadFile(new ByteArrayInputStream(content), "intro-copy.mp4", "video/mp4",
+                userId, folderId, sha256);
+
+        // Assert
+        assertEquals("existing/intro.mp4", uploaded.getStoragePath());
+        assertEquals(existing.getId(), uploaded.getBlobId());
+        assertEquals(sha256, uploaded.getChecksum());
+        verify(blobStore, never()).write(anyString(), anyString(), any(InputStream.class));
+    }
+
+    @Test
+    void completeUploadSession_ShouldRegisterStoredContent_WhenStoreEnforcedTheDeclaredSha256() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(assetService, "dedupEnabled", true);
+        UUID fileId = UUID.randomUUID();
+        String sha256 = "ab".repeat(32);
+        MediaFile pending = MediaFile.builder()
+                .id(fileId)
+                .userId(userId)
+                .folderId(folderId)
+                .bucketName("test-bucket")
+                .storagePath("path/clip.mp4")
+                .sizeBytes(1024L)
+                .checksum(sha256)
+                .uploadStatus(MediaFile.UploadStatus.PENDING)
+                .build();
+        StoredBlob registered = StoredBlob.builder()
+                .id(UUID.randomUUID())
+                .sha256(sha256)
+                .sizeBytes(1024L)
+                .storageProvider("S3")
+                .bucketName("test-bucket")
+                .storagePath("path/clip.mp4")
+                .refCount(1)
+                .build();
+        when(mediaFileRepository.findByIdAndUserId(fileId, userId)).thenReturn(Optional.of(pending));
+        when(blobStore.stat("test-bucket", "path/clip.mp4"))
+                .thenReturn(Optional.of(new BlobStat(1024L, Map.of("storageETag", "etag"))));
+        when(mediaFileRepository.transitionUploadStatus(fileId, MediaFile.UploadStatus.PENDING,
+                MediaFile.UploadStatus.COMPLETED)).thenReturn(1);
+        when(storedBlobService.register(userId, sha256, 1024L, "path/clip.mp4")).thenReturn(registered);
+        when(mediaFileRepository.save(any(MediaFile.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        MediaFile completed = assetService.completeUploadSession(fileId, userId);
+
+        // Assert
+        assertEquals(sha256, completed.getChecksum());
+        assertEquals(registered.getId(), completed.getBlobId());
+        verify(blobStore, never()).read(anyString(), anyString(), anyLong(), anyLong(), any());
+        verify(blobStore, never()).delete(anyString(), anyString());
+    }
+
+    @Test
+    void completeUploadSession_ShouldNotRegisterTwice_WhenAnotherCallerCompletedItFirst() {
+        // Arrange
+        ReflectionTestUtils.setField(assetService, "dedupEnabled", true);
+        UUID fileId = UUID.randomUUID();
+        MediaFile pending = MediaFile.builder()
+                .id(fileId)
+                .userId(userId)
+                .bucketName("test-bucket")
+                .storagePath("path/clip.mp4")
+                .sizeBytes(1024L)
+                .checksum("ab".repeat(32))
+                .uploadStatus(MediaFile.UploadStatus.PENDING)
+                .build();
+        when(mediaFileRepository.findByIdAndUserId(fileId, userId)).thenReturn(Optional.of(pending));
+        when(blobStore.stat("test-bucket", "path/clip.mp4"))
+                .thenReturn(Optional.of(new BlobStat(1024L, Map.of())));
+        when(mediaFileRepository.transitionUploadStatus(fileId, MediaFile.UploadStatus.PENDING,
+                MediaFile.UploadStatus.COMPLETED)).thenReturn(0);
+
+        // Act
+        assetService.completeUploadSession(fileId, userId);
+
+        // Assert
+        verify(storedBlobService, never()).register(any(), anyString(), anyLong(), anyString());
+        verify(mediaProcessingJobRepository, never()).save(any(MediaProcessingJob.class));
+    }
+
+    @Test
+    void completeUploadSession_ShouldMarkCompletedAndQueueProcessing_WhenObjectMatchesDeclaredSize() {
+        // Arrange
+        UUID fileId = UUID.randomUUID();
+        MediaFile pending = MediaFile.builder()
+                .id(fileId)
+                .userId(userId)
+                .folderId(folderId)
+                .bucketName("test-bucket")
+                .storagePath("path/clip.mp4")
+                .sizeBytes(1024L)
+                .uploadStatus(MediaFile.UploadStatus.PENDING)
+                .build();
+        when(mediaFileRepository.findByIdAndUserId(fileId, userId)).thenReturn(Optional.of(pending));
+        when(blobStore.stat("test-bucket", "path/clip.mp4"))
+                .thenReturn(Optional.of(new BlobStat(1024L, Map.of("storageMd5", "md5"))));
+        when(mediaFileRepository.transitionUploadStatus(fileId, MediaFile.UploadStatus.PENDING,
+                MediaFile.UploadStatus.COMPLETED)).thenReturn(1);
+        when(mediaFileRepository.save(any(MediaFile.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        MediaFile completed = assetService.completeUploadSession(fileId, userId);
+
+        // Assert
+        assertEquals(MediaFile.UploadStatus.COMPLETED, completed.getUploadStatus());
+        assertEquals("storageMd5:md5", completed.getChecksum());
+        verify(mediaMetadataRepository, times(1)).save(any(MediaMetadata.class));
+        verify(mediaProcessingJobRepository, times(1)).save(any(MediaProcessingJob.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void registerBulkUpload_ShouldBatchInsertFilesWithTheirPublicUrls_WhenContentIsStaged() {
+        // Arrange
+        when(blobStore.bucket()).thenReturn("test-bucket");
+        when(blobStore.provider()).thenReturn("GCS");
+        List<AssetService.StagedUpload> staged = List.of(
+                new AssetService.StagedUpload("a.jpg", "image/jpeg", "u/f/a.jpg", 100L, "aa"),
+                new AssetService.StagedUpload("b.pdf", "application/pdf", "u/f/b.pdf", 200L, "bb"));
+
+        // Act
+        List<MediaFile> files = assetService.registerBulkUpload(userId, folderId, staged);
+
+        // Assert
+        ArgumentCaptor<List<MediaFile>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(mediaFileRepository).insertAll(inserted.capture());
+        assertEquals(files, inserted.getValue());
+        for (MediaFile file : files) {
+            assertNotNull(file.getId());
+            assertEquals("/assets/view/" + file.getId(), file.getPublicUrl());
+            assertEquals(MediaFile.UploadStatus.COMPLETED, file.getUploadStatus());
+        }
+        verify(mediaFileRepository).insertProcessing(eq(files), any());
+        verify(mediaFileRepository, never()).save(any(MediaFile.class));
+        verify(folderTreeService).invalidate(userId);
+    }
 }
@@ -0,0 +1,180 @@
+package com.creatoros.assetservice.service;
+
+import com.creatoros.assetservice.model.AssetFolder;
+import com.creatoros.assetservice.repository.AssetFolderRepository;
+import com.creatoros.assetservice.storage.BlobStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkUploadServiceTest {
+
+    @Mock
+    private AssetService assetService;
+
+    @Mock
+    private AssetFolderRepository assetFolderRepository;
+
+    @Mock
+    private BlobStore blobStore;
+
+    private ThreadPoolTaskExecutor executor;
+    private UUID userId;
+    private UUID folderId;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.initialize();
+        userId = UUID.randomUUID();
+        folderId = UUID.randomUUID();
+        when(assetFolderRepository.findByIdAndUserId(folderId, userId)).thenReturn(Optional.of(new AssetFolder()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void uploadArchive_ShouldRejectBeforeWriting_WhenEntryIsCompressedBeyondTheRatio() throws IOException {
+        // Arrange
+        BulkUploadService service = service(10L * 1024 * 1024 * 1024, 100);
+        MockMultipartFile archive = zip("bomb.bin", new byte[8 * 1024 * 1024]);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.uploadArchive(archive, userId, folderId));
+        verify(blobStore, never()).write(anyString(), anyString(), any());
+    }
+
+    @Test
+    void uploadArchive_ShouldRejectBeforeWriting_WhenDeclaredSizesExceedTheExpandedLimit() throws IOException {
+        // Arrange
+        byte[] content = new byte[600_000];
+        new Random(42).nextBytes(content);
+        BulkUploadService service = service(1_000_000, 100);
+        MockMultipartFile archive = zip("a.bin", content, "b.bin", content);
+
+        // Act & Assert
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> service.uploadArchive(archive, userId, folderId));
+        assertTrue(ex.getMessage().contains("1000000"));
+        verify(blobStore, never()).write(anyString(), anyString(), any());
+    }
+
+    @Test
+    void uploadFiles_ShouldKeepAtMostConcurrencyWritesInFlight_WhenPoolHasMoreWorkers() throws IOException {
+        // Arrange
+        BulkUploadService service = service(Long.MAX_VALUE, 100);
+        stubStoragePaths();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(blobStore.write(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            inFlight.decrementAndGet();
+            return 1L;
+        });
+
+        // Act
+        service.uploadFiles(files("a.txt", "b.txt", "c.txt", "d.txt", "e.txt", "f.txt"), userId, folderId);
+
+        // Assert
+        verify(blobStore, times(6)).write(anyString(), anyString(), any());
+        assertTrue(maxInFlight.get() <= 2, "at most 2 writes in flight but saw " + maxInFlight.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void uploadFiles_ShouldReportTheEntryAndRegisterTheRest_WhenOneWriteFails() throws IOException {
+        // Arrange
+        BulkUploadService service = service(Long.MAX_VALUE, 100);
+        stubStoragePaths();
+        when(blobStore.write(anyString(), anyString(), any())).thenReturn(1L);
+        when(blobStore.write(eq("path/bad.txt"), anyString(), any())).thenThrow(new IOException("store unavailable"));
+        when(assetService.registerBulkUpload(eq(userId), eq(folderId), any())).thenReturn(List.of());
+
+        // Act
+        BulkUploadService.BulkUploadResult result =
+                service.uploadFiles(files("a.txt", "bad.txt", "c.txt"), userId, folderId);
+
+        // Assert
+        assertEquals(List.of(new BulkUploadService.FailedEntry("bad.txt", "store unavailable")), result.failed());
+        ArgumentCaptor<List<AssetService.StagedUpload>> staged = ArgumentCaptor.forClass(List.class);
+        verify(assetService).registerBulkUpload(eq(userId), eq(folderId), staged.capture());
+        assertEquals(List.of("a.txt", "c.txt"),
+                staged.getValue().stream().map(AssetService.StagedUpload::fileName).sorted().toList());
+    }
+
+    @Test
+    void uploadFiles_ShouldDeleteStoredObjects_WhenRegisteringThemFails() throws IOException {
+        // Arrange
+        BulkUploadService service = service(Long.MAX_VALUE, 100);
+        stubStoragePaths();
+        when(blobStore.write(anyString(), anyString(), any())).thenReturn(1L);
+        when(blobStore.bucket()).thenReturn("assets");
+        when(assetService.registerBulkUpload(eq(userId), eq(folderId), any()))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+                () -> service.uploadFiles(files("a.txt", "b.txt"), userId, folderId));
+        verify(blobStore).delete("assets", "path/a.txt");
+        verify(blobStore).delete("assets", "path/b.txt");
+    }
+
+    private void stubStoragePaths() {
+        when(assetService.generateStoragePath(eq(userId), eq(folderId), anyString()))
+                .thenAnswer(invocation -> "path/" + invocation.getArgument(2));
+    }
+
+    private List<MultipartFile> files(String... names) {
+        return Arrays.stream(names)
+                .<MultipartFile>map(name ->
+                        new MockMultipartFile("files", name, "text/plain", name.getBytes()))
+                .toList();
+    }
+
+    private BulkUploadService service(long maxExpandedBytes, long maxCompressionRatio) {
+        return new BulkUploadService(assetService, assetFolderRepository, blobStore, executor, 2, 500,
+                Long.MAX_VALUE, maxExpandedBytes, maxCompressionRatio);
+    }
+
+    private MockMultipartFile zip(Object... namesAndContents) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream out = new ZipOutputStream(bytes)) {
+            for (int i = 0; i < namesAndContents.length; i += 2) {
+                out.putNextEntry(new ZipEntry((String) namesAndContents[i]));
+                out.write((byte[]) namesAndContents[i + 1]);
+                out.closeEntry();
+            }
+        }
+        return new MockMultipartFile("archive", "upload.zip", "application/zip", bytes.toByteArray());
+    }
+}
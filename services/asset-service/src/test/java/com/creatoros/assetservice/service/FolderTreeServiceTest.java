@@ -0,0 +1,102 @@
+package com.creatoros.assetservice.service;
+
+import com.creatoros.assetservice.repository.AssetFolderRepository;
+import com.creatoros.assetservice.repository.AssetFolderRepository.FolderTreeRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FolderTreeServiceTest {
+
+    @Mock
+    private AssetFolderRepository assetFolderRepository;
+
+    private FolderTreeService folderTreeService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID rootId = UUID.randomUUID();
+    private final UUID childId = UUID.randomUUID();
+    private final UUID grandchildId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        folderTreeService = new FolderTreeService(assetFolderRepository, new SimpleMeterRegistry(), 300, 100, 64);
+        when(assetFolderRepository.findFolderTree(any(UUID.class), anyInt())).thenReturn(List.of(
+                row(rootId, null, "Root", 0, 1, 100),
+                row(childId, rootId, "Child", 1, 2, 200),
+                row(grandchildId, childId, "Grandchild", 2, 3, 300)));
+    }
+
+    @Test
+    void getTree_ShouldSumSubtreeTotalsAndCutOffAtDepth_WhenDepthIsGiven() {
+        // Act
+        List<FolderTreeService.FolderTreeNode> tree = folderTreeService.getTree(userId, null, 1);
+
+        // Assert
+        FolderTreeService.FolderTreeNode root = tree.get(0);
+        assertEquals(6, root.subtreeFileCount());
+        assertEquals(600, root.subtreeBytes());
+        FolderTreeService.FolderTreeNode child = root.children().get(0);
+        assertEquals(childId, child.id());
+        assertEquals(500, child.subtreeBytes());
+        assertTrue(child.children().isEmpty());
+        assertEquals(1, child.childFolderCount());
+    }
+
+    @Test
+    void getTree_ShouldQueryOnceUntilInvalidated_WhenCalledRepeatedly() {
+        // Act
+        folderTreeService.getTree(userId, null, null);
+        List<FolderTreeService.FolderTreeNode> subtree = folderTreeService.getTree(userId, childId, null);
+        folderTreeService.invalidate(userId);
+        folderTreeService.getTree(userId, null, null);
+
+        // Assert
+        assertEquals(grandchildId, subtree.get(0).children().get(0).id());
+        verify(assetFolderRepository, times(2)).findFolderTree(userId, 64);
+    }
+
+    @Test
+    void getTree_ShouldStillCache_WhenAnotherUserIsInvalidatedDuringTheLoad() {
+        // Arrange
+        UUID otherUserId = UUID.randomUUID();
+        while (Math.floorMod(otherUserId.hashCode(), 1024) == Math.floorMod(userId.hashCode(), 1024)) {
+            otherUserId = UUID.randomUUID();
+        }
+        UUID busyUserId = otherUserId;
+        when(assetFolderRepository.findFolderTree(userId, 64)).thenAnswer(invocation -> {
+            folderTreeService.invalidate(busyUserId);
+            return List.of(row(rootId, null, "Root", 0, 1, 100));
+        });
+
+        // Act
+        folderTreeService.getTree(userId, null, null);
+        folderTreeService.getTree(userId, null, null);
+
+        // Assert
+        verify(assetFolderRepository, times(1)).findFolderTree(userId, 64);
+    }
+
+    private FolderTreeRow row(UUID id, UUID parentId, String name, int depth, long fileCount, long totalBytes) {
+        return new FolderTreeRow() {
+            @Override public UUID getId() { return id; }
+            @Override public UUID getParentFolderId() { return parentId; }
+            @Override public String getName() { return name; }
+            @Override public Integer getDepth() { return depth; }
+            @Override public Long getFileCount() { return fileCount; }
+            @Override public Long getTotalBytes() { return totalBytes; }
+        };
+    }
+}
@@ -0,0 +1,174 @@
+package com.creatoros.assetservice.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotObjectCacheTest {
+
+    @TempDir
+    Path diskRoot;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void read_ShouldServeFromMemory_WhenObjectIsRequestedRepeatedly() throws IOException {
+        // Arrange
+        HotObjectCache cache = new HotObjectCache(1024, 4096, null, 0, 2, 1024, meterRegistry);
+        byte[] thumbnail = content(500, 1);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            read(cache, "thumb", thumbnail, 0, thumbnail.length);
+        }
+        byte[] range = read(cache, "thumb", thumbnail, 100, 50);
+
+        // Assert
+        assertArrayEquals(Arrays.copyOfRange(thumbnail, 100, 150), range);
+        // Once below the admission frequency, once to fill the cache; the other four are hits
+        assertEquals(2, loads.get());
+        assertEquals(3 * 500 + 50, meterRegistry.get("assets.download.cache.bytes.saved").functionCounter().count());
+    }
+
+    @Test
+    void read_ShouldNotCache_WhenObjectIsLargeOrRequestedOnce() throws IOException {
+        // Arrange
+        HotObjectCache cache = new HotObjectCache(1024, 4096, null, 0, 2, 1024, meterRegistry);
+        byte[] video = content(2048, 2);
+
+        // Act
+        read(cache, "video", video, 0, video.length);
+        read(cache, "video", video, 0, video.length);
+        read(cache, "one-off", content(100, 3), 0, 100);
+
+        // Assert
+        assertEquals(3, loads.get());
+        assertEquals(0, cache.memoryBytes());
+    }
+
+    @Test
+    void read_ShouldServeEvictedObjectFromDisk_WhenDiskTierIsConfigured() throws IOException {
+        // Arrange
+        HotObjectCache cache = new HotObjectCache(1024, 1000, diskRoot, 10_000, 2, 1024, meterRegistry);
+        byte[] first = content(800, 4);
+        byte[] second = content(800, 5);
+        for (int i = 0; i < 2; i++) {
+            read(cache, "first", first, 0, first.length);
+        }
+        // Requested more often than "first", so it displaces it from memory
+        for (int i = 0; i < 4; i++) {
+            read(cache, "second", second, 0, second.length);
+        }
+        int loadsBefore = loads.get();
+
+        // Act
+        byte[] fromDisk = read(cache, "first", first, 10, 90);
+
+        // Assert
+        assertArrayEquals(Arrays.copyOfRange(first, 10, 100), fromDisk);
+        assertEquals(loadsBefore, loads.get());
+        assertEquals(800, cache.diskBytes());
+    }
+
+    @Test
+    void read_ShouldKeepEveryEntry_WhenCandidateLosesAdmission() throws IOException {
+        // Arrange
+        HotObjectCache cache = new HotObjectCache(1024, 1000, null, 0, 2, 1024, meterRegistry);
+        byte[] cold = content(400, 6);
+        byte[] hot = content(400, 7);
+        byte[] candidate = content(800, 8);
+        for (int i = 0; i < 2; i++) {
+            read(cache, "cold", cold, 0, cold.length);
+        }
+        for (int i = 0; i < 5; i++) {
+            read(cache, "hot", hot, 0, hot.length);
+        }
+
+        // Act
+        // Beats "cold" but not "hot", so it must not take the space of either
+        for (int i = 0; i < 3; i++) {
+            read(cache, "candidate", candidate, 0, candidate.length);
+        }
+        int loadsBefore = loads.get();
+        read(cache, "cold", cold, 0, cold.length);
+
+        // Assert
+        assertEquals(800, cache.memoryBytes());
+        assertEquals(loadsBefore, loads.get());
+    }
+
+    @Test
+    void read_ShouldLoadOnce_WhenSameObjectIsMissedConcurrently() throws Exception {
+        // Arrange
+        HotObjectCache cache = new HotObjectCache(4096, 4096, null, 0, 1, 4096, meterRegistry);
+        byte[] poster = content(1000, 9);
+        CountDownLatch loaderEntered = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<byte[]>> reads = new ArrayList<>();
+
+        // Act
+        try {
+            for (int i = 0; i < 8; i++) {
+                reads.add(pool.submit(() -> {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    cache.read("poster", poster.length, 0, poster.length, out, (from, count, target) -> {
+                        loads.incrementAndGet();
+                        loaderEntered.countDown();
+                        try {
+                            releaseLoader.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                        }
+                        target.write(poster, (int) from, (int) count);
+                    });
+                    return out.toByteArray();
+                }));
+            }
+            assertTrue(loaderEntered.await(5, TimeUnit.SECONDS));
+            // Give the other readers time to reach the in-flight load before it completes
+            Thread.sleep(200);
+            releaseLoader.countDown();
+            for (Future<byte[]> read : reads) {
+                assertArrayEquals(poster, read.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(1, loads.get());
+    }
+
+    private byte[] read(HotObjectCache cache, String key, byte[] object, long offset, long length) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.read(key, object.length, offset, length, out, (from, count, target) -> {
+            loads.incrementAndGet();
+            target.write(object, (int) from, (int) count);
+        });
+        return out.toByteArray();
+    }
+
+    private static byte[] content(int size, int seed) {
+        byte[] bytes = new byte[size];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+}
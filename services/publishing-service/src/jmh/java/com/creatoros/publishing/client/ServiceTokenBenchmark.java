@@ -0,0 +1,83 @@
+package com.creatoros.publishing.client;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of acquiring a service token for an Asset Service call: the previous per-call
+ * key derivation and signing versus {@link ServiceTokenCache}.
+ *
+ * <p>Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ServiceTokenBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+
+    @Param({"1", "1000"})
+    private int users;
+
+    private UUID[] userIds;
+    private ServiceTokenCache cache;
+
+    @Setup
+    public void setUp() {
+        userIds = new UUID[users];
+        for (int i = 0; i < users; i++) {
+            userIds[i] = UUID.randomUUID();
+        }
+        cache = new ServiceTokenCache(SECRET, Duration.ofSeconds(300), Duration.ofSeconds(60), Clock.systemUTC());
+    }
+
+    @Benchmark
+    public String signPerCall() {
+        UUID userId = nextUser();
+        Instant now = Instant.now();
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.builder()
+                .subject(userId.toString())
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(300)))
+                .claim("roles", List.of("USER"))
+                .signWith(key)
+                .compact();
+    }
+
+    @Benchmark
+    public String cached() {
+        return cache.getToken(nextUser());
+    }
+
+    private UUID nextUser() {
+        return userIds[ThreadLocalRandom.current().nextInt(users)];
+    }
+}
@@ -0,0 +1,42 @@
+package com.creatoros.publishing.client;
+
+import com.creatoros.publishing.models.DailyPostMetric;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsServiceClient {
+
+    private final RestTemplate restTemplate;
+    private final ServiceTokenCache serviceTokens;
+
+    @Value("${services.analytics-service.url:http://analytics-service:8087}")
+    private String analyticsServiceUrl;
+
+    /**
+     * Inserts or replaces the given daily rows; re-sending a row for the same post and day is safe.
+     */
+    public void upsertDailyMetrics(UUID userId, List<DailyPostMetric> metrics) {
+        if (metrics.isEmpty()) {
+            return;
+        }
+        String url = analyticsServiceUrl + "/metrics/daily/bulk";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(serviceTokens.getToken(userId));
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        restTemplate.exchange(url, HttpMethod.POST, new HttpEntity<>(metrics, headers), Void.class);
+        log.debug("Upserted {} daily metric rows for user {}", metrics.size(), userId);
+    }
+}
@@ -10,17 +10,7 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
-import java.time.Instant;
-import java.util.Date;
-import java.util.List;
-
-import java.io.FileInputStream;
-import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
@@ -32,13 +22,11 @@ import java.util.UUID;
 public class AssetServiceClient {
 
     private final RestTemplate restTemplate;
+    private final ServiceTokenCache serviceTokens;
 
     @Value("${services.asset-service.url:http://asset-service:8084}")
     private String assetServiceUrl;
 
-    @Value("${creatoros.security.jwt.secret}")
-    private String jwtSecret;
-
     public MediaFileDTO getFileMetadata(UUID fileId, UUID userId) {
         String url = String.format("%s/%s/metadata", assetServiceUrl, fileId);
         log.debug("Fetching metadata from: {}", url);
@@ -49,38 +37,26 @@ public class AssetServiceClient {
         return response.getBody();
     }
 
-    public InputStream downloadFile(UUID fileId, UUID userId) {
+    /**
+     * Streams the asset into {@code target}, replacing anything already there.
+     */
+    public void downloadTo(UUID fileId, UUID userId, Path target) {
         String url = String.format("%s/view/%s", assetServiceUrl, fileId);
         log.debug("Downloading file stream from: {}", url);
 
         try {
-            Path tempFile = Files.createTempFile("creatoros-asset-", "-" + fileId);
-            tempFile.toFile().deleteOnExit();
-
             restTemplate.execute(url, org.springframework.http.HttpMethod.GET, request -> {
                 request.getHeaders().setBearerAuth(buildServiceToken(userId));
             }, clientHttpResponse -> {
-                Files.copy(clientHttpResponse.getBody(), tempFile, StandardCopyOption.REPLACE_EXISTING);
+                Files.copy(clientHttpResponse.getBody(), target, StandardCopyOption.REPLACE_EXISTING);
                 return null;
             });
-
-            return new FileInputStream(tempFile.toFile());
         } catch (Exception ex) {
             throw new RuntimeException("Failed to download asset stream: " + ex.getMessage(), ex);
         }
     }
 
     private String buildServiceToken(UUID userId) {
-        Instant now = Instant.now();
-        Instant expiresAt = now.plusSeconds(300);
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-
-        return Jwts.builder()
-                .subject(userId.toString())
-                .issuedAt(Date.from(now))
-                .expiration(Date.from(expiresAt))
-                .claim("roles", List.of("USER"))
-                .signWith(key)
-                .compact();
+        return serviceTokens.getToken(userId);
     }
 }
@@ -0,0 +1,89 @@
+package com.creatoros.publishing.client;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-user cache of the short-lived JWTs we present to other CreatorOS services. A token is
+ * reused until it is within {@code refreshBefore} of expiry; the signing key is derived once.
+ * Minting for a user happens inside {@link ConcurrentHashMap#compute}, so threads racing for the
+ * same user wait for one new token instead of each signing their own.
+ */
+public class ServiceTokenCache {
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final SecretKey signingKey;
+    private final Duration ttl;
+    private final Duration refreshBefore;
+    private final Clock clock;
+    private final Map<UUID, CachedToken> tokens = new ConcurrentHashMap<>();
+    private final LongAdder minted = new LongAdder();
+
+    public ServiceTokenCache(String secret, Duration ttl, Duration refreshBefore, Clock clock) {
+        if (refreshBefore.compareTo(ttl) >= 0) {
+            throw new IllegalArgumentException("refreshBefore must be shorter than the token ttl");
+        }
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.ttl = ttl;
+        this.refreshBefore = refreshBefore;
+        this.clock = clock;
+    }
+
+    public String getToken(UUID userId) {
+        Instant now = clock.instant();
+        CachedToken cached = tokens.get(userId);
+        if (cached != null && cached.isUsableAt(now, refreshBefore)) {
+            return cached.token();
+        }
+
+        if (tokens.size() > PRUNE_THRESHOLD) {
+            tokens.values().removeIf(token -> !token.isUsableAt(now, refreshBefore));
+        }
+        return tokens.compute(userId, (id, existing) ->
+                existing != null && existing.isUsableAt(clock.instant(), refreshBefore)
+                        ? existing
+                        : mint(id)
+        ).token();
+    }
+
+    /**
+     * Number of tokens signed since startup; the rest of the calls were served from cache.
+     */
+    public long getMintedCount() {
+        return minted.sum();
+    }
+
+    private CachedToken mint(UUID userId) {
+        Instant issuedAt = clock.instant();
+        Instant expiresAt = issuedAt.plus(ttl);
+        String token = Jwts.builder()
+                .subject(userId.toString())
+                .issuedAt(Date.from(issuedAt))
+                .expiration(Date.from(expiresAt))
+                .claim("roles", List.of("USER"))
+                .signWith(signingKey)
+                .compact();
+        minted.increment();
+        return new CachedToken(token, expiresAt);
+    }
+
+    private record CachedToken(String token, Instant expiresAt) {
+
+        boolean isUsableAt(Instant now, Duration refreshBefore) {
+            return now.isBefore(expiresAt.minus(refreshBefore));
+        }
+    }
+}
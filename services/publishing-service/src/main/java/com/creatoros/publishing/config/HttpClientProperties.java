@@ -0,0 +1,56 @@
+package com.creatoros.publishing.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Connection pool and timeout settings for outbound HTTP calls made through the shared
+ * {@code RestTemplate}. Hosts not listed under a downstream use the defaults.
+ */
+@Data
+@ConfigurationProperties(prefix = "publishing.http")
+public class HttpClientProperties {
+
+    /**
+     * Upper bound on open connections across all hosts.
+     */
+    private int maxTotalConnections = 200;
+
+    /**
+     * How long a caller may wait for a free pooled connection before failing.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Pooled connections idle for longer than this are closed.
+     */
+    private Duration idleEvictionTimeout = Duration.ofSeconds(30);
+
+    private Downstream defaults = new Downstream();
+
+    private Map<String, Downstream> downstreams = new LinkedHashMap<>();
+
+    @Data
+    public static class Downstream {
+
+        /**
+         * Host names this downstream covers, e.g. api.linkedin.com.
+         */
+        private List<String> hosts = new ArrayList<>();
+
+        private int maxConnections = 20;
+
+        private Duration connectTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Maximum wait for response data (socket read), so a hung peer cannot pin a thread.
+         */
+        private Duration readTimeout = Duration.ofSeconds(30);
+    }
+}
@@ -3,6 +3,7 @@ package com.creatoros.publishing.config;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
 
+// publish.requested and its partition count belong to scheduler-service, which produces to it
 @Configuration
 @EnableKafka
 public class KafkaConfig {
@@ -0,0 +1,58 @@
+package com.creatoros.publishing.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Worker pools for the publish lanes. {@code publishExecutor} is the interactive lane: bounded,
+ * used only for UI-initiated publishes, and when it is saturated submissions are rejected and the
+ * job is parked (still PENDING) for the retry poller instead of blocking Tomcat. Its queue is in
+ * memory only; jobs still queued when the instance stops are recovered from publish_jobs by
+ * {@code PublishRetryScheduler}. Fan-out children and retries each run on their own pool, so a
+ * post to many accounts or a burst of due retries cannot take interactive threads. Scheduled
+ * publishes run on the Kafka listener threads of {@code PublishRequestedConsumer}.
+ */
+@Configuration
+public class PublishExecutorConfig {
+
+    @Bean(name = "publishExecutor")
+    @Primary
+    public ThreadPoolTaskExecutor publishExecutor(
+            @Value("${publishing.executor.core-pool-size:4}") int corePoolSize,
+            @Value("${publishing.executor.max-pool-size:8}") int maxPoolSize,
+            @Value("${publishing.executor.queue-capacity:100}") int queueCapacity
+    ) {
+        return executor("publish-exec-", corePoolSize, maxPoolSize, queueCapacity);
+    }
+
+    @Bean(name = "fanOutPublishExecutor")
+    public ThreadPoolTaskExecutor fanOutPublishExecutor(
+            @Value("${publishing.lanes.fan-out.workers:4}") int workers,
+            @Value("${publishing.lanes.fan-out.queue-capacity:50}") int queueCapacity
+    ) {
+        return executor("publish-fanout-", workers, workers, queueCapacity);
+    }
+
+    @Bean(name = "retryPublishExecutor")
+    public ThreadPoolTaskExecutor retryPublishExecutor(
+            @Value("${publishing.lanes.retry.workers:2}") int workers,
+            @Value("${publishing.lanes.retry.queue-capacity:10}") int queueCapacity
+    ) {
+        return executor("publish-retry-", workers, workers, queueCapacity);
+    }
+
+    private ThreadPoolTaskExecutor executor(String threadNamePrefix, int corePoolSize, int maxPoolSize, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,15 +1,160 @@
 package com.creatoros.publishing.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Shared RestTemplate backed by a pooled Apache HttpClient. Each downstream (LinkedIn, Google,
+ * Asset Service) gets its own per-host connection limit and connect/read timeouts, so one slow
+ * platform can neither hang a caller indefinitely nor take every pooled connection.
+ *
+ * <p>Latency per host is recorded by Spring Boot as {@code http.client.requests}; pool usage per
+ * downstream is published as {@code publishing.http.pool.*}.
+ */
 @Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
 public class RestTemplateConfig {
 
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpConnectionManager(HttpClientProperties properties, MeterRegistry meterRegistry) {
+        Map<String, HttpClientProperties.Downstream> byHost = indexByHost(properties);
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxTotalConnections())
+                .setMaxConnPerRoute(properties.getDefaults().getMaxConnections())
+                .setConnectionConfigResolver(route -> connectionConfig(
+                        byHost.getOrDefault(hostKey(route.getTargetHost().getHostName()), properties.getDefaults())))
+                .build();
+
+        properties.getDownstreams().forEach((name, downstream) -> {
+            List<HttpRoute> routes = routes(downstream);
+            routes.forEach(route -> connectionManager.setMaxPerRoute(route, downstream.getMaxConnections()));
+            registerPoolGauge(meterRegistry, connectionManager, name, routes, "leased", PoolStats::getLeased);
+            registerPoolGauge(meterRegistry, connectionManager, name, routes, "pending", PoolStats::getPending);
+            registerPoolGauge(meterRegistry, connectionManager, name, routes, "available", PoolStats::getAvailable);
+            Gauge.builder("publishing.http.pool.max", downstream, HttpClientProperties.Downstream::getMaxConnections)
+                    .tag("downstream", name)
+                    .register(meterRegistry);
+        });
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "publishing").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager, HttpClientProperties properties) {
+        return HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.getIdleEvictionTimeout()))
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        return builder.build();
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient httpClient, HttpClientProperties properties) {
+        Map<String, HttpClientProperties.Downstream> byHost = indexByHost(properties);
+        Map<String, RequestConfig> requestConfigs = new HashMap<>();
+        byHost.forEach((host, downstream) -> requestConfigs.put(host, requestConfig(downstream, properties)));
+        RequestConfig defaultRequestConfig = requestConfig(properties.getDefaults(), properties);
+
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setHttpContextFactory((method, uri) -> {
+            HttpClientContext context = HttpClientContext.create();
+            String host = uri.getHost() == null ? "" : hostKey(uri.getHost());
+            context.setRequestConfig(requestConfigs.getOrDefault(host, defaultRequestConfig));
+            return context;
+        });
+
+        return builder.requestFactory(() -> requestFactory).build();
+    }
+
+    private static RequestConfig requestConfig(HttpClientProperties.Downstream downstream, HttpClientProperties properties) {
+        return RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(properties.getConnectionRequestTimeout()))
+                .setResponseTimeout(Timeout.of(downstream.getReadTimeout()))
+                .build();
+    }
+
+    private static ConnectionConfig connectionConfig(HttpClientProperties.Downstream downstream) {
+        return ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(downstream.getConnectTimeout()))
+                .setSocketTimeout(Timeout.of(downstream.getReadTimeout()))
+                .build();
+    }
+
+    private static void registerPoolGauge(
+            MeterRegistry meterRegistry,
+            PoolingHttpClientConnectionManager connectionManager,
+            String downstream,
+            List<HttpRoute> routes,
+            String state,
+            ToDoubleFunction<PoolStats> value) {
+        Gauge.builder("publishing.http.pool." + state, connectionManager, manager -> routes.stream()
+                        .mapToDouble(route -> value.applyAsDouble(manager.getStats(route)))
+                        .sum())
+                .tag("downstream", downstream)
+                .register(meterRegistry);
+    }
+
+    private static Map<String, HttpClientProperties.Downstream> indexByHost(HttpClientProperties properties) {
+        Map<String, HttpClientProperties.Downstream> byHost = new HashMap<>();
+        properties.getDownstreams().values().forEach(downstream ->
+                downstream.getHosts().forEach(host -> byHost.put(hostKey(parse(host).getHostName()), downstream)));
+        return byHost;
+    }
+
+    /**
+     * Hosts may be configured as bare names (api.linkedin.com, assumed https) or as base URLs
+     * (http://asset-service:8084) when the scheme or port matters.
+     */
+    private static List<HttpRoute> routes(HttpClientProperties.Downstream downstream) {
+        List<HttpRoute> routes = new ArrayList<>();
+        for (String host : downstream.getHosts()) {
+            HttpHost target = parse(host);
+            boolean secure = "https".equalsIgnoreCase(target.getSchemeName());
+            int port = target.getPort() > 0 ? target.getPort() : secure ? 443 : 80;
+            routes.add(new HttpRoute(new HttpHost(target.getSchemeName(), target.getHostName(), port), null, secure));
+        }
+        return routes;
+    }
+
+    private static HttpHost parse(String host) {
+        String value = host.contains("://") ? host : "https://" + host;
+        try {
+            return HttpHost.create(value.replaceAll("/+$", ""));
+        } catch (URISyntaxException ex) {
+            throw new IllegalArgumentException("Invalid downstream host: " + host, ex);
+        }
+    }
+
+    private static String hostKey(String hostName) {
+        return hostName.toLowerCase(Locale.ROOT);
     }
 }
@@ -2,6 +2,7 @@ package com.creatoros.publishing.config;
 
 import com.creatoros.publishing.security.JwtAuthenticationFilter;
 import com.creatoros.publishing.security.JwtUtil;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -25,6 +26,9 @@ public class SecurityConfig {
             .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .anonymous(anon -> anon.disable())
             .authorizeHttpRequests(auth -> auth
+                // Completing or timing out an SSE stream re-dispatches the request; the JWT filter
+                // only runs on the original dispatch, which was already authorised
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                 .requestMatchers(
                     "/swagger-ui/**",
                     "/v3/api-docs/**",
@@ -0,0 +1,29 @@
+package com.creatoros.publishing.config;
+
+import com.creatoros.publishing.client.ServiceTokenCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * One token cache shared by every client that calls another CreatorOS service on a user's behalf.
+ */
+@Configuration
+public class ServiceTokenConfig {
+
+    @Bean
+    public ServiceTokenCache serviceTokenCache(
+            @Value("${creatoros.security.jwt.secret}") String jwtSecret,
+            @Value("${services.token.ttl-seconds:300}") long ttlSeconds,
+            @Value("${services.token.refresh-before-seconds:60}") long refreshBeforeSeconds
+    ) {
+        return new ServiceTokenCache(
+                jwtSecret,
+                Duration.ofSeconds(ttlSeconds),
+                Duration.ofSeconds(refreshBeforeSeconds),
+                Clock.systemUTC());
+    }
+}
@@ -0,0 +1,115 @@
+package com.creatoros.publishing.controllers;
+
+import com.creatoros.publishing.dto.FanOutPublishRequest;
+import com.creatoros.publishing.entities.ConnectedAccount;
+import com.creatoros.publishing.entities.PublishJob;
+import com.creatoros.publishing.models.PublishRequestEvent;
+import com.creatoros.publishing.repositories.ConnectedAccountRepository;
+import com.creatoros.publishing.services.PublishExecutionService;
+import com.creatoros.publishing.utils.UserContextUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/publish")
+@RequiredArgsConstructor
+@Slf4j
+public class FanOutPublishController {
+
+    private final PublishExecutionService publishExecutionService;
+    private final ConnectedAccountRepository accountRepository;
+
+    /**
+     * Publish one content item to several connected accounts in parallel.
+     * Returns 202 with a parent publish job id; each account gets a child job.
+     *
+     * POST /publish/fan-out
+     * Body: {
+     * "contentItemId": "uuid",
+     * "accountIds": ["uuid", "uuid"],
+     * "title": "Title",
+     * "description": "Description"
+     * }
+     */
+    @PostMapping("/fan-out")
+    public ResponseEntity<?> fanOut(
+            @RequestHeader(value = "X-User-Email", required = false) String userEmail,
+            @RequestBody FanOutPublishRequest request) {
+        try {
+            UUID userId = UserContextUtil.getCurrentUserId();
+            if (request.getContentItemId() == null) {
+                return ResponseEntity.badRequest().body(Map.of(
+                        "success", false,
+                        "error", "contentItemId is required"));
+            }
+            if (request.getAccountIds() == null || request.getAccountIds().isEmpty()) {
+                return ResponseEntity.badRequest().body(Map.of(
+                        "success", false,
+                        "error", "accountIds is required"));
+            }
+
+            List<ConnectedAccount> accounts = new ArrayList<>();
+            for (UUID accountId : new LinkedHashSet<>(request.getAccountIds())) {
+                Optional<ConnectedAccount> account = accountRepository.findByIdAndUserId(accountId, userId);
+                if (account.isEmpty()) {
+                    return ResponseEntity.badRequest().body(Map.of(
+                            "success", false,
+                            "error", "Account not found: " + accountId));
+                }
+                accounts.add(account.get());
+            }
+
+            PublishRequestEvent template = new PublishRequestEvent();
+            template.setEventId(UUID.randomUUID());
+            template.setUserId(userId);
+            template.setContentItemId(request.getContentItemId());
+            template.setPostType(request.getPostType());
+            template.setEmail(request.getEmail() != null && !request.getEmail().isBlank() ? request.getEmail() : userEmail);
+            template.setTitle(request.getTitle());
+            template.setDescription(request.getDescription());
+            template.setPrivacyStatus(request.getPrivacyStatus());
+            template.setTags(request.getTags());
+            template.setCategoryId(request.getCategoryId());
+
+            log.info("Fan-out publish of {} to {} accounts", request.getContentItemId(), accounts.size());
+            PublishExecutionService.FanOutSubmission submission = publishExecutionService.submitFanOut(template, accounts);
+
+            List<Map<String, Object>> children = submission.children().stream()
+                    .map(this::toChildSummary)
+                    .toList();
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of(
+                    "success", true,
+                    "publishJobId", submission.parent().getId(),
+                    "statusUrl", "/publish-jobs/" + submission.parent().getId(),
+                    "children", children));
+        } catch (RuntimeException ex) {
+            log.error("Error submitting fan-out publish: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of(
+                            "success", false,
+                            "error", ex.getMessage()));
+        }
+    }
+
+    private Map<String, Object> toChildSummary(PublishJob child) {
+        return Map.of(
+                "publishJobId", child.getId(),
+                "connectedAccountId", child.getConnectedAccountId(),
+                "platform", child.getPlatform());
+    }
+}
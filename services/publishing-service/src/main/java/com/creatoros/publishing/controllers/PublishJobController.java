@@ -0,0 +1,95 @@
+package com.creatoros.publishing.controllers;
+
+import com.creatoros.publishing.entities.PublishJob;
+import com.creatoros.publishing.repositories.PublishedPostRepository;
+import com.creatoros.publishing.services.PublishJobService;
+import com.creatoros.publishing.services.PublishProgressTracker;
+import com.creatoros.publishing.utils.UserContextUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/publish-jobs")
+@RequiredArgsConstructor
+public class PublishJobController {
+
+    private final PublishJobService publishJobService;
+    private final PublishProgressTracker progressTracker;
+    private final PublishedPostRepository publishedPostRepository;
+
+    /**
+     * Lightweight status of a publish job, including upload progress while it runs on this instance
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<?> getStatus(@PathVariable UUID jobId) {
+        Optional<PublishJob> job = findOwnedJob(jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Map<String, Object> body = new HashMap<>(PublishProgressTracker.outcome(job.get(), null));
+        if (PublishJobService.STATUS_SUCCESS.equals(job.get().getStatus())) {
+            publishedPostRepository.findByPublishJobId(jobId).ifPresent(post -> {
+                body.put("platformPostId", post.getPlatformPostId());
+                body.put("permalink", post.getPermalinkUrl());
+            });
+        }
+        body.put("platform", job.get().getPlatform());
+        body.put("retryCount", job.get().getCurrentRetryCount());
+        body.put("startedAt", job.get().getStartedAt());
+        body.put("finishedAt", job.get().getFinishedAt());
+        progressTracker.getProgress(jobId).ifPresent(progress -> body.put("progress", progress));
+        if (PublishJobService.PLATFORM_MULTI.equals(job.get().getPlatform())) {
+            body.put("children", publishJobService.getChildJobs(jobId).stream()
+                    .map(child -> {
+                        Map<String, Object> summary = PublishProgressTracker.outcome(child, null);
+                        summary.put("connectedAccountId", child.getConnectedAccountId());
+                        summary.put("platform", child.getPlatform());
+                        return summary;
+                    })
+                    .toList());
+        }
+        return ResponseEntity.ok(body);
+    }
+
+    /**
+     * Server-Sent Events stream of "status" and "progress" events, closed by a single "completed" event
+     */
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(@PathVariable UUID jobId) throws IOException {
+        Optional<PublishJob> job = findOwnedJob(jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (PublishProgressTracker.isTerminal(job.get().getStatus())) {
+            SseEmitter emitter = new SseEmitter();
+            emitter.send(SseEmitter.event().name("completed").data(PublishProgressTracker.outcome(job.get(), null)));
+            emitter.complete();
+            return ResponseEntity.ok(emitter);
+        }
+
+        SseEmitter emitter = progressTracker.subscribe(jobId);
+        // The job may have finished between the read above and subscribing; send what is stored now
+        publishJobService.getPublishJob(jobId).ifPresent(progressTracker::publishState);
+        return ResponseEntity.ok(emitter);
+    }
+
+    private Optional<PublishJob> findOwnedJob(UUID jobId) {
+        UUID userId = UserContextUtil.getCurrentUserId();
+        return publishJobService.getPublishJob(jobId)
+                .filter(job -> userId.equals(job.getUserId()));
+    }
+}
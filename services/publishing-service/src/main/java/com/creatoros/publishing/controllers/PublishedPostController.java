@@ -1,10 +1,15 @@
 package com.creatoros.publishing.controllers;
 
 import com.creatoros.publishing.entities.PublishedPost;
+import com.creatoros.publishing.exceptions.InvalidCursorException;
+import com.creatoros.publishing.models.CursorPage;
+import com.creatoros.publishing.models.PublishedPostSummary;
 import com.creatoros.publishing.repositories.PublishedPostRepository;
+import com.creatoros.publishing.utils.KeysetCursor;
 import com.creatoros.publishing.utils.UserContextUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -12,6 +17,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,16 +26,20 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class PublishedPostController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final PublishedPostRepository publishedPostRepository;
 
     /**
-     * Get all published posts for the authenticated user
+     * Get published posts for the authenticated user, newest first, one page at a time
      */
     @GetMapping
-    public ResponseEntity<List<PublishedPost>> getAllPosts() {
+    public ResponseEntity<CursorPage<PublishedPostSummary>> getAllPosts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") Integer limit) {
         UUID userId = UserContextUtil.getCurrentUserId();
-        List<PublishedPost> posts = publishedPostRepository.findAllByUserId(userId);
-        return ResponseEntity.ok(posts);
+        return page(cursor, limit, (after, size) ->
+                publishedPostRepository.findPageByUserId(userId, after.createdAt(), after.id(), size));
     }
 
     /**
@@ -48,21 +58,55 @@ public class PublishedPostController {
      * Get posts by platform
      */
     @GetMapping("/platform/{platform}")
-    public ResponseEntity<List<PublishedPost>> getPostsByPlatform(
-            @PathVariable String platform) {
+    public ResponseEntity<CursorPage<PublishedPostSummary>> getPostsByPlatform(
+            @PathVariable String platform,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") Integer limit) {
         UUID userId = UserContextUtil.getCurrentUserId();
-        List<PublishedPost> posts = publishedPostRepository.findByPlatformAndUserId(platform, userId);
-        return ResponseEntity.ok(posts);
+        return page(cursor, limit, (after, size) ->
+                publishedPostRepository.findPageByPlatformAndUserId(platform, userId, after.createdAt(), after.id(), size));
     }
 
     /**
      * Get posts by connected account ID
      */
     @GetMapping("/account/{accountId}")
-    public ResponseEntity<List<PublishedPost>> getPostsByAccount(
-            @PathVariable UUID accountId) {
+    public ResponseEntity<CursorPage<PublishedPostSummary>> getPostsByAccount(
+            @PathVariable UUID accountId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") Integer limit) {
         UUID userId = UserContextUtil.getCurrentUserId();
-        List<PublishedPost> posts = publishedPostRepository.findByConnectedAccountIdAndUserId(accountId, userId);
-        return ResponseEntity.ok(posts);
+        return page(cursor, limit, (after, size) ->
+                publishedPostRepository.findPageByConnectedAccountIdAndUserId(accountId, userId, after.createdAt(), after.id(), size));
+    }
+
+    /**
+     * Reject a malformed or tampered cursor
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, String>> handleBadCursor(InvalidCursorException ex) {
+        return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
+    }
+
+    private ResponseEntity<CursorPage<PublishedPostSummary>> page(String cursor, Integer limit, PageQuery query) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        int size = Math.max(1, Math.min(limit == null ? 20 : limit, MAX_PAGE_SIZE));
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<PublishedPostSummary> rows = query.fetch(after, size + 1);
+
+        boolean hasMore = rows.size() > size;
+        List<PublishedPostSummary> items = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            PublishedPostSummary last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return ResponseEntity.ok(new CursorPage<>(items, nextCursor, hasMore));
+    }
+
+    @FunctionalInterface
+    private interface PageQuery {
+        List<PublishedPostSummary> fetch(KeysetCursor after, int limit);
     }
 }
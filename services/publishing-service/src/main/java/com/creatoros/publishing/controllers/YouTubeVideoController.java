@@ -2,8 +2,8 @@ package com.creatoros.publishing.controllers;
 
 import com.creatoros.publishing.dto.PublishVideoRequest;
 import com.creatoros.publishing.entities.ConnectedAccount;
+import com.creatoros.publishing.entities.PublishJob;
 import com.creatoros.publishing.models.PublishRequestEvent;
-import com.creatoros.publishing.models.PublishResult;
 import com.creatoros.publishing.repositories.ConnectedAccountRepository;
 import com.creatoros.publishing.services.PublishExecutionService;
 import com.creatoros.publishing.services.YouTubeAnalyticsService;
@@ -272,7 +272,8 @@ public class YouTubeVideoController {
         }
 
         /**
-         * Publish a video to YouTube directly
+         * Accept a video for publishing to YouTube and return 202 with the publish job id.
+         * Follow progress via GET /publish-jobs/{id}/events (SSE) or poll GET /publish-jobs/{id}.
          * 
          * POST /youtube/publish
          * Body: {
@@ -350,25 +351,15 @@ public class YouTubeVideoController {
                         event.setTags(request.getTags());
                         event.setCategoryId(request.getCategoryId());
 
-                        PublishExecutionService.PublishExecutionOutcome outcome = publishExecutionService
-                                        .executeAndReturn(event);
-                        PublishResult result = outcome.result();
-
-                        if (result.isSuccess()) {
-                                return ResponseEntity.ok(Map.of(
-                                                "success", true,
-                                                "publishJobId", outcome.job().getId(),
-                                                "videoId", result.getPlatformPostId(),
-                                                "permalink", result.getPermalink(),
-                                                "message", "Video published successfully"));
-                        } else {
-                                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                                                .body(Map.of(
-                                                                "success", false,
-                                                                "publishJobId", outcome.job().getId(),
-                                                                "error", result.getErrorMessage()));
-                        }
+                        PublishJob job = publishExecutionService.submit(event);
 
+                        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of(
+                                        "success", true,
+                                        "publishJobId", job.getId(),
+                                        "status", job.getStatus(),
+                                        "statusUrl", "/publish-jobs/" + job.getId(),
+                                        "eventsUrl", "/publish-jobs/" + job.getId() + "/events",
+                                        "message", "Video publish accepted"));
                 } catch (RuntimeException ex) {
                         log.error("Error publishing video: {}", ex.getMessage());
                         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
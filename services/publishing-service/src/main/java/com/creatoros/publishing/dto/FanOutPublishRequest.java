@@ -0,0 +1,19 @@
+package com.creatoros.publishing.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class FanOutPublishRequest {
+    private UUID contentItemId; // Content item / Asset Service media ID shared by every target
+    private List<UUID> accountIds; // Connected accounts to publish to, any mix of platforms
+    private String postType; // Defaults to POST
+    private String title; // Title (YouTube) and post text fallback
+    private String description; // Description / post body
+    private String privacyStatus; // YouTube: "public", "unlisted", or "private"
+    private List<String> tags; // YouTube tags
+    private String categoryId; // YouTube category ID
+    private String email; // Optional email for notification payloads
+}
@@ -0,0 +1,29 @@
+package com.creatoros.publishing.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "analytics_harvest_watermarks")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsHarvestWatermark {
+
+    @Id
+    private UUID connectedAccountId;
+
+    @Column(nullable = false)
+    private LocalDate harvestedThrough;
+
+    @Column(nullable = false)
+    private LocalDateTime lastHarvestedAt;
+}
@@ -0,0 +1,54 @@
+package com.creatoros.publishing.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+@Entity
+@Table(name = "event_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private String topic;
+
+    private String messageKey;
+
+    // Fully qualified class of the event, restored on relay so consumers see the same type header
+    private String eventType;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "JSONB", nullable = false)
+    private Map<String, Object> payload;
+
+    @Column(nullable = false)
+    private String status;
+
+    @Column(nullable = false)
+    @lombok.Builder.Default
+    private Integer attempts = 0;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+}
@@ -27,9 +27,11 @@ public class PublishJob {
     @Column(nullable = false)
     private UUID userId;
 
-    @Column(nullable = false)
+    // Null for fan-out parent jobs, which span several accounts
     private UUID connectedAccountId;
 
+    private UUID parentJobId;
+
     @Column(nullable = false)
     private UUID contentItemId;
 
@@ -48,6 +50,8 @@ public class PublishJob {
 
     private LocalDateTime finishedAt;
 
+    private LocalDateTime nextRetryAt;
+
     @Column(nullable = false)
     @lombok.Builder.Default
     private Integer maxRetries = 3;
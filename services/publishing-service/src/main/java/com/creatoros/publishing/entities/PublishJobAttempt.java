@@ -27,6 +27,8 @@ public class PublishJobAttempt {
     @Column(columnDefinition = "TEXT")
     private String errorMessage;
 
+    private String errorCategory;
+
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(columnDefinition = "JSONB")
     private Map<String, Object> requestPayload;
@@ -37,6 +39,11 @@ public class PublishJobAttempt {
 
     private Integer httpStatus;
 
+    // Milliseconds spent in each publish stage, keyed by PublishStages name
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "JSONB")
+    private Map<String, Long> stageDurations;
+
     private LocalDateTime startedAt;
 
     private LocalDateTime finishedAt;
@@ -67,6 +74,9 @@ public class PublishJobAttempt {
     public String getErrorMessage() { return errorMessage; }
     public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
 
+    public String getErrorCategory() { return errorCategory; }
+    public void setErrorCategory(String errorCategory) { this.errorCategory = errorCategory; }
+
     public Map<String, Object> getRequestPayload() { return requestPayload; }
     public void setRequestPayload(Map<String, Object> requestPayload) { this.requestPayload = requestPayload; }
 
@@ -76,6 +86,9 @@ public class PublishJobAttempt {
     public Integer getHttpStatus() { return httpStatus; }
     public void setHttpStatus(Integer httpStatus) { this.httpStatus = httpStatus; }
 
+    public Map<String, Long> getStageDurations() { return stageDurations; }
+    public void setStageDurations(Map<String, Long> stageDurations) { this.stageDurations = stageDurations; }
+
     public LocalDateTime getStartedAt() { return startedAt; }
     public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
 
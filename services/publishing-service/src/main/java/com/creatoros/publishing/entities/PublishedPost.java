@@ -27,6 +27,9 @@ public class PublishedPost {
     @Column(nullable = false)
     private UUID publishJobId;
 
+    @Column(nullable = false)
+    private UUID userId;
+
     @Column(nullable = false)
     private UUID connectedAccountId;
 
@@ -0,0 +1,11 @@
+package com.creatoros.publishing.exceptions;
+
+/**
+ * A paging cursor that was not issued by this service, or was altered after it was.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
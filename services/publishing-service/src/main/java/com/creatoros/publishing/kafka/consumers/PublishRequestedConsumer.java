@@ -1,11 +1,21 @@
 package com.creatoros.publishing.kafka.consumers;
 
+import com.creatoros.publishing.models.PublishLane;
 import com.creatoros.publishing.models.PublishRequestEvent;
 import com.creatoros.publishing.services.PublishExecutionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+
+/**
+ * Consumes scheduled publish requests. Every listener thread runs one publish at a time, so the
+ * listener concurrency is the scheduled lane's share of capacity; interactive publishes run on
+ * {@code publishExecutor} and never queue behind them.
+ */
 @Component
 @RequiredArgsConstructor
 public class PublishRequestedConsumer {
@@ -13,10 +23,17 @@ public class PublishRequestedConsumer {
     private final PublishExecutionService executionService;
 
     @KafkaListener(
-            topics = "publish.requested",
-            groupId = "publishing-service"
+            id = "publish-requested-scheduled",
+            topics = "${publishing.lanes.scheduled.topic:publish.requested}",
+            groupId = "publishing-service",
+            concurrency = "${publishing.lanes.scheduled.consumers:4}",
+            properties = {
+                    // A publish can run for minutes; fetch one at a time so the poll deadline covers it
+                    "max.poll.records=1",
+                    "max.poll.interval.ms=${publishing.lanes.max-poll-interval-ms:1800000}"
+            }
     )
-    public void consume(PublishRequestEvent event) {
-        executionService.execute(event);
+    public void consumeScheduled(PublishRequestEvent event, @Header(KafkaHeaders.RECEIVED_TIMESTAMP) long timestamp) {
+        executionService.execute(event, PublishLane.SCHEDULED, Instant.ofEpochMilli(timestamp));
     }
 }
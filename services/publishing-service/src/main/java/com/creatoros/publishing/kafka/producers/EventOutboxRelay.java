@@ -0,0 +1,125 @@
+package com.creatoros.publishing.kafka.producers;
+
+import com.creatoros.publishing.entities.EventOutbox;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Re-sends parked events from event_outbox. Each poll claims a batch with {@code SKIP LOCKED}, so
+ * instances never relay the same row, and takes only the oldest pending entry per job key, so
+ * events of one job still reach Kafka in order. The batch is sent in one go and the
+ * acknowledgements awaited together under a single deadline, rather than one blocking round trip
+ * per row on the scheduler thread.
+ */
+@Component
+@Slf4j
+public class EventOutboxRelay {
+
+    private static final int BATCH_SIZE = 100;
+    private static final String EVENT_PACKAGE = "com.creatoros.publishing.models.";
+
+    private final EventOutboxService outboxService;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final int maxAttempts;
+    private final long sendTimeoutMs;
+
+    public EventOutboxRelay(
+            EventOutboxService outboxService,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            ObjectMapper objectMapper,
+            @Value("${publishing.events.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${publishing.events.outbox.send-timeout-ms:10000}") long sendTimeoutMs
+    ) {
+        this.outboxService = outboxService;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.maxAttempts = maxAttempts;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    @Scheduled(fixedDelayString = "${publishing.events.outbox.poll-interval-ms:10000}")
+    public void relayPending() {
+        // Lease outlasts the send deadline so a slow batch is not claimed again by another instance
+        List<EventOutbox> claimed = outboxService.claimDue(BATCH_SIZE, Duration.ofMillis(sendTimeoutMs * 3));
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        List<CompletableFuture<?>> sends = new ArrayList<>(claimed.size());
+        for (EventOutbox entry : claimed) {
+            sends.add(send(entry));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        List<EventOutbox> settled = new ArrayList<>(claimed.size());
+        int sent = 0;
+        for (int i = 0; i < claimed.size(); i++) {
+            EventOutbox entry = claimed.get(i);
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                entry.setAttempts(entry.getAttempts() + 1);
+                entry.setStatus(EventOutboxService.STATUS_SENT);
+                entry.setSentAt(LocalDateTime.now());
+                entry.setLastError(null);
+                sent++;
+            } catch (InterruptedException ex) {
+                // Unsettled entries keep their lease and become due again when it expires
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception ex) {
+                recordFailure(entry, ex instanceof ExecutionException && ex.getCause() != null ? ex.getCause() : ex);
+            }
+            settled.add(entry);
+        }
+        outboxService.saveOutcomes(settled);
+
+        log.info("event_outbox_relay claimed={} sent={}", claimed.size(), sent);
+    }
+
+    private CompletableFuture<?> send(EventOutbox entry) {
+        try {
+            return kafkaTemplate.send(entry.getTopic(), entry.getMessageKey(), restore(entry));
+        } catch (Exception ex) {
+            // send() throws when metadata or buffer space is unavailable within max.block.ms
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * Rebuilds the original event object so JsonSerializer writes the same type header the live
+     * send did, instead of one for the stored map.
+     */
+    private Object restore(EventOutbox entry) throws ClassNotFoundException {
+        String eventType = entry.getEventType();
+        if (eventType == null || !eventType.startsWith(EVENT_PACKAGE)) {
+            throw new ClassNotFoundException("Unrelayable outbox event type: " + eventType);
+        }
+        return objectMapper.convertValue(entry.getPayload(), Class.forName(eventType));
+    }
+
+    private void recordFailure(EventOutbox entry, Throwable error) {
+        int attempt = entry.getAttempts() + 1;
+        entry.setAttempts(attempt);
+        entry.setLastError(error.getMessage());
+        if (attempt >= maxAttempts || error instanceof ClassNotFoundException) {
+            entry.setStatus(EventOutboxService.STATUS_FAILED);
+            log.error("event_outbox_failed_permanently id={} topic={} attempts={}", entry.getId(), entry.getTopic(), attempt);
+        } else {
+            long multiplier = 1L << Math.min(10, attempt - 1);
+            entry.setNextAttemptAt(LocalDateTime.now().plusSeconds(Math.min(3600L, 10L * multiplier)));
+        }
+    }
+}
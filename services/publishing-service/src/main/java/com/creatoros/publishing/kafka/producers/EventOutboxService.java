@@ -0,0 +1,139 @@
+package com.creatoros.publishing.kafka.producers;
+
+import com.creatoros.publishing.entities.EventOutbox;
+import com.creatoros.publishing.repositories.EventOutboxRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fallback for events Kafka did not acknowledge. Failed sends are parked in event_outbox
+ * and relayed by {@link EventOutboxRelay}, so the publish path never waits on the broker.
+ * Delivery is at-least-once; consumers de-duplicate on eventId.
+ *
+ * <p>Keys with parked events are tracked here, so {@link PublishEventProducer} can park later
+ * events of the same job behind them instead of letting them overtake. The count covers rows
+ * this instance parked or found pending at startup; a job's events are produced by the instance
+ * running it.
+ */
+@Service
+@Slf4j
+public class EventOutboxService {
+
+    static final String STATUS_PENDING = "PENDING";
+    static final String STATUS_SENT = "SENT";
+    static final String STATUS_FAILED = "FAILED";
+
+    private final EventOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    // Unrelayed outbox rows per message key
+    private final Map<String, Integer> pendingByKey = new ConcurrentHashMap<>();
+
+    // Outbox writes are triggered from producer callbacks; keep them off the Kafka I/O thread. One
+    // thread keeps a key's rows in send order. When the queue is full the caller writes the row
+    // itself: that holds back the sender rather than losing the event.
+    private final ThreadPoolExecutor writer;
+
+    public EventOutboxService(
+            EventOutboxRepository outboxRepository,
+            ObjectMapper objectMapper,
+            @Value("${publishing.events.outbox.writer-queue-capacity:1000}") int writerQueueCapacity
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        this.writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(writerQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "event-outbox-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PostConstruct
+    void loadPendingKeys() {
+        for (Object[] row : outboxRepository.countPendingByKey()) {
+            pendingByKey.put((String) row[0], ((Number) row[1]).intValue());
+        }
+    }
+
+    /**
+     * Whether events for {@code key} are parked and not yet relayed; new events for it must queue
+     * behind them.
+     */
+    public boolean hasPending(String key) {
+        return key != null && pendingByKey.containsKey(key);
+    }
+
+    public void store(String topic, String key, Object event, Throwable error) {
+        if (key != null) {
+            pendingByKey.merge(key, 1, Integer::sum);
+        }
+        writer.execute(() -> {
+            try {
+                EventOutbox entry = EventOutbox.builder()
+                        .topic(topic)
+                        .messageKey(key)
+                        .eventType(event.getClass().getName())
+                        .payload(objectMapper.convertValue(event, new TypeReference<Map<String, Object>>() {}))
+                        .status(STATUS_PENDING)
+                        .lastError(error == null ? null : error.getMessage())
+                        .nextAttemptAt(LocalDateTime.now())
+                        .createdAt(LocalDateTime.now())
+                        .build();
+                outboxRepository.save(entry);
+                log.warn("event_outbox_stored topic={} key={}", topic, key);
+            } catch (Exception ex) {
+                release(key);
+                log.error("event_outbox_store_failed topic={} key={} event={}", topic, key, event, ex);
+            }
+        });
+    }
+
+    /**
+     * Claims up to {@code limit} due entries for this instance by pushing their next attempt out
+     * by {@code lease}. Entries whose relay never reports back become due again once it passes.
+     */
+    @Transactional
+    public List<EventOutbox> claimDue(int limit, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EventOutbox> due = outboxRepository.lockDue(now, limit);
+        due.forEach(entry -> entry.setNextAttemptAt(now.plus(lease)));
+        return outboxRepository.saveAll(due);
+    }
+
+    public void saveOutcomes(List<EventOutbox> entries) {
+        outboxRepository.saveAll(entries);
+        entries.stream()
+                .filter(entry -> !STATUS_PENDING.equals(entry.getStatus()))
+                .forEach(entry -> release(entry.getMessageKey()));
+    }
+
+    private void release(String key) {
+        if (key != null) {
+            pendingByKey.computeIfPresent(key, (ignored, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -4,18 +4,30 @@ import com.creatoros.publishing.models.PublishFailedEvent;
 import com.creatoros.publishing.models.PublishRetryRequestedEvent;
 import com.creatoros.publishing.models.PublishStartedEvent;
 import com.creatoros.publishing.models.PublishSucceededEvent;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * Emits publish lifecycle events keyed by publishJobId, so all events of one job land on the
+ * same partition in order. Sends are fire-and-forget for the caller; acknowledgements are
+ * tracked asynchronously and failures are handed to {@link EventOutboxService}. Once an event of
+ * a job is parked there, the job's later events are parked behind it until the relay catches up,
+ * so none of them reaches Kafka ahead of it.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class PublishEventProducer {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final EventOutboxService outboxService;
+    private final MeterRegistry meterRegistry;
 
     public void publishStarted(UUID userId, String email, UUID publishJobId, String platform) {
         PublishStartedEvent event = PublishStartedEvent.builder()
@@ -27,7 +39,7 @@ public class PublishEventProducer {
                 .eventCreatedAt(LocalDateTime.now())
                 .build();
 
-        kafkaTemplate.send("publish.started", event);
+        send("publish.started", publishJobId, event);
     }
 
     public void publishSuccess(UUID userId, String email, UUID publishJobId, String platform, String platformPostId, String permalink) {
@@ -43,7 +55,7 @@ public class PublishEventProducer {
                 .eventCreatedAt(LocalDateTime.now())
                 .build();
 
-        kafkaTemplate.send("publish.succeeded", event);
+        send("publish.succeeded", publishJobId, event);
     }
 
     public void publishFailed(UUID userId, String email, UUID publishJobId, String platform, String error) {
@@ -57,7 +69,7 @@ public class PublishEventProducer {
                 .eventCreatedAt(LocalDateTime.now())
                 .build();
 
-        kafkaTemplate.send("publish.failed", event);
+        send("publish.failed", publishJobId, event);
     }
 
     public void publishRetryRequested(UUID userId, String email, UUID publishJobId, String platform, String reason) {
@@ -71,7 +83,31 @@ public class PublishEventProducer {
                 .eventCreatedAt(LocalDateTime.now())
                 .build();
 
-        kafkaTemplate.send("publish.retry.requested", event);
+        send("publish.retry.requested", publishJobId, event);
     }
-}
 
+    private void send(String topic, UUID publishJobId, Object event) {
+        String key = publishJobId == null ? null : publishJobId.toString();
+        if (outboxService.hasPending(key)) {
+            meterRegistry.counter("publishing.events.sent", "topic", topic, "outcome", "queued").increment();
+            outboxService.store(topic, key, event, null);
+            return;
+        }
+        try {
+            kafkaTemplate.send(topic, key, event).whenComplete((result, ex) -> {
+                if (ex == null) {
+                    meterRegistry.counter("publishing.events.sent", "topic", topic, "outcome", "acked").increment();
+                    return;
+                }
+                meterRegistry.counter("publishing.events.sent", "topic", topic, "outcome", "outbox").increment();
+                log.warn("publish_event_send_failed topic={} key={} error={}", topic, key, ex.getMessage());
+                outboxService.store(topic, key, event, ex);
+            });
+        } catch (Exception ex) {
+            // send() itself throws when metadata or buffer space is unavailable within max.block.ms
+            meterRegistry.counter("publishing.events.sent", "topic", topic, "outcome", "outbox").increment();
+            log.warn("publish_event_send_rejected topic={} key={} error={}", topic, key, ex.getMessage());
+            outboxService.store(topic, key, event, ex);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.creatoros.publishing.models;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. Pass {@code nextCursor} back as {@code cursor} to fetch the next page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor, boolean hasMore) {
+}
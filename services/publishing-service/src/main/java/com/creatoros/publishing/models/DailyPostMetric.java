@@ -0,0 +1,30 @@
+package com.creatoros.publishing.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One day of platform metrics for one published post, as sent to analytics-service.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyPostMetric {
+
+    private UUID userId;
+    private UUID publishedPostId;
+    private String platform;
+    private String platformPostId;
+    private LocalDate metricDate;
+    private long views;
+    private long likes;
+    private long comments;
+    private long shares;
+    private double watchTimeSeconds;
+}
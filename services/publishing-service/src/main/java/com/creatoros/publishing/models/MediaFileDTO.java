@@ -8,6 +8,9 @@ public class MediaFileDTO {
     private UUID id;
     private String fileName;
     private String fileType;
-    private long sizeBytes;
+    // Null when asset-service has not recorded it; MediaStagingCache refuses such assets
+    private Long sizeBytes;
     private String mimeType;
+    // SHA-256 of the content; null until asset-service has computed it
+    private String checksum;
 }
@@ -4,10 +4,18 @@ import com.creatoros.publishing.entities.ConnectedAccount;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.util.UUID;
+
 @Getter
 @Builder
 public class PublishContext {
 
+    private UUID publishJobId;
     private PublishRequestEvent event;
     private ConnectedAccount connectedAccount;
+    // Pre-resolved media for fan-out publishes; null when the publisher should fetch its own
+    private SharedMedia sharedMedia;
+    // Stage timers for this attempt; publishers wrap token, download and upload work in it
+    @Builder.Default
+    private PublishStages stages = PublishStages.noop();
 }
@@ -0,0 +1,24 @@
+package com.creatoros.publishing.models;
+
+/**
+ * Classification of a failed publish attempt, used to decide whether the job is retried.
+ */
+public enum PublishErrorCategory {
+
+    QUOTA(true),
+    RATE_LIMITED(true),
+    TRANSIENT(true),
+    AUTH(false),
+    BAD_PAYLOAD(false),
+    UNKNOWN(true);
+
+    private final boolean retryable;
+
+    PublishErrorCategory(boolean retryable) {
+        this.retryable = retryable;
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+}
@@ -0,0 +1,18 @@
+package com.creatoros.publishing.models;
+
+/**
+ * Where a publish came from. Each lane has its own consumers or workers, so a backlog in one
+ * (e.g. a burst of scheduled uploads) cannot delay the start of another.
+ */
+public enum PublishLane {
+    // "Publish now" from the UI: HTTP submissions and the interactive topic
+    INTERACTIVE,
+    // Scheduler-service releases on publish.requested
+    SCHEDULED,
+    // Jobs whose backoff has elapsed, picked up by PublishRetryScheduler
+    RETRY;
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
@@ -11,4 +11,5 @@ public class PublishResult {
     private String platformPostId;
     private String permalink;
     private String errorMessage;
+    private Throwable cause;
 }
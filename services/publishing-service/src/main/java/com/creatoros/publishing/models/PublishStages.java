@@ -0,0 +1,91 @@
+package com.creatoros.publishing.models;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Times the stages of one publish attempt. Each stage is a Micrometer observation, so it becomes
+ * both a {@code publishing.publish.stage} timer and a child span of the attempt's trace, tagged
+ * with the stage, platform and outcome. Wall-clock durations are also kept per stage so they can
+ * be stored on the attempt row.
+ */
+public class PublishStages {
+
+    public static final String ACCOUNT_LOOKUP = "account_lookup";
+    public static final String PUBLISHER_RESOLVE = "publisher_resolve";
+    public static final String TOKEN_REFRESH = "token_refresh";
+    public static final String ASSET_DOWNLOAD = "asset_download";
+    public static final String PLATFORM_UPLOAD = "platform_upload";
+    public static final String DB_WRITE = "db_write";
+
+    private static final String STAGE_METRIC = "publishing.publish.stage";
+
+    private final ObservationRegistry registry;
+    private final Observation parent;
+    private final String platform;
+    // Stages normally run on the attempt's thread, but publishers may hand work to their own pools
+    private final Map<String, Long> durationsMs = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    public PublishStages(ObservationRegistry registry, Observation parent, String platform) {
+        this.registry = registry;
+        this.parent = parent;
+        this.platform = platform == null ? "UNKNOWN" : platform.toUpperCase();
+    }
+
+    /**
+     * No-op recorder for publishers invoked outside {@code PublishExecutionService}.
+     */
+    public static PublishStages noop() {
+        return new PublishStages(ObservationRegistry.NOOP, null, null);
+    }
+
+    @FunctionalInterface
+    public interface StageWork<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    @FunctionalInterface
+    public interface StageAction<E extends Exception> {
+        void run() throws E;
+    }
+
+    public <T, E extends Exception> T record(String stage, StageWork<T, E> work) throws E {
+        Observation observation = Observation.createNotStarted(STAGE_METRIC, registry)
+                .contextualName("publish " + stage)
+                .parentObservation(parent)
+                .lowCardinalityKeyValue("stage", stage)
+                .lowCardinalityKeyValue("platform", platform)
+                .start();
+        long startedAt = System.nanoTime();
+        String outcome = "error";
+        try (Observation.Scope ignored = observation.openScope()) {
+            T result = work.run();
+            outcome = "success";
+            return result;
+        } catch (Exception ex) {
+            observation.error(ex);
+            throw ex;
+        } finally {
+            // Repeated stages (e.g. several DB writes) accumulate into one figure
+            durationsMs.merge(stage, (System.nanoTime() - startedAt) / 1_000_000, Long::sum);
+            observation.lowCardinalityKeyValue("outcome", outcome).stop();
+        }
+    }
+
+    public <E extends Exception> void record(String stage, StageAction<E> work) throws E {
+        record(stage, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public Map<String, Long> getDurationsMs() {
+        synchronized (durationsMs) {
+            return new LinkedHashMap<>(durationsMs);
+        }
+    }
+}
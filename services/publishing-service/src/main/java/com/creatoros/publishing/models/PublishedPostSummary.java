@@ -0,0 +1,26 @@
+package com.creatoros.publishing.models;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lightweight projection of a published post for list endpoints; omits message/details JSON.
+ */
+public interface PublishedPostSummary {
+
+    UUID getId();
+
+    UUID getPublishJobId();
+
+    UUID getConnectedAccountId();
+
+    String getPlatform();
+
+    String getPlatformPostId();
+
+    String getPermalinkUrl();
+
+    LocalDateTime getPublishedAt();
+
+    LocalDateTime getCreatedAt();
+}
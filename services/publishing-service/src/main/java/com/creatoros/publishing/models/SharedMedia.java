@@ -0,0 +1,41 @@
+package com.creatoros.publishing.models;
+
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+/**
+ * Media inputs shared by the children of a fan-out publish. The staged asset is acquired on first
+ * use, once, and its lease is held until every child has finished with it.
+ */
+public class SharedMedia implements AutoCloseable {
+
+    private final Supplier<StagedMedia> loader;
+    private StagedMedia staged;
+
+    public SharedMedia(Supplier<StagedMedia> loader) {
+        this.loader = loader;
+    }
+
+    public MediaFileDTO getMetadata() {
+        return staged().getMetadata();
+    }
+
+    public Path getFile() {
+        return staged().getFile();
+    }
+
+    private synchronized StagedMedia staged() {
+        if (staged == null) {
+            staged = loader.get();
+        }
+        return staged;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (staged != null) {
+            staged.close();
+            staged = null;
+        }
+    }
+}
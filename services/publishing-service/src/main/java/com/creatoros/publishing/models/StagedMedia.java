@@ -0,0 +1,37 @@
+package com.creatoros.publishing.models;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A lease on an asset staged on local disk. The file is pinned (never evicted) until the lease is
+ * closed; callers must close it once the upload that reads the file has finished.
+ */
+public class StagedMedia implements AutoCloseable {
+
+    private final MediaFileDTO metadata;
+    private final Path file;
+    private final Runnable release;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    public StagedMedia(MediaFileDTO metadata, Path file, Runnable release) {
+        this.metadata = metadata;
+        this.file = file;
+        this.release = release;
+    }
+
+    public MediaFileDTO getMetadata() {
+        return metadata;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() {
+        if (released.compareAndSet(false, true)) {
+            release.run();
+        }
+    }
+}
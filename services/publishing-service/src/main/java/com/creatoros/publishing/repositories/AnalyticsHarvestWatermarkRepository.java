@@ -0,0 +1,11 @@
+package com.creatoros.publishing.repositories;
+
+import com.creatoros.publishing.entities.AnalyticsHarvestWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface AnalyticsHarvestWatermarkRepository extends JpaRepository<AnalyticsHarvestWatermark, UUID> {
+}
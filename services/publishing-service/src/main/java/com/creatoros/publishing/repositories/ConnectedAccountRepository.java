@@ -2,8 +2,10 @@ package com.creatoros.publishing.repositories;
 
 import com.creatoros.publishing.entities.ConnectedAccount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,4 +24,23 @@ public interface ConnectedAccountRepository extends JpaRepository<ConnectedAccou
     List<ConnectedAccount> findByUserIdAndIsActiveTrue(UUID userId);
     
     List<ConnectedAccount> findByPlatform(String platform);
+
+    /**
+     * Active YouTube accounts whose token expires before {@code expiringBefore} and that have a
+     * publish parked until before {@code horizon}: a retry, or a pending job requeued because the
+     * executor was saturated. Scheduled publishes reach this service only once they are due.
+     */
+    @Query(value = """
+        SELECT DISTINCT ca.*
+        FROM connected_accounts ca
+        JOIN publish_jobs pj ON pj.connected_account_id = ca.id
+        WHERE UPPER(ca.platform) = 'YOUTUBE'
+          AND ca.is_active = true
+          AND ca.refresh_token_enc IS NOT NULL
+          AND (ca.token_expires_at IS NULL OR ca.token_expires_at < :expiringBefore)
+          AND pj.status IN ('RETRY_SCHEDULED', 'PENDING')
+          AND pj.next_retry_at BETWEEN :now AND :horizon
+        """, nativeQuery = true)
+    List<ConnectedAccount> findYouTubeAccountsWithUpcomingPublishes(
+            LocalDateTime now, LocalDateTime horizon, LocalDateTime expiringBefore);
 }
@@ -0,0 +1,41 @@
+package com.creatoros.publishing.repositories;
+
+import com.creatoros.publishing.entities.EventOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EventOutboxRepository extends JpaRepository<EventOutbox, UUID> {
+
+    /**
+     * Locks up to {@code limit} due PENDING entries, oldest first, taking only the oldest pending
+     * entry of each message key so events of one job are relayed in order. Rows another instance
+     * has locked are skipped, and while a key's head is locked the entries behind it stay excluded.
+     * Must run inside the claiming transaction.
+     */
+    @Query(value = """
+        SELECT * FROM event_outbox o
+        WHERE o.status = 'PENDING' AND o.next_attempt_at <= :now
+          AND NOT EXISTS (
+              SELECT 1 FROM event_outbox earlier
+              WHERE earlier.status = 'PENDING'
+                AND earlier.message_key = o.message_key
+                AND (earlier.created_at, earlier.id) < (o.created_at, o.id)
+          )
+        ORDER BY o.created_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<EventOutbox> lockDue(LocalDateTime now, int limit);
+
+    /**
+     * Message key and number of PENDING entries for every key that has any.
+     */
+    @Query("SELECT o.messageKey, COUNT(o) FROM EventOutbox o WHERE o.status = 'PENDING' AND o.messageKey IS NOT NULL GROUP BY o.messageKey")
+    List<Object[]> countPendingByKey();
+}
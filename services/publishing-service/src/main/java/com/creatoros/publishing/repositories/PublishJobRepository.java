@@ -1,9 +1,15 @@
 package com.creatoros.publishing.repositories;
 
 import com.creatoros.publishing.entities.PublishJob;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,4 +24,69 @@ public interface PublishJobRepository extends JpaRepository<PublishJob, UUID> {
     List<PublishJob> findByStatus(String status);
     
     List<PublishJob> findByUserIdAndStatus(UUID userId, String status);
+
+    List<PublishJob> findByParentJobId(UUID parentJobId);
+
+    List<PublishJob> findTop50ByStatusAndNextRetryAtBeforeOrderByNextRetryAtAsc(String status, LocalDateTime before);
+
+    /**
+     * Atomically moves a job from one status to another. Returns 0 when another instance claimed it first.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE PublishJob j
+        SET j.status = :toStatus, j.updatedAt = :now
+        WHERE j.id = :id AND j.status = :fromStatus
+        """)
+    int transitionStatus(UUID id, String fromStatus, String toStatus, LocalDateTime now);
+
+    /**
+     * Heartbeat for attempts running on this instance, so their claims never look stale.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE PublishJob j
+        SET j.updatedAt = :now
+        WHERE j.id IN :ids AND j.status IN :statuses
+        """)
+    int touchRunning(Collection<UUID> ids, Collection<String> statuses, LocalDateTime now);
+
+    /**
+     * Hands retries claimed by an instance that died mid-attempt back to the retry queue.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE PublishJob j
+        SET j.status = :toStatus, j.nextRetryAt = :now, j.updatedAt = :now
+        WHERE j.status = :fromStatus AND j.updatedAt < :staleBefore
+        """)
+    int releaseStaleClaims(String fromStatus, String toStatus, LocalDateTime staleBefore, LocalDateTime now);
+
+    /**
+     * Jobs that never reached a worker: parked because the interactive executor was saturated
+     * ({@code nextRetryAt} due), or left in an executor queue by an instance that shut down or died.
+     */
+    @Query("""
+        SELECT j FROM PublishJob j
+        WHERE j.status = :status AND j.connectedAccountId IS NOT NULL
+          AND (j.nextRetryAt < :now OR j.updatedAt < :orphanedBefore)
+        ORDER BY j.createdAt ASC
+        """)
+    List<PublishJob> findQueuedToResume(String status, LocalDateTime now, LocalDateTime orphanedBefore, Pageable page);
+
+    /**
+     * Hands single-account attempts left IN_PROGRESS by an instance that died back to the retry
+     * queue. Fan-out parents have no account and are skipped; their status follows their children.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE PublishJob j
+        SET j.status = :toStatus, j.nextRetryAt = :now, j.updatedAt = :now
+        WHERE j.status = :fromStatus AND j.connectedAccountId IS NOT NULL AND j.updatedAt < :staleBefore
+        """)
+    int releaseOrphanedAttempts(String fromStatus, String toStatus, LocalDateTime staleBefore, LocalDateTime now);
 }
@@ -1,10 +1,12 @@
 package com.creatoros.publishing.repositories;
 
 import com.creatoros.publishing.entities.PublishedPost;
+import com.creatoros.publishing.models.PublishedPostSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,13 +15,16 @@ import java.util.UUID;
 public interface PublishedPostRepository extends JpaRepository<PublishedPost, UUID> {
 
     @Query(value = """
-        SELECT pp.*
+        SELECT pp.id AS "id", pp.publish_job_id AS "publishJobId", pp.connected_account_id AS "connectedAccountId",
+               pp.platform AS "platform", pp.platform_post_id AS "platformPostId", pp.permalink_url AS "permalinkUrl",
+               pp.published_at AS "publishedAt", pp.created_at AS "createdAt"
         FROM published_posts pp
-        JOIN connected_accounts ca ON ca.id = pp.connected_account_id
-        WHERE ca.user_id = :userId
-        ORDER BY pp.created_at DESC
+        WHERE pp.user_id = :userId
+          AND (pp.created_at, pp.id) < (:cursorCreatedAt, :cursorId)
+        ORDER BY pp.created_at DESC, pp.id DESC
+        LIMIT :limit
         """, nativeQuery = true)
-    List<PublishedPost> findAllByUserId(UUID userId);
+    List<PublishedPostSummary> findPageByUserId(UUID userId, LocalDateTime cursorCreatedAt, UUID cursorId, int limit);
 
     @Query(value = """
         SELECT pp.*
@@ -31,27 +36,55 @@ public interface PublishedPostRepository extends JpaRepository<PublishedPost, UU
     
     Optional<PublishedPost> findByPublishJobId(UUID publishJobId);
 
-        @Query(value = """
-                        SELECT pp.*
-                        FROM published_posts pp
-                        JOIN connected_accounts ca ON ca.id = pp.connected_account_id
-                        WHERE pp.connected_account_id = :connectedAccountId
-                            AND ca.user_id = :userId
-                        ORDER BY pp.created_at DESC
-                        """, nativeQuery = true)
-        List<PublishedPost> findByConnectedAccountIdAndUserId(UUID connectedAccountId, UUID userId);
+    @Query(value = """
+        SELECT pp.id AS "id", pp.publish_job_id AS "publishJobId", pp.connected_account_id AS "connectedAccountId",
+               pp.platform AS "platform", pp.platform_post_id AS "platformPostId", pp.permalink_url AS "permalinkUrl",
+               pp.published_at AS "publishedAt", pp.created_at AS "createdAt"
+        FROM published_posts pp
+        WHERE pp.connected_account_id = :connectedAccountId
+          AND pp.user_id = :userId
+          AND (pp.created_at, pp.id) < (:cursorCreatedAt, :cursorId)
+        ORDER BY pp.created_at DESC, pp.id DESC
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<PublishedPostSummary> findPageByConnectedAccountIdAndUserId(
+            UUID connectedAccountId, UUID userId, LocalDateTime cursorCreatedAt, UUID cursorId, int limit);
     
     List<PublishedPost> findByConnectedAccountId(UUID connectedAccountId);
 
-        @Query(value = """
-                        SELECT pp.*
-                        FROM published_posts pp
-                        JOIN connected_accounts ca ON ca.id = pp.connected_account_id
-                        WHERE LOWER(pp.platform) = LOWER(:platform)
-                            AND ca.user_id = :userId
-                        ORDER BY pp.created_at DESC
-                        """, nativeQuery = true)
-        List<PublishedPost> findByPlatformAndUserId(String platform, UUID userId);
+    @Query(value = """
+        SELECT pp.id AS "id", pp.publish_job_id AS "publishJobId", pp.connected_account_id AS "connectedAccountId",
+               pp.platform AS "platform", pp.platform_post_id AS "platformPostId", pp.permalink_url AS "permalinkUrl",
+               pp.published_at AS "publishedAt", pp.created_at AS "createdAt"
+        FROM published_posts pp
+        WHERE pp.user_id = :userId
+          AND LOWER(pp.platform) = LOWER(:platform)
+          AND (pp.created_at, pp.id) < (:cursorCreatedAt, :cursorId)
+        ORDER BY pp.created_at DESC, pp.id DESC
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<PublishedPostSummary> findPageByPlatformAndUserId(
+            String platform, UUID userId, LocalDateTime cursorCreatedAt, UUID cursorId, int limit);
     
     List<PublishedPost> findByPlatform(String platform);
+
+    @Query(value = """
+        SELECT DISTINCT pp.connected_account_id
+        FROM published_posts pp
+        WHERE UPPER(pp.platform) = 'YOUTUBE'
+          AND pp.published_at >= :since
+        """, nativeQuery = true)
+    List<UUID> findYouTubeAccountIdsPublishedSince(LocalDateTime since);
+
+    @Query(value = """
+        SELECT pp.id AS "id", pp.publish_job_id AS "publishJobId", pp.connected_account_id AS "connectedAccountId",
+               pp.platform AS "platform", pp.platform_post_id AS "platformPostId", pp.permalink_url AS "permalinkUrl",
+               pp.published_at AS "publishedAt", pp.created_at AS "createdAt"
+        FROM published_posts pp
+        WHERE pp.connected_account_id = :connectedAccountId
+          AND UPPER(pp.platform) = 'YOUTUBE'
+          AND pp.published_at >= :since
+        ORDER BY pp.published_at
+        """, nativeQuery = true)
+    List<PublishedPostSummary> findYouTubeVideosPublishedSince(UUID connectedAccountId, LocalDateTime since);
 }
@@ -0,0 +1,281 @@
+package com.creatoros.publishing.services;
+
+import com.creatoros.publishing.exceptions.PublishException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+/**
+ * Uploads an image or video to LinkedIn and returns the digital media asset URN to attach to a
+ * UGC post. Videos use LinkedIn's multipart flow: register the upload, PUT each byte range LinkedIn
+ * hands back (in parallel, retrying each part on its own), then complete the upload with the part
+ * ETags. Each in-flight part holds one buffer of its own range, so memory stays at
+ * {@code parallelism x part size} however large the file is.
+ */
+@Component
+@Slf4j
+public class LinkedInMediaUploader {
+
+    private static final String MULTIPART_MECHANISM = "com.linkedin.digitalmedia.uploading.MultipartUpload";
+    private static final String SINGLE_MECHANISM = "com.linkedin.digitalmedia.uploading.MediaUploadHttpRequest";
+
+    public enum MediaCategory {
+        IMAGE("urn:li:digitalmediaRecipe:feedshare-image"),
+        VIDEO("urn:li:digitalmediaRecipe:feedshare-video");
+
+        private final String recipe;
+
+        MediaCategory(String recipe) {
+            this.recipe = recipe;
+        }
+    }
+
+    private final RestTemplate restTemplate;
+    private final String apiBaseUrl;
+    private final int partMaxAttempts;
+    private final long partRetryBackoffMs;
+    private final ExecutorService partUploader;
+
+    public LinkedInMediaUploader(
+            RestTemplate restTemplate,
+            @Value("${linkedin.api-base-url:https://api.linkedin.com/v2}") String apiBaseUrl,
+            @Value("${linkedin.upload.parallelism:4}") int parallelism,
+            @Value("${linkedin.upload.part-max-attempts:3}") int partMaxAttempts,
+            @Value("${linkedin.upload.part-retry-backoff-ms:500}") long partRetryBackoffMs
+    ) {
+        this.restTemplate = restTemplate;
+        this.apiBaseUrl = apiBaseUrl;
+        this.partMaxAttempts = partMaxAttempts;
+        this.partRetryBackoffMs = partRetryBackoffMs;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.partUploader = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "linkedin-upload-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param onProgress receives the percentage of bytes uploaded so far, may be called from any thread
+     * @return the asset URN, e.g. {@code urn:li:digitalmediaAsset:C5500AQ...}
+     */
+    @SuppressWarnings("unchecked")
+    public String upload(String accessToken, String ownerUrn, MediaCategory category, Path file, long sizeBytes,
+                         IntConsumer onProgress) {
+        Map<String, Object> registration = register(accessToken, ownerUrn, category, sizeBytes);
+        Map<String, Object> value = (Map<String, Object>) registration.get("value");
+        if (value == null || value.get("asset") == null) {
+            throw new PublishException("LinkedIn registerUpload returned no asset", "UNKNOWN");
+        }
+        String asset = (String) value.get("asset");
+        Map<String, Object> mechanism = (Map<String, Object>) value.get("uploadMechanism");
+
+        if (mechanism != null && mechanism.containsKey(MULTIPART_MECHANISM)) {
+            Map<String, Object> multipart = (Map<String, Object>) mechanism.get(MULTIPART_MECHANISM);
+            List<Map<String, Object>> parts = (List<Map<String, Object>>) multipart.get("partUploadRequests");
+            List<String> etags = uploadParts(file, sizeBytes, parts, onProgress);
+            complete(accessToken, (String) value.get("mediaArtifact"), (String) multipart.get("metadata"), etags);
+        } else if (mechanism != null && mechanism.containsKey(SINGLE_MECHANISM)) {
+            Map<String, Object> single = (Map<String, Object>) mechanism.get(SINGLE_MECHANISM);
+            Map<String, Object> range = Map.of("firstByte", 0L, "lastByte", sizeBytes - 1);
+            // Unlike multipart part URLs, the single-upload URL is not pre-signed and needs the member token
+            Map<String, String> headers = new HashMap<>((Map<String, String>) single.getOrDefault("headers", Map.of()));
+            headers.put(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken);
+            uploadParts(file, sizeBytes, List.of(Map.of(
+                    "url", single.get("uploadUrl"),
+                    "byteRange", range,
+                    "headers", headers
+            )), onProgress);
+        } else {
+            throw new PublishException("LinkedIn registerUpload returned no supported upload mechanism", "UNKNOWN");
+        }
+
+        log.info("linkedin_media_uploaded asset={} category={} sizeBytes={}", asset, category, sizeBytes);
+        return asset;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> register(String accessToken, String ownerUrn, MediaCategory category, long sizeBytes) {
+        Map<String, Object> request = new HashMap<>();
+        request.put("owner", ownerUrn);
+        request.put("recipes", List.of(category.recipe));
+        request.put("serviceRelationships", List.of(Map.of(
+                "identifier", "urn:li:userGeneratedContent",
+                "relationshipType", "OWNER"
+        )));
+        if (category == MediaCategory.VIDEO) {
+            request.put("supportedUploadMechanism", List.of("MULTIPART_UPLOAD"));
+            request.put("fileSize", sizeBytes);
+        }
+
+        ResponseEntity<Map> response = restTemplate.exchange(
+                apiBaseUrl + "/assets?action=registerUpload",
+                HttpMethod.POST,
+                new HttpEntity<>(Map.of("registerUploadRequest", request), jsonHeaders(accessToken)),
+                Map.class
+        );
+        return response.getBody() == null ? Map.of() : (Map<String, Object>) response.getBody();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> uploadParts(Path file, long sizeBytes, List<Map<String, Object>> parts, IntConsumer onProgress) {
+        if (parts == null || parts.isEmpty()) {
+            throw new PublishException("LinkedIn returned no upload parts", "UNKNOWN");
+        }
+
+        AtomicBoolean failed = new AtomicBoolean();
+        AtomicLong uploadedBytes = new AtomicLong();
+        List<CompletableFuture<String>> uploads = new ArrayList<>();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (Map<String, Object> part : parts) {
+                Map<String, Object> range = (Map<String, Object>) part.get("byteRange");
+                long firstByte = ((Number) range.get("firstByte")).longValue();
+                long lastByte = ((Number) range.get("lastByte")).longValue();
+                String url = (String) part.get("url");
+                Map<String, String> headers = (Map<String, String>) part.getOrDefault("headers", Map.of());
+
+                uploads.add(CompletableFuture.supplyAsync(() -> {
+                    if (failed.get()) {
+                        throw new PublishException("Upload aborted after an earlier part failed", "TRANSIENT");
+                    }
+                    try {
+                        String etag = uploadPart(channel, url, headers, firstByte, lastByte);
+                        long done = uploadedBytes.addAndGet(lastByte - firstByte + 1);
+                        onProgress.accept((int) (done * 100 / Math.max(sizeBytes, 1)));
+                        return etag;
+                    } catch (RuntimeException ex) {
+                        failed.set(true);
+                        throw ex;
+                    }
+                }, partUploader));
+            }
+
+            try {
+                List<String> etags = new ArrayList<>(uploads.size());
+                for (CompletableFuture<String> upload : uploads) {
+                    etags.add(upload.join());
+                }
+                return etags;
+            } catch (CompletionException ex) {
+                // Let in-flight parts drain before the channel closes underneath them
+                CompletableFuture.allOf(uploads.toArray(new CompletableFuture[0])).exceptionally(ignored -> null).join();
+                throw ex.getCause() instanceof RuntimeException runtimeException
+                        ? runtimeException
+                        : new PublishException("LinkedIn part upload failed: " + ex.getMessage(), ex);
+            }
+        } catch (IOException ex) {
+            throw new PublishException("Could not read staged media: " + ex.getMessage(), ex);
+        }
+    }
+
+    private String uploadPart(FileChannel channel, String url, Map<String, String> partHeaders, long firstByte, long lastByte) {
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(lastByte - firstByte + 1));
+        try {
+            long position = firstByte;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new PublishException("Staged media is shorter than LinkedIn's byte range", "BAD_PAYLOAD");
+                }
+                position += read;
+            }
+        } catch (IOException ex) {
+            throw new PublishException("Could not read staged media: " + ex.getMessage(), ex);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        partHeaders.forEach(headers::set);
+        HttpEntity<byte[]> request = new HttpEntity<>(buffer.array(), headers);
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                ResponseEntity<Void> response = restTemplate.exchange(url, HttpMethod.PUT, request, Void.class);
+                return response.getHeaders().getETag();
+            } catch (HttpStatusCodeException ex) {
+                int status = ex.getStatusCode().value();
+                if ((status != 429 && status < 500) || attempt >= partMaxAttempts) {
+                    throw ex;
+                }
+                log.warn("linkedin_part_retry firstByte={} attempt={} status={}", firstByte, attempt, status);
+            } catch (ResourceAccessException ex) {
+                if (attempt >= partMaxAttempts) {
+                    throw ex;
+                }
+                log.warn("linkedin_part_retry firstByte={} attempt={} error={}", firstByte, attempt, ex.getMessage());
+            }
+            sleep(partRetryBackoffMs << (attempt - 1));
+        }
+    }
+
+    private void complete(String accessToken, String mediaArtifact, String metadata, List<String> etags) {
+        List<Map<String, Object>> partResponses = etags.stream()
+                .map(etag -> Map.<String, Object>of(
+                        "httpStatusCode", 200,
+                        "headers", Map.of("ETag", etag == null ? "" : etag)))
+                .toList();
+
+        restTemplate.exchange(
+                apiBaseUrl + "/assets?action=completeMultiPartUpload",
+                HttpMethod.POST,
+                new HttpEntity<>(Map.of("completeMultipartUploadRequest", Map.of(
+                        "mediaArtifact", mediaArtifact,
+                        "metadata", metadata == null ? "" : metadata,
+                        "partUploadResponses", partResponses
+                )), jsonHeaders(accessToken)),
+                Void.class
+        );
+    }
+
+    private HttpHeaders jsonHeaders(String accessToken) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(accessToken);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Restli-Protocol-Version", "2.0.0");
+        return headers;
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new PublishException("Interrupted while retrying LinkedIn part upload", ex);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        partUploader.shutdown();
+        partUploader.awaitTermination(30, TimeUnit.SECONDS);
+    }
+}
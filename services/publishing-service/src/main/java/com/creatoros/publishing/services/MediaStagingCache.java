@@ -0,0 +1,247 @@
+package com.creatoros.publishing.services;
+
+import com.creatoros.publishing.client.AssetServiceClient;
+import com.creatoros.publishing.exceptions.PublishException;
+import com.creatoros.publishing.models.MediaFileDTO;
+import com.creatoros.publishing.models.StagedMedia;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+/**
+ * Local disk cache of assets downloaded from the Asset Service, so publishing the same video to
+ * several channels, or retrying a publish, does not transfer it again.
+ *
+ * <p>Entries are keyed by asset id, checksum and size, so content replaced under the same id is
+ * downloaded again rather than served stale. Every acquire reads the asset's metadata with the
+ * caller's credentials, which both authorizes the caller and yields the current key. Concurrent
+ * requests for content that is still downloading wait on the same download. Each caller holds a
+ * {@link StagedMedia} lease; leased entries are never evicted, and unleased ones are evicted
+ * least-recently-used first once the staged bytes exceed {@code publishing.media-staging.max-bytes}.
+ * A download that cannot fit even after evicting every unleased entry is refused with a transient
+ * error, to be retried once leases are released.
+ */
+@Component
+@Slf4j
+public class MediaStagingCache {
+
+    private final AssetServiceClient assetServiceClient;
+    private final MeterRegistry meterRegistry;
+    private final Path directory;
+    private final long maxBytes;
+
+    private final Object lock = new Object();
+    // Access-ordered, so iteration starts at the least recently used entry. Guarded by lock.
+    private final LinkedHashMap<StagingKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Bytes staged or reserved for downloads in progress. Guarded by lock.
+    private long stagedBytes;
+
+    public MediaStagingCache(
+            AssetServiceClient assetServiceClient,
+            MeterRegistry meterRegistry,
+            @Value("${publishing.media-staging.dir:${java.io.tmpdir}/creatoros-media-staging}") String directory,
+            @Value("${publishing.media-staging.max-bytes:21474836480}") long maxBytes
+    ) {
+        this.assetServiceClient = assetServiceClient;
+        this.meterRegistry = meterRegistry;
+        this.directory = Paths.get(directory);
+        this.maxBytes = maxBytes;
+
+        Gauge.builder("publishing.media.staging.bytes", this, cache -> cache.stagedBytes())
+                .description("Bytes of asset data staged on local disk")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        Files.createDirectories(directory);
+        // Nothing survives a restart: staged files have no metadata or leases to go with them
+        try (Stream<Path> leftovers = Files.list(directory)) {
+            leftovers.forEach(this::deleteQuietly);
+        }
+    }
+
+    /**
+     * Returns a lease on the staged asset, downloading it first if no other caller has.
+     * The caller must close the lease when done reading the file.
+     */
+    public StagedMedia acquire(UUID mediaId, UUID userId) {
+        MediaFileDTO metadata = assetServiceClient.getFileMetadata(mediaId, userId);
+        if (metadata == null) {
+            throw new IllegalStateException("Asset metadata not found: " + mediaId);
+        }
+        if (metadata.getSizeBytes() == null || metadata.getSizeBytes() < 0) {
+            throw new PublishException("Asset " + mediaId + " has no recorded size", "BAD_PAYLOAD");
+        }
+        StagingKey key = new StagingKey(mediaId, metadata.getChecksum(), metadata.getSizeBytes());
+
+        Entry entry;
+        boolean owner = false;
+        synchronized (lock) {
+            entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(key);
+                entries.put(key, entry);
+                owner = true;
+            }
+            entry.refCount++;
+        }
+
+        try {
+            if (owner) {
+                meterRegistry.counter("publishing.media.staging.requests", "result", "miss").increment();
+                stage(entry, metadata, userId);
+            } else {
+                boolean pending = !entry.ready.isDone();
+                meterRegistry.counter("publishing.media.staging.requests", "result", pending ? "coalesced" : "hit").increment();
+                awaitReady(entry);
+            }
+        } catch (RuntimeException ex) {
+            release(entry);
+            throw ex;
+        }
+
+        Entry leased = entry;
+        return new StagedMedia(leased.metadata, leased.file, () -> release(leased));
+    }
+
+    private void stage(Entry entry, MediaFileDTO metadata, UUID userId) {
+        UUID mediaId = entry.key.mediaId();
+        long sizeBytes = entry.key.sizeBytes();
+        Path partial = null;
+        boolean reserved = false;
+        try {
+            // Reserve the space up front so concurrent downloads cannot overrun the disk budget
+            List<Path> evicted;
+            boolean fits;
+            synchronized (lock) {
+                stagedBytes += sizeBytes;
+                reserved = true;
+                evicted = evictWhileOverBudget();
+                fits = stagedBytes <= maxBytes;
+            }
+            evicted.forEach(this::deleteQuietly);
+            if (!fits) {
+                meterRegistry.counter("publishing.media.staging.rejections").increment();
+                throw new PublishException("Media staging disk is full with leased assets; cannot stage "
+                        + mediaId + " (" + sizeBytes + " bytes)", "TRANSIENT");
+            }
+
+            Path target = directory.resolve(mediaId + "-" + sizeBytes + "-" + UUID.randomUUID());
+            partial = directory.resolve(target.getFileName() + ".part");
+            long startedAt = System.nanoTime();
+            assetServiceClient.downloadTo(mediaId, userId, partial);
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            entry.metadata = metadata;
+            entry.file = target;
+            entry.ready.complete(null);
+            meterRegistry.counter("publishing.media.staging.downloaded.bytes").increment(sizeBytes);
+            log.info("media_staged mediaId={} sizeBytes={} durationMs={}",
+                    mediaId, sizeBytes, (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (IOException | RuntimeException ex) {
+            if (partial != null) {
+                deleteQuietly(partial);
+            }
+            synchronized (lock) {
+                entries.remove(entry.key, entry);
+                if (reserved) {
+                    stagedBytes -= sizeBytes;
+                }
+            }
+            RuntimeException failure = ex instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new RuntimeException("Failed to stage asset: " + ex.getMessage(), ex);
+            entry.ready.completeExceptionally(failure);
+            throw failure;
+        }
+    }
+
+    private void awaitReady(Entry entry) {
+        try {
+            entry.ready.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new RuntimeException(ex.getCause());
+        }
+    }
+
+    private void release(Entry entry) {
+        List<Path> evicted;
+        synchronized (lock) {
+            entry.refCount--;
+            evicted = evictWhileOverBudget();
+        }
+        evicted.forEach(this::deleteQuietly);
+    }
+
+    /**
+     * Drops unleased entries, least recently used first, until the staged bytes fit the budget.
+     * Returns the files to delete; the caller deletes them outside the lock.
+     */
+    private List<Path> evictWhileOverBudget() {
+        List<Path> evicted = new ArrayList<>();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (stagedBytes > maxBytes && iterator.hasNext()) {
+            Entry candidate = iterator.next();
+            if (candidate.refCount > 0 || candidate.file == null) {
+                continue;
+            }
+            iterator.remove();
+            stagedBytes -= candidate.key.sizeBytes();
+            evicted.add(candidate.file);
+            meterRegistry.counter("publishing.media.staging.evictions").increment();
+            log.debug("media_evicted mediaId={} sizeBytes={}", candidate.key.mediaId(), candidate.key.sizeBytes());
+        }
+        return evicted;
+    }
+
+    private long stagedBytes() {
+        synchronized (lock) {
+            return stagedBytes;
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete staged media {}: {}", file, ex.getMessage());
+        }
+    }
+
+    private record StagingKey(UUID mediaId, String checksum, long sizeBytes) {
+    }
+
+    private static final class Entry {
+        private final StagingKey key;
+        private final CompletableFuture<Void> ready = new CompletableFuture<>();
+        // Written by the downloading thread before ready completes; read after
+        private volatile MediaFileDTO metadata;
+        private volatile Path file;
+        // Guarded by lock
+        private int refCount;
+
+        private Entry(StagingKey key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.creatoros.publishing.services;
+
+import com.creatoros.publishing.exceptions.PublishException;
+import com.creatoros.publishing.models.PublishErrorCategory;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpResponseException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Maps publish failures (platform HTTP errors, I/O errors, our own validation errors)
+ * to a {@link PublishErrorCategory} so the retry scheduler knows whether another attempt can help.
+ */
+@Component
+public class PublishErrorClassifier {
+
+    public Classification classify(Throwable error, String errorMessage) {
+        Throwable current = error;
+        int depth = 0;
+        while (current != null && depth++ < 10) {
+            if (current instanceof PublishException publishException && publishException.getErrorCode() != null) {
+                PublishErrorCategory category = fromErrorCode(publishException.getErrorCode());
+                if (category != null) {
+                    return new Classification(category, null);
+                }
+            }
+            if (current instanceof GoogleJsonResponseException googleException) {
+                return fromStatus(googleException.getStatusCode(), googleReasons(googleException));
+            }
+            if (current instanceof HttpResponseException httpResponseException) {
+                return fromStatus(httpResponseException.getStatusCode(), httpResponseException.getContent());
+            }
+            if (current instanceof HttpStatusCodeException statusCodeException) {
+                return fromStatus(statusCodeException.getStatusCode().value(), statusCodeException.getResponseBodyAsString());
+            }
+            if (current instanceof ResourceAccessException || current instanceof IOException) {
+                return new Classification(PublishErrorCategory.TRANSIENT, null);
+            }
+            current = current.getCause();
+        }
+        return new Classification(fromMessage(errorMessage != null ? errorMessage : error != null ? error.getMessage() : null), null);
+    }
+
+    private Classification fromStatus(int status, String body) {
+        String detail = body == null ? "" : body.toLowerCase(Locale.ROOT);
+
+        if (detail.contains("invalid_grant") || detail.contains("invalid_token")) {
+            return new Classification(PublishErrorCategory.AUTH, status);
+        }
+        if (detail.contains("quotaexceeded") || detail.contains("uploadlimitexceeded") || detail.contains("quota")) {
+            return new Classification(PublishErrorCategory.QUOTA, status);
+        }
+        if (status == 429 || detail.contains("ratelimitexceeded") || detail.contains("throttl")) {
+            return new Classification(PublishErrorCategory.RATE_LIMITED, status);
+        }
+        if (status == 401 || status == 403) {
+            return new Classification(PublishErrorCategory.AUTH, status);
+        }
+        if (status == 408 || status >= 500) {
+            return new Classification(PublishErrorCategory.TRANSIENT, status);
+        }
+        if (status >= 400) {
+            return new Classification(PublishErrorCategory.BAD_PAYLOAD, status);
+        }
+        return new Classification(PublishErrorCategory.UNKNOWN, status);
+    }
+
+    private PublishErrorCategory fromMessage(String message) {
+        if (message == null) {
+            return PublishErrorCategory.UNKNOWN;
+        }
+        String detail = message.toLowerCase(Locale.ROOT);
+        if (detail.contains("quota")) {
+            return PublishErrorCategory.QUOTA;
+        }
+        if (detail.contains("refresh token not found") || detail.contains("token refresh failed")
+                || detail.contains("access token is empty")) {
+            return PublishErrorCategory.AUTH;
+        }
+        if (detail.contains("connected account not found") || detail.contains("no publisher for platform")) {
+            return PublishErrorCategory.BAD_PAYLOAD;
+        }
+        if (detail.contains("timed out") || detail.contains("connection reset")) {
+            return PublishErrorCategory.TRANSIENT;
+        }
+        return PublishErrorCategory.UNKNOWN;
+    }
+
+    private PublishErrorCategory fromErrorCode(String errorCode) {
+        try {
+            return PublishErrorCategory.valueOf(errorCode.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private String googleReasons(GoogleJsonResponseException exception) {
+        GoogleJsonError details = exception.getDetails();
+        if (details == null || details.getErrors() == null) {
+            return exception.getContent();
+        }
+        StringBuilder reasons = new StringBuilder();
+        for (GoogleJsonError.ErrorInfo info : details.getErrors()) {
+            reasons.append(info.getReason()).append(' ');
+        }
+        return reasons.toString();
+    }
+
+    public record Classification(PublishErrorCategory category, Integer httpStatus) {
+    }
+}
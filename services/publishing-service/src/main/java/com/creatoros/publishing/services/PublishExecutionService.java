@@ -1,21 +1,42 @@
 package com.creatoros.publishing.services;
 
+import com.creatoros.publishing.entities.ConnectedAccount;
 import com.creatoros.publishing.entities.PublishJob;
+import com.creatoros.publishing.entities.PublishJobAttempt;
 import com.creatoros.publishing.entities.PublishedPost;
 import com.creatoros.publishing.kafka.producers.PublishEventProducer;
 import com.creatoros.publishing.models.PublishContext;
+import com.creatoros.publishing.models.PublishLane;
 import com.creatoros.publishing.models.PublishRequestEvent;
+import com.creatoros.publishing.models.PublishStages;
 import com.creatoros.publishing.models.PublishResult;
+import com.creatoros.publishing.models.SharedMedia;
 import com.creatoros.publishing.repositories.ConnectedAccountRepository;
 import com.creatoros.publishing.repositories.PublishedPostRepository;
 import com.creatoros.publishing.strategy.PublisherRegistry;
-import lombok.RequiredArgsConstructor;
+import com.creatoros.publishing.strategy.SocialPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class PublishExecutionService {
 
     private final ConnectedAccountRepository accountRepository;
@@ -23,12 +44,77 @@ public class PublishExecutionService {
     private final PublishJobService publishJobService;
     private final PublishedPostRepository publishedPostRepository;
     private final PublishEventProducer eventProducer;
+    private final PublishErrorClassifier errorClassifier;
+    private final PublishRetryPolicy retryPolicy;
+    private final PublishProgressTracker progressTracker;
+    private final ThreadPoolTaskExecutor publishExecutor;
+    private final ThreadPoolTaskExecutor fanOutPublishExecutor;
+    private final MediaStagingCache mediaStagingCache;
+    private final PublishJobHeartbeat heartbeat;
+    private final ObservationRegistry observationRegistry;
+    private final MeterRegistry meterRegistry;
 
-    public void execute(PublishRequestEvent event) {
-        executeAndReturn(event);
+    public PublishExecutionService(
+            ConnectedAccountRepository accountRepository,
+            PublisherRegistry publisherRegistry,
+            PublishJobService publishJobService,
+            PublishedPostRepository publishedPostRepository,
+            PublishEventProducer eventProducer,
+            PublishErrorClassifier errorClassifier,
+            PublishRetryPolicy retryPolicy,
+            PublishProgressTracker progressTracker,
+            @Qualifier("publishExecutor") ThreadPoolTaskExecutor publishExecutor,
+            @Qualifier("fanOutPublishExecutor") ThreadPoolTaskExecutor fanOutPublishExecutor,
+            MediaStagingCache mediaStagingCache,
+            PublishJobHeartbeat heartbeat,
+            ObservationRegistry observationRegistry,
+            MeterRegistry meterRegistry
+    ) {
+        this.accountRepository = accountRepository;
+        this.publisherRegistry = publisherRegistry;
+        this.publishJobService = publishJobService;
+        this.publishedPostRepository = publishedPostRepository;
+        this.eventProducer = eventProducer;
+        this.errorClassifier = errorClassifier;
+        this.retryPolicy = retryPolicy;
+        this.progressTracker = progressTracker;
+        this.publishExecutor = publishExecutor;
+        this.fanOutPublishExecutor = fanOutPublishExecutor;
+        this.mediaStagingCache = mediaStagingCache;
+        this.heartbeat = heartbeat;
+        this.observationRegistry = observationRegistry;
+        this.meterRegistry = meterRegistry;
     }
 
-    public PublishExecutionOutcome executeAndReturn(PublishRequestEvent event) {
+    /**
+     * Runs a publish on the caller's thread; used by the Kafka lanes, whose listener threads are
+     * the lane's capacity.
+     *
+     * @param enqueuedAt when the request entered its lane, for start-latency measurement
+     */
+    public void execute(PublishRequestEvent event, PublishLane lane, Instant enqueuedAt) {
+        executeAndReturn(event, lane, enqueuedAt);
+    }
+
+    public PublishExecutionOutcome executeAndReturn(PublishRequestEvent event, PublishLane lane, Instant enqueuedAt) {
+        PublishJob job = publishJobService.createJob(event);
+
+        eventProducer.publishStarted(
+            job.getUserId(),
+            event.getEmail(),
+            job.getId(),
+            event.getPlatform()
+        );
+
+        return runAttempt(job, event, null, lane, enqueuedAt);
+    }
+
+    /**
+     * Creates the job and runs it on the interactive lane's executor, returning as soon as the job is persisted.
+     * If the executor is saturated the job stays PENDING and is parked for {@link PublishRetryScheduler}
+     * rather than blocking the caller; parking does not count as a retry.
+     */
+    public PublishJob submit(PublishRequestEvent event) {
         PublishJob job = publishJobService.createJob(event);
 
         eventProducer.publishStarted(
@@ -38,49 +124,252 @@ public class PublishExecutionService {
             event.getPlatform()
         );
 
+        Instant enqueuedAt = Instant.now();
         try {
+            publishExecutor.execute(() -> runQueued(job, event, null, enqueuedAt));
+        } catch (TaskRejectedException ex) {
+            log.warn("publish_executor_saturated jobId={}", job.getId());
+            publishJobService.markRequeued(job, "publish_executor_saturated", LocalDateTime.now().plusSeconds(30));
+        }
+        return job;
+    }
+
+    /**
+     * Re-executes a job claimed by {@link PublishRetryScheduler} using its original request payload.
+     * Start latency on the retry lane is measured from the moment the job became due.
+     */
+    public PublishExecutionOutcome retry(PublishJob job) {
+        PublishRequestEvent event = publishJobService.restoreEvent(job);
+        Instant dueAt = job.getNextRetryAt() == null
+                ? Instant.now()
+                : job.getNextRetryAt().atZone(ZoneId.systemDefault()).toInstant();
+        job.setCurrentRetryCount((job.getCurrentRetryCount() == null ? 0 : job.getCurrentRetryCount()) + 1);
+        return runAttempt(job, event, null, PublishLane.RETRY, dueAt);
+    }
+
+    /**
+     * Runs a job claimed by {@link PublishRetryScheduler} that never reached a worker: parked on
+     * saturation or orphaned in the executor queue of an instance that went away. No attempt was
+     * made, so the retry count is left alone.
+     */
+    public PublishExecutionOutcome resume(PublishJob job) {
+        PublishRequestEvent event = publishJobService.restoreEvent(job);
+        Instant dueAt = job.getNextRetryAt() == null
+                ? job.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant()
+                : job.getNextRetryAt().atZone(ZoneId.systemDefault()).toInstant();
+        return runAttempt(job, event, null, PublishLane.RETRY, dueAt);
+    }
+
+    /**
+     * Publishes one content item to several connected accounts at once. Each account gets a child
+     * job under a shared parent; children run in parallel and share one resolution of the media
+     * metadata and file, so total latency tracks the slowest platform. They run on the fan-out
+     * executor, so a wide fan-out cannot take the threads single "publish now" requests run on.
+     */
+    public FanOutSubmission submitFanOut(PublishRequestEvent template, List<ConnectedAccount> accounts) {
+        PublishJob parent = publishJobService.createParentJob(template);
+        SharedMedia sharedMedia = new SharedMedia(
+                () -> mediaStagingCache.acquire(template.getContentItemId(), template.getUserId())
+        );
+
+        List<PublishJob> children = new ArrayList<>();
+        List<CompletableFuture<PublishExecutionOutcome>> runs = new ArrayList<>();
+        Instant enqueuedAt = Instant.now();
+        for (ConnectedAccount account : accounts) {
+            PublishRequestEvent childEvent = forAccount(template, account);
+            PublishJob child = publishJobService.createJob(childEvent, parent.getId());
+            children.add(child);
+
+            eventProducer.publishStarted(
+                child.getUserId(),
+                childEvent.getEmail(),
+                child.getId(),
+                childEvent.getPlatform()
+            );
+
+            try {
+                runs.add(CompletableFuture.supplyAsync(
+                        () -> runQueued(child, childEvent, sharedMedia, enqueuedAt),
+                        fanOutPublishExecutor));
+            } catch (RejectedExecutionException ex) {
+                log.warn("fan_out_executor_saturated jobId={} parentJobId={}", child.getId(), parent.getId());
+                publishJobService.markRequeued(child, "fan_out_executor_saturated", LocalDateTime.now().plusSeconds(30));
+            }
+        }
+
+        CompletableFuture.allOf(runs.toArray(new CompletableFuture[0])).whenComplete((ignored, ex) -> {
+            sharedMedia.close();
+            publishJobService.refreshParentStatus(parent.getId());
+        });
+
+        return new FanOutSubmission(parent, children);
+    }
+
+    private PublishRequestEvent forAccount(PublishRequestEvent template, ConnectedAccount account) {
+        PublishRequestEvent event = new PublishRequestEvent();
+        event.setEventId(UUID.randomUUID());
+        event.setUserId(template.getUserId());
+        event.setContentItemId(template.getContentItemId());
+        event.setConnectedAccountId(account.getId());
+        event.setPlatform(account.getPlatform().toUpperCase());
+        event.setPostType(template.getPostType());
+        event.setScheduledAt(template.getScheduledAt());
+        event.setEmail(template.getEmail());
+        event.setTitle(template.getTitle());
+        event.setDescription(template.getDescription());
+        event.setGcsPath(template.getGcsPath());
+        event.setPrivacyStatus(template.getPrivacyStatus());
+        event.setTags(template.getTags());
+        event.setCategoryId(template.getCategoryId());
+        return event;
+    }
+
+    /**
+     * Body of an interactive executor task. The job may have sat in the queue long enough for the
+     * retry poller to treat it as orphaned, so it is claimed first and skipped if already taken.
+     */
+    private PublishExecutionOutcome runQueued(PublishJob job, PublishRequestEvent event, SharedMedia sharedMedia,
+                                              Instant enqueuedAt) {
+        if (!publishJobService.claimPending(job)) {
+            log.info("publish_queued_job_already_claimed jobId={}", job.getId());
+            return null;
+        }
+        return runAttempt(job, event, sharedMedia, PublishLane.INTERACTIVE, enqueuedAt);
+    }
+
+    /**
+     * Runs one attempt inside a {@code publishing.publish.attempt} observation (timer + root span,
+     * tagged by platform, lane and final job status). Each stage underneath is timed by {@link PublishStages}
+     * and the per-stage durations are stored on the attempt row.
+     */
+    private PublishExecutionOutcome runAttempt(PublishJob job, PublishRequestEvent event, SharedMedia sharedMedia,
+                                               PublishLane lane, Instant enqueuedAt) {
+        String platform = event.getPlatform() == null ? "UNKNOWN" : event.getPlatform().toUpperCase();
+        recordStartLatency(lane, enqueuedAt);
+        Observation observation = Observation.createNotStarted("publishing.publish.attempt", observationRegistry)
+                .contextualName("publish " + platform)
+                .lowCardinalityKeyValue("platform", platform)
+                .lowCardinalityKeyValue("lane", lane.tag())
+                .highCardinalityKeyValue("publish.job.id", String.valueOf(job.getId()))
+                .start();
+        PublishStages stages = new PublishStages(observationRegistry, observation, platform);
+
+        heartbeat.start(job.getId());
+        try (Observation.Scope ignored = observation.openScope()) {
+            return runAttempt(job, event, sharedMedia, stages);
+        } catch (RuntimeException ex) {
+            observation.error(ex);
+            throw ex;
+        } finally {
+            heartbeat.stop(job.getId());
+            String status = job.getStatus() == null ? "unknown" : job.getStatus().toLowerCase();
+            observation.lowCardinalityKeyValue("outcome", status).stop();
+            log.info("publish_attempt_timed jobId={} platform={} lane={} outcome={} stagesMs={}",
+                    job.getId(), platform, lane.tag(), status, stages.getDurationsMs());
+        }
+    }
+
+    private PublishExecutionOutcome runAttempt(PublishJob job, PublishRequestEvent event, SharedMedia sharedMedia,
+                                               PublishStages stages) {
+        PublishJobAttempt attempt = stages.record(PublishStages.DB_WRITE, () -> {
+            if (PublishJobService.STATUS_PENDING.equals(job.getStatus())) {
+                publishJobService.markInProgress(job);
+            }
+            return publishJobService.startAttempt(job);
+        });
+
+        try {
+            ConnectedAccount account = stages.record(PublishStages.ACCOUNT_LOOKUP, () ->
+                    accountRepository.findByIdAndUserId(event.getConnectedAccountId(), event.getUserId())
+                            .orElseThrow(() ->
+                                    new RuntimeException("Connected account not found: " + event.getConnectedAccountId())
+                            ));
+
             PublishContext context = PublishContext.builder()
+                    .publishJobId(job.getId())
                     .event(event)
-                    .connectedAccount(
-                        accountRepository.findByIdAndUserId(event.getConnectedAccountId(), event.getUserId())
-                                    .orElseThrow(() -> 
-                                        new RuntimeException("Connected account not found: " + event.getConnectedAccountId())
-                                    )
-                    )
+                    .sharedMedia(sharedMedia)
+                    .connectedAccount(account)
+                    .stages(stages)
                     .build();
 
-            PublishResult result = publisherRegistry
-                    .getPublisher(event.getPlatform())
-                    .publish(context);
+            SocialPublisher publisher = stages.record(PublishStages.PUBLISHER_RESOLVE, () ->
+                    publisherRegistry.getPublisher(event.getPlatform()));
+            PublishResult result = publisher.publish(context);
 
             if (result.isSuccess()) {
-                publishJobService.markSuccess(job, result);
-                persistPublishedPost(job, context, result);
+                stages.record(PublishStages.DB_WRITE, () -> {
+                    publishJobService.markSuccess(job, result);
+                    persistPublishedPost(job, context, result);
+                });
+                // Written last so the stored durations include the writes above
+                publishJobService.completeAttempt(attempt, result, stages.getDurationsMs());
                 emitPublishSucceeded(job, context, result);
+                finish(job, result);
                 return new PublishExecutionOutcome(job, result);
             }
 
-            publishJobService.markFailure(job, result.getErrorMessage());
-            emitPublishFailed(job, event, result.getErrorMessage());
-            emitPublishRetryRequested(job, event, result.getErrorMessage());
+            handleFailure(job, attempt, event, result.getErrorMessage(), result.getCause(), stages);
+            finish(job, result);
             return new PublishExecutionOutcome(job, result);
         } catch (Exception ex) {
-            publishJobService.markFailure(job, ex.getMessage());
-            emitPublishFailed(job, event, ex.getMessage());
-            emitPublishRetryRequested(job, event, ex.getMessage());
-            return new PublishExecutionOutcome(
-                    job,
-                    PublishResult.builder()
-                            .success(false)
-                            .errorMessage(ex.getMessage())
-                            .build()
-            );
+            handleFailure(job, attempt, event, ex.getMessage(), ex, stages);
+            PublishResult result = PublishResult.builder()
+                    .success(false)
+                    .errorMessage(ex.getMessage())
+                    .cause(ex)
+                    .build();
+            finish(job, result);
+            return new PublishExecutionOutcome(job, result);
+        }
+    }
+
+    private void handleFailure(PublishJob job, PublishJobAttempt attempt, PublishRequestEvent event,
+                               String errorMessage, Throwable cause, PublishStages stages) {
+        PublishErrorClassifier.Classification classification = errorClassifier.classify(cause, errorMessage);
+
+        if (retryPolicy.shouldRetry(job, classification.category())) {
+            LocalDateTime nextRetryAt = retryPolicy.nextRetryAt(job, classification.category());
+            stages.record(PublishStages.DB_WRITE, () -> publishJobService.markRetryScheduled(job, errorMessage, nextRetryAt));
+            publishJobService.failAttempt(attempt, errorMessage, classification.category(), classification.httpStatus(),
+                    stages.getDurationsMs());
+            log.warn("publish_retry_scheduled jobId={} attempt={} category={} nextRetryAt={}",
+                    job.getId(), attempt.getAttemptNumber(), classification.category(), nextRetryAt);
+            emitPublishRetryRequested(job, event, errorMessage);
+            return;
+        }
+
+        stages.record(PublishStages.DB_WRITE, () -> publishJobService.markFailure(job, errorMessage));
+        publishJobService.failAttempt(attempt, errorMessage, classification.category(), classification.httpStatus(),
+                stages.getDurationsMs());
+        log.warn("publish_failed_permanently jobId={} attempt={} category={}",
+                job.getId(), attempt.getAttemptNumber(), classification.category());
+        emitPublishFailed(job, event, errorMessage);
+    }
+
+    /**
+     * Time from entering the lane to the attempt starting; the figure lane capacity is sized for.
+     */
+    private void recordStartLatency(PublishLane lane, Instant enqueuedAt) {
+        Duration waited = Duration.between(enqueuedAt, Instant.now());
+        Timer.builder("publishing.publish.start.latency")
+                .tag("lane", lane.tag())
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)
+                .record(waited.isNegative() ? Duration.ZERO : waited);
+    }
+
+    private void finish(PublishJob job, PublishResult result) {
+        progressTracker.complete(job, result);
+        if (job.getParentJobId() != null) {
+            publishJobService.refreshParentStatus(job.getParentJobId());
         }
     }
 
     private void persistPublishedPost(PublishJob job, PublishContext context, PublishResult result) {
         PublishedPost post = PublishedPost.builder()
                 .publishJobId(job.getId())
+                .userId(job.getUserId())
                 .connectedAccountId(context.getConnectedAccount().getId())
                 .platform(context.getEvent().getPlatform())
                 .platformPostId(result.getPlatformPostId())
@@ -114,11 +403,6 @@ public class PublishExecutionService {
     }
 
     private void emitPublishRetryRequested(PublishJob job, PublishRequestEvent event, String reason) {
-        if (job.getCurrentRetryCount() != null && job.getMaxRetries() != null
-                && job.getCurrentRetryCount() >= job.getMaxRetries()) {
-            return;
-        }
-
         eventProducer.publishRetryRequested(
                 job.getUserId(),
                 event.getEmail(),
@@ -130,4 +414,7 @@ public class PublishExecutionService {
 
     public record PublishExecutionOutcome(PublishJob job, PublishResult result) {
     }
+
+    public record FanOutSubmission(PublishJob parent, List<PublishJob> children) {
+    }
 }
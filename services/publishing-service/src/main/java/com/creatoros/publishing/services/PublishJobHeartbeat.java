@@ -0,0 +1,52 @@
+package com.creatoros.publishing.services;
+
+import com.creatoros.publishing.repositories.PublishJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps {@code updated_at} fresh on jobs whose attempt is running on this instance. Stale-claim
+ * recovery in {@link PublishRetryScheduler} goes by {@code updated_at}, so without this a long
+ * upload would be taken for an orphan and run a second time.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PublishJobHeartbeat {
+
+    private static final List<String> RUNNING_STATUSES = List.of(
+            PublishJobService.STATUS_IN_PROGRESS,
+            PublishJobService.STATUS_RETRYING
+    );
+
+    private final PublishJobRepository publishJobRepository;
+    private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+
+    public void start(UUID jobId) {
+        running.add(jobId);
+    }
+
+    public void stop(UUID jobId) {
+        running.remove(jobId);
+    }
+
+    @Scheduled(fixedDelayString = "${publishing.retry.heartbeat-interval-ms:60000}")
+    public void beat() {
+        if (running.isEmpty()) {
+            return;
+        }
+        try {
+            publishJobRepository.touchRunning(List.copyOf(running), RUNNING_STATUSES, LocalDateTime.now());
+        } catch (RuntimeException ex) {
+            log.warn("publish_job_heartbeat_failed running={} error={}", running.size(), ex.getMessage());
+        }
+    }
+}
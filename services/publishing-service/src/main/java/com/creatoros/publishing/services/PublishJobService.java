@@ -1,23 +1,47 @@
 package com.creatoros.publishing.services;
 
 import com.creatoros.publishing.entities.PublishJob;
+import com.creatoros.publishing.entities.PublishJobAttempt;
+import com.creatoros.publishing.models.PublishErrorCategory;
 import com.creatoros.publishing.models.PublishRequestEvent;
 import com.creatoros.publishing.models.PublishResult;
+import com.creatoros.publishing.repositories.PublishJobAttemptRepository;
 import com.creatoros.publishing.repositories.PublishJobRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 @Service
 public class PublishJobService {
 
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_IN_PROGRESS = "IN_PROGRESS";
+    public static final String STATUS_SUCCESS = "SUCCESS";
+    public static final String STATUS_PARTIAL_SUCCESS = "PARTIAL_SUCCESS";
+    public static final String STATUS_FAILED = "FAILED";
+    public static final String STATUS_RETRY_SCHEDULED = "RETRY_SCHEDULED";
+    public static final String STATUS_RETRYING = "RETRYING";
+    public static final String PLATFORM_MULTI = "MULTI";
+
     private final PublishJobRepository publishJobRepository;
+    private final PublishJobAttemptRepository publishJobAttemptRepository;
+    private final ObjectMapper objectMapper;
 
-    public PublishJobService(PublishJobRepository publishJobRepository) {
+    public PublishJobService(
+            PublishJobRepository publishJobRepository,
+            PublishJobAttemptRepository publishJobAttemptRepository,
+            ObjectMapper objectMapper
+    ) {
         this.publishJobRepository = publishJobRepository;
+        this.publishJobAttemptRepository = publishJobAttemptRepository;
+        this.objectMapper = objectMapper;
     }
 
     public PublishJob createPublishJob(PublishJob publishJob) {
@@ -25,19 +49,80 @@ public class PublishJobService {
     }
 
     public PublishJob createJob(PublishRequestEvent event) {
+        return createJob(event, null);
+    }
+
+    public PublishJob createJob(PublishRequestEvent event, UUID parentJobId) {
         PublishJob job = new PublishJob();
+        job.setParentJobId(parentJobId);
         job.setUserId(event.getUserId());
         job.setConnectedAccountId(event.getConnectedAccountId());
         job.setContentItemId(event.getContentItemId());
         job.setPlatform(event.getPlatform());
         job.setPostType(event.getPostType() == null || event.getPostType().isBlank() ? "POST" : event.getPostType());
-        job.setStatus("PENDING");
+        job.setStatus(STATUS_PENDING);
+        job.setScheduledAt(event.getScheduledAt());
+        job.setPayloadSnapshot(objectMapper.convertValue(event, new TypeReference<Map<String, Object>>() {}));
+        job.setCreatedAt(LocalDateTime.now());
+        job.setUpdatedAt(LocalDateTime.now());
+        return publishJobRepository.save(job);
+    }
+
+    /**
+     * Creates the parent of a fan-out publish; its status is derived from its children.
+     */
+    public PublishJob createParentJob(PublishRequestEvent event) {
+        PublishJob job = new PublishJob();
+        job.setUserId(event.getUserId());
+        job.setContentItemId(event.getContentItemId());
+        job.setPlatform(PLATFORM_MULTI);
+        job.setPostType(event.getPostType() == null || event.getPostType().isBlank() ? "POST" : event.getPostType());
+        job.setStatus(STATUS_IN_PROGRESS);
+        job.setMaxRetries(0);
         job.setScheduledAt(event.getScheduledAt());
+        job.setStartedAt(LocalDateTime.now());
+        job.setPayloadSnapshot(objectMapper.convertValue(event, new TypeReference<Map<String, Object>>() {}));
         job.setCreatedAt(LocalDateTime.now());
         job.setUpdatedAt(LocalDateTime.now());
         return publishJobRepository.save(job);
     }
 
+    public List<PublishJob> getChildJobs(UUID parentJobId) {
+        return publishJobRepository.findByParentJobId(parentJobId);
+    }
+
+    /**
+     * Recomputes a fan-out parent's status from its children: IN_PROGRESS while any child can still
+     * change, then SUCCESS, PARTIAL_SUCCESS or FAILED.
+     */
+    public void refreshParentStatus(UUID parentJobId) {
+        PublishJob parent = publishJobRepository.findById(parentJobId).orElse(null);
+        if (parent == null) {
+            return;
+        }
+
+        List<PublishJob> children = publishJobRepository.findByParentJobId(parentJobId);
+        long succeeded = children.stream().filter(child -> STATUS_SUCCESS.equals(child.getStatus())).count();
+        long failed = children.stream().filter(child -> STATUS_FAILED.equals(child.getStatus())).count();
+
+        String status;
+        if (succeeded + failed < children.size()) {
+            status = STATUS_IN_PROGRESS;
+        } else if (failed == 0) {
+            status = STATUS_SUCCESS;
+        } else if (succeeded == 0) {
+            status = STATUS_FAILED;
+        } else {
+            status = STATUS_PARTIAL_SUCCESS;
+        }
+
+        parent.setStatus(status);
+        parent.setFinishedAt(STATUS_IN_PROGRESS.equals(status) ? null : LocalDateTime.now());
+        parent.setLastErrorMessage(failed == 0 ? null : failed + " of " + children.size() + " platforms failed");
+        parent.setUpdatedAt(LocalDateTime.now());
+        publishJobRepository.save(parent);
+    }
+
     public Optional<PublishJob> getPublishJob(UUID jobId) {
         return publishJobRepository.findById(jobId);
     }
@@ -54,12 +139,45 @@ public class PublishJobService {
         return publishJobRepository.save(publishJob);
     }
 
+    public void markInProgress(PublishJob job) {
+        job.setStartedAt(LocalDateTime.now());
+        job.setStatus(STATUS_IN_PROGRESS);
+        job.setUpdatedAt(LocalDateTime.now());
+        publishJobRepository.save(job);
+    }
+
+    /**
+     * Takes a queued job for this instance. Returns false when the retry poller swept it up first.
+     */
+    public boolean claimPending(PublishJob job) {
+        LocalDateTime now = LocalDateTime.now();
+        if (publishJobRepository.transitionStatus(job.getId(), STATUS_PENDING, STATUS_IN_PROGRESS, now) == 0) {
+            return false;
+        }
+        job.setStatus(STATUS_IN_PROGRESS);
+        job.setStartedAt(now);
+        job.setUpdatedAt(now);
+        return true;
+    }
+
+    /**
+     * Parks a job that never got a worker. It stays PENDING, so no retry is spent, and the retry
+     * poller picks it up once {@code runAfter} passes.
+     */
+    public void markRequeued(PublishJob job, String reason, LocalDateTime runAfter) {
+        job.setNextRetryAt(runAfter);
+        job.setLastErrorMessage(reason);
+        job.setUpdatedAt(LocalDateTime.now());
+        publishJobRepository.save(job);
+    }
+
     public void markSuccess(PublishJob job, PublishResult result) {
         if (job.getStartedAt() == null) {
             job.setStartedAt(LocalDateTime.now());
         }
         job.setFinishedAt(LocalDateTime.now());
-        job.setStatus("SUCCESS");
+        job.setStatus(STATUS_SUCCESS);
+        job.setNextRetryAt(null);
         job.setLastErrorMessage(null);
         job.setUpdatedAt(LocalDateTime.now());
         publishJobRepository.save(job);
@@ -70,12 +188,80 @@ public class PublishJobService {
             job.setStartedAt(LocalDateTime.now());
         }
         job.setFinishedAt(LocalDateTime.now());
-        job.setStatus("FAILED");
+        job.setStatus(STATUS_FAILED);
+        job.setNextRetryAt(null);
+        job.setLastErrorMessage(errorMessage);
+        job.setUpdatedAt(LocalDateTime.now());
+        publishJobRepository.save(job);
+    }
+
+    public void markRetryScheduled(PublishJob job, String errorMessage, LocalDateTime nextRetryAt) {
+        if (job.getStartedAt() == null) {
+            job.setStartedAt(LocalDateTime.now());
+        }
+        job.setFinishedAt(LocalDateTime.now());
+        job.setStatus(STATUS_RETRY_SCHEDULED);
+        job.setNextRetryAt(nextRetryAt);
         job.setLastErrorMessage(errorMessage);
         job.setUpdatedAt(LocalDateTime.now());
         publishJobRepository.save(job);
     }
 
+    /**
+     * Rebuilds the original publish request from the job's payload snapshot so a retry
+     * runs with exactly the same inputs as the first attempt.
+     */
+    public PublishRequestEvent restoreEvent(PublishJob job) {
+        if (job.getPayloadSnapshot() != null && !job.getPayloadSnapshot().isEmpty()) {
+            return objectMapper.convertValue(job.getPayloadSnapshot(), PublishRequestEvent.class);
+        }
+
+        PublishRequestEvent event = new PublishRequestEvent();
+        event.setUserId(job.getUserId());
+        event.setConnectedAccountId(job.getConnectedAccountId());
+        event.setContentItemId(job.getContentItemId());
+        event.setPlatform(job.getPlatform());
+        event.setPostType(job.getPostType());
+        event.setScheduledAt(job.getScheduledAt());
+        return event;
+    }
+
+    public PublishJobAttempt startAttempt(PublishJob job) {
+        int attemptNumber = (job.getCurrentRetryCount() == null ? 0 : job.getCurrentRetryCount()) + 1;
+        PublishJobAttempt attempt = new PublishJobAttempt(job.getId(), attemptNumber);
+        attempt.setStatus(STATUS_IN_PROGRESS);
+        attempt.setStartedAt(LocalDateTime.now());
+        attempt.setCreatedAt(LocalDateTime.now());
+        return publishJobAttemptRepository.save(attempt);
+    }
+
+    public void completeAttempt(PublishJobAttempt attempt, PublishResult result, Map<String, Long> stageDurations) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("platformPostId", result.getPlatformPostId());
+        response.put("permalink", result.getPermalink());
+
+        attempt.setStatus(STATUS_SUCCESS);
+        attempt.setResponsePayload(response);
+        attempt.setStageDurations(stageDurations);
+        attempt.setFinishedAt(LocalDateTime.now());
+        publishJobAttemptRepository.save(attempt);
+    }
+
+    public void failAttempt(PublishJobAttempt attempt, String errorMessage, PublishErrorCategory category, Integer httpStatus,
+                            Map<String, Long> stageDurations) {
+        attempt.setStatus(STATUS_FAILED);
+        attempt.setErrorMessage(errorMessage);
+        attempt.setErrorCategory(category.name());
+        attempt.setHttpStatus(httpStatus);
+        attempt.setStageDurations(stageDurations);
+        attempt.setFinishedAt(LocalDateTime.now());
+        publishJobAttemptRepository.save(attempt);
+    }
+
+    public List<PublishJobAttempt> getAttempts(UUID jobId) {
+        return publishJobAttemptRepository.findByPublishJobId(jobId);
+    }
+
     public void deletePublishJob(UUID jobId) {
         publishJobRepository.deleteById(jobId);
     }
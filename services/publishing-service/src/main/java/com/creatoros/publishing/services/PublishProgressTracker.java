@@ -0,0 +1,159 @@
+package com.creatoros.publishing.services;
+
+import com.creatoros.publishing.entities.PublishJob;
+import com.creatoros.publishing.models.PublishResult;
+import com.creatoros.publishing.repositories.PublishJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-memory progress of publishes running on this instance, fanned out to Server-Sent Events subscribers.
+ * Durable state stays in publish_jobs; this only carries what happens between status transitions.
+ * Jobs that finish elsewhere (another instance, the Kafka lane, a later retry) are picked up from
+ * the table by a periodic sweep, so no subscriber waits out its timeout for a finished job.
+ */
+@Component
+@Slf4j
+public class PublishProgressTracker {
+
+    private static final Set<String> TERMINAL_STATUSES = Set.of(
+            PublishJobService.STATUS_SUCCESS,
+            PublishJobService.STATUS_PARTIAL_SUCCESS,
+            PublishJobService.STATUS_FAILED
+    );
+
+    private final PublishJobRepository publishJobRepository;
+    private final Map<UUID, Progress> latest = new ConcurrentHashMap<>();
+    private final Map<UUID, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final long emitterTimeoutMs;
+
+    public PublishProgressTracker(
+            PublishJobRepository publishJobRepository,
+            @Value("${publishing.progress.emitter-timeout-ms:1800000}") long emitterTimeoutMs
+    ) {
+        this.publishJobRepository = publishJobRepository;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+    }
+
+    public static boolean isTerminal(String status) {
+        return TERMINAL_STATUSES.contains(status);
+    }
+
+    public SseEmitter subscribe(UUID publishJobId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        subscribers.computeIfAbsent(publishJobId, id -> new CopyOnWriteArrayList<>()).add(emitter);
+        emitter.onCompletion(() -> unsubscribe(publishJobId, emitter));
+        emitter.onTimeout(() -> unsubscribe(publishJobId, emitter));
+        emitter.onError(ex -> unsubscribe(publishJobId, emitter));
+
+        Progress progress = latest.get(publishJobId);
+        if (progress != null) {
+            send(publishJobId, emitter, "progress", progress);
+        }
+        return emitter;
+    }
+
+    public void update(UUID publishJobId, String stage, Integer percent) {
+        if (publishJobId == null) {
+            return;
+        }
+        Progress progress = new Progress(stage, percent, LocalDateTime.now());
+        latest.put(publishJobId, progress);
+        for (SseEmitter emitter : subscribers.getOrDefault(publishJobId, List.of())) {
+            send(publishJobId, emitter, "progress", progress);
+        }
+    }
+
+    /**
+     * Pushes the job's stored state to its subscribers: a "completed" event that closes the
+     * streams when the job is terminal, otherwise a "status" event.
+     */
+    public void publishState(PublishJob job) {
+        if (isTerminal(job.getStatus())) {
+            complete(job, null);
+            return;
+        }
+        Map<String, Object> status = outcome(job, null);
+        for (SseEmitter emitter : subscribers.getOrDefault(job.getId(), List.of())) {
+            send(job.getId(), emitter, "status", status);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${publishing.progress.sweep-interval-ms:15000}")
+    public void sweepSubscriptions() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        for (PublishJob job : publishJobRepository.findAllById(subscribers.keySet())) {
+            if (isTerminal(job.getStatus())) {
+                complete(job, null);
+            }
+        }
+    }
+
+    public Optional<Progress> getProgress(UUID publishJobId) {
+        return Optional.ofNullable(latest.get(publishJobId));
+    }
+
+    public void complete(PublishJob job, PublishResult result) {
+        latest.remove(job.getId());
+        List<SseEmitter> emitters = subscribers.remove(job.getId());
+        if (emitters == null) {
+            return;
+        }
+        Map<String, Object> outcome = outcome(job, result);
+        for (SseEmitter emitter : emitters) {
+            send(job.getId(), emitter, "completed", outcome);
+            emitter.complete();
+        }
+    }
+
+    public static Map<String, Object> outcome(PublishJob job, PublishResult result) {
+        Map<String, Object> outcome = new HashMap<>();
+        outcome.put("publishJobId", job.getId());
+        outcome.put("status", job.getStatus());
+        if (job.getNextRetryAt() != null) {
+            outcome.put("nextRetryAt", job.getNextRetryAt());
+        }
+        if (result != null && result.isSuccess()) {
+            outcome.put("platformPostId", result.getPlatformPostId());
+            outcome.put("permalink", result.getPermalink());
+        } else if (job.getLastErrorMessage() != null) {
+            outcome.put("error", job.getLastErrorMessage());
+        }
+        return outcome;
+    }
+
+    private void send(UUID publishJobId, SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Dropping progress subscriber for job {}: {}", publishJobId, ex.getMessage());
+            unsubscribe(publishJobId, emitter);
+        }
+    }
+
+    private void unsubscribe(UUID publishJobId, SseEmitter emitter) {
+        subscribers.computeIfPresent(publishJobId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    public record Progress(String stage, Integer percent, LocalDateTime updatedAt) {
+    }
+}
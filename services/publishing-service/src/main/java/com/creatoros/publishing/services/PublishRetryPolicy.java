@@ -0,0 +1,63 @@
+package com.creatoros.publishing.services;
+
+import com.creatoros.publishing.entities.PublishJob;
+import com.creatoros.publishing.models.PublishErrorCategory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether a failed job is retried and when. Delays grow exponentially per retry
+ * and are jittered so jobs that failed together (e.g. a platform outage) do not retry together.
+ * Failures nobody could classify get at most {@code publishing.retry.max-unknown-retries}
+ * retries, since repeating an error of unknown cause rarely helps and can repeat a side effect.
+ */
+@Component
+public class PublishRetryPolicy {
+
+    private final long initialBackoffSeconds;
+    private final long maxBackoffSeconds;
+    private final long quotaBackoffSeconds;
+    private final int maxUnknownRetries;
+
+    public PublishRetryPolicy(
+            @Value("${publishing.retry.initial-backoff-seconds:30}") long initialBackoffSeconds,
+            @Value("${publishing.retry.max-backoff-seconds:3600}") long maxBackoffSeconds,
+            @Value("${publishing.retry.quota-backoff-seconds:3600}") long quotaBackoffSeconds,
+            @Value("${publishing.retry.max-unknown-retries:1}") int maxUnknownRetries
+    ) {
+        this.initialBackoffSeconds = initialBackoffSeconds;
+        this.maxBackoffSeconds = maxBackoffSeconds;
+        this.quotaBackoffSeconds = quotaBackoffSeconds;
+        this.maxUnknownRetries = maxUnknownRetries;
+    }
+
+    public boolean shouldRetry(PublishJob job, PublishErrorCategory category) {
+        if (!category.isRetryable()) {
+            return false;
+        }
+        int retries = job.getCurrentRetryCount() == null ? 0 : job.getCurrentRetryCount();
+        int maxRetries = job.getMaxRetries() == null ? 0 : job.getMaxRetries();
+        if (category == PublishErrorCategory.UNKNOWN) {
+            maxRetries = Math.min(maxRetries, maxUnknownRetries);
+        }
+        return retries < maxRetries;
+    }
+
+    public LocalDateTime nextRetryAt(PublishJob job, PublishErrorCategory category) {
+        int retries = job.getCurrentRetryCount() == null ? 0 : job.getCurrentRetryCount();
+        long multiplier = 1L << Math.min(20, Math.max(0, retries));
+        long ceiling = Math.min(maxBackoffSeconds, Math.max(1L, initialBackoffSeconds) * multiplier);
+
+        // Equal jitter: keep half the delay, randomise the other half.
+        long half = ceiling / 2;
+        long delaySeconds = half + ThreadLocalRandom.current().nextLong(ceiling - half + 1);
+
+        if (category == PublishErrorCategory.QUOTA) {
+            delaySeconds = Math.max(delaySeconds, quotaBackoffSeconds);
+        }
+        return LocalDateTime.now().plusSeconds(delaySeconds);
+    }
+}
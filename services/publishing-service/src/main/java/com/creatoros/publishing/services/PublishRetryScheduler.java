@@ -0,0 +1,151 @@
+package com.creatoros.publishing.services;
+
+import com.creatoros.publishing.entities.PublishJob;
+import com.creatoros.publishing.repositories.PublishJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Polls publish_jobs for retries whose backoff has elapsed and re-executes them on the retry lane.
+ * The table is the delay queue, so scheduled retries survive restarts; each job is
+ * claimed with a conditional status update so only one instance runs it. Only as many jobs are
+ * claimed as there are idle retry workers, so a claimed job starts at once instead of waiting in
+ * the pool queue long enough to look stale and be claimed a second time; the rest stay due for
+ * the next poll.
+ *
+ * <p>The poller also recovers work the interactive executor never finished: PENDING jobs parked
+ * when that executor was saturated or left in its in-memory queue by an instance that went away,
+ * and IN_PROGRESS attempts whose instance died. Parked and orphaned PENDING jobs are resumed
+ * without spending a retry.
+ */
+@Component
+@Slf4j
+public class PublishRetryScheduler {
+
+    private final PublishJobRepository publishJobRepository;
+    private final PublishExecutionService executionService;
+    private final ThreadPoolTaskExecutor retryPublishExecutor;
+    private final long staleClaimMinutes;
+    private final long orphanedPendingMinutes;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public PublishRetryScheduler(
+            PublishJobRepository publishJobRepository,
+            PublishExecutionService executionService,
+            @Qualifier("retryPublishExecutor") ThreadPoolTaskExecutor retryPublishExecutor,
+            @Value("${publishing.retry.stale-claim-minutes:30}") long staleClaimMinutes,
+            @Value("${publishing.retry.orphaned-pending-minutes:10}") long orphanedPendingMinutes
+    ) {
+        this.publishJobRepository = publishJobRepository;
+        this.executionService = executionService;
+        this.retryPublishExecutor = retryPublishExecutor;
+        this.staleClaimMinutes = staleClaimMinutes;
+        this.orphanedPendingMinutes = orphanedPendingMinutes;
+    }
+
+    @Scheduled(fixedDelayString = "${publishing.retry.poll-interval-ms:15000}")
+    public void pollAndRetry() {
+        LocalDateTime now = LocalDateTime.now();
+
+        int released = publishJobRepository.releaseStaleClaims(
+                PublishJobService.STATUS_RETRYING,
+                PublishJobService.STATUS_RETRY_SCHEDULED,
+                now.minusMinutes(staleClaimMinutes),
+                now
+        );
+        released += publishJobRepository.releaseOrphanedAttempts(
+                PublishJobService.STATUS_IN_PROGRESS,
+                PublishJobService.STATUS_RETRY_SCHEDULED,
+                now.minusMinutes(staleClaimMinutes),
+                now
+        );
+        if (released > 0) {
+            log.warn("publish_retry_released_stale_claims count={}", released);
+        }
+
+        int idle = retryPublishExecutor.getMaxPoolSize() - inFlight.get();
+        if (idle <= 0) {
+            return;
+        }
+
+        List<PublishJob> due = publishJobRepository.findTop50ByStatusAndNextRetryAtBeforeOrderByNextRetryAtAsc(
+                PublishJobService.STATUS_RETRY_SCHEDULED,
+                now
+        );
+        int dispatched = dispatch(due, PublishJobService.STATUS_RETRY_SCHEDULED, idle, executionService::retry);
+
+        List<PublishJob> queued = List.of();
+        if (dispatched < idle) {
+            queued = publishJobRepository.findQueuedToResume(
+                    PublishJobService.STATUS_PENDING,
+                    now,
+                    now.minusMinutes(orphanedPendingMinutes),
+                    PageRequest.of(0, idle - dispatched)
+            );
+            dispatched += dispatch(queued, PublishJobService.STATUS_PENDING, idle - dispatched, executionService::resume);
+        }
+
+        if (!due.isEmpty() || !queued.isEmpty()) {
+            log.info("publish_retry_poll due={} resumable={} dispatched={}", due.size(), queued.size(), dispatched);
+        }
+    }
+
+    /**
+     * Claims jobs out of {@code fromStatus} and runs them on the retry lane, up to {@code limit}.
+     * Returns how many were dispatched.
+     */
+    private int dispatch(List<PublishJob> jobs, String fromStatus, int limit, Consumer<PublishJob> run) {
+        int dispatched = 0;
+        for (PublishJob job : jobs) {
+            if (dispatched >= limit) {
+                break;
+            }
+            int claimed = publishJobRepository.transitionStatus(
+                    job.getId(),
+                    fromStatus,
+                    PublishJobService.STATUS_RETRYING,
+                    LocalDateTime.now()
+            );
+            if (claimed == 0) {
+                continue;
+            }
+
+            job.setStatus(PublishJobService.STATUS_RETRYING);
+            inFlight.incrementAndGet();
+            try {
+                retryPublishExecutor.execute(() -> {
+                    try {
+                        run.accept(job);
+                    } catch (Exception ex) {
+                        log.error("publish_retry_failed jobId={} error={}", job.getId(), ex.getMessage(), ex);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+                dispatched++;
+            } catch (TaskRejectedException ex) {
+                inFlight.decrementAndGet();
+                // Retry lane is full: hand the claim back and leave the rest for the next poll
+                publishJobRepository.transitionStatus(
+                        job.getId(),
+                        PublishJobService.STATUS_RETRYING,
+                        fromStatus,
+                        LocalDateTime.now()
+                );
+                break;
+            }
+        }
+        return dispatched;
+    }
+}
@@ -0,0 +1,236 @@
+package com.creatoros.publishing.services;
+
+import com.creatoros.publishing.client.AnalyticsServiceClient;
+import com.creatoros.publishing.entities.AnalyticsHarvestWatermark;
+import com.creatoros.publishing.entities.ConnectedAccount;
+import com.creatoros.publishing.models.DailyPostMetric;
+import com.creatoros.publishing.models.PublishedPostSummary;
+import com.creatoros.publishing.repositories.AnalyticsHarvestWatermarkRepository;
+import com.creatoros.publishing.repositories.ConnectedAccountRepository;
+import com.creatoros.publishing.repositories.PublishedPostRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Periodically copies daily YouTube Analytics figures for recently published videos into
+ * analytics-service, so dashboards read stored rows instead of calling Google on every view.
+ *
+ * <p>Each channel is fetched with one {@code dimensions=video,day} report covering all of its
+ * recent videos, paged and forwarded to analytics-service page by page. A per-channel watermark
+ * records the last day delivered; the next run starts a few days before it because YouTube keeps
+ * revising the most recent days' figures.
+ *
+ * <p>A run can take minutes with many channels, so it relies on {@code spring.task.scheduling.pool.size}
+ * leaving other scheduled jobs threads of their own.
+ */
+@Component
+@Slf4j
+public class YouTubeAnalyticsHarvester {
+
+    private static final String PLATFORM = "YOUTUBE";
+    private static final String METRICS = "views,likes,comments,shares,estimatedMinutesWatched";
+    // Keeps the video== filter well inside URL length limits
+    private static final int VIDEOS_PER_REPORT = 200;
+    private static final int ROWS_PER_PAGE = 1000;
+
+    private final PublishedPostRepository publishedPostRepository;
+    private final ConnectedAccountRepository accountRepository;
+    private final AnalyticsHarvestWatermarkRepository watermarkRepository;
+    private final YouTubeTokenService tokenService;
+    private final AnalyticsServiceClient analyticsServiceClient;
+    private final RestTemplate restTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String analyticsApiBaseUrl;
+    private final long lookbackDays;
+    private final long restatementDays;
+
+    public YouTubeAnalyticsHarvester(
+            PublishedPostRepository publishedPostRepository,
+            ConnectedAccountRepository accountRepository,
+            AnalyticsHarvestWatermarkRepository watermarkRepository,
+            YouTubeTokenService tokenService,
+            AnalyticsServiceClient analyticsServiceClient,
+            RestTemplate restTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${youtube.analytics.api-base-url:https://youtubeanalytics.googleapis.com/v2}") String analyticsApiBaseUrl,
+            @Value("${youtube.analytics.harvest-lookback-days:28}") long lookbackDays,
+            @Value("${youtube.analytics.harvest-restatement-days:3}") long restatementDays
+    ) {
+        this.publishedPostRepository = publishedPostRepository;
+        this.accountRepository = accountRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.tokenService = tokenService;
+        this.analyticsServiceClient = analyticsServiceClient;
+        this.restTemplate = restTemplate;
+        this.meterRegistry = meterRegistry;
+        this.analyticsApiBaseUrl = analyticsApiBaseUrl;
+        this.lookbackDays = lookbackDays;
+        this.restatementDays = restatementDays;
+    }
+
+    @Scheduled(
+            fixedDelayString = "${youtube.analytics.harvest-interval-ms:21600000}",
+            initialDelayString = "${youtube.analytics.harvest-initial-delay-ms:120000}")
+    public void harvest() {
+        LocalDateTime since = LocalDateTime.now().minusDays(lookbackDays);
+        List<UUID> accountIds = publishedPostRepository.findYouTubeAccountIdsPublishedSince(since);
+
+        int harvested = 0;
+        for (UUID accountId : accountIds) {
+            try {
+                harvestAccount(accountId, since);
+                harvested++;
+            } catch (Exception ex) {
+                meterRegistry.counter("youtube.analytics.harvest.failures").increment();
+                log.warn("youtube_analytics_harvest_failed accountId={} error={}", accountId, ex.getMessage());
+            }
+        }
+        if (!accountIds.isEmpty()) {
+            log.info("youtube_analytics_harvest channels={} harvested={}", accountIds.size(), harvested);
+        }
+    }
+
+    void harvestAccount(UUID accountId, LocalDateTime since) {
+        ConnectedAccount account = accountRepository.findById(accountId).orElse(null);
+        if (account == null || !Boolean.TRUE.equals(account.getIsActive())) {
+            return;
+        }
+        List<PublishedPostSummary> videos = publishedPostRepository.findYouTubeVideosPublishedSince(accountId, since);
+        if (videos.isEmpty()) {
+            return;
+        }
+
+        LocalDate endDate = LocalDate.now().minusDays(1);
+        LocalDate firstPublished = videos.get(0).getPublishedAt().toLocalDate();
+        LocalDate startDate = watermarkRepository.findById(accountId)
+                .map(watermark -> watermark.getHarvestedThrough().minusDays(restatementDays - 1))
+                .filter(date -> date.isAfter(firstPublished))
+                .orElse(firstPublished);
+        if (startDate.isAfter(endDate)) {
+            return;
+        }
+
+        Map<String, PublishedPostSummary> byVideoId = new LinkedHashMap<>();
+        videos.forEach(video -> byVideoId.putIfAbsent(video.getPlatformPostId(), video));
+        List<String> videoIds = new ArrayList<>(byVideoId.keySet());
+
+        String accessToken = tokenService.getValidAccessToken(account);
+        long rows = 0;
+        for (int from = 0; from < videoIds.size(); from += VIDEOS_PER_REPORT) {
+            List<String> batch = videoIds.subList(from, Math.min(from + VIDEOS_PER_REPORT, videoIds.size()));
+            rows += harvestReport(account, accessToken, batch, byVideoId, startDate, endDate);
+        }
+
+        watermarkRepository.save(AnalyticsHarvestWatermark.builder()
+                .connectedAccountId(accountId)
+                .harvestedThrough(endDate)
+                .lastHarvestedAt(LocalDateTime.now())
+                .build());
+        meterRegistry.counter("youtube.analytics.harvest.rows").increment(rows);
+        log.info("youtube_analytics_harvested accountId={} videos={} rows={} startDate={} endDate={}",
+                accountId, videoIds.size(), rows, startDate, endDate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private long harvestReport(ConnectedAccount account, String accessToken, List<String> videoIds,
+                               Map<String, PublishedPostSummary> byVideoId, LocalDate startDate, LocalDate endDate) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(accessToken);
+        HttpEntity<Void> entity = new HttpEntity<>(headers);
+        String channel = account.getYoutubeChannelId() != null ? account.getYoutubeChannelId() : "MINE";
+
+        long delivered = 0;
+        int startIndex = 1;
+        while (true) {
+            String url = analyticsApiBaseUrl + "/reports"
+                    + "?ids=channel==" + channel
+                    + "&startDate=" + startDate
+                    + "&endDate=" + endDate
+                    + "&metrics=" + METRICS
+                    + "&dimensions=video,day"
+                    + "&filters=video==" + String.join(",", videoIds)
+                    + "&sort=day"
+                    + "&maxResults=" + ROWS_PER_PAGE
+                    + "&startIndex=" + startIndex;
+
+            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.GET, entity, Map.class);
+            Map<String, Object> body = response.getBody();
+            List<List<Object>> rows = body == null ? null : (List<List<Object>>) body.get("rows");
+            if (rows == null || rows.isEmpty()) {
+                return delivered;
+            }
+
+            Map<String, Integer> columns = columnIndex((List<Map<String, Object>>) body.get("columnHeaders"));
+            List<DailyPostMetric> metrics = new ArrayList<>(rows.size());
+            for (List<Object> row : rows) {
+                PublishedPostSummary post = byVideoId.get(String.valueOf(row.get(columns.get("video"))));
+                if (post == null) {
+                    continue;
+                }
+                metrics.add(DailyPostMetric.builder()
+                        .userId(account.getUserId())
+                        .publishedPostId(post.getId())
+                        .platform(PLATFORM)
+                        .platformPostId(post.getPlatformPostId())
+                        .metricDate(LocalDate.parse(String.valueOf(row.get(columns.get("day")))))
+                        .views(longValue(row, columns.get("views")))
+                        .likes(longValue(row, columns.get("likes")))
+                        .comments(longValue(row, columns.get("comments")))
+                        .shares(longValue(row, columns.get("shares")))
+                        .watchTimeSeconds(doubleValue(row, columns.get("estimatedMinutesWatched")) * 60)
+                        .build());
+            }
+            analyticsServiceClient.upsertDailyMetrics(account.getUserId(), metrics);
+            delivered += metrics.size();
+
+            if (rows.size() < ROWS_PER_PAGE) {
+                return delivered;
+            }
+            startIndex += rows.size();
+        }
+    }
+
+    private Map<String, Integer> columnIndex(List<Map<String, Object>> columnHeaders) {
+        Map<String, Integer> index = new HashMap<>();
+        if (columnHeaders != null) {
+            for (int i = 0; i < columnHeaders.size(); i++) {
+                index.put(String.valueOf(columnHeaders.get(i).get("name")), i);
+            }
+        }
+        // Fall back to the order we asked for if the response omits headers
+        index.putIfAbsent("video", 0);
+        index.putIfAbsent("day", 1);
+        String[] metrics = METRICS.split(",");
+        for (int i = 0; i < metrics.length; i++) {
+            index.putIfAbsent(metrics[i], i + 2);
+        }
+        return index;
+    }
+
+    private long longValue(List<Object> row, Integer column) {
+        Object value = column == null || column >= row.size() ? null : row.get(column);
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    private double doubleValue(List<Object> row, Integer column) {
+        Object value = column == null || column >= row.size() ? null : row.get(column);
+        return value instanceof Number number ? number.doubleValue() : 0.0;
+    }
+}
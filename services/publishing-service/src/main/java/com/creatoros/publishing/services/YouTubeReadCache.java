@@ -0,0 +1,217 @@
+package com.creatoros.publishing.services;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache for YouTube Data API reads. Fresh entries are served from memory; entries
+ * past their TTL but inside the stale window are served immediately while one background
+ * request revalidates them with If-None-Match. Only entries past the stale window block the caller.
+ */
+@Component
+@Slf4j
+public class YouTubeReadCache {
+
+    public enum DataType {
+        CHANNEL_STATISTICS,
+        CHANNEL_VIDEOS
+    }
+
+    private final Map<String, Entry<?>> entries = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Entry<?>>> inFlight = new ConcurrentHashMap<>();
+    // Keys with a revalidation queued or running, so a burst of stale reads submits only one
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final Map<DataType, Duration> ttls;
+    private final Duration staleWindow;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong lookups = new AtomicLong();
+
+    private final ExecutorService revalidator = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "youtube-cache-revalidate");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public YouTubeReadCache(
+            MeterRegistry meterRegistry,
+            @Value("${youtube.cache.channel-statistics-ttl-seconds:300}") long channelStatisticsTtlSeconds,
+            @Value("${youtube.cache.channel-videos-ttl-seconds:600}") long channelVideosTtlSeconds,
+            @Value("${youtube.cache.stale-window-seconds:3600}") long staleWindowSeconds
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.ttls = Map.of(
+                DataType.CHANNEL_STATISTICS, Duration.ofSeconds(channelStatisticsTtlSeconds),
+                DataType.CHANNEL_VIDEOS, Duration.ofSeconds(channelVideosTtlSeconds)
+        );
+        this.staleWindow = Duration.ofSeconds(staleWindowSeconds);
+
+        Gauge.builder("youtube.cache.hit.ratio", this, cache -> cache.hitRatio())
+                .description("Share of YouTube reads served from cache (fresh or stale)")
+                .register(meterRegistry);
+        Gauge.builder("youtube.cache.entries", entries, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * @param quotaCost YouTube quota units a full (non-cached) load of this key costs
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(DataType type, String key, int quotaCost, Loader<T> loader) {
+        String cacheKey = type + ":" + key;
+        lookups.incrementAndGet();
+        Entry<T> entry = (Entry<T>) entries.get(cacheKey);
+        Instant now = Instant.now();
+
+        if (entry != null && now.isBefore(entry.freshUntil())) {
+            recordHit(type, "hit", quotaCost);
+            return entry.value();
+        }
+
+        if (entry != null && now.isBefore(entry.freshUntil().plus(staleWindow))) {
+            // No quota credited: the revalidation below is charged for this read
+            recordHit(type, "stale", 0);
+            if (revalidating.add(cacheKey)) {
+                try {
+                    revalidator.execute(() -> revalidate(type, cacheKey, loader));
+                } catch (RejectedExecutionException ex) {
+                    revalidating.remove(cacheKey);
+                }
+            }
+            return entry.value();
+        }
+
+        meterRegistry.counter("youtube.cache.requests", "type", type.name(), "result", "miss").increment();
+        return load(type, cacheKey, entry, loader).value();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void revalidate(DataType type, String cacheKey, Loader<T> loader) {
+        try {
+            // Another load may have refreshed the entry while this task was queued
+            Entry<T> current = (Entry<T>) entries.get(cacheKey);
+            if (current != null && Instant.now().isBefore(current.freshUntil())) {
+                return;
+            }
+            load(type, cacheKey, current, loader);
+        } catch (RuntimeException ex) {
+            log.warn("youtube_cache_revalidate_failed key={} error={}", cacheKey, ex.getMessage());
+        } finally {
+            revalidating.remove(cacheKey);
+        }
+    }
+
+    public void evictAccount(String accountId) {
+        entries.keySet().removeIf(cacheKey -> cacheKey.contains(":" + accountId));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Entry<T> load(DataType type, String cacheKey, Entry<T> previous, Loader<T> loader) {
+        CompletableFuture<Entry<?>> mine = new CompletableFuture<>();
+        CompletableFuture<Entry<?>> existing = inFlight.putIfAbsent(cacheKey, mine);
+        if (existing != null) {
+            try {
+                return (Entry<T>) existing.join();
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException runtimeException
+                        ? runtimeException
+                        : new RuntimeException(ex.getCause());
+            }
+        }
+
+        try {
+            Fetched<T> fetched = loader.load(previous == null ? null : previous.value(), previous == null ? null : previous.etag());
+            Instant freshUntil = Instant.now().plus(ttls.get(type));
+            Entry<T> updated;
+            if (fetched.notModified() && previous != null) {
+                meterRegistry.counter("youtube.cache.revalidations", "type", type.name(), "result", "not_modified").increment();
+                updated = new Entry<>(previous.value(), previous.etag(), freshUntil);
+            } else {
+                if (previous != null) {
+                    meterRegistry.counter("youtube.cache.revalidations", "type", type.name(), "result", "modified").increment();
+                }
+                updated = new Entry<>(fetched.value(), fetched.etag(), freshUntil);
+            }
+            if (fetched.quotaUnitsSaved() > 0) {
+                meterRegistry.counter("youtube.quota.units.saved", "type", type.name()).increment(fetched.quotaUnitsSaved());
+            }
+            entries.put(cacheKey, updated);
+            mine.complete(updated);
+            return updated;
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } catch (Exception ex) {
+            RuntimeException wrapped = new RuntimeException(ex.getMessage(), ex);
+            mine.completeExceptionally(wrapped);
+            throw wrapped;
+        } finally {
+            inFlight.remove(cacheKey, mine);
+        }
+    }
+
+    private void recordHit(DataType type, String result, int quotaUnitsSaved) {
+        hits.incrementAndGet();
+        meterRegistry.counter("youtube.cache.requests", "type", type.name(), "result", result).increment();
+        if (quotaUnitsSaved > 0) {
+            meterRegistry.counter("youtube.quota.units.saved", "type", type.name()).increment(quotaUnitsSaved);
+        }
+    }
+
+    private double hitRatio() {
+        long total = lookups.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+
+    @Scheduled(fixedDelayString = "${youtube.cache.cleanup-interval-ms:600000}")
+    public void evictExpired() {
+        Instant cutoff = Instant.now().minus(staleWindow);
+        entries.values().removeIf(entry -> entry.freshUntil().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        revalidator.shutdown();
+        revalidator.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @FunctionalInterface
+    public interface Loader<T> {
+        /**
+         * @param previous the cached value being revalidated, or null on a cold miss
+         * @param etag     the ETag stored with {@code previous}, to send as If-None-Match
+         */
+        Fetched<T> load(T previous, String etag) throws Exception;
+    }
+
+    public record Fetched<T>(T value, String etag, boolean notModified, int quotaUnitsSaved) {
+
+        public static <T> Fetched<T> of(T value, String etag) {
+            return new Fetched<>(value, etag, false, 0);
+        }
+
+        public static <T> Fetched<T> notModified(int quotaUnitsSaved) {
+            return new Fetched<>(null, null, true, quotaUnitsSaved);
+        }
+    }
+
+    private record Entry<T>(T value, String etag, Instant freshUntil) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.creatoros.publishing.services;
+
+import com.creatoros.publishing.entities.ConnectedAccount;
+import com.creatoros.publishing.repositories.ConnectedAccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Renews YouTube tokens ahead of expiry for accounts with publishes coming up, so the
+ * publish itself never waits on Google's token endpoint.
+ */
+@Component
+@Slf4j
+public class YouTubeTokenRefresher {
+
+    private final ConnectedAccountRepository accountRepository;
+    private final YouTubeTokenService tokenService;
+    private final long horizonMinutes;
+    private final long refreshBufferMinutes;
+
+    public YouTubeTokenRefresher(
+            ConnectedAccountRepository accountRepository,
+            YouTubeTokenService tokenService,
+            @Value("${youtube.token.proactive-horizon-minutes:30}") long horizonMinutes,
+            @Value("${youtube.token.refresh-buffer-minutes:5}") long refreshBufferMinutes
+    ) {
+        this.accountRepository = accountRepository;
+        this.tokenService = tokenService;
+        this.horizonMinutes = horizonMinutes;
+        this.refreshBufferMinutes = refreshBufferMinutes;
+    }
+
+    @Scheduled(fixedDelayString = "${youtube.token.proactive-poll-interval-ms:60000}")
+    public void refreshUpcoming() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime horizon = now.plusMinutes(horizonMinutes);
+        // The token must outlive the publish window plus the buffer getValidAccessToken applies
+        LocalDateTime validUntil = horizon.plusMinutes(refreshBufferMinutes);
+
+        List<ConnectedAccount> accounts = accountRepository.findYouTubeAccountsWithUpcomingPublishes(now, horizon, validUntil);
+        if (accounts.isEmpty()) {
+            return;
+        }
+
+        int refreshed = 0;
+        for (ConnectedAccount account : accounts) {
+            try {
+                tokenService.getAccessTokenValidUntil(account, validUntil);
+                refreshed++;
+            } catch (Exception ex) {
+                log.warn("youtube_token_proactive_refresh_failed accountId={} error={}", account.getId(), ex.getMessage());
+            }
+        }
+
+        log.info("youtube_token_proactive_refresh candidates={} refreshed={}", accounts.size(), refreshed);
+    }
+}
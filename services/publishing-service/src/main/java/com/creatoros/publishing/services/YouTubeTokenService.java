@@ -15,6 +15,10 @@ import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
@@ -33,28 +37,96 @@ public class YouTubeTokenService {
     @Value("${youtube.token-url}")
     private String tokenUrl;
 
+    @Value("${youtube.token.refresh-buffer-minutes:5}")
+    private long refreshBufferMinutes;
+
+    // Latest known token per connected account, shared by publishes and analytics calls
+    private final Map<UUID, CachedToken> tokenCache = new ConcurrentHashMap<>();
+
+    // At most one refresh per account at a time; concurrent callers await the same future
+    private final Map<UUID, CompletableFuture<CachedToken>> inFlightRefreshes = new ConcurrentHashMap<>();
+
     /**
      * Get a valid access token, refreshing if necessary
      */
     public String getValidAccessToken(ConnectedAccount account) {
-        
-        // Check if token is still valid (with 5-minute buffer)
-        if (account.getTokenExpiresAt() != null &&
-                account.getTokenExpiresAt().isAfter(LocalDateTime.now().plusMinutes(5))) {
+        return getAccessTokenValidUntil(account, LocalDateTime.now().plusMinutes(refreshBufferMinutes));
+    }
+
+    /**
+     * Get an access token that stays valid until {@code validUntil}, refreshing once per account if it would not.
+     * The token and its expiry are also set on {@code account}, so a caller that later saves it never writes
+     * back the token it started with.
+     */
+    public String getAccessTokenValidUntil(ConnectedAccount account, LocalDateTime validUntil) {
+        CachedToken cached = cachedTokenValidUntil(account, validUntil);
+        if (cached != null) {
             log.debug("Using existing access token for account: {}", account.getId());
-            return account.getAccessTokenEnc();
+            return applyTo(account, cached);
         }
 
-        log.info("Access token expired or missing, refreshing for account: {}", account.getId());
-        
-        // Refresh the token
-        return refreshAccessToken(account);
+        CompletableFuture<CachedToken> refresh = new CompletableFuture<>();
+        CompletableFuture<CachedToken> inFlight = inFlightRefreshes.putIfAbsent(account.getId(), refresh);
+        if (inFlight != null) {
+            log.debug("Awaiting in-flight token refresh for account: {}", account.getId());
+            return applyTo(account, await(inFlight));
+        }
+
+        try {
+            // Another caller may have finished a refresh between our cache check and taking the slot
+            CachedToken refreshed = cachedTokenValidUntil(account, validUntil);
+            if (refreshed == null) {
+                log.info("Access token expired or missing, refreshing for account: {}", account.getId());
+                refreshed = refreshAccessToken(account);
+            }
+            refresh.complete(refreshed);
+            return applyTo(account, refreshed);
+        } catch (RuntimeException ex) {
+            refresh.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlightRefreshes.remove(account.getId(), refresh);
+        }
+    }
+
+    private CachedToken cachedTokenValidUntil(ConnectedAccount account, LocalDateTime validUntil) {
+        CachedToken cached = tokenCache.get(account.getId());
+        if (cached != null && cached.expiresAt().isAfter(validUntil)) {
+            return cached;
+        }
+
+        if (account.getAccessTokenEnc() != null && account.getTokenExpiresAt() != null
+                && account.getTokenExpiresAt().isAfter(validUntil)) {
+            return tokenCache.merge(
+                    account.getId(),
+                    new CachedToken(account.getAccessTokenEnc(), account.getTokenExpiresAt()),
+                    (current, candidate) -> current.expiresAt().isAfter(candidate.expiresAt()) ? current : candidate
+            );
+        }
+        return null;
+    }
+
+    private String applyTo(ConnectedAccount account, CachedToken token) {
+        account.setAccessTokenEnc(token.accessToken());
+        account.setTokenExpiresAt(token.expiresAt());
+        return token.accessToken();
+    }
+
+    private CachedToken await(CompletableFuture<CachedToken> refresh) {
+        try {
+            return refresh.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Token refresh failed: " + ex.getMessage(), ex);
+        }
     }
 
     /**
      * Refresh the access token using the refresh token
      */
-    private String refreshAccessToken(ConnectedAccount account) {
+    private CachedToken refreshAccessToken(ConnectedAccount account) {
         
         if (account.getRefreshTokenEnc() == null || account.getRefreshTokenEnc().isEmpty()) {
             throw new RuntimeException("Refresh token not found for account: " + account.getId());
@@ -94,13 +166,18 @@ public class YouTubeTokenService {
             account.setTokenExpiresAt(LocalDateTime.now().plusSeconds(expiresIn != null ? expiresIn : 3600));
             account.setUpdatedAt(LocalDateTime.now());
             repository.save(account);
+            CachedToken refreshed = new CachedToken(newAccessToken, account.getTokenExpiresAt());
+            tokenCache.put(account.getId(), refreshed);
 
             log.info("Successfully refreshed access token for account: {}", account.getId());
-            return newAccessToken;
+            return refreshed;
 
         } catch (Exception ex) {
             log.error("Failed to refresh token for account: {}", account.getId(), ex);
             throw new RuntimeException("Token refresh failed: " + ex.getMessage(), ex);
         }
     }
+
+    private record CachedToken(String accessToken, LocalDateTime expiresAt) {
+    }
 }
@@ -3,12 +3,12 @@ package com.creatoros.publishing.services;
 import com.creatoros.publishing.entities.ConnectedAccount;
 import com.creatoros.publishing.repositories.ConnectedAccountRepository;
 import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.google.api.client.http.HttpResponseException;
 import com.google.api.client.json.jackson2.JacksonFactory;
 import com.google.api.services.youtube.YouTube;
 import com.google.api.services.youtube.model.Channel;
 import com.google.api.services.youtube.model.ChannelListResponse;
 import com.google.api.services.youtube.model.SearchListResponse;
-import com.google.api.services.youtube.model.SearchResult;
 import com.google.api.services.youtube.model.Video;
 import com.google.api.services.youtube.model.VideoListResponse;
 import lombok.RequiredArgsConstructor;
@@ -26,8 +26,15 @@ import java.util.UUID;
 @Slf4j
 public class YouTubeVideoService {
 
+    // YouTube Data API quota cost per call, see https://developers.google.com/youtube/v3/determine_quota_cost
+    private static final int SEARCH_LIST_QUOTA_COST = 100;
+    private static final int VIDEOS_LIST_QUOTA_COST = 1;
+    private static final int CHANNELS_LIST_QUOTA_COST = 1;
+    private static final int HTTP_NOT_MODIFIED = 304;
+
     private final ConnectedAccountRepository accountRepository;
     private final YouTubeTokenService tokenService;
+    private final YouTubeReadCache readCache;
 
     /**
      * Get all videos from a YouTube channel
@@ -41,90 +48,108 @@ public class YouTubeVideoService {
             throw new RuntimeException("Account is not a YouTube account");
         }
 
+        long limit = maxResults != null ? maxResults.longValue() : 10L;
         try {
-            String accessToken = tokenService.getValidAccessToken(account);
-            String channelId = account.getYoutubeChannelId();
-
-            // Build YouTube client
-            YouTube youtube = new YouTube.Builder(
-                    GoogleNetHttpTransport.newTrustedTransport(),
-                    JacksonFactory.getDefaultInstance(),
-                    request -> request.getHeaders().setAuthorization("Bearer " + accessToken)
-            ).setApplicationName("CreatorOS-Publishing").build();
+            return readCache.get(
+                    YouTubeReadCache.DataType.CHANNEL_VIDEOS,
+                    accountId + ":" + limit,
+                    SEARCH_LIST_QUOTA_COST + VIDEOS_LIST_QUOTA_COST,
+                    (previous, etag) -> fetchChannelVideos(account, limit, previous, etag)
+            );
+        } catch (Exception ex) {
+            log.error("Failed to fetch YouTube videos for account: {}", accountId, ex);
+            throw new RuntimeException("Failed to fetch videos: " + ex.getMessage(), ex);
+        }
+    }
 
-            // Search for videos in the channel
-            YouTube.Search.List search = youtube.search().list(List.of("id", "snippet"));
-            search.setChannelId(channelId);
-            search.setType(List.of("video"));
-            search.setOrder("date"); // Most recent first
-            search.setMaxResults(maxResults != null ? maxResults.longValue() : 10L);
+    private YouTubeReadCache.Fetched<List<Map<String, Object>>> fetchChannelVideos(
+            ConnectedAccount account, long limit, List<Map<String, Object>> previous, String etag) throws Exception {
+        YouTube youtube = buildClient(account);
+        String channelId = account.getYoutubeChannelId();
+
+        // Search for videos in the channel; a 304 means the video set is unchanged and saves the 100-unit search
+        YouTube.Search.List search = youtube.search().list(List.of("id", "snippet"));
+        search.setChannelId(channelId);
+        search.setType(List.of("video"));
+        search.setOrder("date"); // Most recent first
+        search.setMaxResults(limit);
+        if (etag != null && previous != null) {
+            search.getRequestHeaders().setIfNoneMatch(etag);
+        }
 
+        List<String> videoIds;
+        String searchEtag;
+        int quotaUnitsSaved = 0;
+        try {
             SearchListResponse searchResponse = search.execute();
-            List<SearchResult> searchResults = searchResponse.getItems();
-
-            if (searchResults.isEmpty()) {
-                log.info("No videos found for channel: {}", channelId);
-                return new ArrayList<>();
-            }
-
-            // Get video IDs
-            List<String> videoIds = searchResults.stream()
+            searchEtag = searchResponse.getEtag();
+            videoIds = searchResponse.getItems().stream()
                     .map(result -> result.getId().getVideoId())
                     .toList();
+        } catch (HttpResponseException ex) {
+            if (ex.getStatusCode() != HTTP_NOT_MODIFIED) {
+                throw ex;
+            }
+            searchEtag = etag;
+            quotaUnitsSaved = SEARCH_LIST_QUOTA_COST;
+            videoIds = previous.stream()
+                    .map(video -> (String) video.get("videoId"))
+                    .toList();
+        }
 
-            // Get video details (statistics)
-            YouTube.Videos.List videoList = youtube.videos()
-                    .list(List.of("snippet", "contentDetails", "statistics", "status"));
-            videoList.setId(videoIds);
-
-            VideoListResponse videoResponse = videoList.execute();
-            List<Video> videos = videoResponse.getItems();
-
-            // Build response
-            List<Map<String, Object>> result = new ArrayList<>();
-            for (Video video : videos) {
-                Map<String, Object> videoData = new HashMap<>();
-                videoData.put("videoId", video.getId());
-                videoData.put("title", video.getSnippet().getTitle());
-                videoData.put("description", video.getSnippet().getDescription());
-                videoData.put("publishedAt", video.getSnippet().getPublishedAt().toString());
-                videoData.put("channelId", video.getSnippet().getChannelId());
-                videoData.put("channelTitle", video.getSnippet().getChannelTitle());
-                videoData.put("thumbnailUrl", video.getSnippet().getThumbnails().getDefault().getUrl());
-                videoData.put("thumbnailHigh", video.getSnippet().getThumbnails().getHigh() != null 
-                        ? video.getSnippet().getThumbnails().getHigh().getUrl() : "");
-                
-                // Statistics
-                if (video.getStatistics() != null) {
-                    Map<String, Object> stats = new HashMap<>();
-                    stats.put("viewCount", video.getStatistics().getViewCount());
-                    stats.put("likeCount", video.getStatistics().getLikeCount());
-                    stats.put("commentCount", video.getStatistics().getCommentCount());
-                    videoData.put("statistics", stats);
-                }
-
-                // Content details
-                if (video.getContentDetails() != null) {
-                    videoData.put("duration", video.getContentDetails().getDuration());
-                }
-
-                // Status
-                if (video.getStatus() != null) {
-                    videoData.put("privacyStatus", video.getStatus().getPrivacyStatus());
-                }
-
-                videoData.put("url", "https://www.youtube.com/watch?v=" + video.getId());
-                
-                result.add(videoData);
+        if (videoIds.isEmpty()) {
+            log.info("No videos found for channel: {}", channelId);
+            return new YouTubeReadCache.Fetched<>(new ArrayList<>(), searchEtag, false, quotaUnitsSaved);
+        }
+
+        // Get video details (statistics); always re-read so counts stay current
+        YouTube.Videos.List videoList = youtube.videos()
+                .list(List.of("snippet", "contentDetails", "statistics", "status"));
+        videoList.setId(videoIds);
+
+        VideoListResponse videoResponse = videoList.execute();
+        List<Video> videos = videoResponse.getItems();
+
+        // Build response
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Video video : videos) {
+            Map<String, Object> videoData = new HashMap<>();
+            videoData.put("videoId", video.getId());
+            videoData.put("title", video.getSnippet().getTitle());
+            videoData.put("description", video.getSnippet().getDescription());
+            videoData.put("publishedAt", video.getSnippet().getPublishedAt().toString());
+            videoData.put("channelId", video.getSnippet().getChannelId());
+            videoData.put("channelTitle", video.getSnippet().getChannelTitle());
+            videoData.put("thumbnailUrl", video.getSnippet().getThumbnails().getDefault().getUrl());
+            videoData.put("thumbnailHigh", video.getSnippet().getThumbnails().getHigh() != null 
+                    ? video.getSnippet().getThumbnails().getHigh().getUrl() : "");
+            
+            // Statistics
+            if (video.getStatistics() != null) {
+                Map<String, Object> stats = new HashMap<>();
+                stats.put("viewCount", video.getStatistics().getViewCount());
+                stats.put("likeCount", video.getStatistics().getLikeCount());
+                stats.put("commentCount", video.getStatistics().getCommentCount());
+                videoData.put("statistics", stats);
             }
 
-            log.info("Fetched {} videos for channel: {}", result.size(), channelId);
-            return result;
+            // Content details
+            if (video.getContentDetails() != null) {
+                videoData.put("duration", video.getContentDetails().getDuration());
+            }
 
-        } catch (Exception ex) {
-            log.error("Failed to fetch YouTube videos for account: {}", accountId, ex);
-            throw new RuntimeException("Failed to fetch videos: " + ex.getMessage(), ex);
+            // Status
+            if (video.getStatus() != null) {
+                videoData.put("privacyStatus", video.getStatus().getPrivacyStatus());
+            }
+
+            videoData.put("url", "https://www.youtube.com/watch?v=" + video.getId());
+            
+            result.add(videoData);
         }
+
+        log.info("Fetched {} videos for channel: {}", result.size(), channelId);
+        return new YouTubeReadCache.Fetched<>(result, searchEtag, false, quotaUnitsSaved);
     }
 
     /**
@@ -203,47 +228,70 @@ public class YouTubeVideoService {
                 .orElseThrow(() -> new RuntimeException("Account not found: " + accountId));
 
         try {
-            String accessToken = tokenService.getValidAccessToken(account);
-            String channelId = account.getYoutubeChannelId();
+            return readCache.get(
+                    YouTubeReadCache.DataType.CHANNEL_STATISTICS,
+                    accountId.toString(),
+                    CHANNELS_LIST_QUOTA_COST,
+                    (previous, etag) -> fetchChannelStatistics(account, etag)
+            );
+        } catch (Exception ex) {
+            log.error("Failed to fetch channel statistics for account: {}", accountId, ex);
+            throw new RuntimeException("Failed to fetch channel statistics: " + ex.getMessage(), ex);
+        }
+    }
 
-            YouTube youtube = new YouTube.Builder(
-                    GoogleNetHttpTransport.newTrustedTransport(),
-                    JacksonFactory.getDefaultInstance(),
-                    request -> request.getHeaders().setAuthorization("Bearer " + accessToken)
-            ).setApplicationName("CreatorOS-Publishing").build();
+    private YouTubeReadCache.Fetched<Map<String, Object>> fetchChannelStatistics(ConnectedAccount account, String etag)
+            throws Exception {
+        YouTube youtube = buildClient(account);
+        String channelId = account.getYoutubeChannelId();
 
-            YouTube.Channels.List channelList = youtube.channels()
-                    .list(List.of("snippet", "statistics", "contentDetails"));
-            channelList.setId(List.of(channelId));
+        YouTube.Channels.List channelList = youtube.channels()
+                .list(List.of("snippet", "statistics", "contentDetails"));
+        channelList.setId(List.of(channelId));
+        if (etag != null) {
+            channelList.getRequestHeaders().setIfNoneMatch(etag);
+        }
 
-            ChannelListResponse response = channelList.execute();
-            
-            if (response.getItems().isEmpty()) {
-                throw new RuntimeException("Channel not found: " + channelId);
+        ChannelListResponse response;
+        try {
+            response = channelList.execute();
+        } catch (HttpResponseException ex) {
+            if (etag != null && ex.getStatusCode() == HTTP_NOT_MODIFIED) {
+                return YouTubeReadCache.Fetched.notModified(0);
             }
+            throw ex;
+        }
+        
+        if (response.getItems().isEmpty()) {
+            throw new RuntimeException("Channel not found: " + channelId);
+        }
 
-            Channel channel = response.getItems().get(0);
+        Channel channel = response.getItems().get(0);
 
-            Map<String, Object> channelData = new HashMap<>();
-            channelData.put("channelId", channel.getId());
-            channelData.put("title", channel.getSnippet().getTitle());
-            channelData.put("description", channel.getSnippet().getDescription());
-            channelData.put("customUrl", channel.getSnippet().getCustomUrl());
-            channelData.put("publishedAt", channel.getSnippet().getPublishedAt().toString());
-            
-            if (channel.getStatistics() != null) {
-                Map<String, Object> stats = new HashMap<>();
-                stats.put("subscriberCount", channel.getStatistics().getSubscriberCount());
-                stats.put("videoCount", channel.getStatistics().getVideoCount());
-                stats.put("viewCount", channel.getStatistics().getViewCount());
-                channelData.put("statistics", stats);
-            }
+        Map<String, Object> channelData = new HashMap<>();
+        channelData.put("channelId", channel.getId());
+        channelData.put("title", channel.getSnippet().getTitle());
+        channelData.put("description", channel.getSnippet().getDescription());
+        channelData.put("customUrl", channel.getSnippet().getCustomUrl());
+        channelData.put("publishedAt", channel.getSnippet().getPublishedAt().toString());
+        
+        if (channel.getStatistics() != null) {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("subscriberCount", channel.getStatistics().getSubscriberCount());
+            stats.put("videoCount", channel.getStatistics().getVideoCount());
+            stats.put("viewCount", channel.getStatistics().getViewCount());
+            channelData.put("statistics", stats);
+        }
 
-            return channelData;
+        return YouTubeReadCache.Fetched.of(channelData, response.getEtag());
+    }
 
-        } catch (Exception ex) {
-            log.error("Failed to fetch channel statistics for account: {}", accountId, ex);
-            throw new RuntimeException("Failed to fetch channel statistics: " + ex.getMessage(), ex);
-        }
+    private YouTube buildClient(ConnectedAccount account) throws Exception {
+        String accessToken = tokenService.getValidAccessToken(account);
+        return new YouTube.Builder(
+                GoogleNetHttpTransport.newTrustedTransport(),
+                JacksonFactory.getDefaultInstance(),
+                request -> request.getHeaders().setAuthorization("Bearer " + accessToken)
+        ).setApplicationName("CreatorOS-Publishing").build();
     }
 }
@@ -1,8 +1,18 @@
 package com.creatoros.publishing.strategy;
 
+import com.creatoros.publishing.exceptions.PublishException;
+import com.creatoros.publishing.models.MediaFileDTO;
 import com.creatoros.publishing.models.PublishContext;
+import com.creatoros.publishing.models.PublishRequestEvent;
 import com.creatoros.publishing.models.PublishResult;
+import com.creatoros.publishing.models.PublishStages;
+import com.creatoros.publishing.models.SharedMedia;
+import com.creatoros.publishing.services.LinkedInMediaUploader;
+import com.creatoros.publishing.services.MediaStagingCache;
+import com.creatoros.publishing.services.PublishProgressTracker;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -10,30 +20,78 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @Component("LINKEDIN")
 @RequiredArgsConstructor
+@Slf4j
 public class LinkedInPublisher implements SocialPublisher {
 
     private final RestTemplate restTemplate;
+    private final LinkedInMediaUploader mediaUploader;
+    private final MediaStagingCache mediaStagingCache;
+    private final PublishProgressTracker progressTracker;
+
+    @Value("${linkedin.api-base-url:https://api.linkedin.com/v2}")
+    private String apiBaseUrl;
 
     @Override
     public PublishResult publish(PublishContext context) {
+        PublishRequestEvent event = context.getEvent();
+        UUID mediaId = event.getContentItemId();
+        UUID publishJobId = context.getPublishJobId();
+        PublishStages stages = context.getStages();
+
+        // Fan-out publishes share one staged copy; IMAGE/VIDEO posts take their own lease on the
+        // staging cache; anything else is a text-only share
+        SharedMedia ownedMedia = context.getSharedMedia() == null && mediaId != null && isMediaPost(event)
+                ? new SharedMedia(() -> mediaStagingCache.acquire(mediaId, event.getUserId()))
+                : null;
+        SharedMedia media = ownedMedia != null ? ownedMedia : context.getSharedMedia();
+
         try {
             String accessToken = context.getConnectedAccount().getAccessTokenEnc();
             String author = context.getConnectedAccount().getLinkedinAuthorUrn();
 
+            Map<String, Object> shareContent = new HashMap<>();
+            shareContent.put("shareCommentary", Map.of("text", getPostText(event)));
+
+            if (media == null) {
+                shareContent.put("shareMediaCategory", "NONE");
+            } else {
+                progressTracker.update(publishJobId, "DOWNLOADING_ASSET", 0);
+                MediaFileDTO metadata = stages.record(PublishStages.ASSET_DOWNLOAD, media::getMetadata);
+                LinkedInMediaUploader.MediaCategory category = mediaCategory(metadata);
+
+                progressTracker.update(publishJobId, "UPLOADING", 0);
+                String asset = stages.record(PublishStages.PLATFORM_UPLOAD, () -> mediaUploader.upload(
+                        accessToken,
+                        author,
+                        category,
+                        media.getFile(),
+                        metadata.getSizeBytes(),
+                        percent -> progressTracker.update(publishJobId, "UPLOADING", percent)
+                ));
+                progressTracker.update(publishJobId, "UPLOADED", 100);
+
+                Map<String, Object> mediaEntry = new HashMap<>();
+                mediaEntry.put("status", "READY");
+                mediaEntry.put("media", asset);
+                if (event.getTitle() != null && !event.getTitle().isBlank()) {
+                    mediaEntry.put("title", Map.of("text", event.getTitle()));
+                }
+                shareContent.put("shareMediaCategory", category.name());
+                shareContent.put("media", List.of(mediaEntry));
+            }
+
             Map<String, Object> payload = Map.of(
                     "author", author,
                     "lifecycleState", "PUBLISHED",
                     "specificContent", Map.of(
-                            "com.linkedin.ugc.ShareContent", Map.of(
-                                    "shareCommentary", Map.of(
-                                            "text", "Hello from CreatorOS 🚀"
-                                    ),
-                                    "shareMediaCategory", "NONE"
-                            )
+                            "com.linkedin.ugc.ShareContent", shareContent
                     ),
                     "visibility", Map.of(
                             "com.linkedin.ugc.MemberNetworkVisibility", "PUBLIC"
@@ -47,11 +105,12 @@ public class LinkedInPublisher implements SocialPublisher {
 
             HttpEntity<Map<String, Object>> request = new HttpEntity<>(payload, headers);
 
-            ResponseEntity<Map> response = restTemplate.postForEntity(
-                    "https://api.linkedin.com/v2/ugcPosts",
+            // Creating the post is platform time too; it accumulates onto the media upload
+            ResponseEntity<Map> response = stages.record(PublishStages.PLATFORM_UPLOAD, () -> restTemplate.postForEntity(
+                    apiBaseUrl + "/ugcPosts",
                     request,
                     Map.class
-            );
+            ));
 
             String postUrn = response.getHeaders().getFirst("x-restli-id");
 
@@ -62,10 +121,38 @@ public class LinkedInPublisher implements SocialPublisher {
                     .build();
 
         } catch (Exception ex) {
+            log.error("Failed to publish to LinkedIn", ex);
             return PublishResult.builder()
                     .success(false)
                     .errorMessage(ex.getMessage())
+                    .cause(ex)
                     .build();
+        } finally {
+            if (ownedMedia != null) {
+                ownedMedia.close();
+            }
+        }
+    }
+
+    private boolean isMediaPost(PublishRequestEvent event) {
+        return "IMAGE".equalsIgnoreCase(event.getPostType()) || "VIDEO".equalsIgnoreCase(event.getPostType());
+    }
+
+    private String getPostText(PublishRequestEvent event) {
+        if (event.getDescription() != null && !event.getDescription().isBlank()) {
+            return event.getDescription();
+        }
+        return event.getTitle() != null ? event.getTitle() : "";
+    }
+
+    private LinkedInMediaUploader.MediaCategory mediaCategory(MediaFileDTO metadata) {
+        String mimeType = metadata.getMimeType() == null ? "" : metadata.getMimeType();
+        if (mimeType.startsWith("image/")) {
+            return LinkedInMediaUploader.MediaCategory.IMAGE;
+        }
+        if (mimeType.startsWith("video/")) {
+            return LinkedInMediaUploader.MediaCategory.VIDEO;
         }
+        throw new PublishException("LinkedIn cannot publish media of type " + mimeType, "BAD_PAYLOAD");
     }
 }
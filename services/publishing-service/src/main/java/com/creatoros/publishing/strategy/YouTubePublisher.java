@@ -3,7 +3,12 @@ package com.creatoros.publishing.strategy;
 import com.creatoros.publishing.entities.ConnectedAccount;
 import com.creatoros.publishing.models.PublishContext;
 import com.creatoros.publishing.models.PublishResult;
+import com.creatoros.publishing.models.PublishStages;
+import com.creatoros.publishing.models.SharedMedia;
 
+import com.creatoros.publishing.services.MediaStagingCache;
+import com.creatoros.publishing.services.PublishProgressTracker;
+import com.creatoros.publishing.services.YouTubeReadCache;
 import com.creatoros.publishing.services.YouTubeTokenService;
 import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
 import com.google.api.client.http.InputStreamContent;
@@ -17,6 +22,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.List;
 
@@ -26,7 +32,9 @@ import java.util.List;
 public class YouTubePublisher implements SocialPublisher {
 
     private final YouTubeTokenService tokenService;
-    private final com.creatoros.publishing.client.AssetServiceClient assetServiceClient;
+    private final MediaStagingCache mediaStagingCache;
+    private final YouTubeReadCache readCache;
+    private final PublishProgressTracker progressTracker;
 
     @Override
     public PublishResult publish(PublishContext context) {
@@ -34,12 +42,21 @@ public class YouTubePublisher implements SocialPublisher {
         ConnectedAccount account = context.getConnectedAccount();
         java.util.UUID mediaId = context.getEvent().getContentItemId();
         java.util.UUID userId = context.getEvent().getUserId();
+        java.util.UUID publishJobId = context.getPublishJobId();
+        PublishStages stages = context.getStages();
 
         log.info("Publishing video to YouTube for account: {}, mediaId: {}", account.getId(), mediaId);
 
+        // Fan-out publishes share one staged copy; otherwise take our own lease on the staging cache
+        SharedMedia ownedMedia = context.getSharedMedia() == null
+                ? new SharedMedia(() -> mediaStagingCache.acquire(mediaId, userId))
+                : null;
+        SharedMedia sharedMedia = ownedMedia != null ? ownedMedia : context.getSharedMedia();
+
         try {
             // Step 1: Get valid access token
-            String accessToken = tokenService.getValidAccessToken(account);
+            progressTracker.update(publishJobId, "AUTHORIZING", 0);
+            String accessToken = stages.record(PublishStages.TOKEN_REFRESH, () -> tokenService.getValidAccessToken(account));
 
             // Step 2: Build YouTube client
             YouTube youtube = new YouTube.Builder(
@@ -48,9 +65,11 @@ public class YouTubePublisher implements SocialPublisher {
                     request -> request.getHeaders().setAuthorization("Bearer " + accessToken))
                     .setApplicationName("CreatorOS-Publishing").build();
 
-            // Step 3: Get Video Metadata from Asset Service
+            // Step 3: Stage the video from Asset Service (shared with other fan-out children)
             log.info("Fetching metadata for mediaId: {}", mediaId);
-            com.creatoros.publishing.models.MediaFileDTO mediaMetadata = assetServiceClient.getFileMetadata(mediaId, userId);
+            progressTracker.update(publishJobId, "DOWNLOADING_ASSET", 0);
+            com.creatoros.publishing.models.MediaFileDTO mediaMetadata =
+                    stages.record(PublishStages.ASSET_DOWNLOAD, sharedMedia::getMetadata);
 
             // Step 4: Build YouTube video metadata
             Video video = new Video();
@@ -66,9 +85,8 @@ public class YouTubePublisher implements SocialPublisher {
             status.setPrivacyStatus(getPrivacyStatus(context)); // Default to public
             video.setStatus(status);
 
-            // Step 5: Get video stream from Asset Service
-            log.info("Downloading video stream for mediaId: {}", mediaId);
-            try (InputStream videoStream = assetServiceClient.downloadFile(mediaId, userId)) {
+            // Step 5: Stream the staged file
+            try (InputStream videoStream = Files.newInputStream(sharedMedia.getFile())) {
                 InputStreamContent mediaContent = new InputStreamContent(
                         mediaMetadata.getMimeType(),
                         videoStream);
@@ -89,26 +107,34 @@ public class YouTubePublisher implements SocialPublisher {
                             switch (uploader.getUploadState()) {
                                 case INITIATION_STARTED:
                                     log.info("Upload initiation started");
+                                    progressTracker.update(publishJobId, "UPLOAD_INITIATING", 0);
                                     break;
                                 case INITIATION_COMPLETE:
                                     log.info("Upload initiation completed");
+                                    progressTracker.update(publishJobId, "UPLOADING", 0);
                                     break;
                                 case MEDIA_IN_PROGRESS:
-                                    log.info("Upload progress: {}%", (int) (uploader.getProgress() * 100));
+                                    int percent = (int) (uploader.getProgress() * 100);
+                                    log.info("Upload progress: {}%", percent);
+                                    progressTracker.update(publishJobId, "UPLOADING", percent);
                                     break;
                                 case MEDIA_COMPLETE:
                                     log.info("Upload completed");
+                                    progressTracker.update(publishJobId, "UPLOADED", 100);
                                     break;
                             }
                         });
 
-                Video uploadedVideo = videoInsert.execute();
+                Video uploadedVideo = stages.record(PublishStages.PLATFORM_UPLOAD, videoInsert::execute);
 
                 String videoId = uploadedVideo.getId();
                 String permalink = "https://www.youtube.com/watch?v=" + videoId;
 
                 log.info("Successfully published video to YouTube. Video ID: {}", videoId);
 
+                // The channel's cached video list and counts no longer include this upload
+                readCache.evictAccount(account.getId().toString());
+
                 return PublishResult.builder()
                         .success(true)
                         .platformPostId(videoId)
@@ -121,7 +147,12 @@ public class YouTubePublisher implements SocialPublisher {
             return PublishResult.builder()
                     .success(false)
                     .errorMessage("Upload failed: " + ex.getMessage())
+                    .cause(ex)
                     .build();
+        } finally {
+            if (ownedMedia != null) {
+                ownedMedia.close();
+            }
         }
     }
 
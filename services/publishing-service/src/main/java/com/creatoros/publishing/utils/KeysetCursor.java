@@ -0,0 +1,40 @@
+package com.creatoros.publishing.utils;
+
+import com.creatoros.publishing.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque cursor over a (created_at, id) descending sort. A missing cursor starts from the newest row.
+ */
+public record KeysetCursor(LocalDateTime createdAt, UUID id) {
+
+    private static final KeysetCursor FIRST_PAGE = new KeysetCursor(
+            LocalDateTime.of(9999, 12, 31, 23, 59, 59),
+            new UUID(-1L, -1L)
+    );
+
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST_PAGE;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new KeysetCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException ex) {
+            throw new InvalidCursorException("Invalid cursor", ex);
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,6 @@
+-- Durable retry scheduling for failed publishes
+ALTER TABLE publish_jobs ADD COLUMN IF NOT EXISTS next_retry_at TIMESTAMP;
+
+ALTER TABLE publish_job_attempts ADD COLUMN IF NOT EXISTS error_category VARCHAR(50);
+
+CREATE INDEX IF NOT EXISTS idx_publish_jobs_status_next_retry_at ON publish_jobs(status, next_retry_at);
@@ -0,0 +1,21 @@
+-- Denormalise the owning user onto published_posts so listings no longer join connected_accounts
+ALTER TABLE published_posts ADD COLUMN IF NOT EXISTS user_id UUID;
+
+UPDATE published_posts pp
+SET user_id = ca.user_id
+FROM connected_accounts ca
+WHERE ca.id = pp.connected_account_id
+  AND pp.user_id IS NULL;
+
+UPDATE published_posts SET created_at = COALESCE(published_at, CURRENT_TIMESTAMP) WHERE created_at IS NULL;
+
+ALTER TABLE published_posts ALTER COLUMN user_id SET NOT NULL;
+ALTER TABLE published_posts ALTER COLUMN created_at SET NOT NULL;
+
+-- Keyset pagination on (created_at, id) per filter
+CREATE INDEX IF NOT EXISTS idx_published_posts_user_created
+    ON published_posts(user_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_published_posts_user_platform_created
+    ON published_posts(user_id, LOWER(platform), created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_published_posts_account_created
+    ON published_posts(connected_account_id, created_at DESC, id DESC);
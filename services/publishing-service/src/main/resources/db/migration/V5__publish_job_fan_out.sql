@@ -0,0 +1,8 @@
+-- Fan-out publishes: one parent job aggregates a child job per connected account
+ALTER TABLE publish_jobs ADD COLUMN IF NOT EXISTS parent_job_id UUID;
+ALTER TABLE publish_jobs ALTER COLUMN connected_account_id DROP NOT NULL;
+
+ALTER TABLE publish_jobs
+    ADD CONSTRAINT fk_publish_jobs_parent FOREIGN KEY(parent_job_id) REFERENCES publish_jobs(id) ON DELETE CASCADE;
+
+CREATE INDEX IF NOT EXISTS idx_publish_jobs_parent_job_id ON publish_jobs(parent_job_id);
@@ -0,0 +1,11 @@
+-- Per-channel progress of the YouTube analytics harvester: every day up to and including
+-- harvested_through has been delivered to analytics-service at least once
+CREATE TABLE IF NOT EXISTS analytics_harvest_watermarks (
+    connected_account_id UUID PRIMARY KEY REFERENCES connected_accounts(id) ON DELETE CASCADE,
+    harvested_through DATE NOT NULL,
+    last_harvested_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_published_posts_youtube_account_published_at
+    ON published_posts (connected_account_id, published_at)
+    WHERE UPPER(platform) = 'YOUTUBE';
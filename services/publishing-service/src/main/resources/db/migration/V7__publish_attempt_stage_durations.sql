@@ -0,0 +1,4 @@
+-- Milliseconds spent per publish stage (account_lookup, token_refresh, asset_download,
+-- platform_upload, db_write, ...) for each attempt
+ALTER TABLE publish_job_attempts
+    ADD COLUMN IF NOT EXISTS stage_durations JSONB;
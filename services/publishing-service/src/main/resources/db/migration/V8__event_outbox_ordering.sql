@@ -0,0 +1,17 @@
+-- Class of the parked event, so the relay re-sends it with the same JSON type header as the live send
+ALTER TABLE event_outbox
+    ADD COLUMN IF NOT EXISTS event_type VARCHAR(255);
+
+UPDATE event_outbox
+SET event_type = CASE topic
+    WHEN 'publish.started' THEN 'com.creatoros.publishing.models.PublishStartedEvent'
+    WHEN 'publish.succeeded' THEN 'com.creatoros.publishing.models.PublishSucceededEvent'
+    WHEN 'publish.failed' THEN 'com.creatoros.publishing.models.PublishFailedEvent'
+    WHEN 'publish.retry.requested' THEN 'com.creatoros.publishing.models.PublishRetryRequestedEvent'
+END
+WHERE event_type IS NULL;
+
+-- The relay only sends the oldest pending entry per key; this backs that lookup
+CREATE INDEX IF NOT EXISTS idx_event_outbox_pending_key_created_at
+    ON event_outbox (message_key, created_at)
+    WHERE status = 'PENDING';
@@ -0,0 +1,111 @@
+package com.creatoros.publishing.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceTokenCacheTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-0123456789";
+
+    @Test
+    void getToken_ShouldMintOnce_WhenManyThreadsRequestSameUserAtOnce() throws Exception {
+        ServiceTokenCache cache = new ServiceTokenCache(SECRET, Duration.ofSeconds(300), Duration.ofSeconds(60), Clock.systemUTC());
+        UUID userId = UUID.randomUUID();
+        int threads = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<String> tokens = ConcurrentHashMap.newKeySet();
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    for (int call = 0; call < 100; call++) {
+                        tokens.add(cache.getToken(userId));
+                    }
+                    return null;
+                }));
+            }
+            assertTrue(ready.await(10, TimeUnit.SECONDS));
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, tokens.size());
+        assertEquals(1, cache.getMintedCount());
+    }
+
+    @Test
+    void getToken_ShouldMintPerUser() {
+        ServiceTokenCache cache = new ServiceTokenCache(SECRET, Duration.ofSeconds(300), Duration.ofSeconds(60), Clock.systemUTC());
+
+        String first = cache.getToken(UUID.randomUUID());
+        String second = cache.getToken(UUID.randomUUID());
+
+        assertNotEquals(first, second);
+        assertEquals(2, cache.getMintedCount());
+    }
+
+    @Test
+    void getToken_ShouldRemint_WhenTokenIsNearExpiry() {
+        Instant issuedAt = Instant.parse("2026-01-01T00:00:00Z");
+        UUID userId = UUID.randomUUID();
+        MutableClock clock = new MutableClock(issuedAt);
+        ServiceTokenCache cache = new ServiceTokenCache(SECRET, Duration.ofSeconds(300), Duration.ofSeconds(60), clock);
+        String fresh = cache.getToken(userId);
+        clock.now = issuedAt.plusSeconds(239);
+        assertEquals(fresh, cache.getToken(userId));
+        clock.now = issuedAt.plusSeconds(240);
+        String renewed = cache.getToken(userId);
+
+        assertNotEquals(fresh, renewed);
+        assertEquals(2, cache.getMintedCount());
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.creatoros.publishing.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the uploader against a local stand-in for LinkedIn's registerUpload / part PUT /
+ * completeMultiPartUpload endpoints.
+ */
+class LinkedInMediaUploaderTest {
+
+    private static final int PART_SIZE = 4096;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Integer, byte[]> receivedParts = new ConcurrentHashMap<>();
+    private final Map<Integer, String> partAuthorization = new ConcurrentHashMap<>();
+    private final Map<Integer, AtomicInteger> partAttempts = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> failuresBeforeSuccess = new ConcurrentHashMap<>();
+    private volatile JsonNode completeRequest;
+    private volatile JsonNode registerRequest;
+
+    private HttpServer server;
+    private String baseUrl;
+    private LinkedInMediaUploader uploader;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+        server.createContext("/v2/assets", this::handleAssets);
+        server.createContext("/upload/", this::handlePart);
+        server.start();
+
+        uploader = new LinkedInMediaUploader(new RestTemplate(), baseUrl + "/v2", 3, 3, 1);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        server.stop(0);
+        uploader.shutdown();
+    }
+
+    @Test
+    void upload_ShouldSendEveryPartAndCompleteWithEtags_WhenVideo() throws IOException {
+        byte[] content = randomBytes(PART_SIZE * 2 + 1000);
+        Path file = Files.write(tempDir.resolve("video.mp4"), content);
+        List<Integer> progress = new ArrayList<>();
+
+        String asset = uploader.upload("token", "urn:li:person:abc", LinkedInMediaUploader.MediaCategory.VIDEO,
+                file, content.length, percent -> {
+                    synchronized (progress) {
+                        progress.add(percent);
+                    }
+                });
+
+        assertEquals("urn:li:digitalmediaAsset:test", asset);
+        assertEquals("MULTIPART_UPLOAD", registerRequest.at("/registerUploadRequest/supportedUploadMechanism/0").asText());
+        assertEquals(content.length, registerRequest.at("/registerUploadRequest/fileSize").asLong());
+        assertArrayEquals(content, reassemble(3));
+
+        JsonNode partResponses = completeRequest.at("/completeMultipartUploadRequest/partUploadResponses");
+        assertEquals(3, partResponses.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals("etag-" + i, partResponses.get(i).at("/headers/ETag").asText());
+        }
+        assertTrue(progress.contains(100));
+        // Part URLs are pre-signed; the member token must not leak to them
+        assertTrue(partAuthorization.isEmpty());
+    }
+
+    @Test
+    void upload_ShouldRetryOnlyTheFailedPart_WhenLinkedInReturns5xx() throws IOException {
+        failuresBeforeSuccess.put(1, 2);
+        byte[] content = randomBytes(PART_SIZE * 2 + 10);
+        Path file = Files.write(tempDir.resolve("video.mp4"), content);
+
+        uploader.upload("token", "urn:li:person:abc", LinkedInMediaUploader.MediaCategory.VIDEO,
+                file, content.length, percent -> { });
+
+        assertEquals(1, partAttempts.get(0).get());
+        assertEquals(3, partAttempts.get(1).get());
+        assertEquals(1, partAttempts.get(2).get());
+        assertArrayEquals(content, reassemble(3));
+    }
+
+    @Test
+    void upload_ShouldFailWithoutCompleting_WhenPartIsRejected() throws IOException {
+        failuresBeforeSuccess.put(0, -400);
+        byte[] content = randomBytes(PART_SIZE + 10);
+        Path file = Files.write(tempDir.resolve("video.mp4"), content);
+
+        assertThrows(HttpClientErrorException.class, () -> uploader.upload("token", "urn:li:person:abc",
+                LinkedInMediaUploader.MediaCategory.VIDEO, file, content.length, percent -> { }));
+        assertEquals(1, partAttempts.get(0).get());
+        assertNull(completeRequest);
+    }
+
+    @Test
+    void upload_ShouldPutWholeFileOnce_WhenImage() throws IOException {
+        byte[] content = randomBytes(2000);
+        Path file = Files.write(tempDir.resolve("image.png"), content);
+
+        String asset = uploader.upload("token", "urn:li:person:abc", LinkedInMediaUploader.MediaCategory.IMAGE,
+                file, content.length, percent -> { });
+
+        assertEquals("urn:li:digitalmediaAsset:test", asset);
+        assertArrayEquals(content, receivedParts.get(0));
+        assertEquals("Bearer token", partAuthorization.get(0));
+        assertNull(completeRequest);
+    }
+
+    private void handleAssets(HttpExchange exchange) throws IOException {
+        JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+        String query = exchange.getRequestURI().getQuery();
+        if ("action=registerUpload".equals(query)) {
+            registerRequest = body;
+            respond(exchange, 200, registerResponse(body));
+        } else if ("action=completeMultiPartUpload".equals(query)) {
+            completeRequest = body;
+            respond(exchange, 200, "{}");
+        } else {
+            respond(exchange, 404, "{}");
+        }
+    }
+
+    private String registerResponse(JsonNode body) {
+        boolean video = body.at("/registerUploadRequest/recipes/0").asText().endsWith("feedshare-video");
+        if (!video) {
+            return """
+                    {"value": {"asset": "urn:li:digitalmediaAsset:test", "uploadMechanism": {
+                      "com.linkedin.digitalmedia.uploading.MediaUploadHttpRequest": {"uploadUrl": "%s/upload/0", "headers": {}}
+                    }}}""".formatted(baseUrl);
+        }
+
+        long size = body.at("/registerUploadRequest/fileSize").asLong();
+        List<String> parts = new ArrayList<>();
+        for (long first = 0, index = 0; first < size; first += PART_SIZE, index++) {
+            long last = Math.min(first + PART_SIZE, size) - 1;
+            parts.add("""
+                    {"url": "%s/upload/%d", "byteRange": {"firstByte": %d, "lastByte": %d},
+                     "headers": {"Content-Type": "application/octet-stream"}}""".formatted(baseUrl, index, first, last));
+        }
+        return """
+                {"value": {"asset": "urn:li:digitalmediaAsset:test",
+                  "mediaArtifact": "urn:li:digitalmediaMediaArtifact:(urn:li:digitalmediaAsset:test,urn:li:digitalmediaMediaArtifactClass:feedshare-video)",
+                  "uploadMechanism": {"com.linkedin.digitalmedia.uploading.MultipartUpload": {
+                    "metadata": "opaque-metadata", "partUploadRequests": [%s]}}}}""".formatted(String.join(",", parts));
+    }
+
+    private void handlePart(HttpExchange exchange) throws IOException {
+        int index = Integer.parseInt(exchange.getRequestURI().getPath().substring("/upload/".length()));
+        byte[] bytes = exchange.getRequestBody().readAllBytes();
+        int attempt = partAttempts.computeIfAbsent(index, i -> new AtomicInteger()).incrementAndGet();
+
+        int failures = failuresBeforeSuccess.getOrDefault(index, 0);
+        if (failures < 0) {
+            respond(exchange, -failures, "");
+            return;
+        }
+        if (attempt <= failures) {
+            respond(exchange, 503, "");
+            return;
+        }
+        receivedParts.put(index, bytes);
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization != null) {
+            partAuthorization.put(index, authorization);
+        }
+        exchange.getResponseHeaders().set("ETag", "etag-" + index);
+        respond(exchange, 201, "");
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+        exchange.close();
+    }
+
+    private byte[] reassemble(int parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < parts; i++) {
+            out.writeBytes(receivedParts.get(i));
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,131 @@
+package com.creatoros.publishing.services;
+
+import com.creatoros.publishing.client.AssetServiceClient;
+import com.creatoros.publishing.exceptions.PublishException;
+import com.creatoros.publishing.models.MediaFileDTO;
+import com.creatoros.publishing.models.StagedMedia;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MediaStagingCacheTest {
+
+    private static final long MAX_BYTES = 10;
+
+    @Mock
+    private AssetServiceClient assetServiceClient;
+
+    @TempDir
+    Path tempDir;
+
+    private MediaStagingCache cache;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        cache = new MediaStagingCache(assetServiceClient, new SimpleMeterRegistry(), tempDir.toString(), MAX_BYTES);
+        cache.init();
+        userId = UUID.randomUUID();
+        doAnswer(invocation -> {
+            Files.write(invocation.getArgument(2), new byte[]{1});
+            return null;
+        }).when(assetServiceClient).downloadTo(any(), eq(userId), any());
+    }
+
+    @Test
+    void acquire_ShouldDownloadOnce_WhenTheSameAssetIsAcquiredAgain() {
+        // Arrange
+        UUID mediaId = asset(6);
+
+        // Act
+        try (StagedMedia first = cache.acquire(mediaId, userId);
+             StagedMedia second = cache.acquire(mediaId, userId)) {
+
+            // Assert
+            assertEquals(first.getFile(), second.getFile());
+        }
+        verify(assetServiceClient, times(1)).downloadTo(eq(mediaId), eq(userId), any());
+    }
+
+    @Test
+    void acquire_ShouldEvictTheReleasedEntry_WhenANewDownloadNeedsTheSpace() {
+        // Arrange
+        UUID first = asset(6);
+        UUID second = asset(6);
+        Path firstFile;
+        try (StagedMedia staged = cache.acquire(first, userId)) {
+            firstFile = staged.getFile();
+        }
+
+        // Act
+        try (StagedMedia staged = cache.acquire(second, userId)) {
+
+            // Assert
+            assertFalse(Files.exists(firstFile));
+            assertTrue(Files.exists(staged.getFile()));
+        }
+    }
+
+    @Test
+    void acquire_ShouldRefuseTransiently_WhileEveryStagedEntryIsLeased() {
+        // Arrange
+        UUID leasedId = asset(6);
+        UUID otherId = asset(6);
+        StagedMedia first = cache.acquire(leasedId, userId);
+        StagedMedia second = cache.acquire(leasedId, userId);
+
+        // Act & Assert
+        first.close();
+        PublishException ex = assertThrows(PublishException.class, () -> cache.acquire(otherId, userId));
+        assertEquals("TRANSIENT", ex.getErrorCode());
+        assertTrue(Files.exists(second.getFile()));
+
+        second.close();
+        try (StagedMedia staged = cache.acquire(otherId, userId)) {
+            assertTrue(Files.exists(staged.getFile()));
+        }
+    }
+
+    @Test
+    void close_ShouldReleaseTheLeaseOnce_WhenCalledTwice() {
+        // Arrange
+        UUID leasedId = asset(6);
+        UUID otherId = asset(6);
+        StagedMedia kept = cache.acquire(leasedId, userId);
+        StagedMedia closedTwice = cache.acquire(leasedId, userId);
+
+        // Act
+        closedTwice.close();
+        closedTwice.close();
+
+        // Assert
+        assertThrows(PublishException.class, () -> cache.acquire(otherId, userId));
+        assertTrue(Files.exists(kept.getFile()));
+        kept.close();
+    }
+
+    private UUID asset(long sizeBytes) {
+        UUID mediaId = UUID.randomUUID();
+        MediaFileDTO metadata = new MediaFileDTO();
+        metadata.setId(mediaId);
+        metadata.setSizeBytes(sizeBytes);
+        metadata.setChecksum("sha-" + mediaId);
+        when(assetServiceClient.getFileMetadata(mediaId, userId)).thenReturn(metadata);
+        return mediaId;
+    }
+}
@@ -0,0 +1,75 @@
+package com.creatoros.publishing.services;
+
+import com.creatoros.publishing.exceptions.PublishException;
+import com.creatoros.publishing.models.PublishErrorCategory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublishErrorClassifierTest {
+
+    private final PublishErrorClassifier classifier = new PublishErrorClassifier();
+
+    @Test
+    void classify_ShouldReturnRateLimited_WhenPlatformAnswers429() {
+        PublishErrorClassifier.Classification classification = classifier.classify(
+                httpError(HttpStatus.TOO_MANY_REQUESTS, "{}"), null);
+
+        assertEquals(PublishErrorCategory.RATE_LIMITED, classification.category());
+        assertEquals(429, classification.httpStatus());
+    }
+
+    @Test
+    void classify_ShouldReturnQuota_WhenForbiddenBodyNamesQuotaExceeded() {
+        PublishErrorClassifier.Classification classification = classifier.classify(
+                httpError(HttpStatus.FORBIDDEN, "{\"error\":{\"errors\":[{\"reason\":\"quotaExceeded\"}]}}"), null);
+
+        assertEquals(PublishErrorCategory.QUOTA, classification.category());
+    }
+
+    @Test
+    void classify_ShouldReturnAuth_WhenTokenIsRejected() {
+        PublishErrorClassifier.Classification classification = classifier.classify(
+                httpError(HttpStatus.UNAUTHORIZED, "{}"), null);
+
+        assertEquals(PublishErrorCategory.AUTH, classification.category());
+        assertFalse(classification.category().isRetryable());
+    }
+
+    @Test
+    void classify_ShouldReturnTransient_WhenServerErrorOrWrappedIOException() {
+        assertEquals(PublishErrorCategory.TRANSIENT,
+                classifier.classify(HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway",
+                        HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8), null).category());
+        assertEquals(PublishErrorCategory.TRANSIENT,
+                classifier.classify(new RuntimeException("upload failed", new IOException("broken pipe")), null).category());
+    }
+
+    @Test
+    void classify_ShouldUseErrorCode_WhenPublishExceptionCarriesACategory() {
+        PublishErrorClassifier.Classification classification = classifier.classify(
+                new RuntimeException(new PublishException("Asset has no recorded size", "BAD_PAYLOAD")), null);
+
+        assertEquals(PublishErrorCategory.BAD_PAYLOAD, classification.category());
+    }
+
+    @Test
+    void classify_ShouldFallBackToMessage_WhenThereIsNoCause() {
+        assertEquals(PublishErrorCategory.BAD_PAYLOAD,
+                classifier.classify(null, "Connected account not found: 42").category());
+        assertEquals(PublishErrorCategory.UNKNOWN,
+                classifier.classify(new IllegalStateException("something odd"), null).category());
+    }
+
+    private HttpClientErrorException httpError(HttpStatus status, String body) {
+        return HttpClientErrorException.create(status, status.getReasonPhrase(), HttpHeaders.EMPTY,
+                body.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,200 @@
+package com.creatoros.publishing.services;
+
+import com.creatoros.publishing.entities.ConnectedAccount;
+import com.creatoros.publishing.entities.PublishJob;
+import com.creatoros.publishing.entities.PublishJobAttempt;
+import com.creatoros.publishing.kafka.producers.PublishEventProducer;
+import com.creatoros.publishing.models.PublishRequestEvent;
+import com.creatoros.publishing.models.PublishResult;
+import com.creatoros.publishing.repositories.ConnectedAccountRepository;
+import com.creatoros.publishing.repositories.PublishedPostRepository;
+import com.creatoros.publishing.strategy.PublisherRegistry;
+import com.creatoros.publishing.strategy.SocialPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PublishExecutionServiceTest {
+
+    @Mock
+    private ConnectedAccountRepository accountRepository;
+
+    @Mock
+    private PublisherRegistry publisherRegistry;
+
+    @Mock
+    private PublishJobService publishJobService;
+
+    @Mock
+    private PublishedPostRepository publishedPostRepository;
+
+    @Mock
+    private PublishEventProducer eventProducer;
+
+    @Mock
+    private PublishRetryPolicy retryPolicy;
+
+    @Mock
+    private PublishProgressTracker progressTracker;
+
+    @Mock
+    private MediaStagingCache mediaStagingCache;
+
+    @Mock
+    private PublishJobHeartbeat heartbeat;
+
+    @Mock
+    private SocialPublisher youTubePublisher;
+
+    @Mock
+    private SocialPublisher linkedInPublisher;
+
+    @Mock
+    private ThreadPoolTaskExecutor publishExecutor;
+
+    private ThreadPoolTaskExecutor fanOutExecutor;
+    private UUID userId;
+    private PublishJob parent;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        parent = PublishJob.builder().id(UUID.randomUUID()).userId(userId).build();
+        when(publishJobService.createParentJob(any())).thenReturn(parent);
+        when(publishJobService.createJob(any(), eq(parent.getId()))).thenAnswer(invocation -> {
+            PublishRequestEvent event = invocation.getArgument(0);
+            return PublishJob.builder()
+                    .id(UUID.randomUUID())
+                    .userId(userId)
+                    .parentJobId(parent.getId())
+                    .platform(event.getPlatform())
+                    .status(PublishJobService.STATUS_PENDING)
+                    .build();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (fanOutExecutor != null) {
+            fanOutExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void submitFanOut_ShouldCompleteTheOtherChildren_WhenOnePlatformFails() {
+        // Arrange
+        PublishExecutionService service = service(2, 10);
+        ConnectedAccount youTube = account("youtube");
+        ConnectedAccount linkedIn = account("linkedin");
+        stubRunnable(youTube, linkedIn);
+        PublishResult success = PublishResult.builder().success(true).platformPostId("video-1").build();
+        when(youTubePublisher.publish(any())).thenReturn(success);
+        when(linkedInPublisher.publish(any())).thenThrow(new IllegalStateException("linkedin unavailable"));
+
+        // Act
+        PublishExecutionService.FanOutSubmission submission =
+                service.submitFanOut(template(), List.of(youTube, linkedIn));
+
+        // Assert
+        PublishJob youTubeJob = childFor(submission, "YOUTUBE");
+        PublishJob linkedInJob = childFor(submission, "LINKEDIN");
+        verify(publishJobService, timeout(5000)).markSuccess(youTubeJob, success);
+        verify(publishJobService, timeout(5000)).markFailure(linkedInJob, "linkedin unavailable");
+        verify(publishedPostRepository, timeout(5000)).save(any());
+        verify(publishJobService, never()).markFailure(eq(youTubeJob), anyString());
+    }
+
+    @Test
+    void submitFanOut_ShouldRequeueOnlyTheRejectedChild_WhenFanOutExecutorIsSaturated() throws InterruptedException {
+        // Arrange
+        PublishExecutionService service = service(1, 0);
+        ConnectedAccount youTube = account("youtube");
+        ConnectedAccount linkedIn = account("linkedin");
+        stubRunnable(youTube);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PublishResult success = PublishResult.builder().success(true).platformPostId("video-1").build();
+        when(youTubePublisher.publish(any())).thenAnswer(invocation -> {
+            running.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return success;
+        });
+
+        // Act
+        PublishExecutionService.FanOutSubmission submission =
+                service.submitFanOut(template(), List.of(youTube, linkedIn));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        release.countDown();
+
+        // Assert
+        PublishJob youTubeJob = childFor(submission, "YOUTUBE");
+        PublishJob linkedInJob = childFor(submission, "LINKEDIN");
+        verify(publishJobService).markRequeued(eq(linkedInJob), eq("fan_out_executor_saturated"), any());
+        verify(publishJobService, timeout(5000)).markSuccess(youTubeJob, success);
+        verifyNoInteractions(linkedInPublisher);
+    }
+
+    private PublishExecutionService service(int fanOutWorkers, int fanOutQueueCapacity) {
+        fanOutExecutor = new ThreadPoolTaskExecutor();
+        fanOutExecutor.setCorePoolSize(fanOutWorkers);
+        fanOutExecutor.setMaxPoolSize(fanOutWorkers);
+        fanOutExecutor.setQueueCapacity(fanOutQueueCapacity);
+        fanOutExecutor.initialize();
+        return new PublishExecutionService(accountRepository, publisherRegistry, publishJobService,
+                publishedPostRepository, eventProducer, new PublishErrorClassifier(), retryPolicy, progressTracker,
+                publishExecutor, fanOutExecutor, mediaStagingCache, heartbeat, ObservationRegistry.NOOP,
+                new SimpleMeterRegistry());
+    }
+
+    private void stubRunnable(ConnectedAccount... accounts) {
+        when(publishJobService.claimPending(any())).thenReturn(true);
+        when(publishJobService.startAttempt(any())).thenAnswer(invocation -> new PublishJobAttempt());
+        for (ConnectedAccount account : accounts) {
+            when(accountRepository.findByIdAndUserId(account.getId(), userId)).thenReturn(Optional.of(account));
+            when(publisherRegistry.getPublisher(account.getPlatform().toUpperCase()))
+                    .thenReturn("YOUTUBE".equalsIgnoreCase(account.getPlatform()) ? youTubePublisher : linkedInPublisher);
+        }
+    }
+
+    private PublishRequestEvent template() {
+        PublishRequestEvent event = new PublishRequestEvent();
+        event.setUserId(userId);
+        event.setContentItemId(UUID.randomUUID());
+        event.setTitle("Launch video");
+        return event;
+    }
+
+    private ConnectedAccount account(String platform) {
+        ConnectedAccount account = new ConnectedAccount();
+        account.setId(UUID.randomUUID());
+        account.setUserId(userId);
+        account.setPlatform(platform);
+        return account;
+    }
+
+    private PublishJob childFor(PublishExecutionService.FanOutSubmission submission, String platform) {
+        return submission.children().stream()
+                .filter(child -> platform.equals(child.getPlatform()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,98 @@
+package com.creatoros.publishing.services;
+
+import com.creatoros.publishing.entities.PublishJob;
+import com.creatoros.publishing.repositories.PublishJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PublishProgressTrackerTest {
+
+    @Mock
+    private PublishJobRepository publishJobRepository;
+
+    private PublishProgressTracker tracker;
+    private UUID jobId;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new PublishProgressTracker(publishJobRepository, 60_000);
+        jobId = UUID.randomUUID();
+    }
+
+    @Test
+    void complete_ShouldForgetProgressAndSubscribers_WhenJobFinishes() {
+        // Arrange
+        tracker.subscribe(jobId);
+        tracker.update(jobId, "uploading", 40);
+
+        // Act
+        tracker.complete(job(PublishJobService.STATUS_SUCCESS), null);
+        tracker.sweepSubscriptions();
+
+        // Assert
+        assertTrue(tracker.getProgress(jobId).isEmpty());
+        verify(publishJobRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void sweepSubscriptions_ShouldCloseStreams_WhenJobFinishedElsewhere() {
+        // Arrange
+        tracker.subscribe(jobId);
+        when(publishJobRepository.findAllById(any())).thenReturn(List.of(job(PublishJobService.STATUS_FAILED)));
+
+        // Act
+        tracker.sweepSubscriptions();
+        tracker.sweepSubscriptions();
+
+        // Assert
+        verify(publishJobRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void sweepSubscriptions_ShouldKeepStreams_WhenJobIsStillRunning() {
+        // Arrange
+        tracker.subscribe(jobId);
+        when(publishJobRepository.findAllById(any())).thenReturn(List.of(job(PublishJobService.STATUS_IN_PROGRESS)));
+
+        // Act
+        tracker.sweepSubscriptions();
+        tracker.sweepSubscriptions();
+
+        // Assert
+        verify(publishJobRepository, times(2)).findAllById(any());
+    }
+
+    @Test
+    void update_ShouldDropSubscriber_WhenItsStreamIsAlreadyClosed() {
+        // Arrange
+        SseEmitter emitter = tracker.subscribe(jobId);
+        emitter.complete();
+
+        // Act
+        tracker.update(jobId, "uploading", 10);
+        tracker.sweepSubscriptions();
+
+        // Assert
+        assertEquals(10, tracker.getProgress(jobId).orElseThrow().percent());
+        verify(publishJobRepository, never()).findAllById(any());
+    }
+
+    private PublishJob job(String status) {
+        return PublishJob.builder()
+                .id(jobId)
+                .status(status)
+                .build();
+    }
+}
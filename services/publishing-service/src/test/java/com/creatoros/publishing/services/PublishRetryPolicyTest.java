@@ -0,0 +1,63 @@
+package com.creatoros.publishing.services;
+
+import com.creatoros.publishing.entities.PublishJob;
+import com.creatoros.publishing.models.PublishErrorCategory;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublishRetryPolicyTest {
+
+    private final PublishRetryPolicy policy = new PublishRetryPolicy(30, 3600, 3600, 1);
+
+    @Test
+    void shouldRetry_ShouldReturnFalse_WhenCategoryIsNotRetryable() {
+        assertFalse(policy.shouldRetry(job(0, 3), PublishErrorCategory.AUTH));
+        assertFalse(policy.shouldRetry(job(0, 3), PublishErrorCategory.BAD_PAYLOAD));
+    }
+
+    @Test
+    void shouldRetry_ShouldStopAtMaxRetries_WhenErrorIsTransient() {
+        assertTrue(policy.shouldRetry(job(2, 3), PublishErrorCategory.TRANSIENT));
+        assertFalse(policy.shouldRetry(job(3, 3), PublishErrorCategory.TRANSIENT));
+    }
+
+    @Test
+    void shouldRetry_ShouldAllowOnlyCappedRetries_WhenErrorIsUnknown() {
+        assertTrue(policy.shouldRetry(job(0, 3), PublishErrorCategory.UNKNOWN));
+        assertFalse(policy.shouldRetry(job(1, 3), PublishErrorCategory.UNKNOWN));
+    }
+
+    @Test
+    void nextRetryAt_ShouldStayWithinJitteredExponentialBounds() {
+        for (int retries = 0; retries < 4; retries++) {
+            long ceiling = Math.min(3600, 30L << retries);
+            LocalDateTime before = LocalDateTime.now();
+
+            LocalDateTime next = policy.nextRetryAt(job(retries, 5), PublishErrorCategory.TRANSIENT);
+
+            long delaySeconds = Duration.between(before, next).toSeconds();
+            assertTrue(delaySeconds >= ceiling / 2 - 1, "retry " + retries + " waited only " + delaySeconds + "s");
+            assertTrue(delaySeconds <= ceiling + 1, "retry " + retries + " waited " + delaySeconds + "s");
+        }
+    }
+
+    @Test
+    void nextRetryAt_ShouldWaitAtLeastQuotaBackoff_WhenQuotaIsExhausted() {
+        LocalDateTime before = LocalDateTime.now();
+
+        LocalDateTime next = policy.nextRetryAt(job(0, 3), PublishErrorCategory.QUOTA);
+
+        assertTrue(Duration.between(before, next).toSeconds() >= 3599);
+    }
+
+    private PublishJob job(int currentRetryCount, int maxRetries) {
+        return PublishJob.builder()
+                .currentRetryCount(currentRetryCount)
+                .maxRetries(maxRetries)
+                .build();
+    }
+}
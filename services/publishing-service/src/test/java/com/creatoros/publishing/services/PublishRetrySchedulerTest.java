@@ -0,0 +1,108 @@
+package com.creatoros.publishing.services;
+
+import com.creatoros.publishing.entities.PublishJob;
+import com.creatoros.publishing.repositories.PublishJobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PublishRetrySchedulerTest {
+
+    private static final int WORKERS = 2;
+
+    @Mock
+    private PublishJobRepository publishJobRepository;
+
+    @Mock
+    private PublishExecutionService executionService;
+
+    private ThreadPoolTaskExecutor retryExecutor;
+    private PublishRetryScheduler scheduler;
+    private CountDownLatch running;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        retryExecutor = new ThreadPoolTaskExecutor();
+        retryExecutor.setCorePoolSize(WORKERS);
+        retryExecutor.setMaxPoolSize(WORKERS);
+        retryExecutor.setQueueCapacity(10);
+        retryExecutor.initialize();
+        scheduler = new PublishRetryScheduler(publishJobRepository, executionService, retryExecutor, 30, 10);
+
+        running = new CountDownLatch(WORKERS);
+        release = new CountDownLatch(1);
+        when(publishJobRepository.transitionStatus(any(), eq(PublishJobService.STATUS_RETRY_SCHEDULED),
+                eq(PublishJobService.STATUS_RETRYING), any())).thenReturn(1);
+        when(executionService.retry(any())).thenAnswer(invocation -> {
+            running.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        retryExecutor.shutdown();
+    }
+
+    @Test
+    void pollAndRetry_ShouldClaimOnlyAsManyJobsAsIdleWorkers_WhenMoreAreDue() throws InterruptedException {
+        // Arrange
+        when(publishJobRepository.findTop50ByStatusAndNextRetryAtBeforeOrderByNextRetryAtAsc(
+                eq(PublishJobService.STATUS_RETRY_SCHEDULED), any())).thenReturn(dueJobs(5));
+
+        // Act
+        scheduler.pollAndRetry();
+
+        // Assert
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        verify(publishJobRepository, times(WORKERS)).transitionStatus(any(),
+                eq(PublishJobService.STATUS_RETRY_SCHEDULED), eq(PublishJobService.STATUS_RETRYING), any());
+        verify(executionService, times(WORKERS)).retry(any());
+        assertEquals(0, retryExecutor.getThreadPoolExecutor().getQueue().size());
+        verify(publishJobRepository, never()).findQueuedToResume(any(), any(), any(), any());
+    }
+
+    @Test
+    void pollAndRetry_ShouldNotLookForDueJobs_WhileEveryRetryWorkerIsBusy() throws InterruptedException {
+        // Arrange
+        when(publishJobRepository.findTop50ByStatusAndNextRetryAtBeforeOrderByNextRetryAtAsc(
+                eq(PublishJobService.STATUS_RETRY_SCHEDULED), any())).thenReturn(dueJobs(WORKERS));
+        scheduler.pollAndRetry();
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        // Act
+        scheduler.pollAndRetry();
+
+        // Assert
+        verify(publishJobRepository, times(1)).findTop50ByStatusAndNextRetryAtBeforeOrderByNextRetryAtAsc(any(), any());
+        verify(executionService, times(WORKERS)).retry(any());
+    }
+
+    private List<PublishJob> dueJobs(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> PublishJob.builder()
+                        .id(UUID.randomUUID())
+                        .status(PublishJobService.STATUS_RETRY_SCHEDULED)
+                        .build())
+                .toList();
+    }
+}
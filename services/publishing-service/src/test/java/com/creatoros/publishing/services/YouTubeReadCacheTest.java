@@ -0,0 +1,76 @@
+package com.creatoros.publishing.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class YouTubeReadCacheTest {
+
+    private static final YouTubeReadCache.DataType TYPE = YouTubeReadCache.DataType.CHANNEL_STATISTICS;
+
+    private YouTubeReadCache cache;
+
+    @BeforeEach
+    void setUp() {
+        // A zero TTL makes every cached entry stale at once, but still inside the stale window
+        cache = new YouTubeReadCache(new SimpleMeterRegistry(), 0, 0, 3600);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        cache.shutdown();
+    }
+
+    @Test
+    void get_ShouldServeTheStaleValueAndRevalidateInBackground_WhenEntryIsPastItsTtl() throws InterruptedException {
+        // Arrange
+        cache.get(TYPE, "account-1", 1, (previous, etag) -> YouTubeReadCache.Fetched.of("v1", "etag-1"));
+        CountDownLatch revalidated = new CountDownLatch(1);
+        AtomicReference<String> sentEtag = new AtomicReference<>();
+
+        // Act
+        String served = cache.get(TYPE, "account-1", 1, (previous, etag) -> {
+            sentEtag.set(etag);
+            revalidated.countDown();
+            return YouTubeReadCache.Fetched.of("v2", "etag-2");
+        });
+
+        // Assert
+        assertEquals("v1", served);
+        assertTrue(revalidated.await(5, TimeUnit.SECONDS));
+        assertEquals("etag-1", sentEtag.get());
+    }
+
+    @Test
+    void get_ShouldQueueOneRevalidation_WhenABurstOfReadsFindsTheEntryStale() throws InterruptedException {
+        // Arrange
+        cache.get(TYPE, "account-1", 1, (previous, etag) -> YouTubeReadCache.Fetched.of("v1", "etag-1"));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        YouTubeReadCache.Loader<String> slowLoader = (previous, etag) -> {
+            loads.incrementAndGet();
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return YouTubeReadCache.Fetched.notModified(1);
+        };
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            assertEquals("v1", cache.get(TYPE, "account-1", 1, slowLoader));
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        release.countDown();
+
+        // Assert
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,120 @@
+package com.creatoros.publishing.services;
+
+import com.creatoros.publishing.entities.ConnectedAccount;
+import com.creatoros.publishing.repositories.ConnectedAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class YouTubeTokenServiceTest {
+
+    private static final String TOKEN_URL = "https://oauth2.example.test/token";
+
+    @Mock
+    private ConnectedAccountRepository repository;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private YouTubeTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new YouTubeTokenService(repository, restTemplate);
+        ReflectionTestUtils.setField(service, "clientId", "client");
+        ReflectionTestUtils.setField(service, "clientSecret", "secret");
+        ReflectionTestUtils.setField(service, "tokenUrl", TOKEN_URL);
+        ReflectionTestUtils.setField(service, "refreshBufferMinutes", 5L);
+    }
+
+    @Test
+    void getValidAccessToken_ShouldRefreshOnce_WhenManyThreadsFindTheSameTokenExpired() throws Exception {
+        // Arrange
+        UUID accountId = UUID.randomUUID();
+        when(restTemplate.postForObject(eq(TOKEN_URL), any(), eq(Map.class))).thenAnswer(invocation -> {
+            // Keep the refresh open long enough for the other callers to pile up behind it
+            Thread.sleep(200);
+            return Map.of("access_token", "fresh-token", "expires_in", 3600);
+        });
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<String> tokens = ConcurrentHashMap.newKeySet();
+        List<ConnectedAccount> accounts = new ArrayList<>();
+
+        // Act
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                // Each caller loads its own copy of the account, as separate requests would
+                ConnectedAccount account = expiredAccount(accountId);
+                accounts.add(account);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    tokens.add(service.getValidAccessToken(account));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(Set.of("fresh-token"), tokens);
+        verify(restTemplate, times(1)).postForObject(eq(TOKEN_URL), any(), eq(Map.class));
+        verify(repository, times(1)).save(any());
+        // Waiters carry the refreshed token too, so saving their copy cannot write back the expired one
+        assertTrue(accounts.stream().allMatch(account -> "fresh-token".equals(account.getAccessTokenEnc())));
+    }
+
+    @Test
+    void getValidAccessToken_ShouldNotRefresh_WhenStoredTokenOutlivesTheBuffer() {
+        // Arrange
+        ConnectedAccount account = expiredAccount(UUID.randomUUID());
+        account.setAccessTokenEnc("stored-token");
+        account.setTokenExpiresAt(LocalDateTime.now().plusHours(1));
+
+        // Act
+        String token = service.getValidAccessToken(account);
+
+        // Assert
+        assertEquals("stored-token", token);
+        verifyNoInteractions(restTemplate, repository);
+    }
+
+    private ConnectedAccount expiredAccount(UUID accountId) {
+        ConnectedAccount account = new ConnectedAccount();
+        account.setId(accountId);
+        account.setAccessTokenEnc("expired-token");
+        account.setRefreshTokenEnc("refresh-token");
+        account.setTokenExpiresAt(LocalDateTime.now().minusMinutes(1));
+        return account;
+    }
+}
@@ -1,5 +1,6 @@
 package com.creatoros.scheduler.config;
 
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,6 +8,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
@@ -32,4 +34,11 @@ public class KafkaProducerConfig {
     public KafkaTemplate<String, Object> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
+
+    // Caps how many publishing-service consumers can run scheduled publishes in parallel; the
+    // admin client creates the topic or adds partitions to it at startup
+    @Bean
+    public NewTopic publishRequestedTopic(@Value("${scheduler.kafka.publish-requested-partitions:8}") int partitions) {
+        return TopicBuilder.name("publish.requested").partitions(partitions).build();
+    }
 }